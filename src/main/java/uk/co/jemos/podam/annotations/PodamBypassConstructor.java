@@ -0,0 +1,35 @@
+/**
+ * 
+ */
+package uk.co.jemos.podam.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation which will have PODAM create instances of the annotated class
+ * without running any of its constructors.
+ * <p>
+ * The instance is allocated the way deserialization does it, and then its
+ * setters and fields are filled as usual. This suits classes whose
+ * constructors are expensive or have side effects, since PODAM overwrites
+ * their state anyway. Field initialisers do not run either, so attributes
+ * which PODAM does not fill are left to their default value. Classes without
+ * setters or fields to fill are still created through a constructor, since
+ * that is the only way to give them a state.
+ * </p>
+ * 
+ * @since 3.0.2
+ * 
+ */
+@Documented
+@Target(value = ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PodamBypassConstructor {
+
+	/** Gives users the possibility to leave comments */
+	String comment() default "";
+}
@@ -9,6 +9,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import uk.co.jemos.podam.api.Distribution;
+
 /**
  * Annotation used to customise min and max values on a double type attribute or
  * constructor parameter.
@@ -54,4 +56,32 @@ public @interface PodamDoubleValue {
 	 */
 	String numValue() default "";
 
+	/**
+	 * It returns the distribution of the values between the minimum and the
+	 * maximum value.
+	 * <p>
+	 * This attribute defaults to {@link Distribution#UNIFORM}. It is ignored
+	 * if {@link #numValue()} is set.
+	 * </p>
+	 *
+	 * @return The distribution of the values
+	 */
+	Distribution distribution() default Distribution.UNIFORM;
+
+	/**
+	 * It returns how much more likely the small values are, for
+	 * {@link Distribution#EXPONENTIAL} and {@link Distribution#ZIPF}.
+	 *
+	 * @return The skew of the distribution, which must be positive
+	 */
+	double skew() default 1.0;
+
+	/**
+	 * It returns the weight of each value from the minimum value on, for
+	 * {@link Distribution#WEIGHTED}.
+	 *
+	 * @return The weights of the values
+	 */
+	double[] weights() default {};
+
 }
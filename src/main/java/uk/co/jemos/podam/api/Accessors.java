@@ -0,0 +1,300 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+
+import uk.co.jemos.podam.dto.AttributeMetadata;
+
+/**
+ * It turns setters, fields, constructors and factory methods into
+ * {@link MethodHandle}s, so that they can be invoked without the checks and
+ * argument copies of reflection.
+ * <p>
+ * A handle is resolved once, when a class is analysed or when a way to create
+ * its instances is found, and then stored with the rest of the metadata of the
+ * class. Handles have a generic type, so they are invoked exactly, and
+ * primitive attributes are unboxed by the handle itself. Resolution fails
+ * where the JVM refuses access, e.g. for final fields on older JVMs: the
+ * caller then keeps using reflection.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+final class Accessors {
+
+	// ------------------->> Constants
+
+	/** Application logger */
+	private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger
+			.getLogger(Accessors.class.getName());
+
+	/** The type of the handles writing an attribute */
+	private static final MethodType WRITER_TYPE = MethodType.methodType(
+			void.class, Object.class, Object.class);
+
+	/** The type of the handles creating an instance */
+	private static final MethodType CREATOR_TYPE = MethodType.methodType(
+			Object.class, Object[].class);
+
+	/** The type of the handles filling a whole POJO */
+	static final MethodType FILLER_TYPE = MethodType.methodType(void.class,
+			Object.class, Object[].class);
+
+	/** The type of the handles generating and writing a primitive attribute */
+	private static final MethodType GENERATOR_TYPE = MethodType.methodType(
+			void.class, Object.class, PrimitiveDataProviderStrategy.class);
+
+	/** The lookup used to resolve the handles */
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	// ------------------->> Constructors
+
+	/** Non instantiable constructor */
+	private Accessors() {
+		throw new AssertionError();
+	}
+
+	// ------------------->> Package-private methods
+
+	/**
+	 * It returns a handle invoking the given setter.
+	 *
+	 * @param setter
+	 *            The setter, already made accessible if not public
+	 * @return A handle of type {@code (Object, Object)void}, or {@code null}
+	 *         if the setter could not be resolved
+	 */
+	static MethodHandle forSetter(Method setter) {
+
+		try {
+			return LOOKUP.unreflect(setter).asFixedArity().asType(WRITER_TYPE);
+		} catch (IllegalAccessException e) {
+			LOG.debug("Reflection will be used for the setter: " + setter
+					+ ": " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * It returns a handle writing the given field.
+	 *
+	 * @param field
+	 *            The field, already made accessible
+	 * @return A handle of type {@code (Object, Object)void}, or {@code null}
+	 *         if the field could not be resolved
+	 */
+	static MethodHandle forField(Field field) {
+
+		try {
+			return LOOKUP.unreflectSetter(field).asType(WRITER_TYPE);
+		} catch (IllegalAccessException e) {
+			LOG.debug("Reflection will be used for the field: " + field
+					+ ": " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * It returns a handle which asks a {@link PrimitiveDataProviderStrategy}
+	 * for the value of a primitive attribute and writes it with the given
+	 * setter or field, without boxing it.
+	 * 
+	 * @param member
+	 *            The setter or the field, already made accessible if not
+	 *            public
+	 * @param attributeMetadata
+	 *            The metadata of the attribute, passed to the strategy
+	 * @return A handle of type
+	 *         {@code (Object, PrimitiveDataProviderStrategy)void}, or
+	 *         {@code null} if the attribute is not primitive or the member
+	 *         could not be resolved
+	 */
+	static MethodHandle forGenerator(Member member,
+			AttributeMetadata attributeMetadata) {
+
+		Class<?> type = attributeMetadata.getAttributeType();
+		if (!type.isPrimitive()) {
+			return null;
+		}
+
+		try {
+
+			MethodHandle writer;
+			if (member instanceof Method) {
+				writer = LOOKUP.unreflect((Method) member).asFixedArity();
+			} else {
+				writer = LOOKUP.unreflectSetter((Field) member);
+			}
+			writer = writer.asType(MethodType.methodType(void.class,
+					Object.class, type));
+
+			// e.g. nextInt for int and nextChar for char
+			String name = "next"
+					+ Character.toUpperCase(type.getName().charAt(0))
+					+ type.getName().substring(1);
+			MethodHandle generator = LOOKUP.findVirtual(
+					PrimitiveDataProviderStrategy.class, name,
+					MethodType.methodType(type, AttributeMetadata.class));
+			generator = MethodHandles.insertArguments(generator, 1,
+					attributeMetadata);
+
+			return MethodHandles.filterArguments(writer, 1, generator)
+					.asType(GENERATOR_TYPE);
+
+		} catch (ReflectiveOperationException e) {
+			LOG.debug("Primitive values will be boxed for: " + member + ": "
+					+ e);
+			return null;
+		}
+	}
+
+	/**
+	 * It returns a handle invoking the given constructor or static factory
+	 * method.
+	 *
+	 * @param member
+	 *            The constructor or method, already made accessible if not
+	 *            public
+	 * @return A handle of type {@code (Object[])Object}, taking the arguments
+	 *         as an array, or {@code null} if the member could not be resolved
+	 */
+	static MethodHandle forCreator(Member member) {
+
+		try {
+
+			MethodHandle handle;
+			int parameterCount;
+			if (member instanceof Constructor) {
+				Constructor<?> constructor = (Constructor<?>) member;
+				handle = LOOKUP.unreflectConstructor(constructor);
+				parameterCount = constructor.getParameterTypes().length;
+			} else {
+				Method method = (Method) member;
+				handle = LOOKUP.unreflect(method);
+				parameterCount = method.getParameterTypes().length;
+			}
+
+			return handle.asFixedArity()
+					.asSpreader(Object[].class, parameterCount)
+					.asType(CREATOR_TYPE);
+
+		} catch (IllegalAccessException e) {
+			LOG.debug("Reflection will be used for: " + member + ": " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * It writes an attribute through a handle returned by
+	 * {@link #forSetter(Method)} or {@link #forField(Field)}.
+	 *
+	 * @param writer
+	 *            The handle
+	 * @param pojo
+	 *            The POJO whose attribute is written
+	 * @param value
+	 *            The value of the attribute
+	 * @throws InvocationTargetException
+	 *             If the setter threw an exception, or the value is not of
+	 *             the attribute type
+	 */
+	static void write(MethodHandle writer, Object pojo, Object value)
+			throws InvocationTargetException {
+
+		try {
+			writer.invokeExact(pojo, value);
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new InvocationTargetException(t);
+		}
+	}
+
+	/**
+	 * It generates and writes a primitive attribute through a handle returned
+	 * by {@link #forGenerator(Member, AttributeMetadata)}.
+	 * 
+	 * @param generator
+	 *            The handle
+	 * @param pojo
+	 *            The POJO whose attribute is written
+	 * @param strategy
+	 *            The strategy returning the value of the attribute
+	 * @throws InvocationTargetException
+	 *             If the strategy or the setter threw an exception
+	 */
+	static void generate(MethodHandle generator, Object pojo,
+			PrimitiveDataProviderStrategy strategy)
+			throws InvocationTargetException {
+
+		try {
+			generator.invokeExact(pojo, strategy);
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new InvocationTargetException(t);
+		}
+	}
+
+	/**
+	 * It writes all the attributes of a POJO through a handle of type
+	 * {@link #FILLER_TYPE}.
+	 *
+	 * @param filler
+	 *            The handle
+	 * @param pojo
+	 *            The POJO whose attributes are written
+	 * @param values
+	 *            The values of the attributes, in the order the handle expects
+	 * @throws InvocationTargetException
+	 *             If a setter threw an exception, or a value is not of the
+	 *             attribute type
+	 */
+	static void fill(MethodHandle filler, Object pojo, Object[] values)
+			throws InvocationTargetException {
+
+		try {
+			filler.invokeExact(pojo, values);
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new InvocationTargetException(t);
+		}
+	}
+
+	/**
+	 * It creates an instance through a handle returned by
+	 * {@link #forCreator(Member)}.
+	 *
+	 * @param creator
+	 *            The handle
+	 * @param args
+	 *            The arguments of the constructor or method
+	 * @return The instance created
+	 * @throws InvocationTargetException
+	 *             If the constructor or method threw an exception, or the
+	 *             arguments are not of the right type
+	 */
+	static Object create(MethodHandle creator, Object[] args)
+			throws InvocationTargetException {
+
+		try {
+			return (Object) creator.invokeExact(args);
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new InvocationTargetException(t);
+		}
+	}
+
+}
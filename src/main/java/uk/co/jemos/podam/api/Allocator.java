@@ -0,0 +1,118 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import uk.co.jemos.podam.utils.ClassMetadataCache;
+
+/**
+ * It allocates instances of a class without running any of its constructors.
+ * <p>
+ * It relies on the reflection factory of the JDK, the one serialization uses
+ * to create objects: for each class it builds a constructor which runs only
+ * the no-arg constructor of {@link Object}. The reflection factory is looked
+ * up reflectively, so that PODAM still works on JVMs without it: there
+ * {@link #allocate(Class)} returns {@code null} and the caller creates the
+ * instance the usual way.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+final class Allocator {
+
+	// ------------------->> Constants
+
+	/** Application logger */
+	private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger
+			.getLogger(Allocator.class.getName());
+
+	/** The reflection factory of the JDK, or {@code null} if not available */
+	private static final Object REFLECTION_FACTORY;
+
+	/**
+	 * The method of the reflection factory building a serialization
+	 * constructor, or {@code null} if not available
+	 */
+	private static final Method NEW_CONSTRUCTOR_FOR_SERIALIZATION;
+
+	static {
+
+		Object reflectionFactory = null;
+		Method newConstructorForSerialization = null;
+		try {
+			Class<?> factoryClass = Class
+					.forName("sun.reflect.ReflectionFactory");
+			reflectionFactory = factoryClass.getMethod("getReflectionFactory")
+					.invoke(null);
+			newConstructorForSerialization = factoryClass.getMethod(
+					"newConstructorForSerialization", Class.class,
+					Constructor.class);
+		} catch (Exception e) {
+			LOG.warn("Constructors cannot be bypassed on this JVM: " + e);
+			reflectionFactory = null;
+			newConstructorForSerialization = null;
+		}
+		REFLECTION_FACTORY = reflectionFactory;
+		NEW_CONSTRUCTOR_FOR_SERIALIZATION = newConstructorForSerialization;
+	}
+
+	/** The serialization constructors built so far, one per class */
+	private static final ClassMetadataCache<Constructor<?>> CONSTRUCTORS = new ClassMetadataCache<Constructor<?>>() {
+
+		@Override
+		protected Constructor<?> compute(Class<?> clazz) throws Exception {
+
+			if (REFLECTION_FACTORY == null) {
+				return null;
+			}
+			Constructor<?> constructor = (Constructor<?>) NEW_CONSTRUCTOR_FOR_SERIALIZATION
+					.invoke(REFLECTION_FACTORY, clazz,
+							Object.class.getDeclaredConstructor());
+			constructor.setAccessible(true);
+			return constructor;
+		}
+	};
+
+	// ------------------->> Constructors
+
+	/** Non instantiable constructor */
+	private Allocator() {
+		throw new AssertionError();
+	}
+
+	// ------------------->> Package-private methods
+
+	/**
+	 * It allocates an instance of the given class without running any of its
+	 * constructors.
+	 *
+	 * @param <T>
+	 *            The type of the instance
+	 * @param pojoClass
+	 *            The class to instantiate
+	 * @return A new instance of the given class, with all its fields set to
+	 *         their default value, or {@code null} if this JVM cannot
+	 *         allocate instances without a constructor
+	 * @throws InstantiationException
+	 *             If the class is abstract
+	 * @throws IllegalAccessException
+	 *             If the allocation is not allowed
+	 * @throws InvocationTargetException
+	 *             Never in practice, since no constructor of the class runs
+	 */
+	static <T> T allocate(Class<T> pojoClass) throws InstantiationException,
+			IllegalAccessException, InvocationTargetException {
+
+		Constructor<?> constructor = CONSTRUCTORS.get(pojoClass);
+		if (constructor == null) {
+			return null;
+		}
+		return pojoClass.cast(constructor.newInstance());
+	}
+
+}
@@ -0,0 +1,193 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import uk.co.jemos.podam.annotations.PodamBooleanValue;
+import uk.co.jemos.podam.annotations.PodamByteValue;
+import uk.co.jemos.podam.annotations.PodamCharValue;
+import uk.co.jemos.podam.annotations.PodamDoubleValue;
+import uk.co.jemos.podam.annotations.PodamFloatValue;
+import uk.co.jemos.podam.annotations.PodamIntValue;
+import uk.co.jemos.podam.annotations.PodamLongValue;
+import uk.co.jemos.podam.annotations.PodamShortValue;
+import uk.co.jemos.podam.annotations.PodamStringValue;
+
+/**
+ * The kinds of attribute PODAM knows how to fill, each one filled in its own
+ * way.
+ * <p>
+ * The kind of a type is worked out only once per type and it tells which
+ * annotation, if any, customises the values of that kind.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+enum AttributeKind {
+
+	/** A boolean or {@link Boolean} */
+	BOOLEAN(PodamBooleanValue.class),
+
+	/** A byte or {@link Byte} */
+	BYTE(PodamByteValue.class),
+
+	/** A char or {@link Character} */
+	CHARACTER(PodamCharValue.class),
+
+	/** A short or {@link Short} */
+	SHORT(PodamShortValue.class),
+
+	/** An int or {@link Integer} */
+	INTEGER(PodamIntValue.class),
+
+	/** A long or {@link Long} */
+	LONG(PodamLongValue.class),
+
+	/** A float or {@link Float} */
+	FLOAT(PodamFloatValue.class),
+
+	/** A double or {@link Double} */
+	DOUBLE(PodamDoubleValue.class),
+
+	/** A {@link String} */
+	STRING(PodamStringValue.class),
+
+	/** An array */
+	ARRAY(null),
+
+	/** A {@link Collection} */
+	COLLECTION(null),
+
+	/** A {@link Map} */
+	MAP(null),
+
+	/** Any other class from the java or javax namespaces */
+	JAVA_TYPE(null),
+
+	/** An enum */
+	ENUM(null),
+
+	/** Any other class, filled as a POJO on its own */
+	POJO(null);
+
+	// ------------------->> Instance / Static variables
+
+	/** The kind of each type met so far */
+	private static final ClassValue<AttributeKind> KINDS = new ClassValue<AttributeKind>() {
+
+		@Override
+		protected AttributeKind computeValue(Class<?> type) {
+			return resolve(type);
+		}
+	};
+
+	/** The annotation which customises values of this kind, if any */
+	private final Class<? extends Annotation> valueAnnotationType;
+
+	// ------------------->> Constructors
+
+	/**
+	 * Full constructor.
+	 *
+	 * @param valueAnnotationType
+	 *            The annotation which customises values of this kind, or
+	 *            {@code null} if there is none
+	 */
+	private AttributeKind(Class<? extends Annotation> valueAnnotationType) {
+		this.valueAnnotationType = valueAnnotationType;
+	}
+
+	// ------------------->> Public methods
+
+	/**
+	 * It returns the kind of the given type.
+	 *
+	 * @param type
+	 *            The type of an attribute
+	 * @return The kind of the given type
+	 */
+	static AttributeKind of(Class<?> type) {
+		return KINDS.get(type);
+	}
+
+	/**
+	 * It returns the annotation, among the given ones, which customises values
+	 * of this kind.
+	 *
+	 * @param annotations
+	 *            The annotations of an attribute
+	 * @return The annotation which customises the value of the attribute, or
+	 *         {@code null} if there is none
+	 */
+	Annotation findValueAnnotation(List<Annotation> annotations) {
+
+		if (valueAnnotationType == null || annotations == null) {
+			return null;
+		}
+
+		for (Annotation annotation : annotations) {
+			if (valueAnnotationType.isInstance(annotation)) {
+				return annotation;
+			}
+		}
+
+		return null;
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It works out the kind of the given type.
+	 * <p>
+	 * The checks are made in the same order in which PODAM has always made
+	 * them, so for instance an enum from the java namespace is a
+	 * {@link #JAVA_TYPE}.
+	 * </p>
+	 *
+	 * @param type
+	 *            The type of an attribute
+	 * @return The kind of the given type
+	 */
+	private static AttributeKind resolve(Class<?> type) {
+
+		if (type.equals(boolean.class) || type.equals(Boolean.class)) {
+			return BOOLEAN;
+		} else if (type.equals(byte.class) || type.equals(Byte.class)) {
+			return BYTE;
+		} else if (type.equals(char.class) || type.equals(Character.class)) {
+			return CHARACTER;
+		} else if (type.equals(short.class) || type.equals(Short.class)) {
+			return SHORT;
+		} else if (type.equals(int.class) || type.equals(Integer.class)) {
+			return INTEGER;
+		} else if (type.equals(long.class) || type.equals(Long.class)) {
+			return LONG;
+		} else if (type.equals(float.class) || type.equals(Float.class)) {
+			return FLOAT;
+		} else if (type.equals(double.class) || type.equals(Double.class)) {
+			return DOUBLE;
+		} else if (type.equals(String.class)) {
+			return STRING;
+		} else if (type.isArray()) {
+			return ARRAY;
+		} else if (Collection.class.isAssignableFrom(type)) {
+			return COLLECTION;
+		} else if (Map.class.isAssignableFrom(type)) {
+			return MAP;
+		} else if (type.getName().startsWith("java.")
+				|| type.getName().startsWith("javax.")) {
+			return JAVA_TYPE;
+		} else if (type.isEnum()) {
+			return ENUM;
+		} else {
+			return POJO;
+		}
+	}
+
+}
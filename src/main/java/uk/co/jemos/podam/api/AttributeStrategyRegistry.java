@@ -0,0 +1,339 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+import net.jcip.annotations.NotThreadSafe;
+import net.jcip.annotations.ThreadSafe;
+import uk.co.jemos.podam.annotations.PodamCollection;
+import uk.co.jemos.podam.annotations.PodamStrategyValue;
+import uk.co.jemos.podam.exceptions.PodamMockeryException;
+import uk.co.jemos.podam.utils.ClassMetadataCache;
+import uk.co.jemos.podam.utils.PodamConstants;
+
+/**
+ * The {@link AttributeStrategy} instances used by a PODAM factory.
+ * <p>
+ * The strategies named in {@link PodamStrategyValue} and
+ * {@link PodamCollection} annotations are instantiated only once per factory
+ * and the type of value they return is checked only once. A strategy class
+ * annotated with {@link NotThreadSafe} is instead instantiated as many times
+ * as threads use it at once: each instance serves one thread at a time and
+ * is then kept for the next one. Their number follows the concurrency, not
+ * the number of threads, which matters with a virtual thread per task.
+ * </p>
+ * <p>
+ * Ready-made strategy instances can also be registered, either under their
+ * own class or in place of the strategy class named in the annotations.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+@ThreadSafe
+public class AttributeStrategyRegistry {
+
+	// ------------------->> Constants
+
+	/** Application logger */
+	private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger
+			.getLogger(AttributeStrategyRegistry.class.getName());
+
+	// ------------------->> Instance / Static variables
+
+	/** The strategies registered programmatically */
+	private final ConcurrentMap<Class<?>, RegisteredStrategy> registered = new ConcurrentHashMap<Class<?>, RegisteredStrategy>();
+
+	/** The strategies instantiated from the annotations so far */
+	private final ClassMetadataCache<RegisteredStrategy> instantiated = new ClassMetadataCache<RegisteredStrategy>() {
+
+		@Override
+		protected RegisteredStrategy compute(Class<?> strategyClass)
+				throws Exception {
+			return instantiate(strategyClass);
+		}
+	};
+
+	// ------------------->> Public methods
+
+	/**
+	 * It registers a strategy instance, to be used wherever the annotations
+	 * name its class.
+	 * <p>
+	 * The instance is shared by all threads using the factory.
+	 * </p>
+	 *
+	 * @param strategy
+	 *            The strategy instance
+	 */
+	public void register(AttributeStrategy<?> strategy) {
+
+		Class<?> valueType = getValueType(strategy.getClass());
+		registered.put(strategy.getClass(), new RegisteredStrategy(valueType,
+				strategy));
+	}
+
+	/**
+	 * It registers a strategy instance, to be used in place of the given
+	 * strategy class wherever the annotations name it.
+	 * <p>
+	 * This allows instances which cannot be created by PODAM, e.g. strategies
+	 * with constructor arguments or anonymous classes, to be plugged in. The
+	 * instance is shared by all threads using the factory.
+	 * </p>
+	 *
+	 * @param <T>
+	 *            The type of value returned by the strategy
+	 * @param strategyClass
+	 *            The strategy class named in the annotations
+	 * @param strategy
+	 *            The strategy instance to use in its place
+	 * @param valueType
+	 *            The type of value returned by the strategy instance
+	 */
+	public <T> void register(
+			Class<? extends AttributeStrategy<?>> strategyClass,
+			AttributeStrategy<? extends T> strategy, Class<T> valueType) {
+
+		registered.put(strategyClass, new RegisteredStrategy(valueType,
+				strategy));
+	}
+
+	/**
+	 * It removes a strategy registered programmatically. The strategy class
+	 * will then be instantiated on its own.
+	 *
+	 * @param strategyClass
+	 *            The strategy class the strategy was registered for
+	 */
+	public void unregister(Class<? extends AttributeStrategy<?>> strategyClass) {
+		registered.remove(strategyClass);
+	}
+
+	// ------------------->> Package-private methods
+
+	/**
+	 * It returns a value from the given strategy, checking it is suitable for
+	 * the given attribute type.
+	 *
+	 * @param strategyClass
+	 *            The strategy class named in the annotations
+	 * @param attributeType
+	 *            The type of the attribute being filled
+	 * @return A value from the given strategy
+	 * @throws IllegalArgumentException
+	 *             If the strategy returns values of a type which is not
+	 *             assignable to the attribute
+	 * @throws PodamMockeryException
+	 *             If the strategy could not be instantiated
+	 */
+	Object getValue(Class<? extends AttributeStrategy<?>> strategyClass,
+			Class<?> attributeType) {
+
+		RegisteredStrategy strategy = lookup(strategyClass);
+
+		if (!attributeType.isAssignableFrom(strategy.valueType)) {
+			String errMsg = "The type of the Podam Attribute Strategy is not "
+					+ attributeType.getName() + " but "
+					+ strategy.valueType.getName()
+					+ ". An exception will be thrown.";
+			LOG.error(errMsg);
+			throw new IllegalArgumentException(errMsg);
+		}
+
+		AttributeStrategy<?> instance = strategy.acquire();
+		try {
+			return instance.getValue();
+		} finally {
+			strategy.release(instance);
+		}
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It returns the strategy to use for the given strategy class.
+	 *
+	 * @param strategyClass
+	 *            The strategy class named in the annotations
+	 * @return The strategy to use
+	 */
+	private RegisteredStrategy lookup(Class<?> strategyClass) {
+
+		RegisteredStrategy retValue = registered.get(strategyClass);
+		if (retValue == null) {
+			retValue = instantiated.get(strategyClass);
+		}
+		return retValue;
+	}
+
+	/**
+	 * It instantiates the given strategy class, once for all threads or, if
+	 * it is annotated with {@link NotThreadSafe}, once for each thread using
+	 * it at the same time.
+	 *
+	 * @param strategyClass
+	 *            The strategy class
+	 * @return The instantiated strategy
+	 * @throws ReflectiveOperationException
+	 *             If the strategy could not be instantiated
+	 */
+	private static RegisteredStrategy instantiate(Class<?> strategyClass)
+			throws ReflectiveOperationException {
+
+		Class<?> valueType = getValueType(strategyClass);
+
+		if (strategyClass.isAnnotationPresent(NotThreadSafe.class)) {
+
+			// Fail now rather than when more instances are needed
+			Queue<AttributeStrategy<?>> idle = new ConcurrentLinkedQueue<AttributeStrategy<?>>();
+			idle.add(newInstance(strategyClass));
+			return new RegisteredStrategy(valueType, strategyClass, idle);
+		}
+
+		return new RegisteredStrategy(valueType, newInstance(strategyClass));
+	}
+
+	/**
+	 * It creates an instance of the given strategy class through its no-arg
+	 * constructor.
+	 *
+	 * @param strategyClass
+	 *            The strategy class
+	 * @return A new instance of the strategy class
+	 * @throws ReflectiveOperationException
+	 *             If the class has no accessible no-arg constructor or cannot
+	 *             be instantiated
+	 * @throws PodamMockeryException
+	 *             If the constructor threw a checked exception
+	 */
+	private static AttributeStrategy<?> newInstance(Class<?> strategyClass)
+			throws ReflectiveOperationException {
+
+		try {
+			return (AttributeStrategy<?>) strategyClass
+					.getDeclaredConstructor().newInstance();
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new PodamMockeryException("The constructor of the strategy "
+					+ strategyClass + " threw an exception", cause);
+		}
+	}
+
+	/**
+	 * It returns the type of value returned by the given strategy class.
+	 *
+	 * @param strategyClass
+	 *            The strategy class
+	 * @return The return type of its {@link AttributeStrategy#getValue()}
+	 *         method
+	 * @throws IllegalStateException
+	 *             If the class has no suitable method
+	 */
+	private static Class<?> getValueType(Class<?> strategyClass) {
+
+		try {
+
+			Method attributeStrategyMethod = strategyClass.getMethod(
+					PodamConstants.PODAM_ATTRIBUTE_STRATEGY_METHOD_NAME,
+					new Class<?>[] {});
+			return attributeStrategyMethod.getReturnType();
+
+		} catch (SecurityException e) {
+			throw new IllegalStateException(
+					"A security issue occurred while retrieving the Podam Attribute Strategy details",
+					e);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(
+					"It seems the Podam Attribute Annotation is of the wrong type",
+					e);
+		}
+	}
+
+	// ------------------->> Inner classes
+
+	/**
+	 * A strategy ready to be used, with the type of value it returns.
+	 */
+	@ThreadSafe
+	private static final class RegisteredStrategy {
+
+		/** The type of value returned by the strategy */
+		private final Class<?> valueType;
+
+		/** The instance shared by all threads, if any */
+		private final AttributeStrategy<?> shared;
+
+		/** The class instantiated when no instance is idle, if not shared */
+		private final Class<?> strategyClass;
+
+		/** The instances not in use by any thread, if not shared */
+		private final Queue<AttributeStrategy<?>> idle;
+
+		RegisteredStrategy(Class<?> valueType, AttributeStrategy<?> shared) {
+			this.valueType = valueType;
+			this.shared = shared;
+			strategyClass = null;
+			idle = null;
+		}
+
+		RegisteredStrategy(Class<?> valueType, Class<?> strategyClass,
+				Queue<AttributeStrategy<?>> idle) {
+			this.valueType = valueType;
+			this.strategyClass = strategyClass;
+			this.idle = idle;
+			shared = null;
+		}
+
+		/**
+		 * It returns an instance for the calling thread to use, until it
+		 * gives it back through {@link #release(AttributeStrategy)}.
+		 *
+		 * @return The shared instance, or an instance no other thread uses
+		 */
+		AttributeStrategy<?> acquire() {
+
+			if (shared != null) {
+				return shared;
+			}
+			AttributeStrategy<?> instance = idle.poll();
+			if (instance != null) {
+				return instance;
+			}
+			try {
+				return newInstance(strategyClass);
+			} catch (ReflectiveOperationException e) {
+				throw new PodamMockeryException(
+						"Could not instantiate the strategy " + strategyClass,
+						e);
+			}
+		}
+
+		/**
+		 * It takes back an instance returned by {@link #acquire()}.
+		 *
+		 * @param instance
+		 *            The instance, which the calling thread no longer uses
+		 */
+		void release(AttributeStrategy<?> instance) {
+			if (idle != null) {
+				idle.offer(instance);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,380 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.jcip.annotations.Immutable;
+import uk.co.jemos.podam.utils.ClassMetadataCache;
+
+/**
+ * The constructor which sets all the state of a record, or of an immutable
+ * class with a single all-args constructor.
+ * <p>
+ * Such classes have exactly one way to be created, so PODAM does not need to
+ * try their constructors in turn: it generates a value for each component
+ * and invokes the constructor once. The constructor, a handle to it and the
+ * annotations of each component are resolved once per class. The
+ * annotations of a component are those of its constructor parameter,
+ * followed by those of the record component or field which are not already
+ * on the parameter.
+ * </p>
+ * <p>
+ * Records are recognised reflectively, so that PODAM still runs on JVMs
+ * which predate them.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+@Immutable
+final class CanonicalConstructor {
+
+	// ------------------->> Constants
+
+	/** Application logger */
+	private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger
+			.getLogger(CanonicalConstructor.class.getName());
+
+	/** {@code Class.isRecord()}, or {@code null} if not available */
+	private static final Method IS_RECORD;
+
+	/** {@code Class.getRecordComponents()}, or {@code null} if not available */
+	private static final Method GET_RECORD_COMPONENTS;
+
+	/** {@code RecordComponent.getName()}, or {@code null} if not available */
+	private static final Method GET_COMPONENT_NAME;
+
+	/** {@code RecordComponent.getType()}, or {@code null} if not available */
+	private static final Method GET_COMPONENT_TYPE;
+
+	static {
+
+		Method isRecord = null;
+		Method getRecordComponents = null;
+		Method getComponentName = null;
+		Method getComponentType = null;
+		try {
+			isRecord = Class.class.getMethod("isRecord");
+			getRecordComponents = Class.class.getMethod("getRecordComponents");
+			Class<?> componentClass = Class
+					.forName("java.lang.reflect.RecordComponent");
+			getComponentName = componentClass.getMethod("getName");
+			getComponentType = componentClass.getMethod("getType");
+		} catch (Exception e) {
+			LOG.debug("Records are not supported by this JVM: " + e);
+			isRecord = null;
+		}
+		IS_RECORD = isRecord;
+		GET_RECORD_COMPONENTS = getRecordComponents;
+		GET_COMPONENT_NAME = getComponentName;
+		GET_COMPONENT_TYPE = getComponentType;
+	}
+
+	/**
+	 * The canonical constructors found so far, one per class, or {@code null}
+	 * for the classes which do not have one
+	 */
+	private static final ClassMetadataCache<CanonicalConstructor> CONSTRUCTORS = new ClassMetadataCache<CanonicalConstructor>() {
+
+		@Override
+		protected CanonicalConstructor compute(Class<?> clazz)
+				throws Exception {
+			if (isRecord(clazz)) {
+				return forRecord(clazz);
+			}
+			return forAllArgsClass(clazz);
+		}
+	};
+
+	// ------------------->> Instance / Static variables
+
+	/** The constructor */
+	final Constructor<?> constructor;
+
+	/**
+	 * A handle to the constructor, or {@code null} if it could not be
+	 * resolved and reflection must be used
+	 */
+	final MethodHandle creator;
+
+	/** The names of the components, in the order of the parameters */
+	private final String[] names;
+
+	/** The annotations of the components, in the order of the parameters */
+	private final List<List<Annotation>> annotations;
+
+	// ------------------->> Constructors
+
+	/**
+	 * Full constructor.
+	 *
+	 * @param constructor
+	 *            The constructor
+	 * @param names
+	 *            The names of the components
+	 * @param elements
+	 *            The record components or fields holding the components
+	 */
+	private CanonicalConstructor(Constructor<?> constructor, String[] names,
+			AnnotatedElement[] elements) {
+
+		this.constructor = constructor;
+		this.names = names;
+
+		if (!Modifier.isPublic(constructor.getModifiers())
+				|| !Modifier.isPublic(constructor.getDeclaringClass()
+						.getModifiers())) {
+			constructor.setAccessible(true);
+		}
+		creator = Accessors.forCreator(constructor);
+
+		Annotation[][] parameterAnnotations = constructor
+				.getParameterAnnotations();
+		List<List<Annotation>> allAnnotations = new ArrayList<List<Annotation>>(
+				names.length);
+		for (int i = 0; i < names.length; i++) {
+			allAnnotations.add(mergeAnnotations(parameterAnnotations[i],
+					elements[i].getAnnotations()));
+		}
+		annotations = Collections.unmodifiableList(allAnnotations);
+	}
+
+	// ------------------->> Package-private methods
+
+	/**
+	 * It returns the canonical constructor of the given class.
+	 *
+	 * @param pojoClass
+	 *            The class to create
+	 * @return The canonical constructor of the given class, or {@code null}
+	 *         if the class is neither a record nor a class with a single
+	 *         all-args constructor
+	 */
+	static CanonicalConstructor forClass(Class<?> pojoClass) {
+		return CONSTRUCTORS.get(pojoClass);
+	}
+
+	/**
+	 * It returns the number of components.
+	 *
+	 * @return The number of parameters of the constructor
+	 */
+	int size() {
+		return names.length;
+	}
+
+	/**
+	 * It returns the name of the given component.
+	 *
+	 * @param index
+	 *            The index of the constructor parameter
+	 * @return The name of the component
+	 */
+	String getName(int index) {
+		return names[index];
+	}
+
+	/**
+	 * It returns the annotations of the given component.
+	 *
+	 * @param index
+	 *            The index of the constructor parameter
+	 * @return The annotations of the component, as a read-only list
+	 */
+	List<Annotation> getAnnotations(int index) {
+		return annotations.get(index);
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It returns whether the given class is a record.
+	 *
+	 * @param pojoClass
+	 *            The class to check
+	 * @return {@code true} if this JVM supports records and the class is one
+	 * @throws Exception
+	 *             If the class could not be inspected
+	 */
+	private static boolean isRecord(Class<?> pojoClass) throws Exception {
+		return IS_RECORD != null
+				&& Boolean.TRUE.equals(IS_RECORD.invoke(pojoClass));
+	}
+
+	/**
+	 * It resolves the canonical constructor of a record.
+	 *
+	 * @param recordClass
+	 *            The record class
+	 * @return The canonical constructor of the record
+	 * @throws Exception
+	 *             If the components or the constructor could not be resolved
+	 */
+	private static CanonicalConstructor forRecord(Class<?> recordClass)
+			throws Exception {
+
+		Object[] components = (Object[]) GET_RECORD_COMPONENTS
+				.invoke(recordClass);
+
+		String[] names = new String[components.length];
+		Class<?>[] types = new Class<?>[components.length];
+		AnnotatedElement[] elements = new AnnotatedElement[components.length];
+		for (int i = 0; i < components.length; i++) {
+			names[i] = (String) GET_COMPONENT_NAME.invoke(components[i]);
+			types[i] = (Class<?>) GET_COMPONENT_TYPE.invoke(components[i]);
+			elements[i] = (AnnotatedElement) components[i];
+		}
+
+		return new CanonicalConstructor(
+				recordClass.getDeclaredConstructor(types), names, elements);
+	}
+
+	/**
+	 * It resolves the constructor of a class whose only public constructor
+	 * takes a value for each of the instance fields declared by the class.
+	 * <p>
+	 * The order of the declared fields is not specified, so each parameter
+	 * is matched to its field by name when the class was compiled with
+	 * {@code -parameters}. Otherwise a parameter is matched to the only field
+	 * of its type, and the class is not considered if two fields share a
+	 * type.
+	 * </p>
+	 *
+	 * @param pojoClass
+	 *            The class to inspect
+	 * @return The all-args constructor of the class, or {@code null} if the
+	 *         class does not have one or its parameters cannot be matched to
+	 *         its fields
+	 */
+	private static CanonicalConstructor forAllArgsClass(Class<?> pojoClass) {
+
+		Constructor<?>[] constructors = pojoClass.getConstructors();
+		if (constructors.length != 1) {
+			return null;
+		}
+		Constructor<?> constructor = constructors[0];
+		Class<?>[] parameterTypes = constructor.getParameterTypes();
+
+		List<Field> fields = new ArrayList<Field>();
+		for (Field field : pojoClass.getDeclaredFields()) {
+			if (!Modifier.isStatic(field.getModifiers())
+					&& !field.isSynthetic()) {
+				fields.add(field);
+			}
+		}
+		if (parameterTypes.length == 0
+				|| parameterTypes.length != fields.size()) {
+			return null;
+		}
+
+		Parameter[] parameters = constructor.getParameters();
+		String[] names = new String[parameters.length];
+		AnnotatedElement[] elements = new AnnotatedElement[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			if (parameterTypes[i].equals(pojoClass)) {
+				return null;
+			}
+			Field field = findField(fields, parameters[i], parameterTypes[i]);
+			if (field == null) {
+				return null;
+			}
+			// Each field must be set by exactly one parameter
+			fields.remove(field);
+			names[i] = field.getName();
+			elements[i] = field;
+		}
+
+		return new CanonicalConstructor(constructor, names, elements);
+	}
+
+	/**
+	 * It finds the field set by the given constructor parameter.
+	 *
+	 * @param fields
+	 *            The fields not matched to a parameter yet
+	 * @param parameter
+	 *            The constructor parameter
+	 * @param parameterType
+	 *            The type of the parameter
+	 * @return The field with the name of the parameter, if its name is known,
+	 *         otherwise the only field of the type of the parameter, or
+	 *         {@code null} if there is no such field
+	 */
+	private static Field findField(List<Field> fields, Parameter parameter,
+			Class<?> parameterType) {
+
+		Field retValue = null;
+		for (Field field : fields) {
+			if (!field.getType().equals(parameterType)) {
+				continue;
+			}
+			if (parameter.isNamePresent()) {
+				if (field.getName().equals(parameter.getName())) {
+					return field;
+				}
+			} else if (retValue != null) {
+				// Two fields of the same type, either could be meant
+				return null;
+			} else {
+				retValue = field;
+			}
+		}
+		return retValue;
+	}
+
+	/**
+	 * It merges the annotations of a constructor parameter with those of the
+	 * component it sets.
+	 *
+	 * @param parameterAnnotations
+	 *            The annotations of the parameter, which take precedence
+	 * @param componentAnnotations
+	 *            The annotations of the record component or field
+	 * @return The merged annotations, as a read-only list
+	 */
+	private static List<Annotation> mergeAnnotations(
+			Annotation[] parameterAnnotations,
+			Annotation[] componentAnnotations) {
+
+		List<Annotation> retValue = new ArrayList<Annotation>(
+				Arrays.asList(parameterAnnotations));
+		for (Annotation componentAnnotation : componentAnnotations) {
+			boolean found = false;
+			for (Annotation parameterAnnotation : parameterAnnotations) {
+				if (parameterAnnotation.annotationType().equals(
+						componentAnnotation.annotationType())) {
+					found = true;
+					break;
+				}
+			}
+			if (!found) {
+				retValue.add(componentAnnotation);
+			}
+		}
+		return Collections.unmodifiableList(retValue);
+	}
+
+	// ------------------->> equals() / hashcode() / toString()
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "CanonicalConstructor ( " + constructor + " )";
+	}
+
+}
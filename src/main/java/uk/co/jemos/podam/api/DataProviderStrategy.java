@@ -145,4 +145,231 @@ public interface DataProviderStrategy {
 	public String getStringOfLength(int length,
 			AttributeMetadata attributeMetadata);
 
+	/**
+	 * It fills a region of an int array with values returned by
+	 * {@link #getInteger(AttributeMetadata)}.
+	 * <p>
+	 * PODAM uses this method to fill int arrays, so that implementations can
+	 * write many values at once without boxing them.
+	 * </p>
+	 * 
+	 * @param array
+	 *            The array to fill
+	 * @param fromIndex
+	 *            The index of the first element to fill (inclusive)
+	 * @param toIndex
+	 *            The index of the last element to fill (exclusive)
+	 * @param attributeMetadata
+	 *            The metadata of the array elements
+	 */
+	public default void fillIntegers(int[] array, int fromIndex, int toIndex,
+			AttributeMetadata attributeMetadata) {
+		for (int i = fromIndex; i < toIndex; i++) {
+			array[i] = getInteger(attributeMetadata);
+		}
+	}
+
+	/**
+	 * It fills a region of an int array with values between min and max value
+	 * (included).
+	 * 
+	 * @param array
+	 *            The array to fill
+	 * @param fromIndex
+	 *            The index of the first element to fill (inclusive)
+	 * @param toIndex
+	 *            The index of the last element to fill (exclusive)
+	 * @param minValue
+	 *            The minimum value for the elements
+	 * @param maxValue
+	 *            The maximum value for the elements
+	 * @param attributeMetadata
+	 *            The metadata of the array elements
+	 * @see #getIntegerInRange(int, int, AttributeMetadata)
+	 */
+	public default void fillIntegersInRange(int[] array, int fromIndex,
+			int toIndex, int minValue, int maxValue,
+			AttributeMetadata attributeMetadata) {
+		for (int i = fromIndex; i < toIndex; i++) {
+			array[i] = getIntegerInRange(minValue, maxValue, attributeMetadata);
+		}
+	}
+
+	/**
+	 * It fills a region of a long array with values returned by
+	 * {@link #getLong(AttributeMetadata)}.
+	 * 
+	 * @param array
+	 *            The array to fill
+	 * @param fromIndex
+	 *            The index of the first element to fill (inclusive)
+	 * @param toIndex
+	 *            The index of the last element to fill (exclusive)
+	 * @param attributeMetadata
+	 *            The metadata of the array elements
+	 */
+	public default void fillLongs(long[] array, int fromIndex, int toIndex,
+			AttributeMetadata attributeMetadata) {
+		for (int i = fromIndex; i < toIndex; i++) {
+			array[i] = getLong(attributeMetadata);
+		}
+	}
+
+	/**
+	 * It fills a region of a long array with values between min and max value
+	 * (included).
+	 * 
+	 * @param array
+	 *            The array to fill
+	 * @param fromIndex
+	 *            The index of the first element to fill (inclusive)
+	 * @param toIndex
+	 *            The index of the last element to fill (exclusive)
+	 * @param minValue
+	 *            The minimum value for the elements
+	 * @param maxValue
+	 *            The maximum value for the elements
+	 * @param attributeMetadata
+	 *            The metadata of the array elements
+	 * @see #getLongInRange(long, long, AttributeMetadata)
+	 */
+	public default void fillLongsInRange(long[] array, int fromIndex,
+			int toIndex, long minValue, long maxValue,
+			AttributeMetadata attributeMetadata) {
+		for (int i = fromIndex; i < toIndex; i++) {
+			array[i] = getLongInRange(minValue, maxValue, attributeMetadata);
+		}
+	}
+
+	/**
+	 * It fills a region of a double array with values returned by
+	 * {@link #getDouble(AttributeMetadata)}.
+	 * 
+	 * @param array
+	 *            The array to fill
+	 * @param fromIndex
+	 *            The index of the first element to fill (inclusive)
+	 * @param toIndex
+	 *            The index of the last element to fill (exclusive)
+	 * @param attributeMetadata
+	 *            The metadata of the array elements
+	 */
+	public default void fillDoubles(double[] array, int fromIndex,
+			int toIndex, AttributeMetadata attributeMetadata) {
+		for (int i = fromIndex; i < toIndex; i++) {
+			array[i] = getDouble(attributeMetadata);
+		}
+	}
+
+	/**
+	 * It fills a region of a double array with values between min and max
+	 * value (included).
+	 * 
+	 * @param array
+	 *            The array to fill
+	 * @param fromIndex
+	 *            The index of the first element to fill (inclusive)
+	 * @param toIndex
+	 *            The index of the last element to fill (exclusive)
+	 * @param minValue
+	 *            The minimum value for the elements
+	 * @param maxValue
+	 *            The maximum value for the elements
+	 * @param attributeMetadata
+	 *            The metadata of the array elements
+	 * @see #getDoubleInRange(double, double, AttributeMetadata)
+	 */
+	public default void fillDoublesInRange(double[] array, int fromIndex,
+			int toIndex, double minValue, double maxValue,
+			AttributeMetadata attributeMetadata) {
+		for (int i = fromIndex; i < toIndex; i++) {
+			array[i] = getDoubleInRange(minValue, maxValue, attributeMetadata);
+		}
+	}
+
+	/**
+	 * It fills a region of a byte array with values returned by
+	 * {@link #getByte(AttributeMetadata)}.
+	 * 
+	 * @param array
+	 *            The array to fill
+	 * @param fromIndex
+	 *            The index of the first element to fill (inclusive)
+	 * @param toIndex
+	 *            The index of the last element to fill (exclusive)
+	 * @param attributeMetadata
+	 *            The metadata of the array elements
+	 */
+	public default void fillBytes(byte[] array, int fromIndex, int toIndex,
+			AttributeMetadata attributeMetadata) {
+		for (int i = fromIndex; i < toIndex; i++) {
+			array[i] = getByte(attributeMetadata);
+		}
+	}
+
+	/**
+	 * It fills a region of a byte array with values between min and max value
+	 * (included).
+	 * 
+	 * @param array
+	 *            The array to fill
+	 * @param fromIndex
+	 *            The index of the first element to fill (inclusive)
+	 * @param toIndex
+	 *            The index of the last element to fill (exclusive)
+	 * @param minValue
+	 *            The minimum value for the elements
+	 * @param maxValue
+	 *            The maximum value for the elements
+	 * @param attributeMetadata
+	 *            The metadata of the array elements
+	 * @see #getByteInRange(byte, byte, AttributeMetadata)
+	 */
+	public default void fillBytesInRange(byte[] array, int fromIndex,
+			int toIndex, byte minValue, byte maxValue,
+			AttributeMetadata attributeMetadata) {
+		for (int i = fromIndex; i < toIndex; i++) {
+			array[i] = getByteInRange(minValue, maxValue, attributeMetadata);
+		}
+	}
+
+	/**
+	 * It returns a whole value drawn from the distribution of the given
+	 * sampler.
+	 * <p>
+	 * Strategies not drawing from a {@link RandomSource} fall back to a value
+	 * in the range of the sampler, ignoring its distribution.
+	 * </p>
+	 * 
+	 * @param sampler
+	 *            The sampler, built from the annotation of the attribute
+	 * @param attributeMetadata
+	 *            The metadata of the attribute
+	 * @return A whole value drawn from the distribution of the sampler
+	 */
+	public default long getLongFromSampler(Sampler sampler,
+			AttributeMetadata attributeMetadata) {
+		return getLongInRange(sampler.getMinLong(), sampler.getMaxLong(),
+				attributeMetadata);
+	}
+
+	/**
+	 * It returns a value drawn from the distribution of the given sampler.
+	 * <p>
+	 * Strategies not drawing from a {@link RandomSource} fall back to a value
+	 * in the range of the sampler, ignoring its distribution.
+	 * </p>
+	 * 
+	 * @param sampler
+	 *            The sampler, built from the annotation of the attribute
+	 * @param attributeMetadata
+	 *            The metadata of the attribute
+	 * @return A value drawn from the distribution of the sampler
+	 */
+	public default double getDoubleFromSampler(Sampler sampler,
+			AttributeMetadata attributeMetadata) {
+		return getDoubleInRange(sampler.getMinValue(), sampler.getMaxValue(),
+				attributeMetadata);
+	}
+
 }
@@ -0,0 +1,53 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+/**
+ * The distributions the values of a numeric attribute can follow between the
+ * minimum and the maximum values set through its annotation, e.g.
+ * {@link uk.co.jemos.podam.annotations.PodamIntValue#distribution()}.
+ * <p>
+ * All of them are sampled in constant time, whatever the range, with no
+ * value drawn again. See {@link Sampler}.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+public enum Distribution {
+
+	/** All the values are equally likely. */
+	UNIFORM,
+
+	/**
+	 * The values gather around the middle of the range, as a normal
+	 * distribution whose standard deviation is a sixth of the range. The few
+	 * values beyond the range are brought back to its bounds.
+	 */
+	NORMAL,
+
+	/**
+	 * The values get rarer away from the minimum value, as an exponential
+	 * distribution cut at the maximum value. With the default skew of 1 the
+	 * values near the maximum are e<sup>5</sup> times rarer than the values
+	 * near the minimum; a greater skew makes them rarer still.
+	 */
+	EXPONENTIAL,
+
+	/**
+	 * The minimum value is the most likely, and the likelihood of the value
+	 * {@code minValue + k - 1} falls as {@code 1 / k}<sup>skew</sup>, as in a
+	 * Zipf law. This is what the keys requested from a cache usually look
+	 * like. The values are whole numbers even for floating point attributes.
+	 */
+	ZIPF,
+
+	/**
+	 * The value {@code minValue + i} has the likelihood given by the
+	 * {@code i}-th weight, relative to the sum of the weights. The maximum
+	 * value is not used.
+	 */
+	WEIGHTED
+
+}
@@ -0,0 +1,138 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.jcip.annotations.ThreadSafe;
+import uk.co.jemos.podam.utils.PodamConstants;
+
+/**
+ * It decides, for one factory, which classes are filled through their
+ * compiled plan.
+ * <p>
+ * A class starts on the reflective path, where each attribute is written as
+ * soon as its value is generated. The factory counts the instances of each
+ * class it fills and, once a class reaches the threshold, it switches that
+ * class to its compiled plan (see {@link GenerationPlan#getFiller(Class)}).
+ * The switch is a single write to a concurrent map, so each thread sees
+ * either the old path or the new one. Classes which are rarely filled never
+ * pay for the compilation.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+@ThreadSafe
+final class FillerTiers {
+
+	// ------------------->> Constants
+
+	// ------------------->> Instance / Static variables
+
+	/** The classes filled through their compiled plan */
+	private final ConcurrentMap<Class<?>, MethodHandle> promoted = new ConcurrentHashMap<Class<?>, MethodHandle>();
+
+	/** The instances filled so far of the classes not yet promoted */
+	private final ConcurrentMap<Class<?>, AtomicInteger> counts = new ConcurrentHashMap<Class<?>, AtomicInteger>();
+
+	/**
+	 * The number of instances of a class filled through reflection before
+	 * the class is promoted, or a negative number to never promote
+	 */
+	private volatile int threshold = PodamConstants.COMPILATION_THRESHOLD;
+
+	// ------------------->> Constructors
+
+	// ------------------->> Package-private methods
+
+	/**
+	 * It records that an instance of the given class is about to be filled
+	 * and returns the compiled plan to fill it with, if the class was
+	 * promoted.
+	 *
+	 * @param pojoClass
+	 *            The class of the instance
+	 * @return The compiled plan of the class, or {@code null} if the instance
+	 *         must be filled through reflection
+	 */
+	MethodHandle record(Class<?> pojoClass) {
+		return record(pojoClass, 1);
+	}
+
+	/**
+	 * It records that the given number of instances of the given class are
+	 * about to be filled, one after the other, and returns the compiled plan
+	 * to fill them with, if the class was promoted. A run of instances
+	 * larger than the threshold promotes the class straight away.
+	 *
+	 * @param pojoClass
+	 *            The class of the instances
+	 * @param instances
+	 *            The number of instances
+	 * @return The compiled plan of the class, or {@code null} if the
+	 *         instances must be filled through reflection
+	 */
+	MethodHandle record(Class<?> pojoClass, int instances) {
+
+		MethodHandle filler = promoted.get(pojoClass);
+		if (filler != null) {
+			return filler;
+		}
+
+		int limit = threshold;
+		if (limit < 0) {
+			return null;
+		}
+
+		AtomicInteger count = counts.get(pojoClass);
+		if (count == null) {
+			AtomicInteger newCount = new AtomicInteger();
+			count = counts.putIfAbsent(pojoClass, newCount);
+			if (count == null) {
+				count = newCount;
+			}
+		}
+		if (count.addAndGet(instances) <= limit) {
+			return null;
+		}
+
+		filler = GenerationPlan.getFiller(pojoClass);
+		if (filler != null) {
+			promoted.put(pojoClass, filler);
+			counts.remove(pojoClass);
+		}
+		return filler;
+	}
+
+	/**
+	 * It returns the number of instances of a class filled through
+	 * reflection before the class is promoted.
+	 *
+	 * @return The threshold, or a negative number if classes are never
+	 *         promoted
+	 */
+	int getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * It sets the number of instances of a class filled through reflection
+	 * before the class is promoted, and starts counting again for all
+	 * classes.
+	 *
+	 * @param threshold
+	 *            The threshold: zero promotes each class straight away, a
+	 *            negative number never promotes any class
+	 */
+	void setThreshold(int threshold) {
+		this.threshold = threshold;
+		promoted.clear();
+		counts.clear();
+	}
+
+}
@@ -0,0 +1,58 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+/**
+ * Contract for objects which follow the progress of a {@link PodamFactoryImpl}
+ * while it fills POJOs.
+ * <p>
+ * A factory notifies its data provider strategy when the strategy implements
+ * this interface. The events of one {@link PodamFactory#manufacturePojo(Class)}
+ * call all reach the listener from the thread making the call, in order and
+ * properly nested: each {@code attributeStarted} is followed by an
+ * {@code attributeFinished}, with the events of the attributes of the nested
+ * POJOs in between. This is what a {@link RandomSource} needs to give each
+ * call and each attribute its own reproducible stream of numbers (see
+ * {@link RandomSources#seeded(long)}).
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+public interface GenerationListener {
+
+	/**
+	 * It is invoked when a factory starts filling a POJO for a call to
+	 * {@link PodamFactory#manufacturePojo(Class)}.
+	 *
+	 * @param callIndex
+	 *            The index of the call: the factory numbers the calls it
+	 *            receives from zero
+	 */
+	public void manufactureStarted(long callIndex);
+
+	/**
+	 * It is invoked when a factory is done with a call to
+	 * {@link PodamFactory#manufacturePojo(Class)}, whether the call
+	 * succeeded or not.
+	 */
+	public void manufactureFinished();
+
+	/**
+	 * It is invoked when a factory starts generating the value of an
+	 * attribute or of a constructor argument.
+	 *
+	 * @param attributeName
+	 *            The attribute name, or {@code null} for a constructor
+	 *            argument which does not match any attribute
+	 */
+	public void attributeStarted(String attributeName);
+
+	/**
+	 * It is invoked when a factory is done generating the value of an
+	 * attribute or of a constructor argument, whether it succeeded or not.
+	 */
+	public void attributeFinished();
+
+}
@@ -0,0 +1,528 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.jcip.annotations.Immutable;
+import uk.co.jemos.podam.annotations.PodamStrategyValue;
+import uk.co.jemos.podam.dto.AttributeMetadata;
+import uk.co.jemos.podam.dto.ClassInfo;
+import uk.co.jemos.podam.utils.ClassMetadataCache;
+import uk.co.jemos.podam.utils.PodamUtils;
+
+/**
+ * The list of steps PODAM follows to fill an instance of a POJO class.
+ * <p>
+ * Everything which depends only on the class, such as the attributes to fill,
+ * their kind, the annotations customising them and the setter or field to
+ * write them with, is worked out once per class when the plan is built. Filling
+ * an instance then only means walking through the steps of the plan.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+@Immutable
+final class GenerationPlan {
+
+	// ------------------->> Constants
+
+	/** Application logger */
+	private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger
+			.getLogger(GenerationPlan.class.getName());
+
+	/** The plans built so far, one per class */
+	private static final ClassMetadataCache<GenerationPlan> PLANS = new ClassMetadataCache<GenerationPlan>() {
+
+		@Override
+		protected GenerationPlan compute(Class<?> clazz) {
+			return new GenerationPlan(clazz);
+		}
+	};
+
+	/**
+	 * The types the collection and map fields of each class are initialised
+	 * with, found from a single probe instance of the class
+	 */
+	private static final ClassMetadataCache<Map<String, Class<?>>> INITIALIZED_TYPES = new ClassMetadataCache<Map<String, Class<?>>>() {
+
+		@Override
+		protected Map<String, Class<?>> compute(Class<?> clazz) {
+			return probeInitializedTypes(clazz);
+		}
+	};
+
+	/**
+	 * The compiled plans built so far, one per class, or {@code null} for the
+	 * classes which cannot be compiled
+	 */
+	private static final ClassMetadataCache<MethodHandle> FILLERS = new ClassMetadataCache<MethodHandle>() {
+
+		@Override
+		protected MethodHandle compute(Class<?> clazz) {
+			return forClass(clazz).compile();
+		}
+	};
+
+	/** A filler which writes nothing */
+	private static final MethodHandle NO_OP = MethodHandles.dropArguments(
+			MethodHandles.constant(Object.class, null).asType(
+					MethodType.methodType(void.class)), 0,
+			Accessors.FILLER_TYPE.parameterList());
+
+	/** A handle of type {@code (Object[], int)Object} reading an array */
+	private static final MethodHandle ARRAY_ELEMENT = MethodHandles
+			.arrayElementGetter(Object[].class);
+
+	/** A handle to {@link #hasValue(Object[], int)} */
+	private static final MethodHandle HAS_VALUE;
+
+	static {
+		try {
+			HAS_VALUE = MethodHandles.lookup().findStatic(
+					GenerationPlan.class,
+					"hasValue",
+					MethodType.methodType(boolean.class, Object[].class,
+							int.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	// ------------------->> Instance / Static variables
+
+	/** The class this plan fills */
+	private final Class<?> pojoClass;
+
+	/** The attributes to fill, setters first and then fields */
+	private final Node[] nodes;
+
+	// ------------------->> Constructors
+
+	/**
+	 * It builds the plan for the given class.
+	 *
+	 * @param pojoClass
+	 *            The class to fill
+	 */
+	private GenerationPlan(Class<?> pojoClass) {
+
+		this.pojoClass = pojoClass;
+
+		ClassInfo classInfo = PodamUtils.getClassInfo(pojoClass);
+
+		List<Node> steps = new ArrayList<Node>();
+		Set<String> attributesWithSetters = new HashSet<String>();
+
+		for (Method setter : classInfo.getClassSetters()) {
+
+			String attributeName = PodamUtils
+					.extractFieldNameFromSetterMethod(setter);
+			attributesWithSetters.add(attributeName);
+
+			// If the setter is not public we set it to accessible or
+			// otherwise the invocation will fail.
+			if (!Modifier.isPublic(setter.getModifiers())) {
+				LOG.warn("The setter: "
+						+ setter.getName()
+						+ " is not public. Setting it to accessible(true). "
+						+ "However if you have got security in place to avoid these kind of things, you will get an error");
+				setter.setAccessible(true);
+			}
+
+			steps.add(new Node(pojoClass, attributeName,
+					setter.getParameterTypes()[0], classInfo
+							.getAttributeAnnotations(attributeName), setter,
+					null));
+		}
+
+		for (String attributeName : classInfo.getClassFields()) {
+
+			if (attributesWithSetters.contains(attributeName)) {
+				continue;
+			}
+
+			Field field = classInfo.getField(attributeName);
+			if (field == null) {
+				continue;
+			}
+			field.setAccessible(true);
+
+			steps.add(new Node(pojoClass, attributeName, field.getType(),
+					classInfo.getAttributeAnnotations(attributeName), null,
+					field));
+		}
+
+		nodes = steps.toArray(new Node[steps.size()]);
+	}
+
+	// ------------------->> Public methods
+
+	/**
+	 * It returns the plan to fill instances of the given class, building it if
+	 * this is the first request for that class.
+	 *
+	 * @param pojoClass
+	 *            The class to fill
+	 * @return The plan to fill instances of the given class
+	 */
+	static GenerationPlan forClass(Class<?> pojoClass) {
+		return PLANS.get(pojoClass);
+	}
+
+	/**
+	 * It returns whether there is no attribute to fill.
+	 *
+	 * @return {@code true} if the class has neither setters nor fields to
+	 *         fill
+	 */
+	boolean isEmpty() {
+		return nodes.length == 0;
+	}
+
+	/**
+	 * It returns the attributes to fill, in order.
+	 * <p>
+	 * The array is shared by all users of this plan and must not be modified.
+	 * </p>
+	 *
+	 * @return The attributes to fill, in order
+	 */
+	Node[] getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * It returns the compiled plan of the given class.
+	 * <p>
+	 * The compiled plan is a single handle of type
+	 * {@link Accessors#FILLER_TYPE} which writes, one after the other, the
+	 * values of all the attributes of a POJO. It takes the values in the
+	 * order of {@link #getNodes()}, skips the setters whose value is
+	 * {@code null} and leaves alone the collections held in fields, exactly
+	 * as {@link Node#write(Object, Object)} does. It also skips the primitive
+	 * fields whose value is {@code null}, which were already written through
+	 * {@link Node#generator}. It is built the first time it is requested.
+	 * </p>
+	 *
+	 * @param pojoClass
+	 *            The class to fill
+	 * @return The compiled plan of the given class, or {@code null} if one of
+	 *         its setters or fields can only be written through reflection
+	 */
+	static MethodHandle getFiller(Class<?> pojoClass) {
+		return FILLERS.get(pojoClass);
+	}
+
+	/**
+	 * It returns the type the given collection or map attribute is initialised
+	 * with, in the declaration of the given class.
+	 * <p>
+	 * This is needed only when there is no instance of the class at hand to
+	 * read the attribute from. The class is then instantiated once, the first
+	 * time the type of any of its attributes is required.
+	 * </p>
+	 *
+	 * @param pojoClass
+	 *            The class declaring the attribute
+	 * @param attributeName
+	 *            The attribute name
+	 * @return The type the attribute is initialised with, or {@code null} if
+	 *         it is not initialised or the class could not be instantiated
+	 */
+	static Class<?> getInitializedType(Class<?> pojoClass,
+			String attributeName) {
+		return INITIALIZED_TYPES.get(pojoClass).get(attributeName);
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It chains the writers of all the attributes into a single handle.
+	 *
+	 * @return A handle of type {@link Accessors#FILLER_TYPE}, or {@code null}
+	 *         if one of the writers could not be resolved
+	 */
+	private MethodHandle compile() {
+
+		// Handles are folded from the last attribute back, so that the
+		// first one is written first
+		MethodHandle filler = NO_OP;
+		for (int i = nodes.length - 1; i >= 0; i--) {
+
+			Node node = nodes[i];
+			if (node.setter == null && node.kind == AttributeKind.COLLECTION) {
+				continue;
+			}
+			if (node.writer == null) {
+				LOG.debug("The plan of " + pojoClass.getName()
+						+ " cannot be compiled: " + node.attributeName
+						+ " can only be written through reflection");
+				return null;
+			}
+
+			MethodHandle step = MethodHandles.filterArguments(node.writer, 1,
+					MethodHandles.insertArguments(ARRAY_ELEMENT, 1, i));
+			if (node.setter != null || node.attributeType.isPrimitive()) {
+				MethodHandle test = MethodHandles.dropArguments(
+						MethodHandles.insertArguments(HAS_VALUE, 1, i), 0,
+						Object.class);
+				step = MethodHandles.guardWithTest(test, step, NO_OP);
+			}
+
+			filler = MethodHandles.foldArguments(filler, step);
+		}
+
+		return filler;
+	}
+
+	/**
+	 * It returns whether a value was generated for an attribute.
+	 *
+	 * @param values
+	 *            The values of the attributes
+	 * @param index
+	 *            The index of the attribute
+	 * @return {@code true} if the value of the attribute is not {@code null}
+	 */
+	private static boolean hasValue(Object[] values, int index) {
+		return values[index] != null;
+	}
+
+	/**
+	 * It instantiates the given class and records the types its collection
+	 * and map fields are initialised with.
+	 *
+	 * @param pojoClass
+	 *            The class to probe
+	 * @return The initialised collection and map fields, mapped to the type
+	 *         of their initial value
+	 */
+	private static Map<String, Class<?>> probeInitializedTypes(
+			Class<?> pojoClass) {
+
+		Object probe;
+		try {
+			probe = pojoClass.getDeclaredConstructor().newInstance();
+		} catch (InvocationTargetException e) {
+			LOG.debug("The constructor of " + pojoClass.getName()
+					+ " failed while finding how its collections and maps"
+					+ " are initialised: " + e.getCause());
+			return Collections.emptyMap();
+		} catch (Exception e) {
+			LOG.debug("Could not instantiate " + pojoClass.getName()
+					+ " to find how its collections and maps are initialised: "
+					+ e);
+			return Collections.emptyMap();
+		}
+
+		ClassInfo classInfo = PodamUtils.getClassInfo(pojoClass);
+		Map<String, Class<?>> retValue = new HashMap<String, Class<?>>();
+
+		for (String attributeName : classInfo.getClassFields()) {
+
+			Field field = classInfo.getAttributeField(attributeName);
+			if (field == null
+					|| !(Collection.class.isAssignableFrom(field.getType()) || Map.class
+							.isAssignableFrom(field.getType()))) {
+				continue;
+			}
+
+			try {
+				field.setAccessible(true);
+				Object initialValue = field.get(probe);
+				if (initialValue != null) {
+					retValue.put(attributeName, initialValue.getClass());
+				}
+			} catch (IllegalAccessException e) {
+				LOG.debug("Could not read the initial value of "
+						+ attributeName + ": " + e);
+			}
+		}
+
+		return Collections.unmodifiableMap(retValue);
+	}
+
+	// ------------------->> equals() / hashcode() / toString()
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "GenerationPlan ( pojoClass = " + pojoClass.getName()
+				+ ", attributes = " + nodes.length + " )";
+	}
+
+	// ------------------->> Inner classes
+
+	/**
+	 * One attribute to fill, with everything needed to fill it.
+	 */
+	@Immutable
+	static final class Node {
+
+		/** The attribute name */
+		final String attributeName;
+
+		/** The attribute type */
+		final Class<?> attributeType;
+
+		/** The kind of the attribute type */
+		final AttributeKind kind;
+
+		/** The annotations of the attribute, as a read-only list */
+		final List<Annotation> annotations;
+
+		/** The annotation customising the value of the attribute, if any */
+		final Annotation valueAnnotation;
+
+		/** The metadata passed to the data provider strategy */
+		final AttributeMetadata attributeMetadata;
+
+		/**
+		 * The strategy chosen for the attribute through
+		 * {@link PodamStrategyValue}, if any
+		 */
+		final Class<? extends AttributeStrategy<?>> strategyClass;
+
+		/** Whether the attribute is of the same type as the POJO */
+		final boolean selfReference;
+
+		/** The setter writing the attribute, or {@code null} for a field */
+		private final Method setter;
+
+		/** The field writing the attribute, or {@code null} for a setter */
+		private final Field field;
+
+		/**
+		 * The handle to the setter or the field, or {@code null} if it could
+		 * not be resolved and reflection must be used
+		 */
+		private final MethodHandle writer;
+
+		/**
+		 * The handle generating and writing the value of a primitive attribute
+		 * through a {@link PrimitiveDataProviderStrategy}, or {@code null} if
+		 * the attribute is not primitive or its value is customised
+		 */
+		final MethodHandle generator;
+
+		/**
+		 * Full constructor.
+		 *
+		 * @param pojoClass
+		 *            The class of the POJO owning the attribute
+		 * @param attributeName
+		 *            The attribute name
+		 * @param attributeType
+		 *            The attribute type
+		 * @param annotations
+		 *            The annotations of the attribute
+		 * @param setter
+		 *            The setter writing the attribute, or {@code null}
+		 * @param field
+		 *            The field writing the attribute, or {@code null}
+		 */
+		private Node(Class<?> pojoClass, String attributeName,
+				Class<?> attributeType, List<Annotation> annotations,
+				Method setter, Field field) {
+
+			this.attributeName = attributeName;
+			this.attributeType = attributeType;
+			this.annotations = annotations;
+			this.setter = setter;
+			this.field = field;
+			writer = setter != null ? Accessors.forSetter(setter) : Accessors
+					.forField(field);
+
+			kind = AttributeKind.of(attributeType);
+			valueAnnotation = kind.findValueAnnotation(annotations);
+			attributeMetadata = new AttributeMetadata(attributeName,
+					attributeType, annotations);
+			selfReference = attributeType.equals(pojoClass);
+
+			Class<? extends AttributeStrategy<?>> chosenStrategy = null;
+			for (Annotation annotation : annotations) {
+				if (annotation instanceof PodamStrategyValue) {
+					chosenStrategy = ((PodamStrategyValue) annotation).value();
+					break;
+				}
+			}
+			strategyClass = chosenStrategy;
+
+			generator = valueAnnotation == null && strategyClass == null ? Accessors
+					.forGenerator(setter != null ? setter : field,
+							attributeMetadata) : null;
+		}
+
+		/**
+		 * It writes the given value into the attribute of the given POJO.
+		 * <p>
+		 * A setter is not invoked with a {@code null} value. A collection held
+		 * in a field is filled in place and it is not written again.
+		 * </p>
+		 *
+		 * @param pojoObject
+		 *            The POJO being filled
+		 * @param value
+		 *            The value of the attribute
+		 * @throws IllegalAccessException
+		 *             If the setter or the field could not be accessed
+		 * @throws InvocationTargetException
+		 *             If the setter threw an exception
+		 */
+		void write(Object pojoObject, Object value)
+				throws IllegalAccessException, InvocationTargetException {
+
+			if (setter != null) {
+
+				if (value == null) {
+					LOG.warn("Couldn't find a suitable value for attribute: "
+							+ attributeName
+							+ ". This POJO attribute will be left to null.");
+				} else if (writer != null) {
+					Accessors.write(writer, pojoObject, value);
+				} else {
+					setter.invoke(pojoObject, value);
+				}
+
+			} else if (kind != AttributeKind.COLLECTION) {
+
+				if (writer != null) {
+					Accessors.write(writer, pojoObject, value);
+				} else {
+					field.set(pojoObject, value);
+				}
+
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return attributeName + " (" + kind + ")";
+		}
+
+	}
+
+}
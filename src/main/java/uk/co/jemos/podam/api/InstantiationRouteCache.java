@@ -0,0 +1,233 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Member;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.ThreadSafe;
+import uk.co.jemos.podam.dto.InstantiationStatistics;
+
+/**
+ * It remembers, for each class, the constructor or factory method which
+ * PODAM successfully used to create an instance of that class.
+ * <p>
+ * PODAM has several ways of creating an instance, each one considering a
+ * different set of candidates (see {@link Route}). A successful candidate is
+ * recorded per class and per route, so that the next instance of the same
+ * class is created straight away instead of searching again. The cache also
+ * counts how often the recorded routes were used and how often the full
+ * search had to run.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+@ThreadSafe
+class InstantiationRouteCache {
+
+	// ------------------->> Constants
+
+	/**
+	 * The ways in which PODAM may create an instance of a class
+	 */
+	enum Route {
+
+		/** A POJO, created before its setters and fields are filled */
+		POJO,
+
+		/** A POJO without setters, filled through its constructor */
+		POJO_WITHOUT_SETTERS,
+
+		/**
+		 * A class, typically from the Java namespace, created through its
+		 * public constructors or its static factory methods
+		 */
+		CLASS_WITHOUT_SETTERS
+	}
+
+	// ------------------->> Instance / Static variables
+
+	/** The successful constructors or methods, one slot per route */
+	private final ClassValue<AtomicReferenceArray<RecordedRoute>> routes = new ClassValue<AtomicReferenceArray<RecordedRoute>>() {
+
+		@Override
+		protected AtomicReferenceArray<RecordedRoute> computeValue(
+				Class<?> type) {
+			return new AtomicReferenceArray<RecordedRoute>(
+					Route.values().length);
+		}
+	};
+
+	/** The classes for which a route has been recorded */
+	private final Set<Class<?>> recordedClasses = Collections
+			.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+
+	/**
+	 * How many instances were created through a recorded route. It is bumped
+	 * for nearly every instance, from every thread, hence an adder.
+	 */
+	private final LongAdder routeHits = new LongAdder();
+
+	/** How many times a recorded route failed */
+	private final AtomicLong routeFailures = new AtomicLong();
+
+	/** How many times PODAM had to search for a way to create an instance */
+	private final AtomicLong fallbackSearches = new AtomicLong();
+
+	/** How many routes have been recorded so far */
+	private final AtomicLong recordedRoutes = new AtomicLong();
+
+	// ------------------->> Public methods
+
+	/**
+	 * It returns the constructor or method recorded for the given class and
+	 * route.
+	 *
+	 * @param clazz
+	 *            The class to create
+	 * @param route
+	 *            The way in which the class is being created
+	 * @return The recorded constructor or method, or {@code null} if none was
+	 *         recorded yet
+	 */
+	Member get(Class<?> clazz, Route route) {
+		RecordedRoute recorded = getRoute(clazz, route);
+		return recorded != null ? recorded.member : null;
+	}
+
+	/**
+	 * It returns the constructor or method recorded for the given class and
+	 * route, together with its handle.
+	 *
+	 * @param clazz
+	 *            The class to create
+	 * @param route
+	 *            The way in which the class is being created
+	 * @return The recorded route, or {@code null} if none was recorded yet
+	 */
+	RecordedRoute getRoute(Class<?> clazz, Route route) {
+		return routes.get(clazz).get(route.ordinal());
+	}
+
+	/**
+	 * It records the constructor or method which successfully created an
+	 * instance of the given class.
+	 *
+	 * @param clazz
+	 *            The class which was created
+	 * @param route
+	 *            The way in which the class was created
+	 * @param member
+	 *            The constructor or method which succeeded
+	 */
+	void put(Class<?> clazz, Route route, Member member) {
+		RecordedRoute previous = routes.get(clazz).getAndSet(route.ordinal(),
+				new RecordedRoute(member));
+		if (previous == null) {
+			recordedRoutes.incrementAndGet();
+			recordedClasses.add(clazz);
+		}
+	}
+
+	/**
+	 * It returns the classes for which a route has been recorded, including
+	 * those whose routes failed since.
+	 *
+	 * @return A read-only view of the classes for which a route has been
+	 *         recorded
+	 */
+	Set<Class<?>> getRecordedClasses() {
+		return Collections.unmodifiableSet(recordedClasses);
+	}
+
+	/**
+	 * It notes that an instance was created through a recorded route.
+	 */
+	void routeHit() {
+		routeHits.increment();
+	}
+
+	/**
+	 * It notes that several instances were created through a recorded route.
+	 *
+	 * @param count
+	 *            The number of instances
+	 */
+	void routeHits(long count) {
+		routeHits.add(count);
+	}
+
+	/**
+	 * It notes that a recorded route failed and forgets about it.
+	 *
+	 * @param clazz
+	 *            The class which could not be created
+	 * @param route
+	 *            The way in which the class was being created
+	 */
+	void routeFailed(Class<?> clazz, Route route) {
+		routeFailures.incrementAndGet();
+		if (routes.get(clazz).getAndSet(route.ordinal(), null) != null) {
+			recordedRoutes.decrementAndGet();
+		}
+	}
+
+	/**
+	 * It notes that PODAM is searching for a way to create an instance.
+	 */
+	void fallbackSearch() {
+		fallbackSearches.incrementAndGet();
+	}
+
+	/**
+	 * It returns a snapshot of the statistics of this cache.
+	 *
+	 * @return A snapshot of the statistics of this cache
+	 */
+	InstantiationStatistics getStatistics() {
+		return new InstantiationStatistics(routeHits.sum(),
+				routeFailures.get(), fallbackSearches.get(),
+				recordedRoutes.get());
+	}
+
+	// ------------------->> Inner classes
+
+	/**
+	 * A constructor or method which successfully created an instance, with
+	 * the handle to invoke it.
+	 */
+	@Immutable
+	static final class RecordedRoute {
+
+		/** The constructor or method */
+		final Member member;
+
+		/**
+		 * The handle to the constructor or method, taking its arguments as an
+		 * array, or {@code null} if reflection must be used
+		 */
+		final MethodHandle creator;
+
+		/**
+		 * Full constructor.
+		 *
+		 * @param member
+		 *            The constructor or method
+		 */
+		RecordedRoute(Member member) {
+			this.member = member;
+			creator = Accessors.forCreator(member);
+		}
+
+	}
+
+}
@@ -0,0 +1,672 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import net.jcip.annotations.Immutable;
+import uk.co.jemos.podam.api.InstantiationRouteCache.Route;
+import uk.co.jemos.podam.dto.ClassInfo;
+import uk.co.jemos.podam.utils.PodamUtils;
+
+/**
+ * The metadata PODAM resolved about a set of classes, in a form which can be
+ * saved to disk and loaded by a later run.
+ * <p>
+ * For each class, the index holds its fields, its setters and the
+ * constructors or factory methods which successfully created its instances,
+ * all by name. Loading the index into a factory spares the reflective
+ * discovery of those classes, so that their first instances are created
+ * almost as fast as the following ones. Generic element types are not part
+ * of the index: they are resolved from the loaded fields when first needed.
+ * </p>
+ * <p>
+ * Each class is stored with a hash of its class file and of those of its
+ * super classes. An entry whose class has changed since the index was saved
+ * is ignored when the index is loaded, and the class is then analysed again
+ * as usual.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+@Immutable
+public final class MetadataIndex {
+
+	// ------------------->> Constants
+
+	/** Application logger */
+	private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger
+			.getLogger(MetadataIndex.class.getName());
+
+	/** The first bytes of an index file */
+	private static final int MAGIC = 0x50444D49;
+
+	/** The version of the index format */
+	private static final int FORMAT_VERSION = 1;
+
+	/** The name under which constructors are stored */
+	private static final String CONSTRUCTOR_NAME = "<init>";
+
+	/** The primitive types, by name */
+	private static final Map<String, Class<?>> PRIMITIVES = new HashMap<String, Class<?>>();
+
+	static {
+		for (Class<?> primitive : new Class<?>[] { boolean.class, byte.class,
+				char.class, short.class, int.class, long.class, float.class,
+				double.class, void.class }) {
+			PRIMITIVES.put(primitive.getName(), primitive);
+		}
+	}
+
+	// ------------------->> Instance / Static variables
+
+	/** The entries of this index, by class name */
+	private final Map<String, Entry> entries;
+
+	// ------------------->> Constructors
+
+	/**
+	 * Full constructor.
+	 *
+	 * @param entries
+	 *            The entries of this index, by class name
+	 */
+	private MetadataIndex(Map<String, Entry> entries) {
+		this.entries = Collections.unmodifiableMap(entries);
+	}
+
+	// ------------------->> Public methods
+
+	/**
+	 * It reads an index from the given file.
+	 *
+	 * @param file
+	 *            The file to read
+	 * @return The index read from the file
+	 * @throws IOException
+	 *             If the file could not be read or it is not an index
+	 */
+	public static MetadataIndex load(File file) throws IOException {
+
+		InputStream in = new FileInputStream(file);
+		try {
+			return read(in);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * It reads an index from the given stream.
+	 *
+	 * @param in
+	 *            The stream to read, which is not closed
+	 * @return The index read from the stream
+	 * @throws IOException
+	 *             If the stream could not be read or it does not hold an
+	 *             index
+	 */
+	public static MetadataIndex read(InputStream in) throws IOException {
+
+		DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+
+		if (data.readInt() != MAGIC) {
+			throw new IOException("Not a PODAM metadata index");
+		}
+		int version = data.readInt();
+		if (version != FORMAT_VERSION) {
+			throw new IOException("Unsupported PODAM metadata index version: "
+					+ version);
+		}
+
+		int size = data.readInt();
+		Map<String, Entry> entries = new LinkedHashMap<String, Entry>();
+		for (int i = 0; i < size; i++) {
+			Entry entry = Entry.read(data);
+			entries.put(entry.className, entry);
+		}
+
+		return new MetadataIndex(entries);
+	}
+
+	/**
+	 * It writes this index to the given file.
+	 *
+	 * @param file
+	 *            The file to write
+	 * @throws IOException
+	 *             If the file could not be written
+	 */
+	public void save(File file) throws IOException {
+
+		OutputStream out = new FileOutputStream(file);
+		try {
+			write(out);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * It writes this index to the given stream.
+	 *
+	 * @param out
+	 *            The stream to write, which is flushed but not closed
+	 * @throws IOException
+	 *             If the stream could not be written
+	 */
+	public void write(OutputStream out) throws IOException {
+
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(
+				out));
+
+		data.writeInt(MAGIC);
+		data.writeInt(FORMAT_VERSION);
+		data.writeInt(entries.size());
+		for (Entry entry : entries.values()) {
+			entry.write(data);
+		}
+
+		data.flush();
+	}
+
+	/**
+	 * It returns the names of the classes in this index.
+	 *
+	 * @return The names of the classes in this index, as a read-only set
+	 */
+	public Set<String> getClassNames() {
+		return entries.keySet();
+	}
+
+	/**
+	 * It returns the number of classes in this index.
+	 *
+	 * @return The number of classes in this index
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	// ------------------->> Package-private methods
+
+	/**
+	 * It builds an index of the classes for which the given cache recorded a
+	 * way to create instances.
+	 *
+	 * @param routes
+	 *            The ways to create instances recorded by a factory
+	 * @return An index of those classes
+	 */
+	static MetadataIndex build(InstantiationRouteCache routes) {
+
+		Map<String, Entry> entries = new LinkedHashMap<String, Entry>();
+		for (Class<?> clazz : routes.getRecordedClasses()) {
+			entries.put(clazz.getName(), Entry.describe(clazz, routes));
+		}
+
+		return new MetadataIndex(entries);
+	}
+
+	/**
+	 * It loads this index into the metadata caches.
+	 * <p>
+	 * The class information is shared by all factories, while the ways to
+	 * create instances go to the given cache. Entries whose class cannot be
+	 * found or has changed since the index was built are skipped.
+	 * </p>
+	 *
+	 * @param loader
+	 *            The class loader to load the classes with
+	 * @param routes
+	 *            The cache of a factory
+	 * @return The number of classes loaded from this index
+	 */
+	int applyTo(ClassLoader loader, InstantiationRouteCache routes) {
+
+		int applied = 0;
+
+		for (Entry entry : entries.values()) {
+			try {
+
+				Class<?> clazz = Class.forName(entry.className, false, loader);
+				if (structuralHash(clazz) != entry.structuralHash) {
+					LOG.info("The class: " + entry.className
+							+ " changed since the index was built."
+							+ " It will be analysed again.");
+					continue;
+				}
+
+				entry.applyTo(clazz, loader, routes);
+				applied++;
+
+			} catch (ClassNotFoundException e) {
+				LOG.info("The indexed class: " + entry.className
+						+ " could not be found: " + e);
+			} catch (NoSuchFieldException e) {
+				LOG.info("The indexed class: " + entry.className
+						+ " does not match the index: " + e);
+			} catch (NoSuchMethodException e) {
+				LOG.info("The indexed class: " + entry.className
+						+ " does not match the index: " + e);
+			}
+		}
+
+		return applied;
+	}
+
+	/**
+	 * It returns a hash of the class file of the given class and of those of
+	 * its super classes.
+	 *
+	 * @param clazz
+	 *            The class
+	 * @return A hash which changes whenever the structure of the class
+	 *         changes
+	 */
+	static long structuralHash(Class<?> clazz) {
+
+		CRC32 crc = new CRC32();
+		byte[] buffer = new byte[4096];
+
+		for (Class<?> current = clazz; current != null
+				&& current != Object.class; current = current.getSuperclass()) {
+
+			String resource = current.getName().substring(
+					current.getName().lastIndexOf('.') + 1)
+					+ ".class";
+			InputStream in = current.getResourceAsStream(resource);
+
+			if (in == null) {
+
+				// No class file to look at: fall back to the declared members
+				crc.update(current.getName().getBytes());
+				for (Field field : current.getDeclaredFields()) {
+					crc.update(field.toString().getBytes());
+				}
+				for (Method method : current.getDeclaredMethods()) {
+					crc.update(method.toString().getBytes());
+				}
+				continue;
+			}
+
+			try {
+				try {
+					int read;
+					while ((read = in.read(buffer)) != -1) {
+						crc.update(buffer, 0, read);
+					}
+				} finally {
+					in.close();
+				}
+			} catch (IOException e) {
+				crc.update(current.getName().getBytes());
+			}
+		}
+
+		return crc.getValue();
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It loads the class with the given name, primitives included.
+	 *
+	 * @param name
+	 *            The class name, as returned by {@link Class#getName()}
+	 * @param loader
+	 *            The class loader to load the class with
+	 * @return The class with the given name
+	 * @throws ClassNotFoundException
+	 *             If the class could not be found
+	 */
+	private static Class<?> loadClass(String name, ClassLoader loader)
+			throws ClassNotFoundException {
+
+		Class<?> primitive = PRIMITIVES.get(name);
+		if (primitive != null) {
+			return primitive;
+		}
+		return Class.forName(name, false, loader);
+	}
+
+	/**
+	 * It describes the given constructor or method by name.
+	 *
+	 * @param route
+	 *            The way of creating instances it was recorded for, or
+	 *            {@code null} for a setter
+	 * @param member
+	 *            The constructor or method
+	 * @return The route name, if any, then the declaring class name, the
+	 *         member name and the parameter type names
+	 */
+	private static String[] describeMember(Route route, Member member) {
+
+		Class<?>[] parameterTypes = member instanceof Constructor ? ((Constructor<?>) member)
+				.getParameterTypes() : ((Method) member).getParameterTypes();
+		int offset = route != null ? 1 : 0;
+
+		String[] retValue = new String[offset + 2 + parameterTypes.length];
+		if (route != null) {
+			retValue[0] = route.name();
+		}
+		retValue[offset] = member.getDeclaringClass().getName();
+		retValue[offset + 1] = member instanceof Constructor ? CONSTRUCTOR_NAME
+				: member.getName();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			retValue[offset + 2 + i] = parameterTypes[i].getName();
+		}
+
+		return retValue;
+	}
+
+	/**
+	 * It finds the constructor or method described by
+	 * {@link #describeMember(Route, Member)}.
+	 *
+	 * @param description
+	 *            The description of the member
+	 * @param offset
+	 *            Where the declaring class name is in the description
+	 * @param loader
+	 *            The class loader to load the classes with
+	 * @return The constructor or method
+	 * @throws ClassNotFoundException
+	 *             If a class could not be found
+	 * @throws NoSuchMethodException
+	 *             If the member could not be found
+	 */
+	private static Member findMember(String[] description, int offset,
+			ClassLoader loader) throws ClassNotFoundException,
+			NoSuchMethodException {
+
+		Class<?> declaringClass = loadClass(description[offset], loader);
+		Class<?>[] parameterTypes = new Class<?>[description.length - offset
+				- 2];
+		for (int i = 0; i < parameterTypes.length; i++) {
+			parameterTypes[i] = loadClass(description[offset + 2 + i], loader);
+		}
+
+		if (CONSTRUCTOR_NAME.equals(description[offset + 1])) {
+			return declaringClass.getDeclaredConstructor(parameterTypes);
+		}
+		return declaringClass.getDeclaredMethod(description[offset + 1],
+				parameterTypes);
+	}
+
+	// ------------------->> equals() / hashcode() / toString()
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "MetadataIndex ( classes = " + entries.size() + " )";
+	}
+
+	// ------------------->> Inner classes
+
+	/**
+	 * The metadata of one class, by name.
+	 */
+	@Immutable
+	private static final class Entry {
+
+		/** The class name */
+		private final String className;
+
+		/** The hash of the class when the entry was built */
+		private final long structuralHash;
+
+		/** The names of the fields PODAM fills */
+		private final String[] classFields;
+
+		/** The names of the non-private fields */
+		private final String[] relevantFields;
+
+		/** The declaring class and name of every attribute field */
+		private final String[][] attributeFields;
+
+		/** The setters PODAM invokes, as described by describeMember */
+		private final String[][] setters;
+
+		/** The constructors and methods which created instances */
+		private final String[][] routes;
+
+		/**
+		 * Full constructor.
+		 *
+		 * @param className
+		 *            The class name
+		 * @param structuralHash
+		 *            The hash of the class
+		 * @param classFields
+		 *            The names of the fields PODAM fills
+		 * @param relevantFields
+		 *            The names of the non-private fields
+		 * @param attributeFields
+		 *            The declaring class and name of every attribute field
+		 * @param setters
+		 *            The setters PODAM invokes
+		 * @param routes
+		 *            The constructors and methods which created instances
+		 */
+		private Entry(String className, long structuralHash,
+				String[] classFields, String[] relevantFields,
+				String[][] attributeFields, String[][] setters,
+				String[][] routes) {
+			this.className = className;
+			this.structuralHash = structuralHash;
+			this.classFields = classFields;
+			this.relevantFields = relevantFields;
+			this.attributeFields = attributeFields;
+			this.setters = setters;
+			this.routes = routes;
+		}
+
+		/**
+		 * It describes the given class.
+		 *
+		 * @param clazz
+		 *            The class
+		 * @param routeCache
+		 *            The ways to create instances recorded by a factory
+		 * @return The description of the class
+		 */
+		static Entry describe(Class<?> clazz, InstantiationRouteCache routeCache) {
+
+			ClassInfo classInfo = PodamUtils.getClassInfo(clazz);
+
+			String[][] attributeFields = new String[classInfo
+					.getAttributeNames().size()][];
+			int idx = 0;
+			for (String attributeName : classInfo.getAttributeNames()) {
+				attributeFields[idx++] = new String[] {
+						classInfo.getAttributeField(attributeName)
+								.getDeclaringClass().getName(), attributeName };
+			}
+
+			String[][] setters = new String[classInfo.getClassSetters().size()][];
+			idx = 0;
+			for (Method setter : classInfo.getClassSetters()) {
+				setters[idx++] = describeMember(null, setter);
+			}
+
+			Map<Route, Member> recorded = new LinkedHashMap<Route, Member>();
+			for (Route route : Route.values()) {
+				Member member = routeCache.get(clazz, route);
+				if (member != null) {
+					recorded.put(route, member);
+				}
+			}
+			String[][] routes = new String[recorded.size()][];
+			idx = 0;
+			for (Map.Entry<Route, Member> route : recorded.entrySet()) {
+				routes[idx++] = describeMember(route.getKey(), route.getValue());
+			}
+
+			Set<String> classFields = classInfo.getClassFields();
+			Set<String> relevantFields = classInfo.getRelevantFieldNames();
+
+			return new Entry(clazz.getName(), structuralHash(clazz),
+					classFields.toArray(new String[classFields.size()]),
+					relevantFields.toArray(new String[relevantFields.size()]),
+					attributeFields, setters, routes);
+		}
+
+		/**
+		 * It loads this entry into the metadata caches.
+		 *
+		 * @param clazz
+		 *            The class described by this entry
+		 * @param loader
+		 *            The class loader to load the classes with
+		 * @param routeCache
+		 *            The cache of a factory
+		 * @throws ClassNotFoundException
+		 *             If a class could not be found
+		 * @throws NoSuchFieldException
+		 *             If a field could not be found
+		 * @throws NoSuchMethodException
+		 *             If a constructor or method could not be found
+		 */
+		void applyTo(Class<?> clazz, ClassLoader loader,
+				InstantiationRouteCache routeCache)
+				throws ClassNotFoundException, NoSuchFieldException,
+				NoSuchMethodException {
+
+			Map<String, Field> attributeFieldMap = new HashMap<String, Field>();
+			for (String[] attributeField : attributeFields) {
+				attributeFieldMap.put(
+						attributeField[1],
+						loadClass(attributeField[0], loader).getDeclaredField(
+								attributeField[1]));
+			}
+
+			Map<String, Field> fieldToType = new HashMap<String, Field>();
+			for (String relevantField : relevantFields) {
+				fieldToType.put(relevantField,
+						attributeFieldMap.get(relevantField));
+			}
+
+			Set<Method> classSetters = new HashSet<Method>();
+			for (String[] setter : setters) {
+				classSetters.add((Method) findMember(setter, 0, loader));
+			}
+
+			Set<String> fieldNames = new HashSet<String>();
+			Collections.addAll(fieldNames, classFields);
+
+			PodamUtils.preloadClassInfo(new ClassInfo(clazz, fieldNames,
+					classSetters, fieldToType, attributeFieldMap));
+
+			for (String[] route : routes) {
+
+				Route kind = Route.valueOf(route[0]);
+				if (routeCache.get(clazz, kind) != null) {
+					continue;
+				}
+
+				Member member = findMember(route, 1, loader);
+				if (!Modifier.isPublic(member.getModifiers())) {
+					((AccessibleObject) member).setAccessible(true);
+				}
+				routeCache.put(clazz, kind, member);
+			}
+		}
+
+		/**
+		 * It reads an entry.
+		 *
+		 * @param in
+		 *            The stream to read
+		 * @return The entry read
+		 * @throws IOException
+		 *             If the stream could not be read
+		 */
+		static Entry read(DataInputStream in) throws IOException {
+			return new Entry(in.readUTF(), in.readLong(), readStrings(in),
+					readStrings(in), readTable(in), readTable(in),
+					readTable(in));
+		}
+
+		/**
+		 * It writes this entry.
+		 *
+		 * @param out
+		 *            The stream to write
+		 * @throws IOException
+		 *             If the stream could not be written
+		 */
+		void write(DataOutputStream out) throws IOException {
+			out.writeUTF(className);
+			out.writeLong(structuralHash);
+			writeStrings(out, classFields);
+			writeStrings(out, relevantFields);
+			writeTable(out, attributeFields);
+			writeTable(out, setters);
+			writeTable(out, routes);
+		}
+
+		private static String[] readStrings(DataInputStream in)
+				throws IOException {
+			String[] retValue = new String[in.readInt()];
+			for (int i = 0; i < retValue.length; i++) {
+				retValue[i] = in.readUTF();
+			}
+			return retValue;
+		}
+
+		private static String[][] readTable(DataInputStream in)
+				throws IOException {
+			String[][] retValue = new String[in.readInt()][];
+			for (int i = 0; i < retValue.length; i++) {
+				retValue[i] = readStrings(in);
+			}
+			return retValue;
+		}
+
+		private static void writeStrings(DataOutputStream out, String[] strings)
+				throws IOException {
+			out.writeInt(strings.length);
+			for (String string : strings) {
+				out.writeUTF(string);
+			}
+		}
+
+		private static void writeTable(DataOutputStream out, String[][] table)
+				throws IOException {
+			out.writeInt(table.length);
+			for (String[] row : table) {
+				writeStrings(out, row);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,323 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import uk.co.jemos.podam.exceptions.PodamMockeryException;
+
+/**
+ * It fills an array with the elements of a dataset on several threads.
+ * <p>
+ * The array is cut into partitions of consecutive indexes, and each
+ * partition is filled by one thread through the bulk path of the factory
+ * (see {@link PodamFactoryImpl#manufacturePojos(Class, Object[], int, int,
+ * long, ProgressListener)}). Each element is drawn from the stream of its
+ * own index, which the seeded source keeps per thread, so the threads share
+ * no random generator and no scratch state, and each element lands in its
+ * own slot of the array. The result is therefore the same, element by
+ * element, whatever the number of threads and the order the partitions are
+ * filled in.
+ * </p>
+ * <p>
+ * On a {@link ForkJoinPool} the range is split in halves down to the
+ * partition size, so that idle workers steal the larger halves left. On any
+ * other {@link Executor} the partitions are submitted one by one, and the
+ * calling thread blocks until they are over: it must therefore not be one of
+ * the threads of that executor, or the partitions may wait for it forever.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+final class ParallelGeneration {
+
+	// ------------------->> Constants
+
+	/** The smallest partition worth a task of its own */
+	private static final int MIN_PARTITION = 256;
+
+	/** How many partitions each thread gets, to balance the load */
+	private static final int PARTITIONS_PER_THREAD = 8;
+
+	// ------------------->> Constructors
+
+	/** Non instantiable constructor */
+	private ParallelGeneration() {
+		throw new AssertionError();
+	}
+
+	// ------------------->> Package-private methods
+
+	/**
+	 * It fills the given array with instances of the given class, as
+	 * consecutive calls to {@link PodamFactoryImpl#manufacturePojo(Class, long)}
+	 * would, on the threads of the given executor.
+	 * <p>
+	 * The calling thread waits until the array is full. If an element cannot
+	 * be produced, or the executor rejects a partition, the partitions not yet
+	 * started are skipped and the failure is thrown once the running ones are
+	 * over. Unless the executor is a {@link ForkJoinPool}, the calling thread
+	 * must not be one of its threads.
+	 * </p>
+	 *
+	 * @param factory
+	 *            The factory producing the instances
+	 * @param pojoClass
+	 *            The class of the instances
+	 * @param array
+	 *            The array to fill
+	 * @param firstCallIndex
+	 *            The call index of the first element
+	 * @param executor
+	 *            The executor running the partitions
+	 * @param progressListener
+	 *            The listener told about the progress as each partition is
+	 *            done, or {@code null}
+	 * @throws PodamMockeryException
+	 *             If an element could not be produced, or the calling thread
+	 *             was interrupted while waiting
+	 * @throws RejectedExecutionException
+	 *             If the executor rejected a partition
+	 */
+	static void fill(PodamFactoryImpl factory, Class<?> pojoClass,
+			Object[] array, long firstCallIndex, Executor executor,
+			ProgressListener progressListener) {
+
+		if (array.length == 0) {
+			return;
+		}
+
+		int threads = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor)
+				.getParallelism() : Runtime.getRuntime().availableProcessors();
+		long tasks = (long) threads * PARTITIONS_PER_THREAD;
+		int partition = (int) Math.max(MIN_PARTITION, (array.length + tasks - 1)
+				/ tasks);
+
+		Partitions partitions = new Partitions(factory, pojoClass, array,
+				firstCallIndex, partition, progressListener);
+		if (executor instanceof ForkJoinPool) {
+			((ForkJoinPool) executor).invoke(new FillTask(partitions, 0,
+					array.length));
+		} else {
+			partitions.submitAll(executor);
+		}
+	}
+
+	// ------------------->> Inner classes
+
+	/**
+	 * The array being filled, cut into partitions.
+	 */
+	private static final class Partitions {
+
+		/** The factory producing the instances */
+		private final PodamFactoryImpl factory;
+
+		/** The class of the instances */
+		private final Class<?> pojoClass;
+
+		/** The array to fill */
+		private final Object[] array;
+
+		/** The call index of the first element */
+		private final long firstCallIndex;
+
+		/** The largest number of elements filled by one task */
+		private final int partition;
+
+		/** The listener told about the progress, or {@code null} */
+		private final ProgressListener progressListener;
+
+		/** The number of elements filled so far */
+		private final AtomicInteger done = new AtomicInteger();
+
+		/** The first failure, after which no partition is started */
+		private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+		/**
+		 * Full constructor.
+		 *
+		 * @param factory
+		 *            The factory producing the instances
+		 * @param pojoClass
+		 *            The class of the instances
+		 * @param array
+		 *            The array to fill
+		 * @param firstCallIndex
+		 *            The call index of the first element
+		 * @param partition
+		 *            The largest number of elements filled by one task
+		 * @param progressListener
+		 *            The listener told about the progress, or {@code null}
+		 */
+		private Partitions(PodamFactoryImpl factory, Class<?> pojoClass,
+				Object[] array, long firstCallIndex, int partition,
+				ProgressListener progressListener) {
+			this.factory = factory;
+			this.pojoClass = pojoClass;
+			this.array = array;
+			this.firstCallIndex = firstCallIndex;
+			this.partition = partition;
+			this.progressListener = progressListener;
+		}
+
+		/**
+		 * It fills the elements of a partition.
+		 *
+		 * @param fromIndex
+		 *            The index of the first element (inclusive)
+		 * @param toIndex
+		 *            The index of the last element (exclusive)
+		 */
+		private void fill(int fromIndex, int toIndex) {
+
+			if (failure.get() != null) {
+				return;
+			}
+
+			try {
+				factory.manufacturePojos(pojoClass, array, fromIndex, toIndex,
+						firstCallIndex + fromIndex, null);
+			} catch (RuntimeException e) {
+				failure.compareAndSet(null, e);
+				throw e;
+			} catch (Error e) {
+				failure.compareAndSet(null, e);
+				throw e;
+			}
+
+			int filled = done.addAndGet(toIndex - fromIndex);
+			if (progressListener != null) {
+				progressListener.progressed(filled, array.length);
+			}
+		}
+
+		/**
+		 * It submits each partition to the given executor and waits until
+		 * they are all over.
+		 *
+		 * @param executor
+		 *            The executor
+		 * @throws PodamMockeryException
+		 *             If an element could not be produced, or the calling
+		 *             thread was interrupted while waiting
+		 * @throws RejectedExecutionException
+		 *             If the executor rejected a partition
+		 */
+		private void submitAll(Executor executor) {
+
+			int count = (array.length + partition - 1) / partition;
+			final CountDownLatch over = new CountDownLatch(count);
+			for (int i = 0; i < count; i++) {
+
+				final int fromIndex = i * partition;
+				final int toIndex = Math.min(array.length, fromIndex
+						+ partition);
+				try {
+					executor.execute(new Runnable() {
+						@Override
+						public void run() {
+							try {
+								fill(fromIndex, toIndex);
+							} catch (RuntimeException e) {
+								// Kept in failure
+							} catch (Error e) {
+								// Kept in failure
+							} finally {
+								over.countDown();
+							}
+						}
+					});
+				} catch (RejectedExecutionException e) {
+					failure.compareAndSet(null, e);
+					// Neither this partition nor the next ones will run
+					for (int j = i; j < count; j++) {
+						over.countDown();
+					}
+					break;
+				}
+			}
+
+			try {
+				over.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failure.compareAndSet(null, e);
+				throw new PodamMockeryException(
+						"Interrupted while waiting for the POJOs", e);
+			}
+
+			Throwable t = failure.get();
+			if (t instanceof RuntimeException) {
+				throw (RuntimeException) t;
+			} else if (t instanceof Error) {
+				throw (Error) t;
+			} else if (t != null) {
+				throw new PodamMockeryException(
+						"The POJOs could not be produced", t);
+			}
+		}
+
+	}
+
+	/**
+	 * A fork/join task filling a range of the array, by splitting it in
+	 * halves down to the partition size.
+	 */
+	private static final class FillTask extends RecursiveAction {
+
+		/** Serial version UID */
+		private static final long serialVersionUID = 1L;
+
+		/** The array being filled */
+		private final Partitions partitions;
+
+		/** The index of the first element (inclusive) */
+		private final int fromIndex;
+
+		/** The index of the last element (exclusive) */
+		private final int toIndex;
+
+		/**
+		 * Full constructor.
+		 *
+		 * @param partitions
+		 *            The array being filled
+		 * @param fromIndex
+		 *            The index of the first element (inclusive)
+		 * @param toIndex
+		 *            The index of the last element (exclusive)
+		 */
+		private FillTask(Partitions partitions, int fromIndex, int toIndex) {
+			this.partitions = partitions;
+			this.fromIndex = fromIndex;
+			this.toIndex = toIndex;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void compute() {
+
+			if (toIndex - fromIndex <= partitions.partition) {
+				partitions.fill(fromIndex, toIndex);
+				return;
+			}
+
+			int middle = (fromIndex + toIndex) >>> 1;
+			invokeAll(new FillTask(partitions, fromIndex, middle),
+					new FillTask(partitions, middle, toIndex));
+		}
+
+	}
+
+}
@@ -0,0 +1,393 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A reproducible, random-access dataset of POJOs of one class.
+ * <p>
+ * The dataset is a view: no element exists until it is requested, and
+ * requesting it again produces it again. Element {@code i} depends only on
+ * the seed of the dataset and on {@code i}: it is what the {@code i}-th call
+ * to {@link PodamFactory#manufacturePojo(Class)} returns on a factory whose
+ * strategy draws from {@link RandomSources#seeded(long)} with the same seed.
+ * Any element can therefore be produced on its own, without producing the
+ * elements before it. Workers can share a dataset by index range, and an
+ * interrupted run can resume from the index it had reached.
+ * </p>
+ * <p>
+ * The same property lets a dataset produce a range of elements on several
+ * threads, e.g. with {@link #get(long, int, Executor)}: the output is the
+ * same, element by element, whatever the number of threads.
+ * </p>
+ *
+ * @param <T>
+ *            The type of the elements
+ *
+ * @since 3.0.2
+ *
+ */
+@ThreadSafe
+public final class PodamDataset<T> {
+
+	// ------------------->> Constants
+
+	// ------------------->> Instance / Static variables
+
+	/** The factory producing the elements */
+	private final PodamFactoryImpl factory;
+
+	/** The class of the elements */
+	private final Class<T> pojoClass;
+
+	/** The seed the elements are derived from */
+	private final long seed;
+
+	// ------------------->> Constructors
+
+	/**
+	 * Full constructor.
+	 *
+	 * @param factory
+	 *            The factory producing the elements, whose strategy draws
+	 *            from a source seeded with the given seed
+	 * @param pojoClass
+	 *            The class of the elements
+	 * @param seed
+	 *            The seed the elements are derived from
+	 */
+	PodamDataset(PodamFactoryImpl factory, Class<T> pojoClass, long seed) {
+		this.factory = factory;
+		this.pojoClass = pojoClass;
+		this.seed = seed;
+	}
+
+	// ------------------->> Public methods
+
+	/**
+	 * It produces the element at the given index.
+	 *
+	 * @param index
+	 *            The index of the element, from zero
+	 * @return The element at the given index
+	 * @throws IllegalArgumentException
+	 *             If the index is negative
+	 */
+	public T get(long index) {
+
+		if (index < 0) {
+			throw new IllegalArgumentException("The index cannot be negative: "
+					+ index);
+		}
+		return factory.manufacturePojo(pojoClass, index);
+	}
+
+	/**
+	 * It produces the given number of elements, from the given index.
+	 *
+	 * @param fromIndex
+	 *            The index of the first element
+	 * @param count
+	 *            The number of elements
+	 * @return The elements, in index order
+	 * @throws IllegalArgumentException
+	 *             If the index or the number of elements is negative
+	 */
+	@SuppressWarnings("unchecked")
+	public List<T> get(long fromIndex, int count) {
+
+		if (count < 0) {
+			throw new IllegalArgumentException(
+					"The number of elements cannot be negative: " + count);
+		}
+		if (fromIndex < 0) {
+			throw new IllegalArgumentException("The index cannot be negative: "
+					+ fromIndex);
+		}
+
+		Object[] elements = new Object[count];
+		factory.manufacturePojos(pojoClass, elements, 0, count, fromIndex,
+				null);
+
+		List<T> retValue = new ArrayList<T>(count);
+		for (Object element : elements) {
+			retValue.add((T) element);
+		}
+		return retValue;
+	}
+
+	/**
+	 * It fills the given array with the elements from the given index on,
+	 * telling the given listener about the progress.
+	 *
+	 * @param fromIndex
+	 *            The index of the element for the first array element
+	 * @param array
+	 *            The array to fill
+	 * @param progressListener
+	 *            The listener told about the progress, or {@code null}
+	 * @return The array
+	 * @throws IllegalArgumentException
+	 *             If the index is negative
+	 */
+	public T[] get(long fromIndex, T[] array, ProgressListener progressListener) {
+
+		if (fromIndex < 0) {
+			throw new IllegalArgumentException("The index cannot be negative: "
+					+ fromIndex);
+		}
+		factory.manufacturePojos(pojoClass, array, 0, array.length, fromIndex,
+				progressListener);
+		return array;
+	}
+
+	/**
+	 * It produces the given number of elements, from the given index, on the
+	 * threads of the given executor.
+	 * <p>
+	 * The elements are the same, and in the same order, as those returned by
+	 * {@link #get(long, int)}. The calling thread waits until they are all
+	 * produced.
+	 * </p>
+	 *
+	 * @param fromIndex
+	 *            The index of the first element
+	 * @param count
+	 *            The number of elements
+	 * @param executor
+	 *            The executor producing the elements, e.g.
+	 *            {@link ForkJoinPool#commonPool()}
+	 * @return The elements, in index order
+	 * @throws IllegalArgumentException
+	 *             If the index or the number of elements is negative
+	 * @see #get(long, Object[], Executor, ProgressListener)
+	 */
+	@SuppressWarnings("unchecked")
+	public List<T> get(long fromIndex, int count, Executor executor) {
+
+		if (count < 0) {
+			throw new IllegalArgumentException(
+					"The number of elements cannot be negative: " + count);
+		}
+		if (fromIndex < 0) {
+			throw new IllegalArgumentException("The index cannot be negative: "
+					+ fromIndex);
+		}
+
+		Object[] elements = new Object[count];
+		ParallelGeneration.fill(factory, pojoClass, elements, fromIndex,
+				executor, null);
+
+		List<T> retValue = new ArrayList<T>(count);
+		for (Object element : elements) {
+			retValue.add((T) element);
+		}
+		return retValue;
+	}
+
+	/**
+	 * It fills the given array with the elements from the given index on, on
+	 * the threads of the given executor, telling the given listener about the
+	 * progress.
+	 * <p>
+	 * The array is cut into partitions of consecutive elements, each produced
+	 * by one thread. A {@link ForkJoinPool} splits the partitions further
+	 * when some of its threads are idle; any other executor gets one task per
+	 * partition. The listener is told about the progress as each partition is
+	 * done, from the thread which produced it, so it must be thread-safe.
+	 * </p>
+	 * <p>
+	 * The calling thread waits until the array is full, so unless the
+	 * executor is a {@link ForkJoinPool} it must not be one of the threads of
+	 * the executor.
+	 * </p>
+	 *
+	 * @param fromIndex
+	 *            The index of the element for the first array element
+	 * @param array
+	 *            The array to fill
+	 * @param executor
+	 *            The executor producing the elements
+	 * @param progressListener
+	 *            The listener told about the progress, or {@code null}
+	 * @return The array
+	 * @throws IllegalArgumentException
+	 *             If the index is negative
+	 * @throws uk.co.jemos.podam.exceptions.PodamMockeryException
+	 *             If an element could not be produced, or the calling thread
+	 *             was interrupted while waiting
+	 * @throws java.util.concurrent.RejectedExecutionException
+	 *             If the executor rejected some of the work
+	 */
+	public T[] get(long fromIndex, T[] array, Executor executor,
+			ProgressListener progressListener) {
+
+		if (fromIndex < 0) {
+			throw new IllegalArgumentException("The index cannot be negative: "
+					+ fromIndex);
+		}
+		ParallelGeneration.fill(factory, pojoClass, array, fromIndex,
+				executor, progressListener);
+		return array;
+	}
+
+	/**
+	 * It returns an iterator producing the elements one by one, from the
+	 * given index on.
+	 * <p>
+	 * The iterator never ends. It produces each element when it is asked for
+	 * it, so the elements already returned can be discarded.
+	 * </p>
+	 *
+	 * @param fromIndex
+	 *            The index of the first element
+	 * @return An iterator over the elements from the given index
+	 * @throws IllegalArgumentException
+	 *             If the index is negative
+	 */
+	public Iterator<T> iterator(final long fromIndex) {
+
+		if (fromIndex < 0) {
+			throw new IllegalArgumentException("The index cannot be negative: "
+					+ fromIndex);
+		}
+
+		return new Iterator<T>() {
+
+			/** The index of the next element */
+			private long next = fromIndex;
+
+			@Override
+			public boolean hasNext() {
+				return next >= 0;
+			}
+
+			@Override
+			public T next() {
+				if (next < 0) {
+					throw new NoSuchElementException();
+				}
+				return get(next++);
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException(
+						"The elements of a dataset cannot be removed");
+			}
+		};
+	}
+
+	/**
+	 * It returns an endless stream of the elements from the given index on.
+	 * <p>
+	 * The stream produces each element when it is consumed. It is
+	 * sequential, but each element depends only on its index, so the stream
+	 * can be made parallel and still yield the same elements in the same
+	 * order.
+	 * </p>
+	 *
+	 * @param fromIndex
+	 *            The index of the first element
+	 * @return An endless, ordered stream of the elements
+	 * @throws IllegalArgumentException
+	 *             If the index is negative
+	 */
+	public Stream<T> stream(long fromIndex) {
+
+		if (fromIndex < 0) {
+			throw new IllegalArgumentException("The index cannot be negative: "
+					+ fromIndex);
+		}
+		return StreamSupport.stream(new PojoSpliterator<T>(newGenerator(),
+				fromIndex, -1), false);
+	}
+
+	/**
+	 * It returns a stream of the given number of elements, from the given
+	 * index.
+	 *
+	 * @param fromIndex
+	 *            The index of the first element
+	 * @param count
+	 *            The number of elements
+	 * @return An ordered stream of the elements
+	 * @throws IllegalArgumentException
+	 *             If the index or the number of elements is negative
+	 * @see #stream(long)
+	 */
+	public Stream<T> stream(long fromIndex, long count) {
+
+		if (fromIndex < 0) {
+			throw new IllegalArgumentException("The index cannot be negative: "
+					+ fromIndex);
+		}
+		if (count < 0) {
+			throw new IllegalArgumentException(
+					"The number of elements cannot be negative: " + count);
+		}
+		return StreamSupport.stream(new PojoSpliterator<T>(newGenerator(),
+				fromIndex, fromIndex + count), false);
+	}
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * It returns the class of the elements.
+	 *
+	 * @return The class of the elements
+	 */
+	public Class<T> getPojoClass() {
+		return pojoClass;
+	}
+
+	/**
+	 * It returns the seed the elements are derived from.
+	 *
+	 * @return The seed the elements are derived from
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It returns a function producing the element of each index.
+	 *
+	 * @return A function producing the element of each index
+	 */
+	private LongFunction<T> newGenerator() {
+
+		return new LongFunction<T>() {
+			@Override
+			public T apply(long index) {
+				return factory.manufacturePojo(pojoClass, index);
+			}
+		};
+	}
+
+	// ------------------->> equals() / hashcode() / toString()
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "PodamDataset ( pojoClass = " + pojoClass.getName()
+				+ ", seed = " + seed + " )";
+	}
+
+}
@@ -3,11 +3,27 @@
  */
 package uk.co.jemos.podam.api;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 import uk.co.jemos.podam.exceptions.PodamMockeryException;
+import uk.co.jemos.podam.utils.PodamConstants;
 
 /**
  * Contract for PODAM factory
  * 
+ * <p>
+ * Only {@link #manufacturePojo(Class)} and {@link #getStrategy()} must be
+ * implemented: the bulk, stream and dataset methods have default
+ * implementations built on {@link #manufacturePojo(Class)}, which
+ * {@link PodamFactoryImpl} replaces with faster ones.
+ * </p>
+ * 
  * @author mtedone
  * 
  * @since 2.0.0
@@ -37,6 +53,205 @@ public interface PodamFactory {
 	 */
 	public <T> T manufacturePojo(Class<T> pojoClass);
 
+	/**
+	 * It returns the given number of instances of the given class filled with
+	 * dummy values.
+	 * 
+	 * <p>
+	 * The instances are those that as many calls to
+	 * {@link #manufacturePojo(Class)} would return, but what these calls
+	 * would work out about the class each time is worked out only once.
+	 * </p>
+	 * 
+	 * @param <T>
+	 *            The type for which filled instances are required
+	 * @param pojoClass
+	 *            The class for which filled instances are required
+	 * @param count
+	 *            The number of instances
+	 * @return A list of the instances, in the order they were generated
+	 * @throws IllegalArgumentException
+	 *             If the number of instances is negative
+	 * @throws PodamMockeryException
+	 *             if a problem occurred while creating a POJO instance or while
+	 *             setting its state
+	 * @see PodamDataset#get(long, int) for instances depending on a seed
+	 */
+	public default <T> List<T> manufacturePojos(Class<T> pojoClass, int count) {
+		return manufacturePojos(pojoClass, count, null);
+	}
+
+	/**
+	 * It returns the given number of instances of the given class filled with
+	 * dummy values, telling the given listener about the progress.
+	 * 
+	 * @param <T>
+	 *            The type for which filled instances are required
+	 * @param pojoClass
+	 *            The class for which filled instances are required
+	 * @param count
+	 *            The number of instances
+	 * @param progressListener
+	 *            The listener told about the progress, or {@code null}
+	 * @return A list of the instances, in the order they were generated
+	 * @throws IllegalArgumentException
+	 *             If the number of instances is negative
+	 * @throws PodamMockeryException
+	 *             if a problem occurred while creating a POJO instance or while
+	 *             setting its state
+	 * @see #manufacturePojos(Class, int)
+	 */
+	@SuppressWarnings("unchecked")
+	public default <T> List<T> manufacturePojos(Class<T> pojoClass, int count,
+			ProgressListener progressListener) {
+
+		if (count < 0) {
+			throw new IllegalArgumentException(
+					"The number of POJOs cannot be negative: " + count);
+		}
+		T[] pojos = manufacturePojos(pojoClass, (T[]) new Object[count],
+				progressListener);
+		return new ArrayList<T>(Arrays.asList(pojos));
+	}
+
+	/**
+	 * It fills the given array with instances of the given class filled with
+	 * dummy values, telling the given listener about the progress.
+	 * 
+	 * @param <T>
+	 *            The type for which filled instances are required
+	 * @param pojoClass
+	 *            The class for which filled instances are required
+	 * @param array
+	 *            The array to fill
+	 * @param progressListener
+	 *            The listener told about the progress, or {@code null}
+	 * @return The array
+	 * @throws PodamMockeryException
+	 *             if a problem occurred while creating a POJO instance or while
+	 *             setting its state
+	 * @see #manufacturePojos(Class, int)
+	 */
+	public default <T> T[] manufacturePojos(Class<T> pojoClass, T[] array,
+			ProgressListener progressListener) {
+
+		for (int i = 0; i < array.length; i++) {
+			array[i] = manufacturePojo(pojoClass);
+			int done = i + 1;
+			if (progressListener != null
+					&& (done % PodamConstants.PROGRESS_INTERVAL == 0 || done == array.length)) {
+				progressListener.progressed(done, array.length);
+			}
+		}
+		return array;
+	}
+
+	/**
+	 * It returns an endless stream of instances of the given class filled
+	 * with dummy values.
+	 * 
+	 * <p>
+	 * The instances are created one by one, as the stream is consumed, so
+	 * the stream takes no more memory whatever the number of instances
+	 * consumed. It is sequential, but it can be made parallel.
+	 * </p>
+	 * 
+	 * @param <T>
+	 *            The type for which filled instances are required
+	 * @param pojoClass
+	 *            The class for which filled instances are required
+	 * @return An endless, ordered stream of instances
+	 * @see PodamDataset#stream(long) for instances depending on a seed
+	 */
+	public default <T> Stream<T> manufacturePojoStream(final Class<T> pojoClass) {
+
+		return StreamSupport.stream(new PojoSpliterator<T>(
+				new LongFunction<T>() {
+					@Override
+					public T apply(long index) {
+						return manufacturePojo(pojoClass);
+					}
+				}, 0, -1), false);
+	}
+
+	/**
+	 * It returns a stream of the given number of instances of the given class
+	 * filled with dummy values.
+	 * 
+	 * <p>
+	 * The instances are created one by one, as the stream is consumed. The
+	 * stream knows its size, so it splits evenly when made parallel.
+	 * </p>
+	 * 
+	 * @param <T>
+	 *            The type for which filled instances are required
+	 * @param pojoClass
+	 *            The class for which filled instances are required
+	 * @param count
+	 *            The number of instances
+	 * @return An ordered stream of the given number of instances
+	 * @throws IllegalArgumentException
+	 *             If the number of instances is negative
+	 * @see #manufacturePojoStream(Class)
+	 */
+	public default <T> Stream<T> manufacturePojoStream(
+			final Class<T> pojoClass, long count) {
+
+		if (count < 0) {
+			throw new IllegalArgumentException(
+					"The number of POJOs cannot be negative: " + count);
+		}
+		return StreamSupport.stream(new PojoSpliterator<T>(
+				new LongFunction<T>() {
+					@Override
+					public T apply(long index) {
+						return manufacturePojo(pojoClass);
+					}
+				}, 0, count), false);
+	}
+
+	/**
+	 * It returns an endless iterator over instances of the given class filled
+	 * with dummy values, each created when it is requested.
+	 * 
+	 * @param <T>
+	 *            The type for which filled instances are required
+	 * @param pojoClass
+	 *            The class for which filled instances are required
+	 * @return An endless iterator over instances of the given class
+	 * @see #manufacturePojoStream(Class)
+	 */
+	public default <T> Iterator<T> manufacturePojoIterator(Class<T> pojoClass) {
+		return manufacturePojoStream(pojoClass).iterator();
+	}
+
+	/**
+	 * It returns a reproducible dataset of instances of the given class.
+	 * 
+	 * <p>
+	 * Each element of the dataset depends only on the seed and on its index,
+	 * so any element can be produced on its own, in any order and by any
+	 * thread, and it is always the same.
+	 * </p>
+	 * <p>
+	 * The default implementation produces the elements with a new
+	 * {@link PodamFactoryImpl}, so none of the configuration of this factory
+	 * applies to them.
+	 * </p>
+	 * 
+	 * @param <T>
+	 *            The type of the elements of the dataset
+	 * @param pojoClass
+	 *            The class of the elements of the dataset
+	 * @param seed
+	 *            The seed the elements are derived from
+	 * @return A dataset of instances of the given class
+	 */
+	public default <T> PodamDataset<T> manufactureDataset(Class<T> pojoClass,
+			long seed) {
+		return new PodamFactoryImpl().manufactureDataset(pojoClass, seed);
+	}
+
 	/**
 	 * It returns the strategy for this factory.
 	 * 
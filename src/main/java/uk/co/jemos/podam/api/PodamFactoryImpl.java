@@ -4,6 +4,7 @@
 package uk.co.jemos.podam.api;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -15,6 +16,7 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -26,10 +28,14 @@ import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import net.jcip.annotations.Immutable;
 import net.jcip.annotations.ThreadSafe;
 import uk.co.jemos.podam.annotations.PodamBooleanValue;
+import uk.co.jemos.podam.annotations.PodamBypassConstructor;
 import uk.co.jemos.podam.annotations.PodamByteValue;
 import uk.co.jemos.podam.annotations.PodamCharValue;
 import uk.co.jemos.podam.annotations.PodamCollection;
@@ -42,22 +48,28 @@ import uk.co.jemos.podam.annotations.PodamShortValue;
 import uk.co.jemos.podam.annotations.PodamStrategyValue;
 import uk.co.jemos.podam.annotations.PodamStringValue;
 import uk.co.jemos.podam.annotations.strategies.ObjectStrategy;
+import uk.co.jemos.podam.api.InstantiationRouteCache.RecordedRoute;
+import uk.co.jemos.podam.api.InstantiationRouteCache.Route;
 import uk.co.jemos.podam.dto.AttributeMetadata;
-import uk.co.jemos.podam.dto.ClassInfo;
+import uk.co.jemos.podam.dto.InstantiationStatistics;
 import uk.co.jemos.podam.exceptions.PodamMockeryException;
 import uk.co.jemos.podam.utils.PodamConstants;
 import uk.co.jemos.podam.utils.PodamUtils;
+import uk.co.jemos.podam.utils.TypeResolver;
 
 /**
  * The PODAM factory implementation
  *
+ * <p> The factory is thread-safe but not immutable: its configuration, such
+ * as the constructor bypasses and the compilation threshold, may be changed
+ * while other threads use it. </p>
+ *
  * @author mtedone
  *
  * @since 1.0.0
  *
  */
 @ThreadSafe
-@Immutable
 public class PodamFactoryImpl implements PodamFactory {
 
     // ------------------->> Constants
@@ -65,12 +77,55 @@ public class PodamFactoryImpl implements PodamFactory {
      * Application logger
      */
     private final org.apache.log4j.Logger LOG = org.apache.log4j.Logger.getLogger(PodamFactoryImpl.class.getName());
+    /**
+     * The arguments of a no-arg constructor
+     */
+    private static final Object[] NO_ARGS = new Object[0];
     // ------------------->> Instance / variables
     /**
      * The strategy to use to fill data. <p> The default is {@link RandomDataProviderStrategy}.
      * </p>
      */
     private final DataProviderStrategy strategy;
+    /**
+     * The strategy, if it follows the progress of the generation, or
+     * {@code null}
+     */
+    private final GenerationListener listener;
+    /**
+     * The strategy, if it returns primitive values, or {@code null}
+     */
+    private final PrimitiveDataProviderStrategy primitives;
+    /**
+     * The number of calls to {@link #manufacturePojo(Class)} so far
+     */
+    private final AtomicLong manufactureCalls = new AtomicLong();
+    /**
+     * The constructors and factory methods which worked so far, per class
+     */
+    private final InstantiationRouteCache instantiationRoutes;
+    /**
+     * The types this factory found it cannot build, with the reason why
+     */
+    private final ConcurrentMap<Class<?>, String> unbuildableTypes;
+    /**
+     * The attribute strategies used by this factory
+     */
+    private final AttributeStrategyRegistry attributeStrategies;
+    /**
+     * The classes this factory fills often enough to use their compiled plan
+     */
+    private final FillerTiers fillerTiers;
+    /**
+     * The classes this factory creates without running their constructors,
+     * besides those annotated with {@link PodamBypassConstructor}
+     */
+    private final Set<Class<?>> constructorBypasses;
+    /**
+     * The samplers of the annotations selecting a distribution other than
+     * {@link Distribution#UNIFORM}
+     */
+    private final ConcurrentMap<Annotation, Sampler> samplers;
 
     // ------------------->> Constructors
     /**
@@ -88,6 +143,44 @@ public class PodamFactoryImpl implements PodamFactory {
     public PodamFactoryImpl(DataProviderStrategy strategy) {
         super();
         this.strategy = strategy;
+        listener = strategy instanceof GenerationListener ? (GenerationListener) strategy
+                : null;
+        primitives = strategy instanceof PrimitiveDataProviderStrategy ? (PrimitiveDataProviderStrategy) strategy
+                : null;
+        instantiationRoutes = new InstantiationRouteCache();
+        unbuildableTypes = new ConcurrentHashMap<Class<?>, String>();
+        attributeStrategies = new AttributeStrategyRegistry();
+        fillerTiers = new FillerTiers();
+        constructorBypasses = Collections
+                .newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+        samplers = new ConcurrentHashMap<Annotation, Sampler>();
+    }
+
+    /**
+     * Constructor of a factory sharing everything with the given one but the
+     * strategy.
+     *
+     * <p> The new factory uses the same attribute strategies, constructor
+     * bypasses and compilation threshold, and it shares what the given
+     * factory learnt about the classes it created. </p>
+     *
+     * @param parent The factory to share everything with
+     * @param strategy The strategy to use to fill data
+     */
+    private PodamFactoryImpl(PodamFactoryImpl parent,
+            DataProviderStrategy strategy) {
+        super();
+        this.strategy = strategy;
+        listener = strategy instanceof GenerationListener ? (GenerationListener) strategy
+                : null;
+        primitives = strategy instanceof PrimitiveDataProviderStrategy ? (PrimitiveDataProviderStrategy) strategy
+                : null;
+        instantiationRoutes = parent.instantiationRoutes;
+        unbuildableTypes = parent.unbuildableTypes;
+        attributeStrategies = parent.attributeStrategies;
+        fillerTiers = parent.fillerTiers;
+        constructorBypasses = parent.constructorBypasses;
+        samplers = parent.samplers;
     }
 
     // ------------------->> Public methods
@@ -97,7 +190,227 @@ public class PodamFactoryImpl implements PodamFactory {
     @Override
     public <T> T manufacturePojo(Class<T> pojoClass) {
 
-        return manufacturePojoInternal(pojoClass, 0);
+        if (listener == null) {
+            return manufacturePojoInternal(pojoClass, 0);
+        }
+        return manufacturePojo(pojoClass, manufactureCalls.getAndIncrement());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> manufacturePojos(Class<T> pojoClass, int count,
+            ProgressListener progressListener) {
+
+        if (count < 0) {
+            throw new IllegalArgumentException(
+                    "The number of POJOs cannot be negative: " + count);
+        }
+
+        Object[] pojos = new Object[count];
+        manufacturePojos(pojoClass, pojos, 0, count, reserveCalls(count),
+                progressListener);
+
+        List<T> retValue = new ArrayList<T>(count);
+        for (Object pojo : pojos) {
+            retValue.add((T) pojo);
+        }
+        return retValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T[] manufacturePojos(Class<T> pojoClass, T[] array,
+            ProgressListener progressListener) {
+
+        manufacturePojos(pojoClass, array, 0, array.length,
+                reserveCalls(array.length), progressListener);
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> The call indexes of the POJOs are reserved up front, so that each
+     * POJO gets the same one whatever the order it is produced in. </p>
+     */
+    @Override
+    public <T> Stream<T> manufacturePojoStream(final Class<T> pojoClass,
+            long count) {
+
+        if (count < 0) {
+            throw new IllegalArgumentException(
+                    "The number of POJOs cannot be negative: " + count);
+        }
+
+        final long firstCallIndex = reserveCalls(count);
+        return StreamSupport.stream(new PojoSpliterator<T>(
+                new LongFunction<T>() {
+                    @Override
+                    public T apply(long index) {
+                        return manufacturePojo(pojoClass, firstCallIndex
+                                + index);
+                    }
+                }, 0, count), false);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> The elements are filled by a {@link RandomDataProviderStrategy}
+     * drawing from {@link RandomSources#seeded(long)}, in place of the
+     * strategy of this factory. Everything else, such as the attribute
+     * strategies and the constructor bypasses, is shared with this
+     * factory. </p>
+     */
+    @Override
+    public <T> PodamDataset<T> manufactureDataset(Class<T> pojoClass,
+            long seed) {
+
+        PodamFactoryImpl seededFactory = new PodamFactoryImpl(this,
+                new RandomDataProviderStrategy(RandomSources.seeded(seed)));
+        return new PodamDataset<T>(seededFactory, pojoClass, seed);
+    }
+
+    // ------------------->> Package-private methods
+    /**
+     * It returns an instance of the given class filled with dummy values,
+     * as the given call to {@link #manufacturePojo(Class)} would.
+     *
+     * <p> The strategy, if it is a {@link GenerationListener}, is told the
+     * given call index, which a seeded random source derives the values
+     * from. </p>
+     *
+     * @param <T> The type for which a filled instance is required
+     * @param pojoClass The class for which a filled instance is required
+     * @param callIndex The index of the call
+     * @return An instance of <T> filled with dummy values
+     * @throws PodamMockeryException if a problem occurred while creating a
+     * POJO instance or while setting its state
+     */
+    <T> T manufacturePojo(Class<T> pojoClass, long callIndex) {
+
+        if (listener == null) {
+            return manufacturePojoInternal(pojoClass, 0);
+        }
+
+        listener.manufactureStarted(callIndex);
+        try {
+            return manufacturePojoInternal(pojoClass, 0);
+        } finally {
+            listener.manufactureFinished();
+        }
+    }
+
+    /**
+     * It fills a region of an array with instances of the given class, as
+     * consecutive calls to {@link #manufacturePojo(Class, long)} would.
+     *
+     * <p> What {@link #manufacturePojo(Class)} works out about the class on
+     * each call, such as its generation plan and how to create its instances,
+     * is worked out once for the whole region. Once the first instance is
+     * created, the next ones are created straight through the constructor
+     * which worked, and the whole region counts towards the compilation
+     * threshold, so that a region larger than the threshold is filled
+     * through the compiled plan of the class straight away. </p>
+     *
+     * @param <T> The type of the instances
+     * @param pojoClass The class of the instances
+     * @param array The array to fill
+     * @param fromIndex The index of the first element to fill (inclusive)
+     * @param toIndex The index of the last element to fill (exclusive)
+     * @param firstCallIndex The call index of the first element, the next
+     * elements getting the next indexes
+     * @param progressListener The listener told about the progress, or
+     * {@code null}
+     * @throws PodamMockeryException if a problem occurred while creating a
+     * POJO instance or while setting its state
+     */
+    <T> void manufacturePojos(Class<T> pojoClass, Object[] array,
+            int fromIndex, int toIndex, long firstCallIndex,
+            ProgressListener progressListener) {
+
+        int total = toIndex - fromIndex;
+
+        // Only classes filled through their setters take the tight loop
+        GenerationPlan plan = null;
+        if (!pojoClass.isPrimitive() && !pojoClass.isInterface()
+                && !Modifier.isAbstract(pojoClass.getModifiers())
+                && !unbuildableTypes.containsKey(pojoClass)) {
+            plan = GenerationPlan.forClass(pojoClass);
+            if (plan.isEmpty()) {
+                plan = null;
+            }
+        }
+
+        boolean bypassingConstructor = false;
+        MethodHandle filler = null;
+        boolean routable = false;
+        if (plan != null) {
+            bypassingConstructor = isBypassingConstructor(pojoClass);
+            filler = fillerTiers.record(pojoClass, total);
+            routable = !bypassingConstructor;
+        }
+
+        // The no-arg constructor which created the previous instances
+        RecordedRoute route = null;
+        long routeHits = 0;
+        try {
+
+            for (int i = fromIndex; i < toIndex; i++) {
+
+                long callIndex = firstCallIndex + i - fromIndex;
+                if (plan == null) {
+                    array[i] = manufacturePojo(pojoClass, callIndex);
+                } else if (listener == null) {
+                    array[i] = manufacturePojoWithPlan(pojoClass, plan,
+                            bypassingConstructor, route, filler, 0);
+                } else {
+                    listener.manufactureStarted(callIndex);
+                    try {
+                        array[i] = manufacturePojoWithPlan(pojoClass, plan,
+                                bypassingConstructor, route, filler, 0);
+                    } finally {
+                        listener.manufactureFinished();
+                    }
+                }
+
+                if (route != null) {
+                    routeHits++;
+                } else if (routable) {
+                    route = instantiationRoutes.getRoute(pojoClass,
+                            Route.POJO);
+                    if (route != null
+                            && ((Constructor<?>) route.member).getParameterCount() != 0) {
+                        route = null;
+                        routable = false;
+                    }
+                }
+
+                int done = i - fromIndex + 1;
+                if (progressListener != null
+                        && (done % PodamConstants.PROGRESS_INTERVAL == 0 || done == total)) {
+                    progressListener.progressed(done, total);
+                }
+            }
+
+        } catch (InstantiationException e) {
+            throw new PodamMockeryException("An instantiation exception occurred", e);
+        } catch (IllegalAccessException e) {
+            throw new PodamMockeryException("An illegal access occurred", e);
+        } catch (IllegalArgumentException e) {
+            throw new PodamMockeryException("An illegal argument was passed", e);
+        } catch (InvocationTargetException e) {
+            throw new PodamMockeryException("Invocation Target Exception", e);
+        } catch (ClassNotFoundException e) {
+            throw new PodamMockeryException("Invocation Target Exception", e);
+        } finally {
+            instantiationRoutes.routeHits(routeHits);
+        }
     }
 
     // ------------------->> Getters / Setters
@@ -109,7 +422,203 @@ public class PodamFactoryImpl implements PodamFactory {
         return strategy;
     }
 
+    /**
+     * It returns a snapshot of how this factory has been creating instances.
+     *
+     * <p> Once a constructor or factory method successfully creates an
+     * instance of a class, this factory uses it straight away for the next
+     * instances of that class. The statistics tell how often this happened
+     * and how often the factory had to search among all candidates. </p>
+     *
+     * @return A snapshot of how this factory has been creating instances
+     */
+    public InstantiationStatistics getInstantiationStatistics() {
+        return instantiationRoutes.getStatistics();
+    }
+
+    /**
+     * It returns the types which this factory found it cannot build, with the
+     * reason why.
+     *
+     * <p> These are the types which cannot be created whatever the values
+     * generated: interfaces, abstract classes and classes without public
+     * constructors or static factory methods. This factory returns
+     * {@code null} straight away for them. A constructor which rejects the
+     * values it was given does not make its class unbuildable, since other
+     * values may suit it. </p>
+     *
+     * @return An unmodifiable snapshot of the types this factory cannot build,
+     * mapped to the reason why
+     */
+    public Map<Class<?>, String> getUnbuildableTypes() {
+        return Collections.unmodifiableMap(new HashMap<Class<?>, String>(
+                unbuildableTypes));
+    }
+
+    /**
+     * It forgets about the types which this factory found it cannot build, so
+     * that they are attempted again on their next occurrence.
+     */
+    public void clearUnbuildableTypes() {
+        unbuildableTypes.clear();
+    }
+
+    /**
+     * It returns the attribute strategies used by this factory.
+     *
+     * <p> Each strategy class named in the {@link PodamStrategyValue} and
+     * {@link PodamCollection} annotations is instantiated only once by this
+     * factory. Strategy instances can also be registered here, e.g. to use
+     * strategies which PODAM cannot instantiate on its own. </p>
+     *
+     * @return The attribute strategies used by this factory
+     */
+    public AttributeStrategyRegistry getAttributeStrategyRegistry() {
+        return attributeStrategies;
+    }
+
+    /**
+     * It returns how many instances of a class this factory fills through
+     * reflection before it switches to the compiled plan of that class.
+     *
+     * @return The compilation threshold, or a negative number if compiled
+     * plans are never used
+     * @see #setCompilationThreshold(int)
+     */
+    public int getCompilationThreshold() {
+        return fillerTiers.getThreshold();
+    }
+
+    /**
+     * It sets how many instances of a class this factory fills through
+     * reflection before it switches to the compiled plan of that class.
+     *
+     * <p> A compiled plan writes all the attributes of a POJO through a
+     * single chain of method handles, which the JIT compiler can turn into
+     * straight calls to the setters. The values are generated exactly as
+     * on the reflective path and in the same order, so the POJOs filled are
+     * the same. Building the chain has a cost, which only pays off for the
+     * classes filled many times. The default is
+     * {@link PodamConstants#COMPILATION_THRESHOLD}. </p>
+     *
+     * @param threshold The compilation threshold: zero uses compiled plans
+     * straight away, a negative number never uses them
+     */
+    public void setCompilationThreshold(int threshold) {
+        fillerTiers.setThreshold(threshold);
+    }
+
+    /**
+     * It has this factory create the instances of the given class without
+     * running any of its constructors.
+     *
+     * <p> This is the same as annotating the class with
+     * {@link PodamBypassConstructor}, for classes which cannot be
+     * annotated. </p>
+     *
+     * @param pojoClass The class whose constructors must be bypassed
+     */
+    public void bypassConstructor(Class<?> pojoClass) {
+        constructorBypasses.add(pojoClass);
+    }
+
+    /**
+     * It returns whether this factory creates the instances of the given
+     * class without running any of its constructors.
+     *
+     * @param pojoClass The class to check
+     * @return {@code true} if the class is annotated with
+     * {@link PodamBypassConstructor} or was passed to
+     * {@link #bypassConstructor(Class)}
+     */
+    public boolean isBypassingConstructor(Class<?> pojoClass) {
+        return constructorBypasses.contains(pojoClass)
+                || pojoClass.isAnnotationPresent(PodamBypassConstructor.class);
+    }
+
+    /**
+     * It exports the metadata this factory resolved about the classes it
+     * created so far.
+     *
+     * <p> The index can be saved to disk and imported by a factory in a later
+     * run, to spare the reflective discovery of the same classes. </p>
+     *
+     * @return An index of the classes this factory created so far
+     * @see #importMetadataIndex(MetadataIndex)
+     */
+    public MetadataIndex exportMetadataIndex() {
+        return MetadataIndex.build(instantiationRoutes);
+    }
+
+    /**
+     * It imports metadata exported by a factory in a previous run.
+     *
+     * <p> Classes are loaded through the context class loader of the current
+     * thread. The classes which changed since the index was exported are
+     * skipped and analysed again as usual. </p>
+     *
+     * @param index The metadata to import
+     * @return The number of classes imported from the index
+     * @see #exportMetadataIndex()
+     */
+    public int importMetadataIndex(MetadataIndex index) {
+        return index.applyTo(getContextClassLoader(), instantiationRoutes);
+    }
+
     // ------------------->> Private methods
+    /**
+     * It reserves the call indexes of the given number of consecutive calls
+     * to {@link #manufacturePojo(Class)}.
+     *
+     * @param count The number of calls
+     * @return The index of the first call, or zero if the strategy is not a
+     * {@link GenerationListener}
+     */
+    private long reserveCalls(long count) {
+        return listener == null ? 0 : manufactureCalls.getAndAdd(count);
+    }
+
+    /**
+     * It creates an instance through a recorded constructor or factory
+     * method, using its handle if it could be resolved.
+     *
+     * @param route The recorded constructor or factory method
+     * @param args The arguments to pass to it
+     * @return The instance created
+     * @throws InstantiationException If the class is abstract
+     * @throws IllegalAccessException If the constructor or method is not
+     * accessible
+     * @throws InvocationTargetException If the constructor or method threw an
+     * exception
+     */
+    private static Object createThroughRoute(RecordedRoute route,
+            Object[] args) throws InstantiationException,
+            IllegalAccessException, InvocationTargetException {
+
+        if (route.creator != null) {
+            return Accessors.create(route.creator, args);
+        }
+        if (route.member instanceof Method) {
+            return ((Method) route.member).invoke(null, args);
+        }
+        return ((Constructor<?>) route.member).newInstance(args);
+    }
+
+    /**
+     * It returns the context class loader of the current thread, or the class
+     * loader of PODAM if there is none.
+     *
+     * @return The class loader to load user classes with
+     */
+    private static ClassLoader getContextClassLoader() {
+
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null) {
+            loader = PodamFactoryImpl.class.getClassLoader();
+        }
+        return loader;
+    }
+
     /**
      * It attempts to create an instance of the given class <p> This method
      * attempts to create an instance of the given argument for classes without
@@ -142,6 +651,43 @@ public class PodamFactoryImpl implements PodamFactory {
 
         Object retValue = null;
 
+        if (unbuildableTypes.containsKey(clazz)) {
+            return null;
+        }
+
+        // If we already know what works for this class, we go straight to it
+        RecordedRoute route = instantiationRoutes.getRoute(clazz,
+                Route.CLASS_WITHOUT_SETTERS);
+        if (route != null) {
+            try {
+
+                if (route.member instanceof Method) {
+                    retValue = createThroughRoute(route,
+                            getParameterValuesForFactoryMethod(
+                                    (Method) route.member, clazz));
+                } else {
+                    retValue = createThroughRoute(route,
+                            getParameterValuesForConstructor(
+                                    (Constructor<?>) route.member, pojoClass));
+                }
+
+                instantiationRoutes.routeHit();
+                return retValue;
+
+            } catch (Throwable t) {
+
+                LOG.warn("PODAM could not create an instance of: "
+                        + clazz.getName() + " with the recorded: "
+                        + route.member + ". Will look for another one...");
+                instantiationRoutes.routeFailed(clazz,
+                        Route.CLASS_WITHOUT_SETTERS);
+                retValue = null;
+
+            }
+        }
+
+        instantiationRoutes.fallbackSearch();
+
         Constructor<?>[] constructors = clazz.getConstructors();
 
         if (constructors.length == 0) {
@@ -158,252 +704,288 @@ public class PodamFactoryImpl implements PodamFactory {
             // The parameters to pass to the method invocation
             Object[] parameterValues;
 
+            // Whether any factory method was found, even if it failed
+            boolean candidateFound = false;
+
             for (Method candidateConstructor : declaredMethods) {
 
                 if (!Modifier.isStatic(candidateConstructor.getModifiers())
                         || !candidateConstructor.getReturnType().equals(clazz)) {
                     continue;
                 }
+                candidateFound = true;
 
-                // if (clazz.getName().startsWith("java.") ||
-                // clazz.getName().startsWith("javax.")) {
-                // if (candidateConstructor.getParameterTypes().length != 0) {
-                // continue;
-                // }
-                //
-                // return candidateConstructor.invoke(clazz, new Object[] {});
-                //
-                // }
-
-                parameterValues = new Object[candidateConstructor.getParameterTypes().length];
-
-                Type[] parameterTypes = candidateConstructor.getGenericParameterTypes();
+                parameterValues = getParameterValuesForFactoryMethod(
+                        candidateConstructor, clazz);
 
-                if (parameterTypes.length == 0) {
+                try {
 
-                    // There is a factory method with no arguments
                     retValue = candidateConstructor.invoke(clazz,
-                            new Object[]{});
+                            parameterValues);
+                    LOG.info("Could create an instance using "
+                            + candidateConstructor);
 
-                } else {
+                    instantiationRoutes.put(clazz,
+                            Route.CLASS_WITHOUT_SETTERS, candidateConstructor);
 
-                    // This is a factory method with arguments
+                    break;
+                } catch (Throwable t) {
 
-                    Annotation[][] parameterAnnotations = candidateConstructor.getParameterAnnotations();
+                    LOG.warn("PODAM could not create an instance for constructor: "
+                            + candidateConstructor
+                            + ". Will try another one...");
 
-                    int idx = 0;
+                }
 
-                    for (Type paramType : parameterTypes) {
+            }
 
-                        Class<?> parameterType = Class.forName(PodamUtils.extractClassNameFromParameterisedTypeInField(paramType));
+            // A factory method may just have rejected the random arguments
+            // it was given this time, so only the lack of one is remembered
+            if (!candidateFound) {
+                markAsUnbuildable(clazz,
+                        "No public constructors and no static factory methods");
+            }
 
-                        List<Annotation> annotations = Arrays.asList(parameterAnnotations[idx]);
+        } else {
 
-                        String attributeName = null;
+            // There are public constructors. We try them in order of
+            // preference until one works.
+            for (Constructor<?> constructor : PodamUtils.sortConstructorsByPriority(constructors)) {
 
-                        /*
-                         * JSM: path for class without constructors
-                         */
-                        if (Collection.class.isAssignableFrom(parameterType)) {
+                try {
 
-                            Collection<? super Object> listType = resolveCollectionType(parameterType);
+                    Object[] constructorArgs = getParameterValuesForConstructor(constructor,
+                            pojoClass);
 
-                            Class<?> elementType = retrieveClassFromCollectionTypeInConstructor(paramType.toString());
+                    retValue = constructor.newInstance(constructorArgs);
 
-                            int nbrElements = PodamConstants.ANNOTATION_COLLECTION_DEFAULT_NBR_ELEMENTS;
+                    LOG.info("For class: "
+                            + clazz.getName()
+                            + " a valid constructor: "
+                            + constructor
+                            + " was found. PODAM will use it to create an instance.");
 
-                            for (Annotation annotation : annotations) {
-                                if (annotation.annotationType().equals(
-                                        PodamCollection.class)) {
+                    instantiationRoutes.put(clazz,
+                            Route.CLASS_WITHOUT_SETTERS, constructor);
 
-                                    PodamCollection ann = (PodamCollection) annotation;
+                    break;
 
-                                    nbrElements = ann.nbrElements();
+                } catch (Throwable t) {
 
-                                }
-                            }
+                    LOG.warn("Couldn't create attribute with constructor: "
+                            + constructor
+                            + ". Will check if other constructors are available");
 
-                            for (int i = 0; i < nbrElements; i++) {
-                                Object attributeValue = manufactureAttributeValue(clazz,
-                                        elementType, annotations,
-                                        attributeName);
+                }
 
-                                listType.add(attributeValue);
-                            }
+            }
 
-                            parameterValues[idx] = listType;
+        }
+
+        return retValue;
 
-                        } else if (Map.class.isAssignableFrom(parameterType)) {
+    }
 
-                            Map<? super Object, ? super Object> mapType = resolveMapType(parameterType);
+    /**
+     * Given a static factory method it manufactures and returns the parameter
+     * values required to invoke it
+     *
+     * @param factoryMethod The factory method for which parameter values are
+     * required
+     * @param clazz The class the factory method creates
+     *
+     * @return The parameter values required to invoke the factory method
+     * @throws IllegalArgumentException If an illegal argument was passed to the
+     * constructor
+     * @throws InstantiationException If an exception occurred during
+     * instantiation
+     * @throws IllegalAccessException If security was violated while creating
+     * the object
+     * @throws InvocationTargetException If an exception occurred while invoking
+     * the constructor or factory method
+     * @throws ClassNotFoundException If it was not possible to create a class
+     * from a string
+     */
+    private Object[] getParameterValuesForFactoryMethod(Method factoryMethod,
+            Class<?> clazz) throws IllegalArgumentException,
+            InstantiationException, IllegalAccessException,
+            InvocationTargetException, ClassNotFoundException {
 
-                            Class<?>[] keyValueClasses = retrieveClassFromMapTypeInConstructor(paramType.toString());
+        Class<?>[] parameterTypes = factoryMethod.getParameterTypes();
 
-                            int nbrElements = PodamConstants.ANNOTATION_COLLECTION_DEFAULT_NBR_ELEMENTS;
+        Object[] parameterValues = new Object[parameterTypes.length];
 
-                            for (Annotation annotation : annotations) {
-                                if (annotation.annotationType().equals(
-                                        PodamCollection.class)) {
+        Annotation[][] parameterAnnotations = factoryMethod.getParameterAnnotations();
 
-                                    PodamCollection ann = (PodamCollection) annotation;
+        int idx = 0;
 
-                                    nbrElements = ann.nbrElements();
+        for (Class<?> parameterType : parameterTypes) {
 
-                                }
-                            }
+            List<Annotation> annotations = Arrays.asList(parameterAnnotations[idx]);
 
-                            for (int i = 0; i < nbrElements; i++) {
-                                Object keyValue = manufactureAttributeValue(clazz,
-                                        keyValueClasses[0],
-                                        annotations, attributeName);
+            String attributeName = null;
 
-                                Object elementValue = manufactureAttributeValue(clazz,
-                                        keyValueClasses[1],
-                                        annotations, attributeName);
+            /*
+             * JSM: path for class without constructors
+             */
+            if (Collection.class.isAssignableFrom(parameterType)) {
 
-                                mapType.put(keyValue, elementValue);
-                            }
+                Collection<? super Object> listType = resolveCollectionType(parameterType);
 
-                            parameterValues[idx] = mapType;
+                Type elementType = TypeResolver.getParameterTypeArguments(
+                        factoryMethod, idx, Collection.class)[0];
 
-                        } else {
+                int nbrElements = PodamConstants.ANNOTATION_COLLECTION_DEFAULT_NBR_ELEMENTS;
 
-                            parameterValues[idx] = manufactureAttributeValue(clazz,
-                                    parameterType, annotations,
-                                    attributeName);
+                for (Annotation annotation : annotations) {
+                    if (annotation.annotationType().equals(
+                            PodamCollection.class)) {
 
-                        }
+                        PodamCollection ann = (PodamCollection) annotation;
 
-                        idx++;
+                        nbrElements = ann.nbrElements();
 
                     }
-
                 }
 
-                try {
+                for (int i = 0; i < nbrElements; i++) {
+                    Object attributeValue = manufactureValueOfType(clazz,
+                            elementType, annotations,
+                            attributeName);
 
-                    retValue = candidateConstructor.invoke(clazz,
-                            parameterValues);
-                    LOG.info("Could create an instance using "
-                            + candidateConstructor);
+                    listType.add(attributeValue);
+                }
 
-                    break;
-                } catch (Throwable t) {
+                parameterValues[idx] = listType;
 
-                    LOG.warn("PODAM could not create an instance for constructor: "
-                            + candidateConstructor
-                            + ". Will try another one...");
+            } else if (Map.class.isAssignableFrom(parameterType)) {
 
-                }
+                Map<? super Object, ? super Object> mapType = resolveMapType(parameterType);
 
-            }
+                Type[] keyValueTypes = TypeResolver.getParameterTypeArguments(
+                        factoryMethod, idx, Map.class);
 
-        } else {
+                int nbrElements = PodamConstants.ANNOTATION_COLLECTION_DEFAULT_NBR_ELEMENTS;
 
-            // There are public constructors. We need the no-arg
-            // one for now.
-            boolean resolved = false;
-            for (Constructor<?> constructor : constructors) {
-                // if (constructor.getParameterTypes().length != 0) {
-                // continue;
-                // }
+                for (Annotation annotation : annotations) {
+                    if (annotation.annotationType().equals(
+                            PodamCollection.class)) {
 
-                try {
+                        PodamCollection ann = (PodamCollection) annotation;
 
-                    Object[] constructorArgs = getParameterValuesForConstructor(constructor,
-                            pojoClass);
+                        nbrElements = ann.nbrElements();
 
-                    retValue = constructor.newInstance(constructorArgs);
+                    }
+                }
 
-                    resolved = true;
+                for (int i = 0; i < nbrElements; i++) {
+                    Object keyValue = manufactureValueOfType(clazz,
+                            keyValueTypes[0],
+                            annotations, attributeName);
 
-                    LOG.info("For class: "
-                            + clazz.getName()
-                            + " a valid constructor: "
-                            + constructor
-                            + " was found. PODAM will use it to create an instance.");
+                    Object elementValue = manufactureValueOfType(clazz,
+                            keyValueTypes[1],
+                            annotations, attributeName);
 
-                    break;
+                    mapType.put(keyValue, elementValue);
+                }
 
-                } catch (Throwable t) {
+                parameterValues[idx] = mapType;
 
-                    LOG.warn("Couldn't create attribute with constructor: "
-                            + constructor
-                            + ". Will check if other constructors are available");
+            } else {
 
-                }
+                parameterValues[idx] = manufactureAttributeValue(clazz,
+                        parameterType, annotations,
+                        attributeName);
 
             }
 
-            if (!resolved) {
-                LOG.warn("For class: "
-                        + clazz.getName()
-                        + " PODAM could not possibly create a value. This attribute will be returned as null.");
-            }
+            idx++;
 
         }
 
-        return retValue;
-
+        return parameterValues;
     }
 
     /**
-     * Use a setter to save some data into the POJO.
-     * 
+     * It creates the value of one attribute of a POJO, following the step of
+     * the generation plan for that attribute.
+     *
+     * <p> The strategy is told when the generation of the value starts and
+     * ends, if it is a {@link GenerationListener}. </p>
+     *
+     * @param node The step of the generation plan for the attribute
      * @param pojoClass the class of the POJO being constructed
-     * @param setter the set method to be used
      * @param depth used for recursion to avoid infinite loops
      * @param pojoObject the POJO being constructed which will receive the data
-     * @throws ClassNotFoundException
-     * @throws SecurityException
+     * @return data object to be put into the POJO
      * @throws InvocationTargetException
      * @throws InstantiationException
-     * @throws IllegalStateException
+     * @throws ClassNotFoundException
      * @throws IllegalArgumentException
-     * @throws IllegalAccessException 
+     * @throws IllegalAccessException
      */
-    private <T> void handleOneSetter(Class<T> pojoClass, Method setter, int depth, T pojoObject) throws ClassNotFoundException, SecurityException, InvocationTargetException, InstantiationException, IllegalStateException, IllegalArgumentException, IllegalAccessException {
-        Class<?>[] parameterTypes;
-        Class<?> attributeType;
-        Object setterArg;
-
+    private <T> Object generateAttributeValue(GenerationPlan.Node node,
+            Class<T> pojoClass, int depth, T pojoObject)
+            throws InvocationTargetException, InstantiationException, ClassNotFoundException,
+            IllegalArgumentException, IllegalAccessException {
 
-        List<Annotation> pojoAttributeAnnotations = retrieveFieldAnnotations(pojoClass, setter);
-        String attributeName = PodamUtils.extractFieldNameFromSetterMethod(setter);
+        if (listener == null) {
+            return resolveAttributeValue(node, pojoClass, depth, pojoObject);
+        }
 
-        parameterTypes = setter.getParameterTypes();
+        listener.attributeStarted(node.attributeName);
+        try {
+            return resolveAttributeValue(node, pojoClass, depth, pojoObject);
+        } finally {
+            listener.attributeFinished();
+        }
+    }
 
-        // A class which has got an attribute to itself (e.g.
-        // recursive hierarchies)
-        attributeType = parameterTypes[0];
+    /**
+     * It generates the value of a primitive attribute of a POJO and writes
+     * it straight away, without boxing it, if the strategy is a
+     * {@link PrimitiveDataProviderStrategy} and the value of the attribute is
+     * not customised.
+     *
+     * <p> The strategy is told when the generation of the value starts and
+     * ends, if it is a {@link GenerationListener}. </p>
+     *
+     * @param node The step of the generation plan for the attribute
+     * @param pojoObject the POJO being constructed which will receive the data
+     * @return {@code true} if the attribute was written, {@code false} if its
+     * value must be generated by
+     * {@link #generateAttributeValue(GenerationPlan.Node, Class, int, Object)}
+     * @throws InvocationTargetException If the strategy or the setter threw an
+     * exception
+     */
+    private boolean generatePrimitiveAttribute(GenerationPlan.Node node,
+            Object pojoObject) throws InvocationTargetException {
 
-        setterArg = createSetterFieldArg(pojoAttributeAnnotations, attributeName, attributeType, pojoClass, depth, pojoObject);
+        MethodHandle generator = node.generator;
+        if (primitives == null || generator == null) {
+            return false;
+        }
 
-        if (setterArg != null) {
-            // If the setter is not public we set it to accessible or
-            // otherwise the invocation will fail.
-            if (!Modifier.isPublic(setter.getModifiers())) {
-                LOG.warn("The setter: "
-                        + setter.getName()
-                        + " is not public. Setting it to accessible(true). "
-                        + "However if you have got security in place to avoid these kind of things, you will get an error");
-                setter.setAccessible(true);
-            }
-            setter.invoke(pojoObject, setterArg);
+        if (listener == null) {
+            Accessors.generate(generator, pojoObject, primitives);
+            return true;
+        }
 
-        } else {
-            LOG.warn("Couldn't find a suitable value for attribute: "
-                    + attributeName
-                    + ". This POJO attribute will be left to null.");
+        listener.attributeStarted(node.attributeName);
+        try {
+            Accessors.generate(generator, pojoObject, primitives);
+        } finally {
+            listener.attributeFinished();
         }
+        return true;
     }
 
     /**
-     * Create a value to place into a POJO.
-     * 
-     * @param pojoAttributeAnnotations annotations to control what data to make
-     * @param attributeName the name of the property which will be set
-     * @param attributeType the type of the data to make
+     * It resolves the value of one attribute of a POJO, following the step
+     * of the generation plan for that attribute.
+     *
+     * @param node The step of the generation plan for the attribute
      * @param pojoClass the class of the POJO being constructed
      * @param depth used for recursion to avoid infinite loops
      * @param pojoObject the POJO being constructed which will receive the data
@@ -412,10 +994,10 @@ public class PodamFactoryImpl implements PodamFactory {
      * @throws InstantiationException
      * @throws ClassNotFoundException
      * @throws IllegalArgumentException
-     * @throws IllegalAccessException 
+     * @throws IllegalAccessException
      */
-    private <T> Object createSetterFieldArg(List<Annotation> pojoAttributeAnnotations, String attributeName,
-            Class<?> attributeType, Class<T> pojoClass, int depth, T pojoObject)
+    private <T> Object resolveAttributeValue(GenerationPlan.Node node,
+            Class<T> pojoClass, int depth, T pojoObject)
             throws InvocationTargetException, InstantiationException, ClassNotFoundException,
             IllegalArgumentException, IllegalAccessException {
         Object setterArg;
@@ -426,72 +1008,70 @@ public class PodamFactoryImpl implements PodamFactory {
         // of specifying a PodamAttributeStrategy annotation for an
         // attribute they are already customising the value assigned to
         // that attribute.
-        PodamStrategyValue attributeStrategyAnnotation = containsAttributeStrategyAnnotation(pojoAttributeAnnotations);
-        if (null != attributeStrategyAnnotation) {
-
-            AttributeStrategy<?> attributeStrategy = attributeStrategyAnnotation.value().newInstance();
+        if (null != node.strategyClass) {
 
             if (LOG.isDebugEnabled()) {
                 LOG.debug("The attribute: "
-                        + attributeName
+                        + node.attributeName
                         + " will be filled using the following strategy: "
-                        + attributeStrategy);
+                        + node.strategyClass.getName());
             }
 
             // TODO To pass the AttributeMetadata
-            setterArg = returnAttributeDataStrategyValue(
-                    attributeType, attributeStrategy);
+            setterArg = attributeStrategies.getValue(node.strategyClass,
+                    node.attributeType);
 
-        } else {
+        } else if (node.selfReference) {
 
             // A class which has got an attribute to itself (e.g.
             // recursive hierarchies)
             // Do a little depth computation here to make sure we don't
             // recurse forever.
-            if (attributeType.equals(pojoClass)) {
-                if (depth < PodamConstants.MAX_DEPTH) {
-                    depth++;
-                    setterArg = manufacturePojoInternal(
-                            attributeType, depth);
-                    depth--; // JSM: I added this
-                } else {
-                    setterArg = createNewInstanceForClassWithoutConstructors(
-                            pojoClass, pojoClass);
-                    //depth = 0; // TODO: Really? Set it to zero? Is this a bug? I've commented it out. JSM
-                }
+            if (depth < PodamConstants.MAX_DEPTH) {
+                setterArg = manufacturePojoInternal(pojoClass, depth + 1);
             } else {
-                /*
-                 * JSM: this is the "normal" path I want to pass the pojoObject
-                 * here so that Collection attributes can get the correct
-                 * instance of the Collection and not just the correct
-                 * implementation.
-                 */
-                if (Collection.class.isAssignableFrom(attributeType)) {
+                setterArg = createNewInstanceForClassWithoutConstructors(
+                        pojoClass, pojoClass);
+            }
 
-                    /*
-                     * JSM: Also pass the pojoObject here so that the class
-                     * doesn't need to be instantiated again.
-                     */
-                    setterArg = resolveCollectionValueWhenCollectionIsPojoAttributeWithParent(
-                            pojoClass, attributeType, attributeName,
-                            pojoAttributeAnnotations, pojoObject);
+        } else if (node.kind == AttributeKind.COLLECTION) {
+
+            /*
+             * JSM: pass the pojoObject here so that Collection attributes
+             * can get the correct instance of the Collection and not just
+             * the correct implementation, and so that the class doesn't need
+             * to be instantiated again.
+             */
+            setterArg = resolveCollectionValueWhenCollectionIsPojoAttribute(
+                    pojoClass, node.attributeType, node.attributeName,
+                    node.annotations, pojoObject);
+
+        } else if (node.kind == AttributeKind.MAP) {
+
+            // As for collections, the map the attribute is initialised with
+            // is read from the POJO being filled
+            setterArg = resolveMapValueWhenMapIsPojoAttribute(pojoClass,
+                    node.attributeType, node.attributeName, node.annotations,
+                    pojoObject);
+
+        } else {
+
+            setterArg = manufactureAttributeValue(pojoClass,
+                    node.attributeType, node.kind, node.annotations,
+                    node.valueAnnotation, node.attributeMetadata,
+                    node.attributeName);
 
-                } else {
-                    setterArg = manufactureAttributeValue(pojoClass,
-                            attributeType, pojoAttributeAnnotations,
-                            attributeName);
-                }
-            }
         }
         return setterArg;
     }
 
     /**
-     * It resolves and returns the primitive value depending on the type
+     * It resolves and returns the value of a primitive or wrapper type,
+     * depending on its kind
      *
      *
-     * @param primitiveClass The primitive type class
-     * @param annotations The annotations to consider for this attribute
+     * @param kind The kind of the primitive or wrapper type
+     * @param valueAnnotation The annotation customising the value, if any
      * @param attributeMetadata
      * @return the primitive value depending on the type
      *
@@ -499,159 +1079,102 @@ public class PodamFactoryImpl implements PodamFactory {
      * annotation but it was not possible to convert such value in the desired
      * type
      */
-    private Object resolvePrimitiveValue(Class<?> primitiveClass,
-            List<Annotation> annotations, AttributeMetadata attributeMetadata) {
+    private Object resolveScalarValue(AttributeKind kind,
+            Annotation valueAnnotation, AttributeMetadata attributeMetadata) {
 
         Object retValue = null;
 
-        if (primitiveClass.equals(int.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getInteger(attributeMetadata);
+        switch (kind) {
 
-            } else {
-
-                retValue = getIntegerValueWithinRange(annotations,
-                        attributeMetadata);
-
-                if (retValue == null) {
+            case INTEGER:
+                if (valueAnnotation != null) {
+                    retValue = getIntegerValueWithinRange(
+                            (PodamIntValue) valueAnnotation, attributeMetadata);
+                } else if (primitives != null) {
+                    retValue = primitives.nextInt(attributeMetadata);
+                } else {
                     retValue = strategy.getInteger(attributeMetadata);
                 }
-            }
-
-        } else if (primitiveClass.equals(long.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getLong(attributeMetadata);
-
-            } else {
-
-                retValue = getLongValueWithinRange(annotations,
-                        attributeMetadata);
+                break;
 
-                if (retValue == null) {
+            case LONG:
+                if (valueAnnotation != null) {
+                    retValue = getLongValueWithinRange(
+                            (PodamLongValue) valueAnnotation, attributeMetadata);
+                } else if (primitives != null) {
+                    retValue = primitives.nextLong(attributeMetadata);
+                } else {
                     retValue = strategy.getLong(attributeMetadata);
                 }
-            }
-
-        } else if (primitiveClass.equals(float.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getFloat(attributeMetadata);
-
-            } else {
-
-                retValue = getFloatValueWithinRange(annotations,
-                        attributeMetadata);
+                break;
 
-                if (retValue == null) {
+            case FLOAT:
+                if (valueAnnotation != null) {
+                    retValue = getFloatValueWithinRange(
+                            (PodamFloatValue) valueAnnotation, attributeMetadata);
+                } else if (primitives != null) {
+                    retValue = primitives.nextFloat(attributeMetadata);
+                } else {
                     retValue = strategy.getFloat(attributeMetadata);
                 }
-            }
-
-        } else if (primitiveClass.equals(double.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getDouble(attributeMetadata);
-
-            } else {
-
-                retValue = getDoubleValueWithinRange(annotations,
-                        attributeMetadata);
+                break;
 
-                if (retValue == null) {
+            case DOUBLE:
+                if (valueAnnotation != null) {
+                    retValue = getDoubleValueWithinRange(
+                            (PodamDoubleValue) valueAnnotation, attributeMetadata);
+                } else if (primitives != null) {
+                    retValue = primitives.nextDouble(attributeMetadata);
+                } else {
                     retValue = strategy.getDouble(attributeMetadata);
                 }
-            }
-
-        } else if (primitiveClass.equals(boolean.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getBoolean(attributeMetadata);
-
-            } else {
-
-                retValue = getBooleanValueForAnnotation(annotations);
-
-            }
-
-        } else if (primitiveClass.equals(byte.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getByte(attributeMetadata);
-
-            } else {
+                break;
 
-                retValue = getByteValueWithinRange(annotations,
-                        attributeMetadata);
+            case BOOLEAN:
+                if (valueAnnotation != null) {
+                    retValue = ((PodamBooleanValue) valueAnnotation).boolValue();
+                } else if (primitives != null) {
+                    retValue = primitives.nextBoolean(attributeMetadata);
+                } else {
+                    retValue = strategy.getBoolean(attributeMetadata);
+                }
+                break;
 
-                if (retValue == null) {
+            case BYTE:
+                if (valueAnnotation != null) {
+                    retValue = getByteValueWithinRange(
+                            (PodamByteValue) valueAnnotation, attributeMetadata);
+                } else if (primitives != null) {
+                    retValue = primitives.nextByte(attributeMetadata);
+                } else {
                     retValue = strategy.getByte(attributeMetadata);
                 }
-            }
-
-        } else if (primitiveClass.equals(short.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getShort(attributeMetadata);
-
-            } else {
-
-                retValue = getShortValueWithinRange(annotations,
-                        attributeMetadata);
+                break;
 
-                if (retValue == null) {
+            case SHORT:
+                if (valueAnnotation != null) {
+                    retValue = getShortValueWithinRange(
+                            (PodamShortValue) valueAnnotation, attributeMetadata);
+                } else if (primitives != null) {
+                    retValue = primitives.nextShort(attributeMetadata);
+                } else {
                     retValue = strategy.getShort(attributeMetadata);
                 }
-            }
-
-        } else if (primitiveClass.equals(char.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getCharacter(attributeMetadata);
-
-            } else {
-
-                retValue = getCharacterValueWithinRange(annotations,
-                        attributeMetadata);
+                break;
 
-                if (retValue == null) {
+            case CHARACTER:
+                if (valueAnnotation != null) {
+                    retValue = getCharacterValueWithinRange(
+                            (PodamCharValue) valueAnnotation, attributeMetadata);
+                } else if (primitives != null) {
+                    retValue = primitives.nextChar(attributeMetadata);
+                } else {
                     retValue = strategy.getCharacter(attributeMetadata);
                 }
-            }
-
-        }
-        return retValue;
-    }
-
-    /**
-     * It returns the boolean value indicated in the annotation.
-     *
-     * @param annotations The collection of annotations for the annotated
-     * attribute
-     * @return The boolean value indicated in the annotation
-     */
-    private Boolean getBooleanValueForAnnotation(List<Annotation> annotations) {
-
-        Boolean retValue = null;
-
-        for (Annotation annotation : annotations) {
-
-            if (PodamBooleanValue.class.isAssignableFrom(annotation.getClass())) {
-                PodamBooleanValue annotatedStrategy = (PodamBooleanValue) annotation;
-                retValue = annotatedStrategy.boolValue();
-
                 break;
-            }
 
+            default:
+                break;
         }
 
         return retValue;
@@ -661,51 +1184,40 @@ public class PodamFactoryImpl implements PodamFactory {
      * It returns a random byte if the attribute was annotated with
      * {@link PodamByteValue} or {@code null} otherwise
      *
-     * @param annotations The list of annotations for this attribute
+     * @param intStrategy The annotation customising this attribute
      * @param attributeMetadata
      * @return A random byte if the attribute was annotated with
      * @throws IllegalArgumentException If the {@link PodamByteValue#numValue()}
      * value has been set and it is not convertible to a byte type
      */
-    private Byte getByteValueWithinRange(List<Annotation> annotations,
+    private Byte getByteValueWithinRange(PodamByteValue intStrategy,
             AttributeMetadata attributeMetadata) {
         Byte retValue = null;
 
-        for (Annotation annotation : annotations) {
-
-            if (PodamByteValue.class.isAssignableFrom(annotation.getClass())) {
-                PodamByteValue intStrategy = (PodamByteValue) annotation;
-
-                String numValueStr = intStrategy.numValue();
-                if (null != numValueStr && !"".equals(numValueStr)) {
-                    try {
-
-                        retValue = Byte.valueOf(numValueStr);
-
-                    } catch (NumberFormatException nfe) {
-                        String errMsg = "The precise value: "
-                                + numValueStr
-                                + " cannot be converted to a byte type. An exception will be thrown.";
-                        LOG.error(errMsg);
-                        throw new IllegalArgumentException(errMsg, nfe);
-                    }
-                } else {
-                    byte minValue = intStrategy.minValue();
-                    byte maxValue = intStrategy.maxValue();
-
-                    // Sanity check
-                    if (minValue > maxValue) {
-                        maxValue = minValue;
-                    }
+        String numValueStr = intStrategy.numValue();
+        if (null != numValueStr && !"".equals(numValueStr)) {
+            try {
 
-                    retValue = strategy.getByteInRange(minValue, maxValue,
-                            attributeMetadata);
-                }
+                retValue = Byte.valueOf(numValueStr);
 
-                break;
+            } catch (NumberFormatException nfe) {
+                String errMsg = "The precise value: "
+                        + numValueStr
+                        + " cannot be converted to a byte type. An exception will be thrown.";
+                LOG.error(errMsg);
+                throw new IllegalArgumentException(errMsg, nfe);
+            }
+        } else {
+            byte minValue = intStrategy.minValue();
+            byte maxValue = intStrategy.maxValue();
 
+            // Sanity check
+            if (minValue > maxValue) {
+                maxValue = minValue;
             }
 
+            retValue = strategy.getByteInRange(minValue, maxValue,
+                    attributeMetadata);
         }
         return retValue;
     }
@@ -714,7 +1226,7 @@ public class PodamFactoryImpl implements PodamFactory {
      * It returns a random short if the attribute was annotated with
      * {@link PodamShortValue} or {@code null} otherwise
      *
-     * @param annotations The annotations with which the attribute was annotated
+     * @param shortStrategy The annotation customising this attribute
      * @param attributeMetadata
      *
      *
@@ -723,46 +1235,35 @@ public class PodamFactoryImpl implements PodamFactory {
      * @throws IllegalArgumentException If {@link PodamShortValue#numValue()}
      * was set and its value could not be converted to a Short type
      */
-    private Short getShortValueWithinRange(List<Annotation> annotations,
+    private Short getShortValueWithinRange(PodamShortValue shortStrategy,
             AttributeMetadata attributeMetadata) {
 
-        Short retValue = null;
-
-        for (Annotation annotation : annotations) {
-
-            if (PodamShortValue.class.isAssignableFrom(annotation.getClass())) {
-                PodamShortValue shortStrategy = (PodamShortValue) annotation;
-
-                String numValueStr = shortStrategy.numValue();
-                if (null != numValueStr && !"".equals(numValueStr)) {
-                    try {
-                        retValue = Short.valueOf(numValueStr);
-                    } catch (NumberFormatException nfe) {
-                        String errMsg = "The precise value: "
-                                + numValueStr
-                                + " cannot be converted to a short type. An exception will be thrown.";
-                        LOG.error(errMsg);
-                        throw new IllegalArgumentException(errMsg, nfe);
-                    }
-                } else {
-
-                    short minValue = shortStrategy.minValue();
-                    short maxValue = shortStrategy.maxValue();
-
-                    // Sanity check
-                    if (minValue > maxValue) {
-                        maxValue = minValue;
-                    }
-
-                    retValue = strategy.getShortInRange(minValue, maxValue,
-                            attributeMetadata);
+        Short retValue = null;
 
-                }
+        String numValueStr = shortStrategy.numValue();
+        if (null != numValueStr && !"".equals(numValueStr)) {
+            try {
+                retValue = Short.valueOf(numValueStr);
+            } catch (NumberFormatException nfe) {
+                String errMsg = "The precise value: "
+                        + numValueStr
+                        + " cannot be converted to a short type. An exception will be thrown.";
+                LOG.error(errMsg);
+                throw new IllegalArgumentException(errMsg, nfe);
+            }
+        } else {
 
-                break;
+            short minValue = shortStrategy.minValue();
+            short maxValue = shortStrategy.maxValue();
 
+            // Sanity check
+            if (minValue > maxValue) {
+                maxValue = minValue;
             }
 
+            retValue = strategy.getShortInRange(minValue, maxValue,
+                    attributeMetadata);
+
         }
         return retValue;
     }
@@ -770,45 +1271,33 @@ public class PodamFactoryImpl implements PodamFactory {
     /**
      * It creates and returns a random {@link Character} value
      *
-     * @param annotations The list of annotations which might customise the
-     * return value
+     * @param annotationStrategy The annotation customising the return value
      * @param attributeMetadata
      *
      * @return A random {@link Character} value
      */
     private Character getCharacterValueWithinRange(
-            List<Annotation> annotations, AttributeMetadata attributeMetadata) {
+            PodamCharValue annotationStrategy, AttributeMetadata attributeMetadata) {
 
         Character retValue = null;
 
-        for (Annotation annotation : annotations) {
-
-            if (PodamCharValue.class.isAssignableFrom(annotation.getClass())) {
-                PodamCharValue annotationStrategy = (PodamCharValue) annotation;
-
-                char charValue = annotationStrategy.charValue();
-                if (charValue != ' ') {
-                    retValue = charValue;
-
-                } else {
-
-                    char minValue = annotationStrategy.minValue();
-                    char maxValue = annotationStrategy.maxValue();
+        char charValue = annotationStrategy.charValue();
+        if (charValue != ' ') {
+            retValue = charValue;
 
-                    // Sanity check
-                    if (minValue > maxValue) {
-                        maxValue = minValue;
-                    }
-
-                    retValue = strategy.getCharacterInRange(minValue, maxValue,
-                            attributeMetadata);
-
-                }
+        } else {
 
-                break;
+            char minValue = annotationStrategy.minValue();
+            char maxValue = annotationStrategy.maxValue();
 
+            // Sanity check
+            if (minValue > maxValue) {
+                maxValue = minValue;
             }
 
+            retValue = strategy.getCharacterInRange(minValue, maxValue,
+                    attributeMetadata);
+
         }
         return retValue;
     }
@@ -817,7 +1306,7 @@ public class PodamFactoryImpl implements PodamFactory {
      * Returns either a customised int value if a {@link PodamIntValue}
      * annotation was provided or a random integer if this was not the case
      *
-     * @param annotations The list of annotations for the int attribute
+     * @param intStrategy The annotation customising the int attribute
      * @param attributeMetadata
      *
      * @return Either a customised int value if a {@link PodamIntValue}
@@ -826,46 +1315,40 @@ public class PodamFactoryImpl implements PodamFactory {
      * @throws IllegalArgumentException If it was not possible to convert the
      *             {@link PodamIntValue#numValue()} to an Integer
      */
-    private Integer getIntegerValueWithinRange(List<Annotation> annotations,
+    private Integer getIntegerValueWithinRange(PodamIntValue intStrategy,
             AttributeMetadata attributeMetadata) {
 
         Integer retValue = null;
 
-        for (Annotation annotation : annotations) {
-
-            if (PodamIntValue.class.isAssignableFrom(annotation.getClass())) {
-                PodamIntValue intStrategy = (PodamIntValue) annotation;
-
-                String numValueStr = intStrategy.numValue();
-                if (null != numValueStr && !"".equals(numValueStr)) {
-                    try {
-                        retValue = Integer.valueOf(numValueStr);
-                    } catch (NumberFormatException nfe) {
-                        String errMsg = "The annotation value: "
-                                + numValueStr
-                                + " could not be converted to an Integer. An exception will be thrown.";
-                        LOG.error(errMsg);
-                        throw new IllegalArgumentException(errMsg, nfe);
-
-                    }
-
-                } else {
-
-                    int minValue = intStrategy.minValue();
-                    int maxValue = intStrategy.maxValue();
+        String numValueStr = intStrategy.numValue();
+        if (null != numValueStr && !"".equals(numValueStr)) {
+            try {
+                retValue = Integer.valueOf(numValueStr);
+            } catch (NumberFormatException nfe) {
+                String errMsg = "The annotation value: "
+                        + numValueStr
+                        + " could not be converted to an Integer. An exception will be thrown.";
+                LOG.error(errMsg);
+                throw new IllegalArgumentException(errMsg, nfe);
 
-                    // Sanity check
-                    if (minValue > maxValue) {
-                        maxValue = minValue;
-                    }
+            }
 
-                    retValue = strategy.getIntegerInRange(minValue, maxValue,
-                            attributeMetadata);
+        } else {
 
-                }
+            int minValue = intStrategy.minValue();
+            int maxValue = intStrategy.maxValue();
 
-                break;
+            // Sanity check
+            if (minValue > maxValue) {
+                maxValue = minValue;
+            }
 
+            if (intStrategy.distribution() != Distribution.UNIFORM) {
+                retValue = (int) strategy.getLongFromSampler(getSampler(intStrategy),
+                        attributeMetadata);
+            } else {
+                retValue = strategy.getIntegerInRange(minValue, maxValue,
+                        attributeMetadata);
             }
 
         }
@@ -876,7 +1359,7 @@ public class PodamFactoryImpl implements PodamFactory {
      * Returns either a customised float value if a {@link PodamFloatValue}
      * annotation was provided or a random float if this was not the case
      *
-     * @param annotations The list of annotations for the int attribute
+     * @param floatStrategy The annotation customising the float attribute
      * @param attributeMetadata
      *
      *
@@ -886,44 +1369,38 @@ public class PodamFactoryImpl implements PodamFactory {
      * @throws IllegalArgumentException If {@link PodamFloatValue#numValue()}
      * contained a value not convertible to a Float type
      */
-    private Float getFloatValueWithinRange(List<Annotation> annotations,
+    private Float getFloatValueWithinRange(PodamFloatValue floatStrategy,
             AttributeMetadata attributeMetadata) {
 
         Float retValue = null;
 
-        for (Annotation annotation : annotations) {
-
-            if (PodamFloatValue.class.isAssignableFrom(annotation.getClass())) {
-                PodamFloatValue floatStrategy = (PodamFloatValue) annotation;
-
-                String numValueStr = floatStrategy.numValue();
-                if (null != numValueStr && !"".equals(numValueStr)) {
-                    try {
-                        retValue = Float.valueOf(numValueStr);
-                    } catch (NumberFormatException nfe) {
-                        String errMsg = "The annotation value: "
-                                + numValueStr
-                                + " could not be converted to a Float. An exception will be thrown.";
-                        LOG.error(errMsg);
-                        throw new IllegalArgumentException(errMsg, nfe);
-                    }
-                } else {
-
-                    float minValue = floatStrategy.minValue();
-                    float maxValue = floatStrategy.maxValue();
-
-                    // Sanity check
-                    if (minValue > maxValue) {
-                        maxValue = minValue;
-                    }
-
-                    retValue = strategy.getFloatInRange(minValue, maxValue,
-                            attributeMetadata);
+        String numValueStr = floatStrategy.numValue();
+        if (null != numValueStr && !"".equals(numValueStr)) {
+            try {
+                retValue = Float.valueOf(numValueStr);
+            } catch (NumberFormatException nfe) {
+                String errMsg = "The annotation value: "
+                        + numValueStr
+                        + " could not be converted to a Float. An exception will be thrown.";
+                LOG.error(errMsg);
+                throw new IllegalArgumentException(errMsg, nfe);
+            }
+        } else {
 
-                }
+            float minValue = floatStrategy.minValue();
+            float maxValue = floatStrategy.maxValue();
 
-                break;
+            // Sanity check
+            if (minValue > maxValue) {
+                maxValue = minValue;
+            }
 
+            if (floatStrategy.distribution() != Distribution.UNIFORM) {
+                retValue = (float) strategy.getDoubleFromSampler(getSampler(floatStrategy),
+                        attributeMetadata);
+            } else {
+                retValue = strategy.getFloatInRange(minValue, maxValue,
+                        attributeMetadata);
             }
 
         }
@@ -933,54 +1410,47 @@ public class PodamFactoryImpl implements PodamFactory {
     /**
      * It creates and returns a random {@link Double} value
      *
-     * @param annotations The list of annotations which might customise the
-     * return value
+     * @param doubleStrategy The annotation customising the return value
      * @param attributeMetadata
      *
      *
      * @return a random {@link Double} value
      */
-    private Double getDoubleValueWithinRange(List<Annotation> annotations,
+    private Double getDoubleValueWithinRange(PodamDoubleValue doubleStrategy,
             AttributeMetadata attributeMetadata) {
 
         Double retValue = null;
 
-        for (Annotation annotation : annotations) {
-
-            if (PodamDoubleValue.class.isAssignableFrom(annotation.getClass())) {
-                PodamDoubleValue doubleStrategy = (PodamDoubleValue) annotation;
-
-                String numValueStr = doubleStrategy.numValue();
-                if (null != numValueStr && !"".equals(numValueStr)) {
-
-                    try {
-                        retValue = Double.valueOf(numValueStr);
-                    } catch (NumberFormatException nfe) {
-                        String errMsg = "The annotation value: "
-                                + numValueStr
-                                + " could not be converted to a Double. An exception will be thrown.";
-                        LOG.error(errMsg);
-                        throw new IllegalArgumentException(errMsg, nfe);
-                    }
-
-                } else {
-
-                    double minValue = doubleStrategy.minValue();
-                    double maxValue = doubleStrategy.maxValue();
+        String numValueStr = doubleStrategy.numValue();
+        if (null != numValueStr && !"".equals(numValueStr)) {
 
-                    // Sanity check
-                    if (minValue > maxValue) {
-                        maxValue = minValue;
-                    }
+            try {
+                retValue = Double.valueOf(numValueStr);
+            } catch (NumberFormatException nfe) {
+                String errMsg = "The annotation value: "
+                        + numValueStr
+                        + " could not be converted to a Double. An exception will be thrown.";
+                LOG.error(errMsg);
+                throw new IllegalArgumentException(errMsg, nfe);
+            }
 
-                    retValue = strategy.getDoubleInRange(minValue, maxValue,
-                            attributeMetadata);
-                }
+        } else {
 
-                break;
+            double minValue = doubleStrategy.minValue();
+            double maxValue = doubleStrategy.maxValue();
 
+            // Sanity check
+            if (minValue > maxValue) {
+                maxValue = minValue;
             }
 
+            if (doubleStrategy.distribution() != Distribution.UNIFORM) {
+                retValue = strategy.getDoubleFromSampler(getSampler(doubleStrategy),
+                        attributeMetadata);
+            } else {
+                retValue = strategy.getDoubleInRange(minValue, maxValue,
+                        attributeMetadata);
+            }
         }
         return retValue;
 
@@ -990,7 +1460,7 @@ public class PodamFactoryImpl implements PodamFactory {
      * Returns either a customised long value if a {@link PodamLongValue}
      * annotation was provided or a random long if this was not the case
      *
-     * @param annotations The list of annotations for the int attribute
+     * @param longStrategy The annotation customising the long attribute
      * @param attributeMetadata
      *
      * @return Either a customised long value if a {@link PodamLongValue}
@@ -999,192 +1469,86 @@ public class PodamFactoryImpl implements PodamFactory {
      * @throws IllegalArgumentException If it was not possible to convert
      *             {@link PodamLongValue#numValue()} to a Long
      */
-    private Long getLongValueWithinRange(List<Annotation> annotations,
+    private Long getLongValueWithinRange(PodamLongValue longStrategy,
             AttributeMetadata attributeMetadata) {
 
         Long retValue = null;
 
-        for (Annotation annotation : annotations) {
-
-            if (PodamLongValue.class.isAssignableFrom(annotation.getClass())) {
-                PodamLongValue longStrategy = (PodamLongValue) annotation;
-
-                String numValueStr = longStrategy.numValue();
-                if (null != numValueStr && !"".equals(numValueStr)) {
-                    try {
-                        retValue = Long.valueOf(numValueStr);
-                    } catch (NumberFormatException nfe) {
-                        String errMsg = "The annotation value: "
-                                + numValueStr
-                                + " could not be converted to a Long. An exception will be thrown.";
-                        LOG.error(errMsg);
-                        throw new IllegalArgumentException(errMsg, nfe);
-                    }
-                } else {
-
-                    long minValue = longStrategy.minValue();
-                    long maxValue = longStrategy.maxValue();
-
-                    // Sanity check
-                    if (minValue > maxValue) {
-                        maxValue = minValue;
-                    }
-
-                    retValue = strategy.getLongInRange(minValue, maxValue,
-                            attributeMetadata);
-
-                }
-
-                break;
-
-            }
-
-        }
-        return retValue;
-    }
-
-    /**
-     * It attempts to resolve the given class as a wrapper class and if this is
-     * the case it assigns a random value
-     *
-     *
-     * @param candidateWrapperClass The class which might be a wrapper class
-     * @param attributeMetadata
-     * @return {@code null} if this is not a wrapper class, otherwise an Object
-     * with the value for the wrapper class
-     */
-    private Object resolveWrapperValue(Class<?> candidateWrapperClass,
-            List<Annotation> annotations, AttributeMetadata attributeMetadata) {
-
-        Object retValue = null;
-
-        if (candidateWrapperClass.equals(Integer.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getInteger(attributeMetadata);
-
-            } else {
-
-                retValue = getIntegerValueWithinRange(annotations,
-                        attributeMetadata);
-
-                if (retValue == null) {
-                    retValue = strategy.getInteger(attributeMetadata);
-                }
-            }
-
-        } else if (candidateWrapperClass.equals(Long.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getLong(attributeMetadata);
-
-            } else {
-
-                retValue = getLongValueWithinRange(annotations,
-                        attributeMetadata);
-
-                if (retValue == null) {
-                    retValue = strategy.getLong(attributeMetadata);
-                }
-            }
-
-        } else if (candidateWrapperClass.equals(Float.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getFloat(attributeMetadata);
-
-            } else {
-
-                retValue = getFloatValueWithinRange(annotations,
-                        attributeMetadata);
-
-                if (retValue == null) {
-                    retValue = strategy.getFloat(attributeMetadata);
-                }
-            }
-
-        } else if (candidateWrapperClass.equals(Double.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getDouble(attributeMetadata);
-
-            } else {
-
-                retValue = getDoubleValueWithinRange(annotations,
-                        attributeMetadata);
-
-                if (retValue == null) {
-                    retValue = strategy.getDouble(attributeMetadata);
-                }
+        String numValueStr = longStrategy.numValue();
+        if (null != numValueStr && !"".equals(numValueStr)) {
+            try {
+                retValue = Long.valueOf(numValueStr);
+            } catch (NumberFormatException nfe) {
+                String errMsg = "The annotation value: "
+                        + numValueStr
+                        + " could not be converted to a Long. An exception will be thrown.";
+                LOG.error(errMsg);
+                throw new IllegalArgumentException(errMsg, nfe);
             }
+        } else {
 
-        } else if (candidateWrapperClass.equals(Boolean.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getBoolean(attributeMetadata);
-
-            } else {
-
-                retValue = getBooleanValueForAnnotation(annotations);
+            long minValue = longStrategy.minValue();
+            long maxValue = longStrategy.maxValue();
 
+            // Sanity check
+            if (minValue > maxValue) {
+                maxValue = minValue;
             }
 
-        } else if (candidateWrapperClass.equals(Byte.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getByte(attributeMetadata);
-
-            } else {
-
-                retValue = getByteValueWithinRange(annotations,
+            if (longStrategy.distribution() != Distribution.UNIFORM) {
+                retValue = strategy.getLongFromSampler(getSampler(longStrategy),
                         attributeMetadata);
-
-                if (retValue == null) {
-                    retValue = strategy.getByte(attributeMetadata);
-                }
-            }
-
-        } else if (candidateWrapperClass.equals(Short.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getShort(attributeMetadata);
-
             } else {
-
-                retValue = getShortValueWithinRange(annotations,
+                retValue = strategy.getLongInRange(minValue, maxValue,
                         attributeMetadata);
-
-                if (retValue == null) {
-                    retValue = strategy.getShort(attributeMetadata);
-                }
             }
 
-        } else if (candidateWrapperClass.equals(Character.class)) {
-
-            if (annotations.isEmpty()) {
-
-                retValue = strategy.getCharacter(attributeMetadata);
-
-            } else {
+        }
+        return retValue;
+    }
 
-                retValue = getCharacterValueWithinRange(annotations,
-                        attributeMetadata);
+    /**
+     * It returns the sampler of an annotation selecting a distribution,
+     * building it the first time the annotation is met.
+     *
+     * @param valueAnnotation A {@link PodamIntValue}, {@link PodamLongValue},
+     * {@link PodamFloatValue} or {@link PodamDoubleValue} annotation
+     * @return The sampler of the annotation
+     * @throws IllegalArgumentException If the skew or the weights of the
+     * annotation do not suit its distribution
+     */
+    private Sampler getSampler(Annotation valueAnnotation) {
 
-                if (retValue == null) {
-                    retValue = strategy.getCharacter(attributeMetadata);
-                }
-            }
+        Sampler sampler = samplers.get(valueAnnotation);
+        if (sampler != null) {
+            return sampler;
+        }
 
+        Sampler newSampler;
+        if (valueAnnotation instanceof PodamIntValue) {
+            PodamIntValue intValue = (PodamIntValue) valueAnnotation;
+            newSampler = Sampler.forIntegers(intValue.distribution(),
+                    intValue.minValue(), intValue.maxValue(), intValue.skew(),
+                    intValue.weights());
+        } else if (valueAnnotation instanceof PodamLongValue) {
+            PodamLongValue longValue = (PodamLongValue) valueAnnotation;
+            newSampler = Sampler.forIntegers(longValue.distribution(),
+                    longValue.minValue(), longValue.maxValue(),
+                    longValue.skew(), longValue.weights());
+        } else if (valueAnnotation instanceof PodamFloatValue) {
+            PodamFloatValue floatValue = (PodamFloatValue) valueAnnotation;
+            newSampler = Sampler.forReals(floatValue.distribution(),
+                    floatValue.minValue(), floatValue.maxValue(),
+                    floatValue.skew(), floatValue.weights());
+        } else {
+            PodamDoubleValue doubleValue = (PodamDoubleValue) valueAnnotation;
+            newSampler = Sampler.forReals(doubleValue.distribution(),
+                    doubleValue.minValue(), doubleValue.maxValue(),
+                    doubleValue.skew(), doubleValue.weights());
         }
 
-        return retValue;
+        sampler = samplers.putIfAbsent(valueAnnotation, newSampler);
+        return sampler != null ? sampler : newSampler;
     }
 
     /**
@@ -1217,16 +1581,50 @@ public class PodamFactoryImpl implements PodamFactory {
 
         T retValue = null;
 
+        // Records and classes with a single all-args constructor can only be
+        // created in one way
+        CanonicalConstructor canonical = CanonicalConstructor
+                .forClass(pojoClass);
+        if (canonical != null) {
+            retValue = (T) createThroughCanonicalConstructor(canonical,
+                    pojoClass);
+            if (retValue != null) {
+                return retValue;
+            }
+        }
+
+        // If we already know which constructor works, we go straight to it
+        RecordedRoute route = instantiationRoutes.getRoute(pojoClass,
+                Route.POJO_WITHOUT_SETTERS);
+        if (route != null) {
+            try {
+                retValue = (T) createThroughRoute(route,
+                        getParameterValuesForConstructor(
+                                (Constructor<?>) route.member, pojoClass));
+                instantiationRoutes.routeHit();
+                return retValue;
+            } catch (Throwable t) {
+                LOG.warn("We couldn't create an instance for pojo: "
+                        + pojoClass + " with the recorded constructor: "
+                        + route.member + ". Will look for another one.");
+                instantiationRoutes.routeFailed(pojoClass,
+                        Route.POJO_WITHOUT_SETTERS);
+                retValue = null;
+            }
+        }
+
         Constructor<?>[] constructors = pojoClass.getConstructors();
         if (constructors.length == 0) {
             retValue = (T) createNewInstanceForClassWithoutConstructors(
                     pojoClass, pojoClass);
         } else {
 
+            instantiationRoutes.fallbackSearch();
+
             // Not terribly efficient but necessary
             boolean podamConstructorAnnotationFound = checkIfConstructorAnnotationPresent(constructors);
 
-            for (Constructor<?> constructor : constructors) {
+            for (Constructor<?> constructor : PodamUtils.sortConstructorsForImmutables(constructors)) {
 
                 // If we know at least one constructor has been annotated with
                 // PodamConstructor, we use it, otherwise we take our best shot
@@ -1249,6 +1647,8 @@ public class PodamFactoryImpl implements PodamFactory {
                     retValue = (T) constructor.newInstance(parameterValues);
                     LOG.info("We could create an instance with constructor: "
                             + constructor);
+                    instantiationRoutes.put(pojoClass,
+                            Route.POJO_WITHOUT_SETTERS, constructor);
                     break;
                 } catch (Throwable t) {
                     LOG.warn("We couldn't create an instance for pojo: "
@@ -1257,30 +1657,6 @@ public class PodamFactoryImpl implements PodamFactory {
                 }
 
             }
-        }
-
-        return retValue;
-    }
-
-    /**
-     * It checks whether at least one constructor has got a
-     * {@link PodamConstructor} annotation.
-     *
-     * @param constructors The array of constructors
-     * @return {@code true} if at least one constructor contains a
-     *         {@link PodamConstructor} annotation, {@code false} otherwise.
-     */
-    private boolean checkIfConstructorAnnotationPresent(
-            Constructor<?>[] constructors) {
-
-        boolean retValue = false;
-
-        for (Constructor<?> constructor : constructors) {
-
-            if (constructor.getAnnotation(PodamConstructor.class) != null) {
-                retValue = true;
-                break;
-            }
 
         }
 
@@ -1288,83 +1664,38 @@ public class PodamFactoryImpl implements PodamFactory {
     }
 
     /**
-     * Given a String representing a type for a collection or map in a
-     * constructor, it returns the class of that collection or map
+     * It records that this factory cannot build the given type, so that the
+     * next requests for it return {@code null} straight away.
      *
-     * @param typeStr The String identifying the collection type
-     * @return The class of that collection or map
-     * @throws IllegalStateException If the class identified by {@code typeStr}
-     * was not found
+     * @param clazz The type which could not be built
+     * @param reason Why the type could not be built
      */
-    private Class<?> retrieveClassFromCollectionTypeInConstructor(String typeStr) {
-
-        Class<?> retValue = null;
-
-        if (!typeStr.contains("<") && !typeStr.contains(">")) {
-
-            LOG.warn("The Collection type in the constructor: "
-                    + typeStr
-                    + " is non generic. We will assume Collection<Object> for you.");
-
-            // PODAM supports non-generic collections
-            retValue = Object.class;
-
-        } else {
-
-            int startIdx = typeStr.indexOf("<") + 1;
-            int endIdx = typeStr.indexOf(">");
-
-            String classType = typeStr.substring(startIdx, endIdx);
-
-            try {
-                retValue = Class.forName(classType);
-            } catch (ClassNotFoundException e) {
-                throw new IllegalStateException("Class " + classType
-                        + " could not be loaded!");
-            }
+    private void markAsUnbuildable(Class<?> clazz, String reason) {
+        if (unbuildableTypes.putIfAbsent(clazz, reason) == null) {
+            LOG.warn("For class: " + clazz.getName()
+                    + " PODAM could not possibly create a value (" + reason
+                    + "). It will be returned as null from now on.");
         }
-
-        return retValue;
     }
 
     /**
-     * Given a string representing a Map in a constructor, it returns an array
-     * identifying the classes for the key and value in the map
+     * It checks whether at least one constructor has got a
+     * {@link PodamConstructor} annotation.
      *
-     * @param typeStr The type of the Map. It can be non-generic
-     * @return An array identifying the classes for the key and value in the map
-     * @throws IllegalStateException If either the key or value classes could
-     * not be loaded because not found
-     */
-    private Class<?>[] retrieveClassFromMapTypeInConstructor(String typeStr) {
-
-        Class<?>[] retValue = new Class<?>[2];
-
-        if (!typeStr.contains("<") && !typeStr.contains(">")) {
-
-            LOG.warn("The Map type in the constructor: "
-                    + typeStr
-                    + " is non generic. We will assume Map<Object, Object> for you.");
-
-            // PODAM supports non-generic Maps
-            retValue[0] = Object.class;
-            retValue[1] = Object.class;
-
-        } else {
-
-            int startIdx = typeStr.indexOf("<") + 1;
-            int endIdx = typeStr.indexOf(">");
+     * @param constructors The array of constructors
+     * @return {@code true} if at least one constructor contains a
+     *         {@link PodamConstructor} annotation, {@code false} otherwise.
+     */
+    private boolean checkIfConstructorAnnotationPresent(
+            Constructor<?>[] constructors) {
 
-            String classType = typeStr.substring(startIdx, endIdx);
+        boolean retValue = false;
 
-            String[] keyValueTypeStr = classType.split(",");
+        for (Constructor<?> constructor : constructors) {
 
-            try {
-                retValue[0] = Class.forName(keyValueTypeStr[0].trim());
-                retValue[1] = Class.forName(keyValueTypeStr[1].trim());
-            } catch (ClassNotFoundException e) {
-                throw new IllegalStateException("Class " + classType
-                        + " could not be loaded!");
+            if (constructor.getAnnotation(PodamConstructor.class) != null) {
+                retValue = true;
+                break;
             }
 
         }
@@ -1395,40 +1726,30 @@ public class PodamFactoryImpl implements PodamFactory {
             if (pojoClass.isPrimitive()) {
                 // For JDK POJOs we can't retrieve attribute name
                 ArrayList<Annotation> annotations = new ArrayList<Annotation>();
-                return (T) resolvePrimitiveValue(pojoClass, annotations,
-                        new AttributeMetadata(null, pojoClass, annotations));
+                return (T) resolveScalarValue(AttributeKind.of(pojoClass),
+                        null, new AttributeMetadata(null, pojoClass,
+                                annotations));
             }
+            // We already failed with this type: no point in trying again
+            if (unbuildableTypes.containsKey(pojoClass)) {
+                return null;
+            }
+
             // TODO: make a lookup to handle interfaces.  This is important for constructors.
             if (pojoClass.isInterface()
                     || Modifier.isAbstract(pojoClass.getModifiers())) {
-                LOG.warn("Cannot instantiate an interface or abstract class. Returning null.");
+                markAsUnbuildable(pojoClass,
+                        "Cannot instantiate an interface or abstract class");
                 return null;
             }
 
             /*
              * JSM: here we get a list of setters and fields and what not for
-             * the POJO.
+             * the POJO. They are compiled once per class into a plan telling
+             * how to fill each attribute.
              */
-            ClassInfo classInfo = PodamUtils.getClassInfo(pojoClass);
+            GenerationPlan plan = GenerationPlan.forClass(pojoClass);
 
-            /*
-             * JSM: 
-             * 
-             * TODO: Constructors with annotations are being preferred only when
-             * the POJO has a special rule with not setters. Well, let's change
-             * the rules to be more simple. How about we always construct with
-             * the constructor that has the annotation? So the priority would be
-             *
-             * ................. accessable annotated public no-arg constructors
-             * ............... accessable annotated public with-arg constructors
-             * ............ unaccessable annotated (private) no-arg constructors
-             * .......... unaccessable annotated (private) with-arg constructors
-             * ............. accessable non-annotated public no-arg constructors
-             * ........... accessable non-annotated public with-arg constructors
-             * ........ unaccessable non-annotated (private) no-arg constructors
-             * ...... unaccessable non-annotated (private) with-arg constructors
-             * etc ...
-             */
             /*
              * The Integer class takes this path. Um, what's happening here? The
              * Integer class has two constructors: one that takes String and one
@@ -1437,185 +1758,286 @@ public class PodamFactoryImpl implements PodamFactory {
              * used because this code is more robust and tries a series of
              * constructors until it gets success.
              */
-            if (classInfo.getClassSetters().isEmpty()) {
-                // This is a little expensive, but okay for now.  See TODO above.
-                boolean hasWorkToDo = false;
-                Set<String> work = classInfo.getClassFields();
-                for (String attributeName : work) {
-                    Field field = classInfo.getField(attributeName);
-                    if (field == null) {
-                        continue;
-                    }
-                    hasWorkToDo = true;
-                    break;
+            if (plan.isEmpty()) {
+                // A rudimentary attempt to manage immutable classes (e.g. with
+                // constructor only and final fields - no setters)
+                // Do a little depth computation here to make sure we don't
+                // recurse forever.
+                if (depth < PodamConstants.MAX_DEPTH) {
+                    depth++;
+                    pojoObject = resolvePojoWithoutSetters(pojoClass, depth);
+                    depth--;
+                    return pojoObject;
                 }
+                // fall thru to find a non-annotated zero-arg constructor.
+            }
+
+            // The classes filled often enough get all their values first and
+            // then have them written in one go by their compiled plan
+            MethodHandle filler = fillerTiers.record(pojoClass);
+
+            return manufacturePojoWithPlan(pojoClass, plan,
+                    isBypassingConstructor(pojoClass), null, filler, depth);
+
+        } catch (InstantiationException e) {
+            throw new PodamMockeryException("An instantiation exception occurred", e);
+        } catch (IllegalAccessException e) {
+            throw new PodamMockeryException("An illegal access occurred", e);
+        } catch (IllegalArgumentException e) {
+            throw new PodamMockeryException("An illegal argument was passed", e);
+        } catch (InvocationTargetException e) {
+            throw new PodamMockeryException("Invocation Target Exception", e);
+        } catch (ClassNotFoundException e) {
+            throw new PodamMockeryException("Invocation Target Exception", e);
+        }
+    }
+
+    /**
+     * It creates an instance of the given class and fills it, once everything
+     * about the class has been resolved.
+     *
+     * @param <T> The type for which a filled instance is required
+     * @param pojoClass The class for which a filled instance is required
+     * @param plan The generation plan of the class
+     * @param bypassingConstructor Whether the instance must be created without
+     * running any constructor
+     * @param route The no-arg constructor recorded for the class, or
+     * {@code null} to look for the way to create the instance
+     * @param filler The compiled plan to fill the instance with, or
+     * {@code null} to fill it through reflection
+     * @param depth How many times {@code pojoClass} has been found
+     * @return An instance of <T> filled with dummy values
+     * @throws IllegalArgumentException If an illegal argument was passed to a
+     * constructor or a setter
+     * @throws InstantiationException If an exception occurred during
+     * instantiation
+     * @throws IllegalAccessException If security was violated while creating
+     * the object
+     * @throws InvocationTargetException If an exception occurred while invoking
+     * a constructor or a setter
+     * @throws ClassNotFoundException If it was not possible to create a class
+     * from a string
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T manufacturePojoWithPlan(Class<T> pojoClass,
+            GenerationPlan plan, boolean bypassingConstructor,
+            RecordedRoute route, MethodHandle filler, int depth)
+            throws IllegalArgumentException, InstantiationException,
+            IllegalAccessException, InvocationTargetException,
+            ClassNotFoundException {
+
+        T pojoObject = null;
+
+        // If a public no-arg constructor can be found we use that,
+        // otherwise we try to find a non-public one and we use that. If the
+        // class does not have a no-arg constructor we search for a suitable
+        // constructor.
+        // Classes opting out of their constructors are just allocated.
+        if (bypassingConstructor) {
+            pojoObject = Allocator.allocate(pojoClass);
+        } else if (route != null) {
+            pojoObject = (T) createThroughRoute(route, NO_ARGS);
+        }
+        if (pojoObject == null) {
+            pojoObject = instantiatePojo(pojoClass);
+        }
 
-                if (!hasWorkToDo) {
-                    // A rudimentary attempt to manage immutable classes (e.g. with
-                    // constructor only and final fields - no setters)
-                    // Do a little depth computation here to make sure we don't
-                    // recurse forever.
-                    if (depth < PodamConstants.MAX_DEPTH) {
-                        depth++;
-                        pojoObject = resolvePojoWithoutSetters(pojoClass, depth);
-                        depth--;
-                        return pojoObject;
+        // All the values first, then written in one go by the compiled plan
+        if (filler != null) {
+            GenerationPlan.Node[] nodes = plan.getNodes();
+            // Not needed when the primitives were all written already
+            Object[] values = null;
+            for (int i = 0; i < nodes.length; i++) {
+                if (!generatePrimitiveAttribute(nodes[i], pojoObject)) {
+                    if (values == null) {
+                        values = new Object[nodes.length];
                     }
-                    // fall thru to find a non-annotated zero-arg constructor.
+                    values[i] = generateAttributeValue(nodes[i],
+                            pojoClass, depth, pojoObject);
                 }
             }
+            if (values != null) {
+                Accessors.fill(filler, pojoObject, values);
+            }
+            return pojoObject;
+        }
+
+        /*
+         * JSM: Here we loop through the setters and satisfy them all. We
+         * have no way to know that values a with-arguments constructor may
+         * have initialized, so we just follow the rules as if it were a
+         * no-arguments constructor.
+         */
+        for (GenerationPlan.Node node : plan.getNodes()) {
+            if (generatePrimitiveAttribute(node, pojoObject)) {
+                continue;
+            }
+            node.write(pojoObject, generateAttributeValue(node, pojoClass,
+                    depth, pojoObject));
+        }
+
+        return pojoObject;
+    }
 
-            // If a public no-arg constructor can be found we use that,
-            // otherwise we try to find a non-public one and we use that. If the
-            // class does not have a no-arg constructor we search for a suitable
-            // constructor.
+    /**
+     * It creates a new, empty, instance of the given POJO class
+     *
+     * <p> If a public no-arg constructor can be found it is used, otherwise
+     * we try to find a non-public one. If the class does not have a no-arg
+     * constructor we search for a suitable constructor. Whatever works is
+     * remembered, so that the next instance of the same class is created
+     * straight away. </p>
+     *
+     * @param <T> The type of the instance to create
+     * @param pojoClass The class to create
+     * @return A new instance of the given class
+     * @throws IllegalArgumentException If an illegal argument was passed to the
+     * constructor
+     * @throws InstantiationException If an exception occurred during
+     * instantiation
+     * @throws IllegalAccessException If security was violated while creating
+     * the object
+     * @throws InvocationTargetException If an exception occurred while invoking
+     * the constructor
+     * @throws ClassNotFoundException If it was not possible to create a class
+     * from a string
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T instantiatePojo(Class<T> pojoClass)
+            throws IllegalArgumentException, InstantiationException,
+            IllegalAccessException, InvocationTargetException,
+            ClassNotFoundException {
+
+        T pojoObject = null;
 
-            Constructor<T> defaultConstructor;
+        // If we already know which constructor works, we go straight to it.
+        // Constructors which need it were made accessible when recorded.
+        RecordedRoute route = instantiationRoutes.getRoute(pojoClass,
+                Route.POJO);
+        if (route != null) {
             try {
+                Constructor<?> constructor = (Constructor<?>) route.member;
+                if (constructor.getParameterCount() == 0) {
+                    pojoObject = (T) createThroughRoute(route, NO_ARGS);
+                } else {
+                    pojoObject = (T) createThroughRoute(route,
+                            getParameterValuesForConstructor(constructor,
+                                    pojoClass));
+                }
+                instantiationRoutes.routeHit();
+                return pojoObject;
+            } catch (Exception e) {
+                LOG.warn("The recorded constructor: " + route.member
+                        + " could not create the POJO " + pojoClass
+                        + ". We'll look for another one.");
+                instantiationRoutes.routeFailed(pojoClass, Route.POJO);
+                pojoObject = null;
+            }
+        }
 
-                defaultConstructor = pojoClass.getConstructor(new Class<?>[]{});
+        instantiationRoutes.fallbackSearch();
 
-                pojoObject = defaultConstructor.newInstance();
+        Constructor<T> defaultConstructor;
+        try {
 
-            } catch (SecurityException e) {
-                throw new PodamMockeryException(
-                        "Security exception while applying introspection.", e);
-            } catch (NoSuchMethodException e) {
+            defaultConstructor = pojoClass.getConstructor(new Class<?>[]{});
 
-                try {
+            pojoObject = defaultConstructor.newInstance();
 
-                    LOG.warn("The POJO "
-                            + pojoClass
-                            + " does not have a public no-arg constructor. This violates JavaBean standards. "
-                            + "However in our kindness we'll look for an alternate public constructor "
-                            + "for you and we'll use the first we find...");
-
-                    Constructor<?>[] constructors = pojoClass.getConstructors();
-
-                    if (constructors == null || constructors.length == 0) {
-
-                        LOG.warn("No public constructors were found. "
-                                + "We'll look for a default, non-public constructor. ");
-                        defaultConstructor = pojoClass.getDeclaredConstructor(new Class<?>[]{});
-                        LOG.info("Will use default constructor: " + defaultConstructor);
-
-                        defaultConstructor.setAccessible(true);
-                        pojoObject = defaultConstructor.newInstance();
-
-                    } else {
-
-                        /*
-                         * Loop through the constructors. This is to handle
-                         * cases such as Integer.class where there's a String
-                         * constructor and an int constructor and the wrong one
-                         * shows up first.
-                         */
-                        pojoObject = null;
-                        for (Constructor<?> one : constructors) {
-                            LOG.info("Will now use: " + one);
-
-                            // It uses the first public constructor found
-                            Object[] parameterValuesForConstructor = getParameterValuesForConstructor(
-                                    one, pojoClass);
-                            one.setAccessible(true);
-                            try {
-                                pojoObject = (T) one.newInstance(parameterValuesForConstructor);
-                                break;
-                            } catch (InvocationTargetException ite) {
-                                LOG.info("That didn't work because: " + ite);
-                            }
-                        }
-                        if (pojoObject == null) {
-                            throw new PodamMockeryException("several Invocation Target Exception");
-                        }
-                    }
+            instantiationRoutes.put(pojoClass, Route.POJO, defaultConstructor);
 
-                } catch (SecurityException e1) {
-                    throw new PodamMockeryException(
-                            "Security exception while applying introspection.",
-                            e);
-                } catch (NoSuchMethodException e2) {
-
-                    LOG.warn("No default (public or non-public) constructors were found. "
-                            + "Also no other public constructors were found. "
-                            + "Your last hope is that we find a non-public, non-default constructor.");
-
-                    Constructor<?>[] constructors = pojoClass.getDeclaredConstructors();
-                    if (constructors == null || constructors.length == 0) {
-                        throw new IllegalStateException(
-                                "The POJO "
-                                + pojoClass
-                                + " appears without constructors. How is this possible? ");
-                    }
+        } catch (SecurityException e) {
+            throw new PodamMockeryException(
+                    "Security exception while applying introspection.", e);
+        } catch (NoSuchMethodException e) {
 
-                    LOG.info("Will at last use: " + constructors[0]);
+            try {
 
-                    // It uses the first public constructor found
-                    // TODO: repeat here, the loop from above 
-                    Object[] parameterValuesForConstructor = getParameterValuesForConstructor(constructors[0],
-                            pojoClass);
-                    constructors[0].setAccessible(true);
-                    pojoObject = (T) constructors[0].newInstance(parameterValuesForConstructor);
+                LOG.warn("The POJO "
+                        + pojoClass
+                        + " does not have a public no-arg constructor. This violates JavaBean standards. "
+                        + "However in our kindness we'll look for an alternate public constructor "
+                        + "for you and we'll use the first we find...");
 
-                }
-            }
+                Constructor<?>[] constructors = pojoClass.getConstructors();
 
-            /*
-             * JSM: Here we loop through the setters and satisfy them all. We
-             * have no way to know that values a with-arguments constructor may
-             * have initialized, so we just follow the rules as if it were a
-             * no-arguments constructor.
-             */
+                if (constructors == null || constructors.length == 0) {
 
-            Set<String> classFieldsWithSetters = new HashSet<String>(classInfo.getClassFields().size());
+                    LOG.warn("No public constructors were found. "
+                            + "We'll look for a default, non-public constructor. ");
+                    defaultConstructor = pojoClass.getDeclaredConstructor(new Class<?>[]{});
+                    LOG.info("Will use default constructor: " + defaultConstructor);
 
-            for (Method setter : classInfo.getClassSetters()) {
-                handleOneSetter(pojoClass, setter, depth, pojoObject);
+                    defaultConstructor.setAccessible(true);
+                    pojoObject = defaultConstructor.newInstance();
 
-                String candidateField = PodamUtils.extractFieldNameFromSetterMethod(setter);
-                classFieldsWithSetters.add(candidateField);
-            }
+                    instantiationRoutes.put(pojoClass, Route.POJO,
+                            defaultConstructor);
 
-            /*
-             * JSM: Now work with attributes that don't have setters
-             */
-            Set<String> work = classInfo.getClassFields();
-            work.removeAll(classFieldsWithSetters);
-            for (String attributeName : work) {
-                //System.out.println("attribute without setter:"+attributeName);
-                Field field = classInfo.getField(attributeName);
-                if (field == null) {
-                    continue;
+                } else {
+
+                    /*
+                     * Loop through the constructors. This is to handle
+                     * cases such as Integer.class where there's a String
+                     * constructor and an int constructor and the wrong one
+                     * shows up first.
+                     */
+                    pojoObject = null;
+                    for (Constructor<?> one : PodamUtils.sortConstructorsByPriority(constructors)) {
+                        LOG.info("Will now use: " + one);
+
+                        // It uses the first public constructor found
+                        Object[] parameterValuesForConstructor = getParameterValuesForConstructor(
+                                one, pojoClass);
+                        one.setAccessible(true);
+                        try {
+                            pojoObject = (T) one.newInstance(parameterValuesForConstructor);
+                            instantiationRoutes.put(pojoClass, Route.POJO, one);
+                            break;
+                        } catch (InvocationTargetException ite) {
+                            LOG.info("That didn't work because: " + ite);
+                        }
+                    }
+                    if (pojoObject == null) {
+                        throw new PodamMockeryException("several Invocation Target Exception");
+                    }
                 }
-                Class<?> attributeType = field.getType();
 
-                List<Annotation> pojoAttributeAnnotations = retrieveFieldAnnotations(pojoClass, attributeName);
+            } catch (SecurityException e1) {
+                throw new PodamMockeryException(
+                        "Security exception while applying introspection.",
+                        e);
+            } catch (NoSuchMethodException e2) {
 
-                Object value = createSetterFieldArg(pojoAttributeAnnotations, attributeName, attributeType, pojoClass, depth, pojoObject);
+                LOG.warn("No default (public or non-public) constructors were found. "
+                        + "Also no other public constructors were found. "
+                        + "Your last hope is that we find a non-public, non-default constructor.");
 
-                /*
-                 * Collections won't need to be set
-                 */
-                if (!Collection.class.isAssignableFrom(attributeType)) {
-                    field.setAccessible(true);
-                    field.set(pojoObject, value);
+                Constructor<?>[] constructors = pojoClass.getDeclaredConstructors();
+                if (constructors == null || constructors.length == 0) {
+                    throw new IllegalStateException(
+                            "The POJO "
+                            + pojoClass
+                            + " appears without constructors. How is this possible? ");
                 }
-            }
 
+                Constructor<?> lastHope = PodamUtils.sortConstructorsByPriority(constructors)[0];
 
-            return pojoObject;
+                LOG.info("Will at last use: " + lastHope);
 
-        } catch (InstantiationException e) {
-            throw new PodamMockeryException("An instantiation exception occurred", e);
-        } catch (IllegalAccessException e) {
-            throw new PodamMockeryException("An illegal access occurred", e);
-        } catch (IllegalArgumentException e) {
-            throw new PodamMockeryException("An illegal argument was passed", e);
-        } catch (InvocationTargetException e) {
-            throw new PodamMockeryException("Invocation Target Exception", e);
-        } catch (ClassNotFoundException e) {
-            throw new PodamMockeryException("Invocation Target Exception", e);
+                // It uses the preferred non-public constructor found
+                // TODO: repeat here, the loop from above 
+                Object[] parameterValuesForConstructor = getParameterValuesForConstructor(lastHope,
+                        pojoClass);
+                lastHope.setAccessible(true);
+                pojoObject = (T) lastHope.newInstance(parameterValuesForConstructor);
+
+                instantiationRoutes.put(pojoClass, Route.POJO, lastHope);
+
+            }
         }
+
+        return pojoObject;
     }
 
     /**
@@ -1648,253 +2070,260 @@ public class PodamFactoryImpl implements PodamFactory {
             String attributeName) throws InstantiationException,
             IllegalAccessException, InvocationTargetException,
             IllegalArgumentException, ClassNotFoundException {
-        Object attributeValue = null;
-
-        AttributeMetadata attributeMetadata = new AttributeMetadata(
-                attributeName, attributeType, annotations);
 
-        if (attributeType.isPrimitive()) {
+        AttributeKind kind = AttributeKind.of(attributeType);
 
-            attributeValue = resolvePrimitiveValue(attributeType,
-                    annotations, attributeMetadata);
+        return manufactureAttributeValue(pojoClass, attributeType, kind,
+                annotations, kind.findValueAnnotation(annotations),
+                new AttributeMetadata(attributeName, attributeType,
+                        annotations), attributeName);
+    }
 
-        } else if (isWrapper(attributeType)) {
+    /**
+     * It manufactures and returns the value for a POJO attribute, whose kind
+     * and customising annotation have already been worked out.
+     *
+     *
+     * @param pojoClass The POJO class being filled with values
+     * @param attributeType The type of the attribute for which a value is being
+     * manufactured
+     * @param kind The kind of the attribute type
+     * @param annotations The annotations for the attribute being considered
+     * @param valueAnnotation The annotation customising the value of the
+     * attribute, if any
+     * @param attributeMetadata The metadata passed to the data provider
+     * strategy
+     * @param attributeName The attribute name
+     * @return The value for an attribute
+     *
+     * @throws InstantiationException If an exception occurred during
+     * instantiation
+     * @throws IllegalAccessException If security was violated while creating
+     * the object
+     * @throws InvocationTargetException If an exception occurred while invoking
+     * the constructor or factory method
+     * @throws ClassNotFoundException If it was not possible to create a class
+     * from a string
+     * @throws IllegalArgumentException <ul> <li>If an illegal argument was
+     * passed</li> <li>If an invalid value was set for a precise value in an
+     * annotation and such value could not be converted to the desired type</li>
+     * </ul>
+     *
+     */
+    private Object manufactureAttributeValue(Class<?> pojoClass,
+            Class<?> attributeType, AttributeKind kind,
+            List<Annotation> annotations, Annotation valueAnnotation,
+            AttributeMetadata attributeMetadata, String attributeName)
+            throws InstantiationException, IllegalAccessException,
+            InvocationTargetException, IllegalArgumentException,
+            ClassNotFoundException {
+        Object attributeValue = null;
 
-            attributeValue = resolveWrapperValue(attributeType,
-                    annotations, attributeMetadata);
+        switch (kind) {
 
-        } else if (attributeType.equals(String.class)) {
+            case BOOLEAN:
+            case BYTE:
+            case CHARACTER:
+            case SHORT:
+            case INTEGER:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
 
-            attributeValue = resolveStringValue(annotations,
-                    attributeMetadata);
+                attributeValue = resolveScalarValue(kind, valueAnnotation,
+                        attributeMetadata);
+                break;
 
-            // Is this an array?
-        } else if (attributeType.getName().startsWith("[")) {
+            case STRING:
 
-            attributeValue = resolveArrayElementValue(attributeType,
-                    annotations, pojoClass, attributeName);
+                attributeValue = resolveStringValue(
+                        (PodamStringValue) valueAnnotation, attributeMetadata);
+                break;
 
-            // Otherwise it's a different type of Object (including
-            // the Object class)
-        } else if (Collection.class.isAssignableFrom(attributeType)) {
+            case ARRAY:
 
-            /*
-             * JSM: by checking for Collections in the one caller, I don't think
-             * we'll ever get to this case. I'm using this code in case I'm
-             * wrong and execution gets here.
-             */
-            attributeValue = resolveCollectionValueWhenCollectionIsPojoAttribute(
-                    pojoClass, attributeType, attributeName,
-                    annotations);
+                attributeValue = resolveArrayElementValue(attributeType,
+                        annotations, pojoClass, attributeName);
+                break;
 
-        } else if (Map.class.isAssignableFrom(attributeType)) {
+            case COLLECTION:
 
-            attributeValue = resolveMapValueWhenMapIsPojoAttribute(
-                    pojoClass, attributeType, attributeName, annotations);
+                /*
+                 * JSM: by checking for Collections in the one caller, I don't
+                 * think we'll ever get to this case. I'm using this code in
+                 * case I'm wrong and execution gets here.
+                 */
+                attributeValue = resolveCollectionValueWhenCollectionIsPojoAttribute(
+                        pojoClass, attributeType, attributeName, annotations,
+                        null);
+                break;
 
-        } else if (attributeType.getName().startsWith("java.")
-                || attributeType.getName().startsWith("javax.")) {
+            case MAP:
 
-            // For classes in the Java namespace we attempt the no-args or the
-            // factory constructor strategy
+                attributeValue = resolveMapValueWhenMapIsPojoAttribute(
+                        pojoClass, attributeType, attributeName, annotations,
+                        null);
+                break;
 
-            attributeValue = createNewInstanceForClassWithoutConstructors(
-                    pojoClass, attributeType);
+            case JAVA_TYPE:
 
-        } else if (attributeType.isEnum()) {
+                // For classes in the Java namespace we attempt the no-args or
+                // the factory constructor strategy
+                attributeValue = createNewInstanceForClassWithoutConstructors(
+                        pojoClass, attributeType);
+                break;
 
-            int enumConstantsLength = attributeType.getEnumConstants().length;
+            case ENUM:
 
-            if (enumConstantsLength > 0) {
-                int enumIndex = strategy.getIntegerInRange(0,
-                        enumConstantsLength, attributeMetadata)
-                        % enumConstantsLength;
-                attributeValue = attributeType.getEnumConstants()[enumIndex];
-                // attributeValue = attributeType.getEnumConstants()[0];
-            }
+                int enumConstantsLength = attributeType.getEnumConstants().length;
 
-        } else {
+                if (enumConstantsLength > 0) {
+                    int enumIndex = strategy.getIntegerInRange(0,
+                            enumConstantsLength, attributeMetadata)
+                            % enumConstantsLength;
+                    attributeValue = attributeType.getEnumConstants()[enumIndex];
+                }
+                break;
 
-            // For any class not in the Java namespace, we try the PODAM
-            // strategy
-            attributeValue = manufacturePojo(attributeType);
+            default:
 
+                // For any class not in the Java namespace, we try the PODAM
+                // strategy
+                attributeValue = manufacturePojo(attributeType);
+                break;
         }
 
         return attributeValue;
     }
 
     /**
-     * It creates and returns a String value, eventually customised by
-     * annotations
+     * It manufactures and returns a value of the given, possibly generic,
+     * type.
      *
-     * @param annotations The list of annotations used to customise the String
-     * value, if any
-     * @param attributeMetadata
-     * @return a String value, eventually customised by annotations
-     * @throws IllegalAccessException If an exception occurred while creating an
-     * instance of the strategy
-     * @throws InstantiationException If an exception occurred while creating an
-     * instance of the strategy
+     * <p> Collections and Maps, e.g. the {@code List<Order>} values of a
+     * {@code Map<String, List<Order>>}, are created and filled according to
+     * their own type arguments. Any other type is manufactured as an
+     * attribute value. </p>
+     *
+     * @param pojoClass The POJO class being filled with values
+     * @param type The type of the value, as resolved by {@link TypeResolver}
+     * @param annotations The annotations for the attribute being considered
+     * @param attributeName The attribute name
+     * @return A value of the given type
      *
-     * @throws IllegalArgumentException If {@link PodamStrategyValue} was
-     * specified but the type was not correct for the attribute being set
+     * @throws InstantiationException If an exception occurred during
+     * instantiation
+     * @throws IllegalAccessException If security was violated while creating
+     * the object
+     * @throws InvocationTargetException If an exception occurred while invoking
+     * the constructor or factory method
+     * @throws ClassNotFoundException If it was not possible to create a class
+     * from a string
      */
-    private String resolveStringValue(List<Annotation> annotations,
-            AttributeMetadata attributeMetadata) throws InstantiationException,
-            IllegalAccessException {
-
-        String retValue = null;
-
-        if (annotations == null || annotations.isEmpty()) {
-
-            retValue = strategy.getStringValue(attributeMetadata);
-
-        } else {
-
-            for (Annotation annotation : annotations) {
-
-                if (!PodamStringValue.class.isAssignableFrom(annotation.getClass())) {
-                    continue;
-                }
-
-                // A specific value takes precedence over the length
-                PodamStringValue podamAnnotation = (PodamStringValue) annotation;
-
-                if (podamAnnotation.strValue() != null
-                        && podamAnnotation.strValue().length() > 0) {
+    private Object manufactureValueOfType(Class<?> pojoClass, Type type,
+            List<Annotation> annotations, String attributeName)
+            throws InstantiationException, IllegalAccessException,
+            InvocationTargetException, ClassNotFoundException {
 
-                    retValue = podamAnnotation.strValue();
+        Class<?> rawClass = TypeResolver.getRawClass(type);
 
-                } else {
+        // The annotations describe the outer attribute, not its nested
+        // collections
+        List<Annotation> nestedAnnotations = Collections.emptyList();
 
-                    retValue = strategy.getStringOfLength(
-                            podamAnnotation.length(), attributeMetadata);
+        if (Collection.class.isAssignableFrom(rawClass)) {
 
-                }
+            Collection<? super Object> collection = resolveCollectionType(rawClass);
+            fillCollection(pojoClass, attributeName, nestedAnnotations,
+                    collection,
+                    TypeResolver.getTypeArguments(type, Collection.class)[0]);
+            return collection;
 
-            }
+        } else if (Map.class.isAssignableFrom(rawClass)) {
 
-            if (retValue == null) {
-                retValue = strategy.getStringValue(attributeMetadata);
-            }
+            Type[] keyValueTypes = TypeResolver.getTypeArguments(type,
+                    Map.class);
+            Map<? super Object, ? super Object> map = resolveMapType(rawClass);
+            fillMap(pojoClass, attributeName, nestedAnnotations, map,
+                    keyValueTypes[0], keyValueTypes[1]);
+            return map;
 
         }
 
-        return retValue;
+        return manufactureAttributeValue(pojoClass, rawClass, annotations,
+                attributeName);
     }
 
     /**
-     * It returns a {@link PodamStrategyValue} if one was specified, or
-     * {@code null} otherwise.
+     * It creates and returns a String value, eventually customised by
+     * annotations
      *
-     * @param annotations The list of annotations
-     * @return {@code true} if the list of annotations contains at least one
-     *         {@link PodamStrategyValue} annotation.
+     * @param podamAnnotation The annotation used to customise the String
+     * value, if any
+     * @param attributeMetadata
+     * @return a String value, eventually customised by annotations
      */
-    private PodamStrategyValue containsAttributeStrategyAnnotation(
-            List<Annotation> annotations) {
-        PodamStrategyValue retValue = null;
-
-        for (Annotation annotation : annotations) {
-            if (PodamStrategyValue.class.isAssignableFrom(annotation.getClass())) {
-                retValue = (PodamStrategyValue) annotation;
-                break;
-            }
-        }
-
-        return retValue;
-    }
+    private String resolveStringValue(PodamStringValue podamAnnotation,
+            AttributeMetadata attributeMetadata) {
 
-    /**
-     * It returns {@code true} if this class is a wrapper class, {@code false}
-     * otherwise
-     *
-     * @param candidateWrapperClass The class to check
-     * @return {@code true} if this class is a wrapper class, {@code false}
-     * otherwise
-     */
-    private boolean isWrapper(Class<?> candidateWrapperClass) {
+        String retValue = null;
 
-        return candidateWrapperClass.equals(Byte.class) ? true
-                : candidateWrapperClass.equals(Boolean.class) ? true
-                : candidateWrapperClass.equals(Character.class) ? true
-                : candidateWrapperClass.equals(Short.class) ? true
-                : candidateWrapperClass.equals(Integer.class) ? true
-                : candidateWrapperClass.equals(Long.class) ? true
-                : candidateWrapperClass.equals(Float.class) ? true
-                : candidateWrapperClass.equals(Double.class) ? true
-                : false;
-    }
+        if (podamAnnotation == null) {
 
-    /**
-     * Given the original class and the setter method, it returns all
-     * annotations for the field or an empty collection if no custom annotations
-     * were found on the field
-     *
-     * @param clazz The class containing the annotated attribute
-     * @param setter The setter method
-     * @return all annotations for the field
-     * @throws NoSuchFieldException If the field could not be found
-     * @throws SecurityException if a security exception occurred
-     */
-    private List<Annotation> retrieveFieldAnnotations(Class<?> clazz,
-            Method setter) {
-        String attributeName = PodamUtils.extractFieldNameFromSetterMethod(setter);
+            retValue = strategy.getStringValue(attributeMetadata);
 
-        return retrieveFieldAnnotations(clazz, attributeName);
-    }
+        } else if (podamAnnotation.strValue() != null
+                && podamAnnotation.strValue().length() > 0) {
 
-    /**
-     * Given the original class and the setter method, it returns all
-     * annotations for the field or an empty collection if no custom annotations
-     * were found on the field
-     *
-     * @param clazz The class containing the annotated attribute
-     * @param setter The setter method
-     * @return all annotations for the field
-     * @throws NoSuchFieldException If the field could not be found
-     * @throws SecurityException if a security exception occurred
-     */
-    private List<Annotation> retrieveFieldAnnotations(Class<?> clazz,
-            String attributeName) {
+            // A specific value takes precedence over the length
+            retValue = podamAnnotation.strValue();
 
-        List<Annotation> retValue = new ArrayList<Annotation>();
+        } else {
 
-        // Checks if the field has got any custom annotations
-        Field setterField = null;
-        while (clazz != null) {
-            try {
-                setterField = clazz.getDeclaredField(attributeName);
-                break;
-            } catch (NoSuchFieldException e) {
-                clazz = clazz.getSuperclass();
-            } catch (SecurityException e) {
-                throw e;
-            }
+            retValue = strategy.getStringOfLength(podamAnnotation.length(),
+                    attributeMetadata);
 
         }
 
-        if (setterField != null) {
-            Annotation[] annotations = setterField.getAnnotations();
+        return retValue;
+    }
 
-            if (annotations != null && annotations.length != 0) {
-                retValue = Arrays.asList(annotations);
-            }
+    /**
+     * It returns the field declaring the given attribute, looking in the class
+     * first and then in its super classes
+     *
+     * @param clazz The class containing the attribute
+     * @param attributeName The attribute name
+     * @return The field declaring the attribute
+     * @throws NoSuchFieldException If the field could not be found
+     */
+    private Field retrieveAttributeField(Class<?> clazz, String attributeName)
+            throws NoSuchFieldException {
+
+        Field field = PodamUtils.getClassInfo(clazz).getAttributeField(
+                attributeName);
+        if (field == null) {
+            throw new NoSuchFieldException(attributeName);
         }
 
-        return retValue;
+        return field;
     }
 
     /**
      * It returns a collection of some sort with some data in it.
      *
+     * <p> If the collection attribute is initialised in the class definition,
+     * the collection it is initialised with is filled. This is read from the
+     * POJO being filled, if any, or otherwise a collection of the same type
+     * is created. </p>
      *
      * @param pojoClass The POJO being analysed
      * @param collectionType The type of the attribute being evaluated
      * @param annotations The set of annotations for the annotated attribute. It
      * might be empty
      * @param attributeName The name of the field being set
+     * @param parentPojoObject The POJO being filled, or {@code null} if there
+     * is none at hand
      * @return a collection of some sort with some data in it
      * @throws PodamMockeryException An exception occurred while resolving the
      * collection
@@ -1903,7 +2332,7 @@ public class PodamFactoryImpl implements PodamFactory {
     @SuppressWarnings({"unchecked"})
     private Collection<? super Object> resolveCollectionValueWhenCollectionIsPojoAttribute(
             Class<?> pojoClass, Class<?> collectionType, String attributeName,
-            List<Annotation> annotations) {
+            List<Annotation> annotations, Object parentPojoObject) {
 
         validateAttributeName(attributeName);
 
@@ -1912,32 +2341,7 @@ public class PodamFactoryImpl implements PodamFactory {
 
         try {
 
-            /*
-             * JSM: this kind of instantiation is different, how was that? It
-             * does or doesn't do something?
-             */
-            // Checks whether the user initialised the collection in the class
-            // definition
-            Object newInstance = pojoClass.newInstance();
-
-            Field field = null;
-
-            Class<?> clazz = pojoClass;
-
-            while (clazz != null) {
-                try {
-                    field = clazz.getDeclaredField(attributeName);
-                    break;
-                } catch (NoSuchFieldException e) {
-                    clazz = clazz.getSuperclass();
-                } catch (SecurityException e) {
-                    throw e;
-                }
-
-            }
-            if (field == null) {
-                throw new NoSuchFieldException();
-            }
+            Field field = retrieveAttributeField(pojoClass, attributeName);
 
             // It allows to invoke Field.get on private fields
             field.setAccessible(true);
@@ -1947,7 +2351,8 @@ public class PodamFactoryImpl implements PodamFactory {
              * see what implementation the user wants. TODO: call the getter, if
              * any, before guessing
              */
-            Collection<? super Object> coll = (Collection<? super Object>) field.get(newInstance);
+            Collection<? super Object> coll = (Collection<? super Object>) getInitialValue(
+                    pojoClass, field, attributeName, parentPojoObject);
 
             if (null != coll) {
                 retValue = coll;
@@ -1955,31 +2360,21 @@ public class PodamFactoryImpl implements PodamFactory {
                 retValue = resolveCollectionType(collectionType);
             }
 
-            Class<?> typeClass;
-
-            Type genericType = field.getGenericType();
-            if (!(genericType instanceof ParameterizedType)) {
-
+            // Support for non-generified collections: Object is assumed
+            Type elementType = TypeResolver.getFieldTypeArguments(pojoClass,
+                    field, Collection.class)[0];
+            if (Object.class.equals(elementType)
+                    && !(field.getGenericType() instanceof ParameterizedType)) {
                 LOG.warn("The collection attribute: "
                         + attributeName
                         + " does not have a type. We will assume Object for you");
-                // Support for non-generified collections
-                typeClass = Object.class;
-
-            } else {
-                ParameterizedType pType = (ParameterizedType) genericType;
-                Type actualTypeArguments = pType.getActualTypeArguments()[0];
-
-                // The Type for a collection has got the format:
-                // "class java.lang.String"
-                typeClass = Class.forName(PodamUtils.extractClassNameFromParameterisedTypeInField(actualTypeArguments));
             }
 
             /*
              * JSM: here we know what to do and we just have to do it
              */
             fillCollection(pojoClass, attributeName, annotations,
-                    retValue, typeClass);
+                    retValue, elementType);
 
         } catch (SecurityException e) {
             throw new PodamMockeryException(
@@ -2008,120 +2403,63 @@ public class PodamFactoryImpl implements PodamFactory {
     }
 
     /**
-     * It returns a collection of some sort with some data in it.
+     * It returns the value a collection or map attribute is initialised with
+     * in the class definition.
      *
+     * <p> The value is read from the POJO being filled, if any. Otherwise a
+     * new instance of the type the attribute is initialised with is returned,
+     * that type being found once per class. </p>
      *
-     * @param pojoClass The POJO being analysed
-     * @param collectionType The type of the attribute being evaluated
-     * @param annotations The set of annotations for the annotated attribute. It
-     * might be empty
-     * @param attributeName The name of the field being set
-     * @return a collection of some sort with some data in it
-     * @throws PodamMockeryException An exception occurred while resolving the
-     * collection
-     * @throws IllegalArgumentException If the field name is null or empty
+     * @param pojoClass The class declaring the attribute
+     * @param field The field holding the attribute
+     * @param attributeName The attribute name
+     * @param parentPojoObject The POJO being filled, or {@code null} if there
+     * is none at hand
+     * @return The initial value of the attribute, or {@code null} if it is
+     * not initialised or its type could not be instantiated
+     * @throws IllegalAccessException If the field could not be read
      */
-    @SuppressWarnings({"unchecked"})
-    private Collection<? super Object> resolveCollectionValueWhenCollectionIsPojoAttributeWithParent(
-            Class<?> pojoClass, Class<?> collectionType, String attributeName,
-            List<Annotation> annotations, Object parentPojoObject) {
+    private Object getInitialValue(Class<?> pojoClass, Field field,
+            String attributeName, Object parentPojoObject)
+            throws IllegalAccessException {
 
-        validateAttributeName(attributeName);
+        if (null != parentPojoObject) {
+            return field.get(parentPojoObject);
+        }
 
-        // This needs to be generic because collections can be of any type
-        Collection<? super Object> retValue = null;
+        Class<?> initializedType = GenerationPlan.getInitializedType(
+                pojoClass, attributeName);
+        if (null == initializedType) {
+            return null;
+        }
 
         try {
-
-            // Checks whether the user initialised the collection in the class
-            // definition
-            Object newInstance = parentPojoObject;
-
-            Field field = null;
-
-            Class<?> clazz = pojoClass;
-
-            while (clazz != null) {
-                try {
-                    field = clazz.getDeclaredField(attributeName);
-                    break;
-                } catch (NoSuchFieldException e) {
-                    clazz = clazz.getSuperclass();
-                } catch (SecurityException e) {
-                    throw e;
-                }
-
-            }
-            if (field == null) {
-                throw new NoSuchFieldException();
-            }
-
-            // It allows to invoke Field.get on private fields
-            field.setAccessible(true);
-
-            /*
-             * JSM: here we fetch a collection straight out of an attribute to
-             * see what implementation the user wants. TODO: call the getter, if
-             * any, before guessing
-             */
-            Collection<? super Object> coll = (Collection<? super Object>) field.get(newInstance);
-
-            if (null != coll) {
-                retValue = coll;
-            } else {
-                retValue = resolveCollectionType(collectionType);
+            return initializedType.getDeclaredConstructor().newInstance();
+        } catch (InvocationTargetException e) {
+            // As Class.newInstance() would, let unchecked exceptions through
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
-
-            Class<?> typeClass;
-
-            Type genericType = field.getGenericType();
-            if (!(genericType instanceof ParameterizedType)) {
-
-                LOG.warn("The collection attribute: "
-                        + attributeName
-                        + " does not have a type. We will assume Object for you");
-                // Support for non-generified collections
-                typeClass = Object.class;
-
-            } else {
-                ParameterizedType pType = (ParameterizedType) genericType;
-                Type actualTypeArguments = pType.getActualTypeArguments()[0];
-
-                // The Type for a collection has got the format:
-                // "class java.lang.String"
-                typeClass = Class.forName(PodamUtils.extractClassNameFromParameterisedTypeInField(actualTypeArguments));
+            if (cause instanceof Error) {
+                throw (Error) cause;
             }
-
-            /*
-             * JSM: here we know what to do and we just have to do it
-             */
-            fillCollection(pojoClass, attributeName, annotations,
-                    retValue, typeClass);
-
-        } catch (SecurityException e) {
-            throw new PodamMockeryException(
-                    "An exception occurred while resolving the collection", e);
-        } catch (NoSuchFieldException e) {
-            throw new PodamMockeryException(
-                    "An exception occurred while resolving the collection", e);
-        } catch (IllegalArgumentException e) {
-            throw new PodamMockeryException(
-                    "An exception occurred while resolving the collection", e);
+            LOG.debug("Could not create a new " + initializedType.getName()
+                    + " for attribute: " + attributeName + ": " + cause);
+            return null;
+        } catch (NoSuchMethodException e) {
+            LOG.debug("Could not create a new " + initializedType.getName()
+                    + " for attribute: " + attributeName + ": " + e);
+            return null;
         } catch (InstantiationException e) {
-            throw new PodamMockeryException(
-                    "An exception occurred while resolving the collection", e);
+            LOG.debug("Could not create a new " + initializedType.getName()
+                    + " for attribute: " + attributeName + ": " + e);
+            return null;
         } catch (IllegalAccessException e) {
-            throw new PodamMockeryException(
-                    "An exception occurred while resolving the collection", e);
-        } catch (ClassNotFoundException e) {
-            throw new PodamMockeryException(
-                    "An exception occurred while resolving the collection", e);
-        } catch (InvocationTargetException e) {
-            throw new PodamMockeryException(
-                    "An exception occurred while resolving the collection", e);
+            LOG.debug("Could not create a new " + initializedType.getName()
+                    + " for attribute: " + attributeName + ": " + e);
+            return null;
         }
-
-        return retValue;
     }
 
     /**
@@ -2135,7 +2473,8 @@ public class PodamFactoryImpl implements PodamFactory {
      * @param attributeName The attribute name
      * @param annotations The annotations for this attribute
      * @param collection The Collection to be filled
-     * @param collectionElementType The type of the collection element
+     * @param collectionElementType The type of the collection element, which
+     * may be generic itself
      * @throws InstantiationException If an exception occurred during
      * instantiation
      * @throws IllegalAccessException If security was violated while creating
@@ -2149,14 +2488,16 @@ public class PodamFactoryImpl implements PodamFactory {
     private void fillCollection(Class<?> pojoClass, String attributeName,
             List<Annotation> annotations,
             Collection<? super Object> collection,
-            Class<?> collectionElementType) throws InstantiationException,
+            Type collectionElementType) throws InstantiationException,
             IllegalAccessException, InvocationTargetException,
             ClassNotFoundException {
 
+        Class<?> collectionElementClass = TypeResolver.getRawClass(collectionElementType);
+
         // If the user defined a strategy to fill the collection elements,
         // we use it
         PodamCollection collectionAnnotation = null;
-        AttributeStrategy<?> elementStrategy = null;
+        Class<? extends AttributeStrategy<?>> elementStrategy = null;
         for (Annotation annotation : annotations) {
             if (PodamCollection.class.isAssignableFrom(annotation.getClass())) {
                 collectionAnnotation = (PodamCollection) annotation;
@@ -2170,26 +2511,27 @@ public class PodamFactoryImpl implements PodamFactory {
         if (null != collectionAnnotation) {
 
             nbrElements = collectionAnnotation.nbrElements();
-            elementStrategy = collectionAnnotation.collectionElementStrategy().newInstance();
+            elementStrategy = collectionAnnotation.collectionElementStrategy();
         }
 
         for (int i = 0; i < nbrElements; i++) {
 
             // The default
             if (null != elementStrategy
-                    && ObjectStrategy.class.isAssignableFrom(elementStrategy.getClass())
-                    && Object.class.equals(collectionElementType)) {
+                    && ObjectStrategy.class.isAssignableFrom(elementStrategy)
+                    && Object.class.equals(collectionElementClass)) {
                 LOG.debug("Element strategy is ObjectStrategy and collection element is of type Object: using the ObjectStrategy strategy");
-                collection.add(elementStrategy.getValue());
+                collection.add(attributeStrategies.getValue(elementStrategy,
+                        Object.class));
             } else if (null != elementStrategy
-                    && !ObjectStrategy.class.isAssignableFrom(elementStrategy.getClass())) {
+                    && !ObjectStrategy.class.isAssignableFrom(elementStrategy)) {
                 LOG.debug("Collection elements will be filled using the following strategy: "
-                        + elementStrategy);
-                Object strategyValue = returnAttributeDataStrategyValue(
-                        collectionElementType, elementStrategy);
+                        + elementStrategy.getName());
+                Object strategyValue = attributeStrategies.getValue(
+                        elementStrategy, collectionElementClass);
                 collection.add(strategyValue);
             } else {
-                collection.add(manufactureAttributeValue(pojoClass,
+                collection.add(manufactureValueOfType(pojoClass,
                         collectionElementType, annotations, attributeName));
             }
 
@@ -2199,10 +2541,16 @@ public class PodamFactoryImpl implements PodamFactory {
     /**
      * It manufactures and returns a Map with at least one element in it
      *
+     * <p> If the map attribute is initialised in the class definition, the
+     * map it is initialised with is filled. This is read from the POJO being
+     * filled, if any, or otherwise a map of the same type is created. </p>
+     *
      * @param pojoClass The POJO being initialised
      * @param attributeType The type of the POJO map attribute
      * @param attributeName The POJO attribute name
      * @param annotations The annotations specified for this attribute
+     * @param parentPojoObject The POJO being filled, or {@code null} if there
+     * is none at hand
      * @return Map with at least one element in it
      *
      * @throws IllegalArgumentException <ul> <li>If the attribute name is null
@@ -2214,34 +2562,18 @@ public class PodamFactoryImpl implements PodamFactory {
      */
     private Map<? super Object, ? super Object> resolveMapValueWhenMapIsPojoAttribute(
             Class<?> pojoClass, Class<?> attributeType, String attributeName,
-            List<Annotation> annotations) {
+            List<Annotation> annotations, Object parentPojoObject) {
 
         validateAttributeName(attributeName);
 
         Map<? super Object, ? super Object> retValue = null;
 
-        // Checks whether the user initialised the collection in the class
-        // definition
-
-        Class<?> workClass = pojoClass;
-
-        Object newInstance;
-
         Field field = null;
 
         try {
 
-            newInstance = pojoClass.newInstance();
-
-            while (workClass != null) {
-                try {
-                    field = workClass.getDeclaredField(attributeName);
-                    break;
-                } catch (NoSuchFieldException e) {
-                    workClass = workClass.getSuperclass();
-                }
-
-            }
+            field = PodamUtils.getClassInfo(pojoClass).getAttributeField(
+                    attributeName);
 
             if (field == null) {
                 throw new IllegalStateException(
@@ -2255,7 +2587,10 @@ public class PodamFactoryImpl implements PodamFactory {
             field.setAccessible(true);
 
             @SuppressWarnings("unchecked")
-            Map<? super Object, ? super Object> coll = (Map<? super Object, ? super Object>) field.get(newInstance);
+            // Checks whether the user initialised the map in the class
+            // definition
+            Map<? super Object, ? super Object> coll = (Map<? super Object, ? super Object>) getInitialValue(
+                    pojoClass, field, attributeName, parentPojoObject);
 
             if (null != coll) {
                 retValue = coll;
@@ -2263,42 +2598,19 @@ public class PodamFactoryImpl implements PodamFactory {
                 retValue = resolveMapType(attributeType);
             }
 
-            Type genericType = field.getGenericType();
-
-            Class<?> keyClass;
-
-            Class<?> elementClass;
-
-            if (null != genericType && genericType instanceof ParameterizedType) {
-
-                ParameterizedType pType = (ParameterizedType) genericType;
-                Type[] actualTypeArguments = pType.getActualTypeArguments();
-
-                // Expected only key, value type
-                if (actualTypeArguments.length != 2) {
-                    throw new IllegalStateException(
-                            "In a Map only key value generic type are expected.");
-                }
-
-                // The Type for a collection has got the format:
-                // "class java.lang.String"
-                keyClass = Class.forName(PodamUtils.extractClassNameFromParameterisedTypeInField(actualTypeArguments[0]));
-
-                elementClass = Class.forName(PodamUtils.extractClassNameFromParameterisedTypeInField(actualTypeArguments[1]));
-            } else {
-
+            // Support for non-generified maps: Map<Object, Object> is assumed
+            Type[] keyValueTypes = TypeResolver.getFieldTypeArguments(
+                    pojoClass, field, Map.class);
+            if (!(field.getGenericType() instanceof ParameterizedType)
+                    && Object.class.equals(keyValueTypes[0])
+                    && Object.class.equals(keyValueTypes[1])) {
                 LOG.warn("Map attribute: "
                         + attributeName
                         + " is non-generic. We will assume a Map<Object, Object> for you.");
-
-                keyClass = Object.class;
-
-                elementClass = Object.class;
-
             }
 
             fillMap(pojoClass, attributeName, annotations, retValue,
-                    keyClass, elementClass);
+                    keyValueTypes[0], keyValueTypes[1]);
 
         } catch (InstantiationException e) {
             throw new PodamMockeryException(
@@ -2330,8 +2642,9 @@ public class PodamFactoryImpl implements PodamFactory {
      * @param attributeName The attribute name
      * @param annotations The annotations for the attribute
      * @param mapToBeFilled The Map to be returned
-     * @param keyClass The type of the Map key
-     * @param elementClass The type of the Map element
+     * @param keyType The type of the Map key, which may be generic itself
+     * @param elementType The type of the Map element, which may be generic
+     * itself
      * @throws InstantiationException If an exception occurred during
      * instantiation
      * @throws IllegalAccessException If security was violated while creating
@@ -2345,15 +2658,15 @@ public class PodamFactoryImpl implements PodamFactory {
     private void fillMap(Class<?> pojoClass, String attributeName,
             List<Annotation> annotations,
             Map<? super Object, ? super Object> mapToBeFilled,
-            Class<?> keyClass, Class<?> elementClass)
+            Type keyType, Type elementType)
             throws InstantiationException, IllegalAccessException,
             InvocationTargetException, ClassNotFoundException {
 
         // If the user defined a strategy to fill the collection elements,
         // we use it
         PodamCollection collectionAnnotation = null;
-        AttributeStrategy<?> keyStrategy = null;
-        AttributeStrategy<?> elementStrategy = null;
+        Class<? extends AttributeStrategy<?>> keyStrategy = null;
+        Class<? extends AttributeStrategy<?>> elementStrategy = null;
         for (Annotation annotation : annotations) {
             if (PodamCollection.class.isAssignableFrom(annotation.getClass())) {
                 collectionAnnotation = (PodamCollection) annotation;
@@ -2367,8 +2680,8 @@ public class PodamFactoryImpl implements PodamFactory {
         if (null != collectionAnnotation) {
 
             nbrElements = collectionAnnotation.nbrElements();
-            keyStrategy = collectionAnnotation.mapKeyStrategy().newInstance();
-            elementStrategy = collectionAnnotation.mapElementStrategy().newInstance();
+            keyStrategy = collectionAnnotation.mapKeyStrategy();
+            elementStrategy = collectionAnnotation.mapElementStrategy();
 
         }
 
@@ -2379,10 +2692,10 @@ public class PodamFactoryImpl implements PodamFactory {
             Object elementValue;
 
             keyValue = getMapKeyOrElementValue(pojoClass, attributeName,
-                    annotations, keyClass, collectionAnnotation, keyStrategy);
+                    annotations, keyType, collectionAnnotation, keyStrategy);
 
             elementValue = getMapKeyOrElementValue(pojoClass,
-                    attributeName, annotations, elementClass,
+                    attributeName, annotations, elementType,
                     collectionAnnotation, elementStrategy);
 
             mapToBeFilled.put(keyValue, elementValue);
@@ -2397,10 +2710,11 @@ public class PodamFactoryImpl implements PodamFactory {
      * @param pojoClass The class containing the annotated attribute
      * @param attributeName The attribute name
      * @param annotations The list of annotations for this attribute
-     * @param keyOrValueType The Map key / element type
+     * @param keyOrValueType The Map key / element type, which may be generic
+     * itself
      * @param collectionAnnotation The {@link PodamCollection} annotation
-     * @param elementStrategy The strategy to use to fill the Map key or value
-     * element
+     * @param elementStrategy The strategy class to use to fill the Map key or
+     * value element
      * @return A Map key or value
      * @throws InstantiationException If an exception occurred during
      * instantiation
@@ -2415,27 +2729,30 @@ public class PodamFactoryImpl implements PodamFactory {
      */
     private Object getMapKeyOrElementValue(Class<?> pojoClass,
             String attributeName, List<Annotation> annotations,
-            Class<?> keyOrValueType, PodamCollection collectionAnnotation,
-            AttributeStrategy<?> elementStrategy)
+            Type keyOrValueType, PodamCollection collectionAnnotation,
+            Class<? extends AttributeStrategy<?>> elementStrategy)
             throws InstantiationException, IllegalAccessException,
             InvocationTargetException, ClassNotFoundException {
 
         Object retValue;
 
+        Class<?> keyOrValueClass = TypeResolver.getRawClass(keyOrValueType);
+
         if (null != elementStrategy
-                && ObjectStrategy.class.isAssignableFrom(elementStrategy.getClass()) && Object.class.equals(keyOrValueType)) {
+                && ObjectStrategy.class.isAssignableFrom(elementStrategy) && Object.class.equals(keyOrValueClass)) {
             LOG.debug("Element strategy is ObjectStrategy and Map key or value type is of type Object: using the ObjectStrategy strategy");
-            retValue = elementStrategy.getValue();
+            retValue = attributeStrategies.getValue(elementStrategy,
+                    Object.class);
         } else if (null != elementStrategy
-                && !ObjectStrategy.class.isAssignableFrom(elementStrategy.getClass())) {
+                && !ObjectStrategy.class.isAssignableFrom(elementStrategy)) {
             LOG.debug("Map key or value will be filled using the following strategy: "
-                    + elementStrategy);
-            retValue = returnAttributeDataStrategyValue(keyOrValueType,
-                    elementStrategy);
+                    + elementStrategy.getName());
+            retValue = attributeStrategies.getValue(elementStrategy,
+                    keyOrValueClass);
 
         } else {
 
-            retValue = manufactureAttributeValue(pojoClass,
+            retValue = manufactureValueOfType(pojoClass,
                     keyOrValueType, annotations, attributeName);
         }
         return retValue;
@@ -2476,7 +2793,7 @@ public class PodamFactoryImpl implements PodamFactory {
         // If the user defined a strategy to fill the collection elements,
         // we use it
         PodamCollection collectionAnnotation = null;
-        AttributeStrategy<?> elementStrategy = null;
+        Class<? extends AttributeStrategy<?>> elementStrategy = null;
         for (Annotation annotation : annotations) {
             if (PodamCollection.class.isAssignableFrom(annotation.getClass())) {
                 collectionAnnotation = (PodamCollection) annotation;
@@ -2488,7 +2805,17 @@ public class PodamFactoryImpl implements PodamFactory {
         if (null != collectionAnnotation) {
 
             nbrElements = collectionAnnotation.nbrElements();
-            elementStrategy = collectionAnnotation.collectionElementStrategy().newInstance();
+            elementStrategy = collectionAnnotation.collectionElementStrategy();
+        }
+
+        if (componentType.isPrimitive()
+                && (null == elementStrategy || ObjectStrategy.class
+                        .isAssignableFrom(elementStrategy))) {
+            Object primitiveArray = resolvePrimitiveArrayValue(componentType,
+                    nbrElements, annotations, attributeName);
+            if (null != primitiveArray) {
+                return primitiveArray;
+            }
         }
 
         Object array = Array.newInstance(componentType, nbrElements);
@@ -2497,16 +2824,17 @@ public class PodamFactoryImpl implements PodamFactory {
 
             // The default
             if (null != elementStrategy
-                    && ObjectStrategy.class.isAssignableFrom(collectionAnnotation.collectionElementStrategy())
+                    && ObjectStrategy.class.isAssignableFrom(elementStrategy)
                     && Object.class.equals(componentType)) {
                 LOG.debug("Element strategy is ObjectStrategy and array element is of type Object: using the ObjectStrategy strategy");
-                arrayElement = elementStrategy.getValue();
+                arrayElement = attributeStrategies.getValue(elementStrategy,
+                        Object.class);
             } else if (null != elementStrategy
-                    && !ObjectStrategy.class.isAssignableFrom(collectionAnnotation.collectionElementStrategy())) {
+                    && !ObjectStrategy.class.isAssignableFrom(elementStrategy)) {
                 LOG.debug("Array elements will be filled using the following strategy: "
-                        + elementStrategy);
-                arrayElement = returnAttributeDataStrategyValue(
-                        componentType, elementStrategy);
+                        + elementStrategy.getName());
+                arrayElement = attributeStrategies.getValue(elementStrategy,
+                        componentType);
 
             } else {
 
@@ -2522,6 +2850,129 @@ public class PodamFactoryImpl implements PodamFactory {
         return array;
     }
 
+    /**
+     * It returns an int, long, double or byte array filled in bulk by the
+     * strategy, so that its elements are neither boxed nor written one by one
+     * through reflection.
+     *
+     * @param componentType The primitive type of the array elements
+     * @param nbrElements The number of elements of the array
+     * @param annotations The annotations to be considered
+     * @param attributeName The attribute name
+     * @return The array, or {@code null} if the elements are not of a type
+     * the strategy can fill in bulk
+     * @throws IllegalArgumentException If the precise value of the
+     * annotation customising the elements could not be converted to their
+     * type
+     */
+    private Object resolvePrimitiveArrayValue(Class<?> componentType,
+            int nbrElements, List<Annotation> annotations,
+            String attributeName) throws IllegalArgumentException {
+
+        Object retValue = null;
+
+        AttributeKind kind = AttributeKind.of(componentType);
+        Annotation valueAnnotation = kind.findValueAnnotation(annotations);
+        AttributeMetadata attributeMetadata = new AttributeMetadata(
+                attributeName, componentType, annotations);
+
+        switch (kind) {
+
+            case INTEGER:
+                int[] ints = new int[nbrElements];
+                PodamIntValue intValue = (PodamIntValue) valueAnnotation;
+                if (null == intValue) {
+                    strategy.fillIntegers(ints, 0, nbrElements,
+                            attributeMetadata);
+                } else if (!"".equals(intValue.numValue())) {
+                    Arrays.fill(ints, getIntegerValueWithinRange(intValue,
+                            attributeMetadata));
+                } else if (intValue.distribution() != Distribution.UNIFORM) {
+                    Sampler sampler = getSampler(intValue);
+                    for (int i = 0; i < nbrElements; i++) {
+                        ints[i] = (int) strategy.getLongFromSampler(sampler,
+                                attributeMetadata);
+                    }
+                } else {
+                    strategy.fillIntegersInRange(ints, 0, nbrElements,
+                            intValue.minValue(), Math.max(intValue.minValue(),
+                                    intValue.maxValue()), attributeMetadata);
+                }
+                retValue = ints;
+                break;
+
+            case LONG:
+                long[] longs = new long[nbrElements];
+                PodamLongValue longValue = (PodamLongValue) valueAnnotation;
+                if (null == longValue) {
+                    strategy.fillLongs(longs, 0, nbrElements,
+                            attributeMetadata);
+                } else if (!"".equals(longValue.numValue())) {
+                    Arrays.fill(longs, getLongValueWithinRange(longValue,
+                            attributeMetadata));
+                } else if (longValue.distribution() != Distribution.UNIFORM) {
+                    Sampler sampler = getSampler(longValue);
+                    for (int i = 0; i < nbrElements; i++) {
+                        longs[i] = strategy.getLongFromSampler(sampler,
+                                attributeMetadata);
+                    }
+                } else {
+                    strategy.fillLongsInRange(longs, 0, nbrElements,
+                            longValue.minValue(), Math.max(longValue.minValue(),
+                                    longValue.maxValue()), attributeMetadata);
+                }
+                retValue = longs;
+                break;
+
+            case DOUBLE:
+                double[] doubles = new double[nbrElements];
+                PodamDoubleValue doubleValue = (PodamDoubleValue) valueAnnotation;
+                if (null == doubleValue) {
+                    strategy.fillDoubles(doubles, 0, nbrElements,
+                            attributeMetadata);
+                } else if (!"".equals(doubleValue.numValue())) {
+                    Arrays.fill(doubles, getDoubleValueWithinRange(
+                            doubleValue, attributeMetadata));
+                } else if (doubleValue.distribution() != Distribution.UNIFORM) {
+                    Sampler sampler = getSampler(doubleValue);
+                    for (int i = 0; i < nbrElements; i++) {
+                        doubles[i] = strategy.getDoubleFromSampler(sampler,
+                                attributeMetadata);
+                    }
+                } else {
+                    strategy.fillDoublesInRange(doubles, 0, nbrElements,
+                            doubleValue.minValue(), Math.max(
+                                    doubleValue.minValue(),
+                                    doubleValue.maxValue()), attributeMetadata);
+                }
+                retValue = doubles;
+                break;
+
+            case BYTE:
+                byte[] bytes = new byte[nbrElements];
+                PodamByteValue byteValue = (PodamByteValue) valueAnnotation;
+                if (null == byteValue) {
+                    strategy.fillBytes(bytes, 0, nbrElements,
+                            attributeMetadata);
+                } else if (!"".equals(byteValue.numValue())) {
+                    Arrays.fill(bytes, getByteValueWithinRange(byteValue,
+                            attributeMetadata));
+                } else {
+                    strategy.fillBytesInRange(bytes, 0, nbrElements,
+                            byteValue.minValue(), (byte) Math.max(
+                                    byteValue.minValue(),
+                                    byteValue.maxValue()), attributeMetadata);
+                }
+                retValue = bytes;
+                break;
+
+            default:
+                break;
+        }
+
+        return retValue;
+    }
+
     /**
      * Given a collection type it returns an instance <p> <ul> <li>The default
      * type for a {@link List} is an {@link ArrayList}</li> <li>The default type
@@ -2669,111 +3120,164 @@ public class PodamFactoryImpl implements PodamFactory {
 
             } else {
 
-                String attributeName = null;
+                parameterValues[idx] = generateConstructorArgument(
+                        constructor, idx, pojoClass, annotations, null);
 
-                if (Collection.class.isAssignableFrom(parameterType)) {
+            }
+
+            idx++;
+
+        }
 
-                    Collection<? super Object> collection = resolveCollectionType(parameterType);
+        return parameterValues;
 
-                    Type type = constructor.getGenericParameterTypes()[idx];
+    }
 
-                    String typeStr = type.toString();
+    /**
+     * It generates the value of one argument of a constructor.
+     *
+     * <p> The strategy is told when the generation of the value starts and
+     * ends, if it is a {@link GenerationListener}. </p>
+     *
+     * @param constructor The constructor
+     * @param idx The index of the argument
+     * @param pojoClass The POJO class being created
+     * @param annotations The annotations customising the argument
+     * @param attributeName The name of the attribute the argument sets, if
+     * known
+     * @return The value of the argument
+     * @throws IllegalArgumentException If an illegal argument was passed
+     * @throws InstantiationException If an exception occurred during
+     * instantiation
+     * @throws IllegalAccessException If security was violated while creating
+     * the object
+     * @throws InvocationTargetException If an exception occurred while invoking
+     * the constructor or factory method
+     * @throws ClassNotFoundException If it was not possible to create a class
+     * from a string
+     */
+    private Object generateConstructorArgument(Constructor<?> constructor,
+            int idx, Class<?> pojoClass, List<Annotation> annotations,
+            String attributeName) throws IllegalArgumentException,
+            InstantiationException, IllegalAccessException,
+            InvocationTargetException, ClassNotFoundException {
 
-                    Class<?> collectionElementType = retrieveClassFromCollectionTypeInConstructor(typeStr);
+        if (listener == null) {
+            return resolveConstructorArgument(constructor, idx, pojoClass,
+                    annotations, attributeName);
+        }
 
-                    fillCollection(pojoClass, attributeName, annotations,
-                            collection, collectionElementType);
+        listener.attributeStarted(attributeName);
+        try {
+            return resolveConstructorArgument(constructor, idx, pojoClass,
+                    annotations, attributeName);
+        } finally {
+            listener.attributeFinished();
+        }
+    }
 
-                    parameterValues[idx] = collection;
+    /**
+     * It resolves the value of one argument of a constructor.
+     *
+     * @param constructor The constructor
+     * @param idx The index of the argument
+     * @param pojoClass The POJO class being created
+     * @param annotations The annotations customising the argument
+     * @param attributeName The name of the attribute the argument sets, if
+     * known
+     * @return The value of the argument
+     * @throws IllegalArgumentException If an illegal argument was passed
+     * @throws InstantiationException If an exception occurred during
+     * instantiation
+     * @throws IllegalAccessException If security was violated while creating
+     * the object
+     * @throws InvocationTargetException If an exception occurred while invoking
+     * the constructor or factory method
+     * @throws ClassNotFoundException If it was not possible to create a class
+     * from a string
+     */
+    private Object resolveConstructorArgument(Constructor<?> constructor,
+            int idx, Class<?> pojoClass, List<Annotation> annotations,
+            String attributeName) throws IllegalArgumentException,
+            InstantiationException, IllegalAccessException,
+            InvocationTargetException, ClassNotFoundException {
 
-                } else if (Map.class.isAssignableFrom(parameterType)) {
+        Class<?> parameterType = constructor.getParameterTypes()[idx];
 
-                    Map<? super Object, ? super Object> mapType = resolveMapType(parameterType);
+        if (Collection.class.isAssignableFrom(parameterType)) {
 
-                    Type type = constructor.getGenericParameterTypes()[idx];
+            Collection<? super Object> collection = resolveCollectionType(parameterType);
 
-                    Class<?>[] keyValueClasses = retrieveClassFromMapTypeInConstructor(type.toString());
+            Type collectionElementType = TypeResolver.getParameterTypeArguments(
+                    constructor, idx, Collection.class)[0];
 
-                    fillMap(pojoClass, attributeName, annotations,
-                            mapType, keyValueClasses[0], keyValueClasses[1]);
+            fillCollection(pojoClass, attributeName, annotations,
+                    collection, collectionElementType);
 
-                    parameterValues[idx] = mapType;
+            return collection;
 
-                } else {
+        } else if (Map.class.isAssignableFrom(parameterType)) {
 
-                    parameterValues[idx] = manufactureAttributeValue(
-                            pojoClass, parameterType, annotations,
-                            attributeName);
+            Map<? super Object, ? super Object> mapType = resolveMapType(parameterType);
 
-                }
+            Type[] keyValueTypes = TypeResolver.getParameterTypeArguments(
+                    constructor, idx, Map.class);
 
-            }
+            fillMap(pojoClass, attributeName, annotations,
+                    mapType, keyValueTypes[0], keyValueTypes[1]);
 
-            idx++;
+            return mapType;
 
-        }
+        } else {
 
-        return parameterValues;
+            return manufactureAttributeValue(pojoClass, parameterType,
+                    annotations, attributeName);
 
+        }
     }
 
     /**
-     * It retrieves the value for the {@link PodamStrategyValue} annotation with
-     * which the attribute was annotated
-     *
-     * @param attributeType The attribute type, used for type checking
-     * @param attributeStrategy The {@link AttributeStrategy} to use
-     * @return The value for the {@link PodamStrategyValue} annotation with
-     * which the attribute was annotated
-     * @throws InstantiationException If an exception occurred while creating an
-     * instance of the strategy contained within the {@link PodamStrategyValue}
-     * annotation
-     * @throws IllegalAccessException If an exception occurred while creating an
-     * instance of the strategy contained within the {@link PodamStrategyValue}
-     * annotation
-     *
-     * @throws IllegalArgumentException If the type of the data strategy defined
-     * for the
-     *             {@link PodamStrategyValue} annotation is not assignable to the annotated
-     * attribute. This de facto guarantees type safety.
+     * It creates an instance of a record, or of a class with a single
+     * all-args constructor, by generating each of its components.
+     *
+     * @param canonical The canonical constructor of the class
+     * @param pojoClass The class to create
+     * @return The instance created, or {@code null} if the constructor
+     * rejected the generated components
+     * @throws IllegalArgumentException If an illegal argument was passed
+     * @throws InstantiationException If an exception occurred during
+     * instantiation
+     * @throws IllegalAccessException If security was violated while creating
+     * the object
+     * @throws InvocationTargetException If an exception occurred while invoking
+     * the constructor or factory method
+     * @throws ClassNotFoundException If it was not possible to create a class
+     * from a string
      */
-    private Object returnAttributeDataStrategyValue(Class<?> attributeType,
-            AttributeStrategy<?> attributeStrategy)
-            throws InstantiationException, IllegalAccessException {
-
-        Object retValue = null;
+    private Object createThroughCanonicalConstructor(
+            CanonicalConstructor canonical, Class<?> pojoClass)
+            throws IllegalArgumentException, InstantiationException,
+            IllegalAccessException, InvocationTargetException,
+            ClassNotFoundException {
 
-        Method attributeStrategyMethod;
+        Object[] components = new Object[canonical.size()];
+        for (int i = 0; i < components.length; i++) {
+            components[i] = generateConstructorArgument(
+                    canonical.constructor, i, pojoClass,
+                    canonical.getAnnotations(i), canonical.getName(i));
+        }
 
         try {
-            attributeStrategyMethod = attributeStrategy.getClass().getMethod(
-                    PodamConstants.PODAM_ATTRIBUTE_STRATEGY_METHOD_NAME,
-                    new Class<?>[]{});
-
-            if (!attributeType.isAssignableFrom(attributeStrategyMethod.getReturnType())) {
-                String errMsg = "The type of the Podam Attribute Strategy is not "
-                        + attributeType.getName()
-                        + " but "
-                        + attributeStrategyMethod.getReturnType().getName()
-                        + ". An exception will be thrown.";
-                LOG.error(errMsg);
-                throw new IllegalArgumentException(errMsg);
+            if (canonical.creator != null) {
+                return Accessors.create(canonical.creator, components);
             }
-
-            retValue = attributeStrategy.getValue();
-
-        } catch (SecurityException e) {
-            throw new IllegalStateException(
-                    "A security issue occurred while retrieving the Podam Attribute Strategy details",
-                    e);
-        } catch (NoSuchMethodException e) {
-            throw new IllegalStateException(
-                    "It seems the Podam Attribute Annotation is of the wrong type",
-                    e);
+            return canonical.constructor.newInstance(components);
+        } catch (InvocationTargetException e) {
+            LOG.warn("The constructor: " + canonical.constructor
+                    + " rejected the generated components: "
+                    + e.getCause() + ". We'll look for another way.");
+            return null;
         }
-
-        return retValue;
-
     }
     // ------------------->> equals() / hashcode() / toString()
     // ------------------->> Inner classes
@@ -0,0 +1,209 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import net.jcip.annotations.ThreadSafe;
+import uk.co.jemos.podam.exceptions.PodamMockeryException;
+
+/**
+ * A service generating POJOs for many concurrent requests, e.g. the
+ * responses of a stub server, with one thread per request.
+ * <p>
+ * Requests can either generate their POJO on their own thread, through
+ * {@link #manufacturePojo(Class)}, or hand the work to the service, through
+ * {@link #submit(Class)}. The service then starts a virtual thread per
+ * request where the JVM has virtual threads, and otherwise falls back to a
+ * pool with a thread per processor, since generating a POJO keeps a thread
+ * busy without ever blocking it.
+ * </p>
+ * <p>
+ * A factory is safe for virtual threads as long as its strategies are:
+ * PODAM itself keeps no lock while it generates, and its caches are keyed by
+ * class rather than by thread. The factory of the default constructor draws
+ * from {@link RandomSources#threadLocal()}, which keeps no state in the
+ * thread-local map of a virtual thread and is the best suited source. A
+ * {@link RandomSources#splittable(long)} source splits a generator for each
+ * new thread, and a {@link RandomSources#seeded(long)} source keeps a stack
+ * per thread, so both cost an allocation per virtual thread.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+@ThreadSafe
+public class PodamGenerationService implements AutoCloseable {
+
+	// ------------------->> Constants
+
+	// ------------------->> Instance / Static variables
+
+	/** The factory generating the POJOs */
+	private final PodamFactory factory;
+
+	/** The executor running the submitted requests */
+	private final ExecutorService executor;
+
+	/** Whether the executor was created, and must be shut down, here */
+	private final boolean ownsExecutor;
+
+	/** Whether the executor starts a virtual thread per request */
+	private final boolean virtual;
+
+	/** The number of POJOs generated so far */
+	private final LongAdder served = new LongAdder();
+
+	// ------------------->> Constructors
+
+	/**
+	 * It creates a service on a new factory with the default strategy.
+	 */
+	public PodamGenerationService() {
+		this(new PodamFactoryImpl());
+	}
+
+	/**
+	 * It creates a service on the given factory, running the submitted
+	 * requests on a virtual thread each where the JVM has virtual threads.
+	 *
+	 * @param factory
+	 *            The factory generating the POJOs, whose strategies must be
+	 *            thread-safe
+	 */
+	public PodamGenerationService(PodamFactory factory) {
+
+		this.factory = factory;
+		ExecutorService perTask = VirtualThreads.newPerTaskExecutor();
+		if (perTask != null) {
+			executor = perTask;
+			virtual = true;
+		} else {
+			executor = Executors.newFixedThreadPool(Runtime.getRuntime()
+					.availableProcessors());
+			virtual = false;
+		}
+		ownsExecutor = true;
+	}
+
+	/**
+	 * It creates a service on the given factory, running the submitted
+	 * requests on the given executor.
+	 *
+	 * @param factory
+	 *            The factory generating the POJOs, whose strategies must be
+	 *            thread-safe
+	 * @param executor
+	 *            The executor running the submitted requests, which
+	 *            {@link #close()} leaves running
+	 */
+	public PodamGenerationService(PodamFactory factory,
+			ExecutorService executor) {
+		this.factory = factory;
+		this.executor = executor;
+		ownsExecutor = false;
+		virtual = false;
+	}
+
+	// ------------------->> Public methods
+
+	/**
+	 * It generates a POJO on the calling thread.
+	 *
+	 * @param <T>
+	 *            The type of the POJO
+	 * @param pojoClass
+	 *            The class of the POJO
+	 * @return An instance of the given class filled with dummy values
+	 * @throws PodamMockeryException
+	 *             If the POJO could not be generated
+	 * @see PodamFactory#manufacturePojo(Class)
+	 */
+	public <T> T manufacturePojo(Class<T> pojoClass) {
+
+		T retValue = factory.manufacturePojo(pojoClass);
+		served.increment();
+		return retValue;
+	}
+
+	/**
+	 * It generates a POJO on a thread of the service.
+	 *
+	 * @param <T>
+	 *            The type of the POJO
+	 * @param pojoClass
+	 *            The class of the POJO
+	 * @return A future completed with the POJO, or exceptionally with the
+	 *         {@link PodamMockeryException} thrown if it could not be
+	 *         generated
+	 * @throws java.util.concurrent.RejectedExecutionException
+	 *             If the service was closed
+	 */
+	public <T> CompletableFuture<T> submit(final Class<T> pojoClass) {
+
+		return CompletableFuture.supplyAsync(new Supplier<T>() {
+			@Override
+			public T get() {
+				return manufacturePojo(pojoClass);
+			}
+		}, executor);
+	}
+
+	/**
+	 * It stops accepting requests. The requests already submitted still
+	 * complete. An executor passed to the constructor is left running.
+	 */
+	@Override
+	public void close() {
+		if (ownsExecutor) {
+			executor.shutdown();
+		}
+	}
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * It returns the factory generating the POJOs.
+	 *
+	 * @return The factory generating the POJOs
+	 */
+	public PodamFactory getFactory() {
+		return factory;
+	}
+
+	/**
+	 * It tells whether the submitted requests run on a virtual thread each.
+	 *
+	 * @return {@code true} if the service starts a virtual thread per
+	 *         submitted request
+	 */
+	public boolean isVirtual() {
+		return virtual;
+	}
+
+	/**
+	 * It returns the number of POJOs generated so far.
+	 *
+	 * @return The number of POJOs generated so far
+	 */
+	public long getServedCount() {
+		return served.sum();
+	}
+
+	// ------------------->> equals() / hashcode() / toString()
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "PodamGenerationService ( virtual = " + virtual
+				+ ", served = " + served.sum() + " )";
+	}
+
+}
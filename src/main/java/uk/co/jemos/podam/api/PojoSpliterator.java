@@ -0,0 +1,148 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * A {@link Spliterator} producing POJOs on demand, each from its index.
+ * <p>
+ * No POJO exists before it is requested, so a stream over this spliterator
+ * keeps a flat memory footprint whatever its length. A bounded spliterator
+ * covers a range of indexes: it is {@link #SIZED} and {@link #SUBSIZED}, and
+ * splits its range in halves. An unbounded one splits off batches of growing
+ * size, as {@link java.util.Spliterators.AbstractSpliterator} does, and goes
+ * on after them.
+ * </p>
+ *
+ * @param <T>
+ *            The type of the POJOs
+ *
+ * @since 3.0.2
+ *
+ */
+final class PojoSpliterator<T> implements Spliterator<T> {
+
+	// ------------------->> Constants
+
+	/** The size of the first batch split off an unbounded spliterator */
+	private static final int BATCH_UNIT = 1 << 10;
+
+	/** The largest batch split off an unbounded spliterator */
+	private static final int MAX_BATCH = 1 << 25;
+
+	/** The characteristics of a bounded spliterator */
+	private static final int BOUNDED = ORDERED | IMMUTABLE | SIZED | SUBSIZED;
+
+	/** The characteristics of an unbounded spliterator */
+	private static final int UNBOUNDED = ORDERED | IMMUTABLE;
+
+	// ------------------->> Instance / Static variables
+
+	/** The function producing the POJO of each index */
+	private final LongFunction<T> generator;
+
+	/** The index of the next POJO */
+	private long index;
+
+	/** The index after the last POJO (exclusive), or -1 if unbounded */
+	private final long end;
+
+	/** The size of the next batch split off an unbounded spliterator */
+	private int batch = BATCH_UNIT;
+
+	// ------------------->> Constructors
+
+	/**
+	 * Full constructor.
+	 *
+	 * @param generator
+	 *            The function producing the POJO of each index
+	 * @param index
+	 *            The index of the first POJO
+	 * @param end
+	 *            The index after the last POJO (exclusive), or -1 for no end
+	 */
+	PojoSpliterator(LongFunction<T> generator, long index, long end) {
+		this.generator = generator;
+		this.index = index;
+		this.end = end;
+	}
+
+	// ------------------->> Public methods
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+
+		if (index == end) {
+			return false;
+		}
+		action.accept(generator.apply(index++));
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void forEachRemaining(Consumer<? super T> action) {
+
+		if (end < 0) {
+			Spliterator.super.forEachRemaining(action);
+			return;
+		}
+		long last = end;
+		for (long i = index; i < last; i++) {
+			// Kept up to date, in case the action throws
+			index = i + 1;
+			action.accept(generator.apply(i));
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Spliterator<T> trySplit() {
+
+		if (end < 0) {
+			PojoSpliterator<T> prefix = new PojoSpliterator<T>(generator,
+					index, index + batch);
+			index += batch;
+			batch = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+			return prefix;
+		}
+
+		long mid = index + (end - index) / 2;
+		if (mid == index) {
+			return null;
+		}
+		PojoSpliterator<T> prefix = new PojoSpliterator<T>(generator, index,
+				mid);
+		index = mid;
+		return prefix;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long estimateSize() {
+		return end < 0 ? Long.MAX_VALUE : end - index;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int characteristics() {
+		return end < 0 ? UNBOUNDED : BOUNDED;
+	}
+
+}
@@ -0,0 +1,110 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import uk.co.jemos.podam.dto.AttributeMetadata;
+
+/**
+ * Companion contract for the {@link DataProviderStrategy} implementations
+ * which can return primitive values.
+ * <p>
+ * When the strategy of a {@link PodamFactoryImpl} implements this interface,
+ * the factory asks it for the values of the primitive and wrapper attributes
+ * which are not customised by an annotation. The values of primitive
+ * attributes are then written straight into the POJO, without being boxed
+ * on the way, so that POJOs made only of primitive attributes are filled
+ * without creating any other object.
+ * </p>
+ * <p>
+ * Each method must return the values the matching method of
+ * {@link DataProviderStrategy} would, e.g. {@link #nextInt(AttributeMetadata)}
+ * those of {@link DataProviderStrategy#getInteger(AttributeMetadata)}.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+public interface PrimitiveDataProviderStrategy {
+
+	/**
+	 * It returns a boolean value for the given attribute.
+	 *
+	 * @param attributeMetadata
+	 *            The metadata of the attribute to fill
+	 * @return The value {@link DataProviderStrategy#getBoolean(AttributeMetadata)}
+	 *         would return
+	 */
+	public boolean nextBoolean(AttributeMetadata attributeMetadata);
+
+	/**
+	 * It returns a byte value for the given attribute.
+	 *
+	 * @param attributeMetadata
+	 *            The metadata of the attribute to fill
+	 * @return The value {@link DataProviderStrategy#getByte(AttributeMetadata)}
+	 *         would return
+	 */
+	public byte nextByte(AttributeMetadata attributeMetadata);
+
+	/**
+	 * It returns a char value for the given attribute.
+	 *
+	 * @param attributeMetadata
+	 *            The metadata of the attribute to fill
+	 * @return The value {@link DataProviderStrategy#getCharacter(AttributeMetadata)}
+	 *         would return
+	 */
+	public char nextChar(AttributeMetadata attributeMetadata);
+
+	/**
+	 * It returns a short value for the given attribute.
+	 *
+	 * @param attributeMetadata
+	 *            The metadata of the attribute to fill
+	 * @return The value {@link DataProviderStrategy#getShort(AttributeMetadata)}
+	 *         would return
+	 */
+	public short nextShort(AttributeMetadata attributeMetadata);
+
+	/**
+	 * It returns an int value for the given attribute.
+	 *
+	 * @param attributeMetadata
+	 *            The metadata of the attribute to fill
+	 * @return The value {@link DataProviderStrategy#getInteger(AttributeMetadata)}
+	 *         would return
+	 */
+	public int nextInt(AttributeMetadata attributeMetadata);
+
+	/**
+	 * It returns a long value for the given attribute.
+	 *
+	 * @param attributeMetadata
+	 *            The metadata of the attribute to fill
+	 * @return The value {@link DataProviderStrategy#getLong(AttributeMetadata)}
+	 *         would return
+	 */
+	public long nextLong(AttributeMetadata attributeMetadata);
+
+	/**
+	 * It returns a float value for the given attribute.
+	 *
+	 * @param attributeMetadata
+	 *            The metadata of the attribute to fill
+	 * @return The value {@link DataProviderStrategy#getFloat(AttributeMetadata)}
+	 *         would return
+	 */
+	public float nextFloat(AttributeMetadata attributeMetadata);
+
+	/**
+	 * It returns a double value for the given attribute.
+	 *
+	 * @param attributeMetadata
+	 *            The metadata of the attribute to fill
+	 * @return The value {@link DataProviderStrategy#getDouble(AttributeMetadata)}
+	 *         would return
+	 */
+	public double nextDouble(AttributeMetadata attributeMetadata);
+
+}
@@ -0,0 +1,35 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import uk.co.jemos.podam.utils.PodamConstants;
+
+/**
+ * Contract for objects which follow the progress of a bulk generation, e.g.
+ * {@link PodamFactory#manufacturePojos(Class, int, ProgressListener)}.
+ * <p>
+ * The listener is invoked from the thread generating the POJOs, every
+ * {@link PodamConstants#PROGRESS_INTERVAL} POJOs and once more when all of
+ * them are done. A parallel generation, such as
+ * {@link PodamDataset#get(long, Object[], java.util.concurrent.Executor, ProgressListener)},
+ * invokes it instead from its worker threads, as each partition is done, so
+ * the listener must then be thread-safe.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+public interface ProgressListener {
+
+	/**
+	 * It is invoked as POJOs are generated.
+	 *
+	 * @param done
+	 *            The number of POJOs generated so far
+	 * @param total
+	 *            The number of POJOs to generate
+	 */
+	public void progressed(int done, int total);
+
+}
@@ -3,7 +3,7 @@
  */
 package uk.co.jemos.podam.api;
 
-import java.util.Random;
+import java.util.Arrays;
 
 import uk.co.jemos.podam.dto.AttributeMetadata;
 import uk.co.jemos.podam.utils.PodamConstants;
@@ -20,7 +20,19 @@ import uk.co.jemos.podam.utils.PodamConstants;
  * </p>
  * 
  * <p>
- * This implementation is a Singleton
+ * The shared instance returned by {@link #getInstance()} draws its numbers
+ * from {@link RandomSources#threadLocal()}. Instances drawing from another
+ * {@link RandomSource} can be created through
+ * {@link #RandomDataProviderStrategy(RandomSource)}, and instances returning
+ * characters from another alphabet than {@link #NICE_ASCII_CHARACTERS}
+ * through {@link #RandomDataProviderStrategy(RandomSource, char[])}.
+ * </p>
+ * 
+ * <p>
+ * The methods returning wrappers, e.g. {@link #getInteger(AttributeMetadata)},
+ * return the values of their primitive counterparts, e.g.
+ * {@link #nextInt(AttributeMetadata)}. Subclasses changing the values of a
+ * type must override both.
  * </p>
  * 
  * @author mtedone
@@ -29,7 +41,8 @@ import uk.co.jemos.podam.utils.PodamConstants;
  * 
  */
 
-public class RandomDataProviderStrategy implements DataProviderStrategy {
+public class RandomDataProviderStrategy implements DataProviderStrategy,
+		PrimitiveDataProviderStrategy, GenerationListener {
 
 	// ------------------->> Constants
 
@@ -37,12 +50,6 @@ public class RandomDataProviderStrategy implements DataProviderStrategy {
 	private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger
 			.getLogger(RandomDataProviderStrategy.class.getName());
 
-	/** A RANDOM generator */
-	private static final Random RANDOM = new Random(System.currentTimeMillis());
-
-	/** The singleton instance of this implementation */
-	private static final RandomDataProviderStrategy SINGLETON = new RandomDataProviderStrategy();
-
 	/** An array of valid String characters */
 	public static final char[] NICE_ASCII_CHARACTERS = new char[] { 'a', 'b',
 			'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j', 'k', 'l', 'm', 'n', 'o',
@@ -51,79 +58,174 @@ public class RandomDataProviderStrategy implements DataProviderStrategy {
 			'P', 'Q', 'R', 'S', 'T', 'U', 'V', 'W', 'X', 'Y', 'Z', '0', '1',
 			'2', '3', '4', '5', '6', '7', '8', '9', '_' };
 
+	/** The shared instance of this implementation */
+	private static final RandomDataProviderStrategy SINGLETON = new RandomDataProviderStrategy(
+			RandomSources.threadLocal());
+
 	// ------------------->> Instance / Static variables
 
+	/** The source of the random numbers */
+	private final RandomSource random;
+
+	/** The characters of the chars and Strings returned by this strategy */
+	private final char[] alphabet;
+
+	/**
+	 * The number of random bits needed to pick a character of the alphabet
+	 */
+	private final int bitsPerCharacter;
+
 	// ------------------->> Constructors
 
 	/**
-	 * Implementation of the Singleton pattern
+	 * Constructor of a strategy returning characters from
+	 * {@link #NICE_ASCII_CHARACTERS}.
+	 * 
+	 * @param random
+	 *            The source of the random numbers, which must be safe to share
+	 *            between threads
+	 */
+	public RandomDataProviderStrategy(RandomSource random) {
+		this(random, NICE_ASCII_CHARACTERS);
+	}
+
+	/**
+	 * Full constructor.
+	 * 
+	 * @param random
+	 *            The source of the random numbers, which must be safe to share
+	 *            between threads
+	 * @param alphabet
+	 *            The characters of the chars and Strings returned by this
+	 *            strategy
 	 */
-	private RandomDataProviderStrategy() {
+	public RandomDataProviderStrategy(RandomSource random, char[] alphabet) {
+		if (random == null) {
+			throw new IllegalArgumentException(
+					"The random source cannot be null");
+		}
+		if (alphabet == null || alphabet.length == 0) {
+			throw new IllegalArgumentException(
+					"The alphabet cannot be null or empty");
+		}
+		this.random = random;
+		this.alphabet = alphabet.clone();
+		bitsPerCharacter = 32 - Integer.numberOfLeadingZeros(alphabet.length - 1);
 	}
 
 	// ------------------->> Public methods
 
 	/**
-	 * Implementation of the Singleton pattern
+	 * It returns the shared instance of this class.
 	 * 
-	 * @return A singleton instance of this class
+	 * @return The shared instance of this class
 	 */
 	public static RandomDataProviderStrategy getInstance() {
 		return SINGLETON;
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * It returns the source of the random numbers of this strategy.
+	 * 
+	 * @return The source of the random numbers of this strategy
 	 */
+	public RandomSource getRandomSource() {
+		return random;
+	}
 
-	public Boolean getBoolean(AttributeMetadata attributeMetadata) {
-		return Boolean.TRUE;
+	/**
+	 * It returns the characters of the chars and Strings returned by this
+	 * strategy.
+	 * 
+	 * @return A copy of the alphabet of this strategy
+	 */
+	public char[] getAlphabet() {
+		return alphabet.clone();
 	}
 
 	/**
+	 * It forwards the event to the random source, if it is a
+	 * {@link GenerationListener}.
+	 * 
 	 * {@inheritDoc}
 	 */
-
-	public Byte getByte(AttributeMetadata attributeMetadata) {
-		byte nextByte = (byte) RANDOM.nextInt(Byte.MAX_VALUE);
-		while (nextByte == 0) {
-			nextByte = (byte) RANDOM.nextInt(Byte.MAX_VALUE);
+	@Override
+	public void manufactureStarted(long callIndex) {
+		if (random instanceof GenerationListener) {
+			((GenerationListener) random).manufactureStarted(callIndex);
 		}
-		return nextByte;
 	}
 
 	/**
+	 * It forwards the event to the random source, if it is a
+	 * {@link GenerationListener}.
+	 * 
 	 * {@inheritDoc}
 	 */
+	@Override
+	public void manufactureFinished() {
+		if (random instanceof GenerationListener) {
+			((GenerationListener) random).manufactureFinished();
+		}
+	}
 
-	public Byte getByteInRange(byte minValue, byte maxValue,
-			AttributeMetadata attributeMetadata) {
-		// This can happen. It's a way to specify a precise value
-		if (minValue == maxValue) {
-			return minValue;
+	/**
+	 * It forwards the event to the random source, if it is a
+	 * {@link GenerationListener}.
+	 * 
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void attributeStarted(String attributeName) {
+		if (random instanceof GenerationListener) {
+			((GenerationListener) random).attributeStarted(attributeName);
 		}
-		byte retValue = (byte) (minValue + (byte) (Math.random() * (maxValue
-				- minValue + 1)));
-		while (retValue < minValue || retValue > maxValue) {
-			retValue = (byte) (minValue + (byte) (Math.random() * (maxValue
-					- minValue + 1)));
+	}
+
+	/**
+	 * It forwards the event to the random source, if it is a
+	 * {@link GenerationListener}.
+	 * 
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void attributeFinished() {
+		if (random instanceof GenerationListener) {
+			((GenerationListener) random).attributeFinished();
 		}
-		return retValue;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 
-	public Character getCharacter(AttributeMetadata attributeMetadata) {
+	public Boolean getBoolean(AttributeMetadata attributeMetadata) {
+		return nextBoolean(attributeMetadata);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
 
-		int randomCharIdx = getIntegerInRange(0,
-				NICE_ASCII_CHARACTERS.length - 1, attributeMetadata);
+	public Byte getByte(AttributeMetadata attributeMetadata) {
+		return nextByte(attributeMetadata);
+	}
 
-		int charToReturnIdx = randomCharIdx % NICE_ASCII_CHARACTERS.length;
+	/**
+	 * {@inheritDoc}
+	 */
 
-		return NICE_ASCII_CHARACTERS[charToReturnIdx];
+	public Byte getByteInRange(byte minValue, byte maxValue,
+			AttributeMetadata attributeMetadata) {
+		return nextByteInRange(minValue, maxValue);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
 
+	public Character getCharacter(AttributeMetadata attributeMetadata) {
+		return nextChar(attributeMetadata);
 	}
 
 	/**
@@ -132,18 +234,7 @@ public class RandomDataProviderStrategy implements DataProviderStrategy {
 
 	public Character getCharacterInRange(char minValue, char maxValue,
 			AttributeMetadata attributeMetadata) {
-		// This can happen. It's a way to specify a precise value
-		if (minValue == maxValue) {
-			return minValue;
-		}
-		char retValue = (char) (minValue + (char) (Math.random() * (maxValue
-				- minValue + 1)));
-		while (retValue < minValue || retValue > maxValue) {
-			retValue = (char) (minValue + (char) (Math.random() * (maxValue
-					- minValue + 1)));
-		}
-
-		return retValue;
+		return (char) random.nextLongBetween(minValue, maxValue);
 	}
 
 	/**
@@ -151,11 +242,7 @@ public class RandomDataProviderStrategy implements DataProviderStrategy {
 	 */
 
 	public Double getDouble(AttributeMetadata attributeMetadata) {
-		double retValue = RANDOM.nextDouble();
-		while (retValue == 0.0) {
-			retValue = RANDOM.nextDouble();
-		}
-		return retValue;
+		return nextDouble(attributeMetadata);
 	}
 
 	/**
@@ -164,15 +251,7 @@ public class RandomDataProviderStrategy implements DataProviderStrategy {
 
 	public Double getDoubleInRange(double minValue, double maxValue,
 			AttributeMetadata attributeMetadata) {
-		// This can happen. It's a way to specify a precise value
-		if (minValue == maxValue) {
-			return minValue;
-		}
-		double retValue = minValue + Math.random() * (maxValue - minValue + 1);
-		while (retValue < minValue || retValue > maxValue) {
-			retValue = minValue + Math.random() * (maxValue - minValue + 1);
-		}
-		return retValue;
+		return nextDoubleInRange(minValue, maxValue);
 	}
 
 	/**
@@ -180,11 +259,7 @@ public class RandomDataProviderStrategy implements DataProviderStrategy {
 	 */
 
 	public Float getFloat(AttributeMetadata attributeMetadata) {
-		float retValue = RANDOM.nextFloat();
-		while (retValue == 0.0f) {
-			retValue = RANDOM.nextFloat();
-		}
-		return retValue;
+		return nextFloat(attributeMetadata);
 	}
 
 	/**
@@ -193,17 +268,12 @@ public class RandomDataProviderStrategy implements DataProviderStrategy {
 
 	public Float getFloatInRange(float minValue, float maxValue,
 			AttributeMetadata attributeMetadata) {
-		// This can happen. It's a way to specify a precise value
-		if (minValue == maxValue) {
+		if (!(minValue < maxValue)) {
 			return minValue;
 		}
-		float retValue = minValue
-				+ (float) (Math.random() * (maxValue - minValue + 1));
-		while (retValue < minValue || retValue > maxValue) {
-			retValue = minValue
-					+ (float) (Math.random() * (maxValue - minValue + 1));
-		}
-		return retValue;
+		float retValue = (float) random.nextDoubleBetween(minValue, maxValue);
+		// Rounding to a float may go past the range
+		return Math.min(Math.max(retValue, minValue), maxValue);
 	}
 
 	/**
@@ -211,11 +281,7 @@ public class RandomDataProviderStrategy implements DataProviderStrategy {
 	 */
 
 	public Integer getInteger(AttributeMetadata attributeMetadata) {
-		Integer retValue = RANDOM.nextInt();
-		while (retValue.intValue() == 0) {
-			retValue = RANDOM.nextInt();
-		}
-		return retValue;
+		return nextInt(attributeMetadata);
 	}
 
 	/**
@@ -224,21 +290,121 @@ public class RandomDataProviderStrategy implements DataProviderStrategy {
 
 	public int getIntegerInRange(int minValue, int maxValue,
 			AttributeMetadata attributeMetadata) {
-		// This can happen. It's a way to specify a precise value
-		if (minValue == maxValue) {
-			return minValue;
+		return nextIntInRange(minValue, maxValue);
+	}
+
+	/**
+	 * This implementation returns the current time in milliseconds, as
+	 * {@link #nextLong(AttributeMetadata)} does.
+	 * 
+	 * {@inheritDoc}
+	 */
+
+	public Long getLong(AttributeMetadata attributeMetadata) {
+		return nextLong(attributeMetadata);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+
+	public Long getLongInRange(long minValue, long maxValue,
+			AttributeMetadata attributeMetadata) {
+		return nextLongInRange(minValue, maxValue);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+
+	public Short getShort(AttributeMetadata attributeMetadata) {
+		return nextShort(attributeMetadata);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+
+	public Short getShortInRange(short minValue, short maxValue,
+			AttributeMetadata attributeMetadata) {
+		return (short) random.nextLongBetween(minValue, maxValue);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+
+	public String getStringValue(AttributeMetadata attributeMetadata) {
+		return getStringOfLength(PodamConstants.STR_DEFAULT_LENGTH,
+				attributeMetadata);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+
+	public String getStringOfLength(int length,
+			AttributeMetadata attributeMetadata) {
+
+		if (length <= 0) {
+			return "";
 		}
-		int retValue = minValue
-				+ (int) (Math.random() * (maxValue - minValue + 1));
-		while (retValue < minValue || retValue > maxValue) {
-			retValue = minValue
-					+ (int) (Math.random() * (maxValue - minValue + 1));
+
+		char[] chars = new char[length];
+		fillCharacters(chars, 0, length);
+		return new String(chars);
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean nextBoolean(AttributeMetadata attributeMetadata) {
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public byte nextByte(AttributeMetadata attributeMetadata) {
+		// Between 1 and Byte.MAX_VALUE - 1, zero excluded
+		return (byte) (1 + random.nextInt(Byte.MAX_VALUE - 1));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public char nextChar(AttributeMetadata attributeMetadata) {
+		return alphabet[random.nextInt(alphabet.length)];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public short nextShort(AttributeMetadata attributeMetadata) {
+		// Between 1 and Byte.MAX_VALUE - 1, zero excluded
+		return (short) (1 + random.nextInt(Byte.MAX_VALUE - 1));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int nextInt(AttributeMetadata attributeMetadata) {
+		int retValue = random.nextInt();
+		while (retValue == 0) {
+			retValue = random.nextInt();
 		}
 		return retValue;
 	}
 
 	/**
-	 * This implementation returns the current time in milliseconds.
+	 * This implementation returns the current time in milliseconds, as given
+	 * by the random source.
 	 * <p>
 	 * This can be useful for Date-like constructors which accept a long as
 	 * argument. A complete random number would cause the instantiation of such
@@ -247,92 +413,286 @@ public class RandomDataProviderStrategy implements DataProviderStrategy {
 	 * </p>
 	 * {@inheritDoc}
 	 */
+	@Override
+	public long nextLong(AttributeMetadata attributeMetadata) {
+		return random.currentTimeMillis();
+	}
 
-	public Long getLong(AttributeMetadata attributeMetadata) {
-		return System.currentTimeMillis();
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float nextFloat(AttributeMetadata attributeMetadata) {
+		float retValue = random.nextFloat();
+		while (retValue == 0.0f) {
+			retValue = random.nextFloat();
+		}
+		return retValue;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
+	@Override
+	public double nextDouble(AttributeMetadata attributeMetadata) {
+		double retValue = random.nextDouble();
+		while (retValue == 0.0) {
+			retValue = random.nextDouble();
+		}
+		return retValue;
+	}
 
-	public Long getLongInRange(long minValue, long maxValue,
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fillIntegers(int[] array, int fromIndex, int toIndex,
 			AttributeMetadata attributeMetadata) {
-		// This can happen. It's a way to specify a precise value
-		if (minValue == maxValue) {
-			return minValue;
+		for (int i = fromIndex; i < toIndex; i++) {
+			array[i] = nextInt(attributeMetadata);
 		}
-		long retValue = minValue
-				+ (long) (Math.random() * (maxValue - minValue + 1));
-		while (retValue < minValue || retValue > maxValue) {
-			retValue = minValue
-					+ (long) (Math.random() * (maxValue - minValue + 1));
-		}
-		return retValue;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
+	@Override
+	public void fillIntegersInRange(int[] array, int fromIndex, int toIndex,
+			int minValue, int maxValue, AttributeMetadata attributeMetadata) {
+		for (int i = fromIndex; i < toIndex; i++) {
+			array[i] = nextIntInRange(minValue, maxValue);
+		}
+	}
 
-	public Short getShort(AttributeMetadata attributeMetadata) {
-		short retValue = (short) RANDOM.nextInt(Byte.MAX_VALUE);
-		while (retValue == 0) {
-			retValue = (short) RANDOM.nextInt(Byte.MAX_VALUE);
+	/**
+	 * This implementation fills the region with the current time in
+	 * milliseconds, as {@link #nextLong(AttributeMetadata)} does.
+	 * 
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fillLongs(long[] array, int fromIndex, int toIndex,
+			AttributeMetadata attributeMetadata) {
+		for (int i = fromIndex; i < toIndex; i++) {
+			array[i] = nextLong(attributeMetadata);
 		}
-		return retValue;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
+	@Override
+	public void fillLongsInRange(long[] array, int fromIndex, int toIndex,
+			long minValue, long maxValue, AttributeMetadata attributeMetadata) {
+		for (int i = fromIndex; i < toIndex; i++) {
+			array[i] = nextLongInRange(minValue, maxValue);
+		}
+	}
 
-	public Short getShortInRange(short minValue, short maxValue,
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fillDoubles(double[] array, int fromIndex, int toIndex,
 			AttributeMetadata attributeMetadata) {
-		// This can happen. It's a way to specify a precise value
-		if (minValue == maxValue) {
-			return minValue;
+		for (int i = fromIndex; i < toIndex; i++) {
+			array[i] = nextDouble(attributeMetadata);
 		}
-		short retValue = (short) (minValue + (short) (Math.random() * (maxValue
-				- minValue + 1)));
-		while (retValue < minValue || retValue > maxValue) {
-			retValue = (short) (minValue + (short) (Math.random() * (maxValue
-					- minValue + 1)));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fillDoublesInRange(double[] array, int fromIndex,
+			int toIndex, double minValue, double maxValue,
+			AttributeMetadata attributeMetadata) {
+		for (int i = fromIndex; i < toIndex; i++) {
+			array[i] = nextDoubleInRange(minValue, maxValue);
 		}
-		return retValue;
 	}
 
 	/**
+	 * This implementation takes two values from each random long, and scales
+	 * each of them to a value between 1 and {@code Byte.MAX_VALUE - 1}, as
+	 * {@link #getByte(AttributeMetadata)} returns.
+	 * 
 	 * {@inheritDoc}
 	 */
+	@Override
+	public void fillBytes(byte[] array, int fromIndex, int toIndex,
+			AttributeMetadata attributeMetadata) {
+		fillScaledBytes(array, fromIndex, toIndex, (byte) 1,
+				Byte.MAX_VALUE - 1);
+	}
 
-	public String getStringValue(AttributeMetadata attributeMetadata) {
-		return getStringOfLength(PodamConstants.STR_DEFAULT_LENGTH,
-				attributeMetadata);
+	/**
+	 * This implementation takes two values from each random long, and scales
+	 * each of them to the range.
+	 * 
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fillBytesInRange(byte[] array, int fromIndex, int toIndex,
+			byte minValue, byte maxValue, AttributeMetadata attributeMetadata) {
+		if (minValue == maxValue) {
+			Arrays.fill(array, fromIndex, toIndex, minValue);
+		} else {
+			fillScaledBytes(array, fromIndex, toIndex, minValue, maxValue
+					- minValue + 1);
+		}
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
+	@Override
+	public long getLongFromSampler(Sampler sampler,
+			AttributeMetadata attributeMetadata) {
+		return sampler.nextLong(random);
+	}
 
-	public String getStringOfLength(int length,
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double getDoubleFromSampler(Sampler sampler,
 			AttributeMetadata attributeMetadata) {
+		return sampler.nextDouble(random);
+	}
+
+	// ------------------->> Getters / Setters
 
-		StringBuilder buff = new StringBuilder(
-				PodamConstants.STR_DEFAULT_ENCODING);
-		// Default length was 5 for some reason
-		buff.setLength(0);
+	// ------------------->> Private methods
 
-		while (buff.length() < length) {
-			buff.append(getCharacter(attributeMetadata));
+	/**
+	 * It fills a region of a char array with characters of the alphabet.
+	 * <p>
+	 * Each character takes only as many bits as needed to index the
+	 * alphabet, so that each random long gives several characters, e.g. ten
+	 * for {@link #NICE_ASCII_CHARACTERS}. An index beyond the alphabet is
+	 * discarded rather than folded back, so that all characters are equally
+	 * likely.
+	 * </p>
+	 * 
+	 * @param array
+	 *            The array to fill
+	 * @param fromIndex
+	 *            The index of the first element to fill (inclusive)
+	 * @param toIndex
+	 *            The index of the last element to fill (exclusive)
+	 */
+	private void fillCharacters(char[] array, int fromIndex, int toIndex) {
+
+		if (alphabet.length == 1) {
+			Arrays.fill(array, fromIndex, toIndex, alphabet[0]);
+			return;
 		}
 
-		return buff.toString();
+		int mask = (1 << bitsPerCharacter) - 1;
+		long bits = 0;
+		int bitsLeft = 0;
+		int i = fromIndex;
+		while (i < toIndex) {
+			if (bitsLeft < bitsPerCharacter) {
+				bits = random.nextLong();
+				bitsLeft = Long.SIZE;
+			}
+			int index = (int) bits & mask;
+			bits >>>= bitsPerCharacter;
+			bitsLeft -= bitsPerCharacter;
+			if (index < alphabet.length) {
+				array[i++] = alphabet[index];
+			}
+		}
+	}
 
+	/**
+	 * It returns a random int between min and max value (included).
+	 * 
+	 * @param minValue
+	 *            The minimum value for the returned value
+	 * @param maxValue
+	 *            The maximum value for the returned value
+	 * @return A random int between min and max value (included)
+	 */
+	private int nextIntInRange(int minValue, int maxValue) {
+		return (int) random.nextLongBetween(minValue, maxValue);
 	}
-	// ------------------->> Getters / Setters
 
-	// ------------------->> Private methods
+	/**
+	 * It returns a random long between min and max value (included).
+	 * 
+	 * @param minValue
+	 *            The minimum value for the returned value
+	 * @param maxValue
+	 *            The maximum value for the returned value
+	 * @return A random long between min and max value (included)
+	 */
+	private long nextLongInRange(long minValue, long maxValue) {
+		return random.nextLongBetween(minValue, maxValue);
+	}
+
+	/**
+	 * It returns a random double between min and max value (included).
+	 * 
+	 * @param minValue
+	 *            The minimum value for the returned value
+	 * @param maxValue
+	 *            The maximum value for the returned value
+	 * @return A random double between min and max value (included)
+	 */
+	private double nextDoubleInRange(double minValue, double maxValue) {
+		return random.nextDoubleBetween(minValue, maxValue);
+	}
+
+	/**
+	 * It returns a random byte between min and max value (included).
+	 * 
+	 * @param minValue
+	 *            The minimum value for the returned value
+	 * @param maxValue
+	 *            The maximum value for the returned value
+	 * @return A random byte between min and max value (included)
+	 */
+	private byte nextByteInRange(byte minValue, byte maxValue) {
+		return (byte) random.nextLongBetween(minValue, maxValue);
+	}
+
+	/**
+	 * It fills a region of a byte array, taking two values from each random
+	 * long.
+	 * <p>
+	 * Each half of the long is scaled to the span with a multiplication and a
+	 * shift rather than a remainder, so no value is drawn again. No value is
+	 * more likely than another by more than one part in 2<sup>24</sup>.
+	 * </p>
+	 * 
+	 * @param array
+	 *            The array to fill
+	 * @param fromIndex
+	 *            The index of the first element to fill (inclusive)
+	 * @param toIndex
+	 *            The index of the last element to fill (exclusive)
+	 * @param minValue
+	 *            The minimum value for the elements
+	 * @param span
+	 *            The number of values from the minimum value, between 1 and
+	 *            256
+	 */
+	private void fillScaledBytes(byte[] array, int fromIndex, int toIndex,
+			byte minValue, int span) {
+
+		int i = fromIndex;
+		while (i < toIndex) {
+			long bits = random.nextLong();
+			int end = Math.min(i + 2, toIndex);
+			for (; i < end; i++) {
+				array[i] = (byte) (minValue + ((bits & 0xFFFFFFFFL) * span >>> 32));
+				bits >>>= 32;
+			}
+		}
+	}
 
 	// ------------------->> equals() / hashcode() / toString()
 
@@ -0,0 +1,147 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+/**
+ * The source of the random numbers a {@link RandomDataProviderStrategy}
+ * turns into attribute values.
+ * <p>
+ * Implementations must be safe to share between threads; the ones provided
+ * by {@link RandomSources} avoid any contention by keeping the generator
+ * state per thread.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+public interface RandomSource {
+
+	/**
+	 * It returns a random int.
+	 *
+	 * @return A random int, uniformly distributed over all the int values
+	 */
+	public int nextInt();
+
+	/**
+	 * It returns a random int between zero, included, and the given bound,
+	 * excluded.
+	 *
+	 * @param bound
+	 *            The bound, which must be positive
+	 * @return A random int between zero and the given bound
+	 */
+	public int nextInt(int bound);
+
+	/**
+	 * It returns a random long.
+	 *
+	 * @return A random long, uniformly distributed over all the long values
+	 */
+	public long nextLong();
+
+	/**
+	 * It returns a random double between zero, included, and one, excluded.
+	 *
+	 * @return A random double between zero and one
+	 */
+	public double nextDouble();
+
+	/**
+	 * It returns a random float between zero, included, and one, excluded.
+	 *
+	 * @return A random float between zero and one
+	 */
+	public float nextFloat();
+
+	/**
+	 * It returns a random long between min and max value (included).
+	 * <p>
+	 * This implementation scales one random long, or two for ranges wider
+	 * than 2<sup>32</sup> values, to the range with a multiplication rather
+	 * than a division. It never draws again, and it is correct for any
+	 * range, up to all the long values: no value is more likely than another
+	 * by more than one part in 2<sup>32</sup>.
+	 * </p>
+	 *
+	 * @param minValue
+	 *            The minimum value for the returned value
+	 * @param maxValue
+	 *            The maximum value for the returned value, which must not be
+	 *            less than the minimum value
+	 * @return A random long between min and max value (included)
+	 */
+	public default long nextLongBetween(long minValue, long maxValue) {
+
+		if (minValue >= maxValue) {
+			return minValue;
+		}
+
+		// The number of values in the range, as an unsigned long
+		long span = maxValue - minValue + 1;
+		if (span == 0) {
+			return nextLong();
+		}
+
+		long fraction = nextLong();
+		long offset = RandomSources.multiplyHigh(fraction, span);
+		if ((span >>> 32) != 0) {
+			// A second long extends the fraction to 128 bits
+			long low = fraction * span;
+			long sum = low + RandomSources.multiplyHigh(nextLong(), span);
+			if (Long.compareUnsigned(sum, low) < 0) {
+				offset++;
+			}
+		}
+		return minValue + offset;
+	}
+
+	/**
+	 * It returns a random double between min and max value.
+	 * <p>
+	 * This implementation scales one random double to the range. It never
+	 * draws again, and it is correct for any finite range, even when the
+	 * difference between max and min value is not finite.
+	 * </p>
+	 *
+	 * @param minValue
+	 *            The minimum value for the returned value
+	 * @param maxValue
+	 *            The maximum value for the returned value, which must not be
+	 *            less than the minimum value
+	 * @return A random double between min and max value (included)
+	 */
+	public default double nextDoubleBetween(double minValue, double maxValue) {
+
+		if (!(minValue < maxValue)) {
+			return minValue;
+		}
+
+		double fraction = nextDouble();
+		double width = maxValue - minValue;
+		double retValue;
+		if (Double.isInfinite(width)) {
+			retValue = minValue * (1 - fraction) + maxValue * fraction;
+		} else {
+			retValue = minValue + fraction * width;
+		}
+		// Rounding may go past the maximum value
+		return retValue < maxValue ? retValue : maxValue;
+	}
+
+	/**
+	 * It returns the current time, which the values depending on the time,
+	 * such as {@link RandomDataProviderStrategy#getLong}, are based on.
+	 * <p>
+	 * This implementation returns {@link System#currentTimeMillis()}.
+	 * Reproducible sources return a fixed time instead.
+	 * </p>
+	 *
+	 * @return The current time, in milliseconds since the epoch
+	 */
+	public default long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+}
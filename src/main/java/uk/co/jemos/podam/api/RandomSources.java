@@ -0,0 +1,513 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * The {@link RandomSource}s provided by PODAM.
+ * <p>
+ * All of them keep the state of the generator per thread, so threads filling
+ * POJOs at the same time never compete for it:
+ * </p>
+ * <ul>
+ * <li>{@link #threadLocal()} uses {@link ThreadLocalRandom}. It is the
+ * default and it cannot be seeded. Its state lives in the thread itself, not
+ * in a thread-local map, so it costs nothing to a short-lived virtual
+ * thread.</li>
+ * <li>{@link #splittable(long)} gives each thread its own
+ * {@link SplittableRandom}, split from a root generator with the given seed
+ * the first time the thread asks for a number.</li>
+ * <li>{@link #seeded(long)} makes generation reproducible, see below.</li>
+ * </ul>
+ * <p>
+ * The seeded source derives a stream of numbers from the seed and the index
+ * of each {@link PodamFactory#manufacturePojo(Class)} call, and from that
+ * stream a sub-stream for each attribute of the POJO, and so on down the
+ * graph of nested POJOs. A sub-stream is keyed by the attribute name and by
+ * the position of the attribute among those generated in its parent stream.
+ * Each POJO therefore depends only on the seed and on the index of its call:
+ * a dataset generated by one thread or by many is the same, whatever the
+ * interleaving of the calls. It also reports a fixed time, so that values
+ * based on the time are reproducible too. It learns about the calls and the
+ * attributes as a {@link GenerationListener}, which
+ * {@link RandomDataProviderStrategy} forwards the events of the factory to.
+ * Numbers requested outside a {@code manufacturePojo} call come from a
+ * stream of the seed alone, kept per thread.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+public final class RandomSources {
+
+	// ------------------->> Constants
+
+	/** The time reported by the seeded sources: 2010-01-01T00:00:00Z */
+	private static final long SEEDED_TIME_MILLIS = 1262304000000L;
+
+	/** The increment of the SplitMix64 generator */
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	/** The source backed by {@link ThreadLocalRandom} */
+	private static final RandomSource THREAD_LOCAL = new ThreadLocalRandomSource();
+
+	// ------------------->> Constructors
+
+	/** Non instantiable constructor */
+	private RandomSources() {
+		throw new AssertionError();
+	}
+
+	// ------------------->> Public methods
+
+	/**
+	 * It returns a source backed by {@link ThreadLocalRandom}.
+	 *
+	 * @return A source backed by {@link ThreadLocalRandom}
+	 */
+	public static RandomSource threadLocal() {
+		return THREAD_LOCAL;
+	}
+
+	/**
+	 * It returns a source giving each thread its own {@link SplittableRandom}.
+	 *
+	 * @param seed
+	 *            The seed of the root generator the generators of the threads
+	 *            are split from
+	 * @return A source giving each thread its own {@link SplittableRandom}
+	 */
+	public static RandomSource splittable(long seed) {
+		return new SplittableRandomSource(seed);
+	}
+
+	/**
+	 * It returns a reproducible source, deriving a stream of numbers for each
+	 * {@code manufacturePojo} call and each attribute from the given seed.
+	 *
+	 * @param seed
+	 *            The seed
+	 * @return A reproducible source
+	 */
+	public static RandomSource seeded(long seed) {
+		return new SeededRandomSource(seed);
+	}
+
+	// ------------------->> Package-private methods
+
+	/**
+	 * It returns the high 64 bits of the unsigned 128-bit product of two
+	 * longs, taken as unsigned.
+	 *
+	 * @param x
+	 *            The first factor
+	 * @param y
+	 *            The second factor
+	 * @return The high 64 bits of the product
+	 */
+	static long multiplyHigh(long x, long y) {
+
+		long x0 = x & 0xFFFFFFFFL;
+		long x1 = x >>> 32;
+		long y0 = y & 0xFFFFFFFFL;
+		long y1 = y >>> 32;
+
+		long t = x1 * y0 + (x0 * y0 >>> 32);
+		long w1 = x0 * y1 + (t & 0xFFFFFFFFL);
+		return x1 * y1 + (t >>> 32) + (w1 >>> 32);
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It scrambles the bits of the given value, as the output function of
+	 * SplitMix64 does.
+	 *
+	 * @param z
+	 *            The value
+	 * @return The scrambled value
+	 */
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	// ------------------->> Inner classes
+
+	/**
+	 * A source backed by {@link ThreadLocalRandom}.
+	 */
+	@ThreadSafe
+	private static final class ThreadLocalRandomSource implements
+			RandomSource {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int nextInt() {
+			return ThreadLocalRandom.current().nextInt();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int nextInt(int bound) {
+			return ThreadLocalRandom.current().nextInt(bound);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long nextLong() {
+			return ThreadLocalRandom.current().nextLong();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public double nextDouble() {
+			return ThreadLocalRandom.current().nextDouble();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public float nextFloat() {
+			return ThreadLocalRandom.current().nextFloat();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "RandomSource ( ThreadLocalRandom )";
+		}
+
+	}
+
+	/**
+	 * A source giving each thread its own {@link SplittableRandom}.
+	 */
+	@ThreadSafe
+	private static final class SplittableRandomSource implements RandomSource {
+
+		/** The seed of the root generator */
+		private final long seed;
+
+		/** The generator the generators of the threads are split from */
+		private final SplittableRandom root;
+
+		/** The lock guarding the root generator, which is not thread-safe */
+		private final Lock rootLock = new ReentrantLock();
+
+		/** The generator of each thread */
+		private final ThreadLocal<SplittableRandom> generators = new ThreadLocal<SplittableRandom>() {
+
+			@Override
+			protected SplittableRandom initialValue() {
+				// A lock rather than a monitor, which would pin a virtual
+				// thread to its carrier while it waits
+				rootLock.lock();
+				try {
+					return root.split();
+				} finally {
+					rootLock.unlock();
+				}
+			}
+		};
+
+		/**
+		 * Full constructor.
+		 *
+		 * @param seed
+		 *            The seed of the root generator
+		 */
+		private SplittableRandomSource(long seed) {
+			this.seed = seed;
+			root = new SplittableRandom(seed);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int nextInt() {
+			return generators.get().nextInt();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int nextInt(int bound) {
+			return generators.get().nextInt(bound);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long nextLong() {
+			return generators.get().nextLong();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public double nextDouble() {
+			return generators.get().nextDouble();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public float nextFloat() {
+			// SplittableRandom has no nextFloat(): 24 random bits, as in
+			// java.util.Random
+			return (generators.get().nextInt() >>> 8) / (float) (1 << 24);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "RandomSource ( SplittableRandom, seed = " + seed + " )";
+		}
+
+	}
+
+	/**
+	 * A reproducible source, with a stream of numbers per call and per
+	 * attribute.
+	 */
+	@ThreadSafe
+	private static final class SeededRandomSource implements RandomSource,
+			GenerationListener {
+
+		/** The seed */
+		private final long seed;
+
+		/** The streams each thread is drawing from */
+		private final ThreadLocal<Streams> streams = new ThreadLocal<Streams>() {
+
+			@Override
+			protected Streams initialValue() {
+				return new Streams(seed);
+			}
+		};
+
+		/**
+		 * Full constructor.
+		 *
+		 * @param seed
+		 *            The seed
+		 */
+		private SeededRandomSource(long seed) {
+			this.seed = seed;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void manufactureStarted(long callIndex) {
+			streams.get().push(mix64(seed ^ mix64(callIndex + GOLDEN_GAMMA)));
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void manufactureFinished() {
+			streams.get().pop();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void attributeStarted(String attributeName) {
+			streams.get().pushChild(
+					attributeName == null ? 0 : attributeName.hashCode());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void attributeFinished() {
+			streams.get().pop();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int nextInt() {
+			return (int) (streams.get().next() >>> 32);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int nextInt(int bound) {
+
+			if (bound <= 0) {
+				throw new IllegalArgumentException("The bound must be positive");
+			}
+			Streams current = streams.get();
+			int r = (int) (current.next() >>> 32);
+			int m = bound - 1;
+			if ((bound & m) == 0) {
+				return r & m;
+			}
+			// Rejection of the values of the last, incomplete, interval
+			for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = (int) (current
+					.next() >>> 33)) {
+				// Nothing to do
+			}
+			return r;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long nextLong() {
+			return streams.get().next();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public double nextDouble() {
+			return (streams.get().next() >>> 11) * 0x1.0p-53;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public float nextFloat() {
+			return (streams.get().next() >>> 40) * 0x1.0p-24f;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long currentTimeMillis() {
+			return SEEDED_TIME_MILLIS;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "RandomSource ( seeded, seed = " + seed + " )";
+		}
+
+	}
+
+	/**
+	 * The stack of streams one thread is drawing from: the stream of the
+	 * current attribute on top, then the stream of its parent, and so on.
+	 * Each stream is a SplitMix64 generator, keyed by the seed it started
+	 * from.
+	 */
+	private static final class Streams {
+
+		/** The seed each stream started from */
+		private long[] seeds = new long[16];
+
+		/** The current state of each stream */
+		private long[] states = new long[16];
+
+		/** The number of sub-streams derived so far from each stream */
+		private long[] children = new long[16];
+
+		/** The index of the current stream */
+		private int top;
+
+		/**
+		 * Full constructor.
+		 *
+		 * @param seed
+		 *            The seed of the stream used outside any call
+		 */
+		private Streams(long seed) {
+			seeds[0] = seed;
+			states[0] = seed;
+		}
+
+		/**
+		 * It returns the next number of the current stream.
+		 *
+		 * @return The next number of the current stream
+		 */
+		private long next() {
+			return mix64(states[top] += GOLDEN_GAMMA);
+		}
+
+		/**
+		 * It starts a new stream from the given seed.
+		 *
+		 * @param seed
+		 *            The seed
+		 */
+		private void push(long seed) {
+			if (++top == seeds.length) {
+				seeds = Arrays.copyOf(seeds, top * 2);
+				states = Arrays.copyOf(states, top * 2);
+				children = Arrays.copyOf(children, top * 2);
+			}
+			seeds[top] = seed;
+			states[top] = seed;
+			children[top] = 0;
+		}
+
+		/**
+		 * It starts a sub-stream of the current stream.
+		 *
+		 * @param key
+		 *            The key of the sub-stream, e.g. the hash of an attribute
+		 *            name
+		 */
+		private void pushChild(int key) {
+			long ordinal = children[top]++;
+			push(mix64(seeds[top] ^ mix64((((long) key) << 32) ^ ordinal)));
+		}
+
+		/**
+		 * It goes back to the parent of the current stream.
+		 */
+		private void pop() {
+			if (top > 0) {
+				top--;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,526 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.util.Arrays;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * It draws the values of a numeric attribute from a {@link Distribution}
+ * between a minimum and a maximum value.
+ * <p>
+ * Whatever depends only on the distribution and the range, such as the alias
+ * table of {@link Distribution#WEIGHTED}, is worked out once when the
+ * sampler is built. Each value then costs a constant time: a normal value is
+ * drawn with the Box-Muller transform, and exponential and Zipf values by
+ * inverting their cumulative distribution functions. Zipf values follow the
+ * continuous power law {@code 1 / x}<sup>skew</sup> between {@code 1} and
+ * the number of values plus one, rounded down to whole ranks, which is as
+ * close to a discrete Zipf law as the tests this is meant for can tell.
+ * </p>
+ * <p>
+ * Integer samplers treat each whole value {@code v} as the interval
+ * {@code [v, v + 1)}, so that the minimum and the maximum value get their
+ * fair share. They keep their bounds as {@code long} values and add the
+ * drawn offset to the minimum in {@code long} arithmetic, so that values
+ * beyond 2<sup>53</sup> stay within the range.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+@Immutable
+public final class Sampler {
+
+	// ------------------->> Constants
+
+	/**
+	 * The rate of the exponential distribution with a skew of one, over a
+	 * range of width one
+	 */
+	private static final double EXPONENTIAL_RATE = 5.0;
+
+	/** The number of standard deviations of a normal distribution in range */
+	private static final double NORMAL_DEVIATIONS = 6.0;
+
+	// ------------------->> Instance / Static variables
+
+	/** The distribution of the values */
+	private final Distribution distribution;
+
+	/** The minimum value */
+	private final double minValue;
+
+	/** The maximum value */
+	private final double maxValue;
+
+	/** The minimum value, exactly, of a sampler of whole values */
+	private final long minLong;
+
+	/** The maximum value, exactly, of a sampler of whole values */
+	private final long maxLong;
+
+	/** Whether the values are whole numbers */
+	private final boolean integral;
+
+	/** The width of the interval the continuous distributions cover */
+	private final double width;
+
+	/**
+	 * The parameter of the inverse cumulative distribution function: for
+	 * {@link Distribution#EXPONENTIAL}, the probability of a value within the
+	 * range before the distribution is cut; for {@link Distribution#ZIPF},
+	 * the integral of the power law over the ranks
+	 */
+	private final double scale;
+
+	/**
+	 * The rate of {@link Distribution#EXPONENTIAL}, or the exponent of
+	 * {@link Distribution#ZIPF}
+	 */
+	private final double rate;
+
+	/** The number of ranks of {@link Distribution#ZIPF} */
+	private final double ranks;
+
+	/**
+	 * The probability of keeping each column of the alias table of
+	 * {@link Distribution#WEIGHTED}
+	 */
+	private final double[] probabilities;
+
+	/** The alias of each column of {@link Distribution#WEIGHTED} */
+	private final int[] aliases;
+
+	// ------------------->> Constructors
+
+	/**
+	 * Full constructor.
+	 *
+	 * @param distribution
+	 *            The distribution of the values
+	 * @param minValue
+	 *            The minimum value
+	 * @param maxValue
+	 *            The maximum value
+	 * @param minLong
+	 *            The minimum value, if the values are whole numbers
+	 * @param maxLong
+	 *            The maximum value, if the values are whole numbers
+	 * @param integral
+	 *            Whether the values are whole numbers
+	 * @param skew
+	 *            How much more likely the small values are, for
+	 *            {@link Distribution#EXPONENTIAL} and
+	 *            {@link Distribution#ZIPF}
+	 * @param weights
+	 *            The weights of {@link Distribution#WEIGHTED}
+	 * @throws IllegalArgumentException
+	 *             If the parameters do not suit the distribution
+	 */
+	private Sampler(Distribution distribution, double minValue,
+			double maxValue, long minLong, long maxLong, boolean integral,
+			double skew, double[] weights) {
+
+		if (distribution == null) {
+			throw new IllegalArgumentException(
+					"The distribution cannot be null");
+		}
+		if (maxValue < minValue) {
+			maxValue = minValue;
+		}
+		if (maxLong < minLong) {
+			maxLong = minLong;
+		}
+
+		this.distribution = distribution;
+		this.minValue = minValue;
+		this.maxValue = maxValue;
+		this.minLong = minLong;
+		this.maxLong = maxLong;
+		this.integral = integral;
+		width = integral ? maxValue - minValue + 1 : maxValue - minValue;
+
+		double parameter = 0;
+		double exponent = 0;
+		double rankCount = 0;
+		double[] columnProbabilities = null;
+		int[] columnAliases = null;
+
+		switch (distribution) {
+
+		case EXPONENTIAL:
+			checkSkew(skew);
+			exponent = width > 0 ? EXPONENTIAL_RATE * skew / width : 0;
+			parameter = -Math.expm1(-EXPONENTIAL_RATE * skew);
+			break;
+
+		case ZIPF:
+			checkSkew(skew);
+			exponent = skew;
+			rankCount = Math.floor(maxValue - minValue) + 1;
+			parameter = skew == 1.0 ? Math.log1p(rankCount) : Math.pow(
+					rankCount + 1, 1 - skew) - 1;
+			break;
+
+		case WEIGHTED:
+			if (weights == null || weights.length == 0) {
+				throw new IllegalArgumentException(
+						"The weighted distribution needs at least one weight");
+			}
+			columnProbabilities = new double[weights.length];
+			columnAliases = new int[weights.length];
+			buildAliasTable(weights, columnProbabilities, columnAliases);
+			break;
+
+		default:
+			break;
+		}
+
+		scale = parameter;
+		rate = exponent;
+		ranks = rankCount;
+		probabilities = columnProbabilities;
+		aliases = columnAliases;
+	}
+
+	// ------------------->> Public methods
+
+	/**
+	 * It returns a sampler of whole values.
+	 *
+	 * @param distribution
+	 *            The distribution of the values
+	 * @param minValue
+	 *            The minimum value
+	 * @param maxValue
+	 *            The maximum value
+	 * @param skew
+	 *            How much more likely the small values are, for
+	 *            {@link Distribution#EXPONENTIAL} and
+	 *            {@link Distribution#ZIPF}; it must be positive
+	 * @param weights
+	 *            The weights of {@link Distribution#WEIGHTED}, which must not
+	 *            be negative and must not be all zero
+	 * @return A sampler of whole values
+	 * @throws IllegalArgumentException
+	 *             If the parameters do not suit the distribution
+	 */
+	public static Sampler forIntegers(Distribution distribution,
+			long minValue, long maxValue, double skew, double[] weights) {
+		return new Sampler(distribution, minValue, maxValue, minValue,
+				maxValue, true, skew, weights);
+	}
+
+	/**
+	 * It returns a sampler of floating point values.
+	 *
+	 * @param distribution
+	 *            The distribution of the values
+	 * @param minValue
+	 *            The minimum value
+	 * @param maxValue
+	 *            The maximum value
+	 * @param skew
+	 *            How much more likely the small values are, for
+	 *            {@link Distribution#EXPONENTIAL} and
+	 *            {@link Distribution#ZIPF}; it must be positive
+	 * @param weights
+	 *            The weights of {@link Distribution#WEIGHTED}, which must not
+	 *            be negative and must not be all zero
+	 * @return A sampler of floating point values
+	 * @throws IllegalArgumentException
+	 *             If the parameters do not suit the distribution
+	 */
+	public static Sampler forReals(Distribution distribution,
+			double minValue, double maxValue, double skew, double[] weights) {
+		return new Sampler(distribution, minValue, maxValue,
+				Math.round(minValue), Math.round(maxValue), false, skew,
+				weights);
+	}
+
+	/**
+	 * It returns a whole value drawn from the distribution.
+	 *
+	 * @param random
+	 *            The source of the random numbers
+	 * @return A whole value drawn from the distribution, rounded down for a
+	 *         sampler of floating point values
+	 */
+	public long nextLong(RandomSource random) {
+
+		if (!integral) {
+			return (long) Math.floor(nextDouble(random));
+		}
+		if (distribution == Distribution.UNIFORM) {
+			return random.nextLongBetween(minLong, maxLong);
+		}
+		return boundLong(nextOffset(random));
+	}
+
+	/**
+	 * It returns a value drawn from the distribution.
+	 *
+	 * @param random
+	 *            The source of the random numbers
+	 * @return A value drawn from the distribution
+	 */
+	public double nextDouble(RandomSource random) {
+
+		if (distribution == Distribution.UNIFORM) {
+			return integral ? nextLong(random) : random.nextDoubleBetween(
+					minValue, maxValue);
+		}
+		if (integral) {
+			return nextLong(random);
+		}
+		return bound(minValue + nextOffset(random));
+	}
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * It returns the distribution of the values.
+	 *
+	 * @return The distribution of the values
+	 */
+	public Distribution getDistribution() {
+		return distribution;
+	}
+
+	/**
+	 * It returns the minimum value.
+	 *
+	 * @return The minimum value
+	 */
+	public double getMinValue() {
+		return minValue;
+	}
+
+	/**
+	 * It returns the maximum value.
+	 *
+	 * @return The maximum value, which {@link Distribution#WEIGHTED} does not
+	 *         use
+	 */
+	public double getMaxValue() {
+		return maxValue;
+	}
+
+	/**
+	 * It returns the minimum value as a whole value.
+	 *
+	 * @return The minimum value, exactly for a sampler of whole values and
+	 *         rounded for a sampler of floating point values
+	 */
+	public long getMinLong() {
+		return minLong;
+	}
+
+	/**
+	 * It returns the maximum value as a whole value.
+	 *
+	 * @return The maximum value, exactly for a sampler of whole values and
+	 *         rounded for a sampler of floating point values
+	 */
+	public long getMaxLong() {
+		return maxLong;
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It draws the offset from the minimum value of a value of any of the
+	 * distributions but {@link Distribution#UNIFORM}.
+	 *
+	 * @param random
+	 *            The source of the random numbers
+	 * @return An offset, which may be out of range for
+	 *         {@link Distribution#NORMAL}
+	 */
+	private double nextOffset(RandomSource random) {
+
+		switch (distribution) {
+
+		case NORMAL:
+			double radius = Math.sqrt(-2 * Math.log(1 - random.nextDouble()));
+			double gaussian = radius * Math.cos(2 * Math.PI * random.nextDouble());
+			return width / 2 + gaussian * width / NORMAL_DEVIATIONS;
+
+		case EXPONENTIAL:
+			if (rate == 0) {
+				return 0;
+			}
+			return -Math.log1p(-random.nextDouble() * scale) / rate;
+
+		case ZIPF:
+			double fraction = random.nextDouble();
+			double rank = rate == 1.0 ? Math.exp(fraction * scale) : Math.pow(
+					1 + fraction * scale, 1 / (1 - rate));
+			return Math.min(Math.floor(rank), ranks) - 1;
+
+		case WEIGHTED:
+			int column = random.nextInt(probabilities.length);
+			if (random.nextDouble() >= probabilities[column]) {
+				column = aliases[column];
+			}
+			return column;
+
+		default:
+			throw new IllegalStateException("Unexpected distribution: "
+					+ distribution);
+		}
+	}
+
+	/**
+	 * It brings a value back within the range, but for
+	 * {@link Distribution#WEIGHTED} which ignores the maximum value.
+	 *
+	 * @param value
+	 *            The value
+	 * @return The value, within the range
+	 */
+	private double bound(double value) {
+
+		if (value < minValue) {
+			return minValue;
+		}
+		if (value > maxValue && distribution != Distribution.WEIGHTED) {
+			return maxValue;
+		}
+		return value;
+	}
+
+	/**
+	 * It adds a whole offset to the minimum value, in {@code long}
+	 * arithmetic, and brings the result back within the range, but for
+	 * {@link Distribution#WEIGHTED} which ignores the maximum value.
+	 *
+	 * @param offset
+	 *            The offset from the minimum value, rounded down
+	 * @return The value, within the range
+	 */
+	private long boundLong(double offset) {
+
+		// Also catches NaN
+		if (!(offset >= 1)) {
+			return minLong;
+		}
+		long value = minLong + (long) offset;
+		if (value < minLong) {
+			// Overflowed past Long.MAX_VALUE
+			value = Long.MAX_VALUE;
+		}
+		if (value > maxLong && distribution != Distribution.WEIGHTED) {
+			return maxLong;
+		}
+		return value;
+	}
+
+	/**
+	 * It checks that the skew of a distribution is positive.
+	 *
+	 * @param skew
+	 *            The skew
+	 * @throws IllegalArgumentException
+	 *             If the skew is not positive
+	 */
+	private static void checkSkew(double skew) {
+		if (!(skew > 0) || Double.isInfinite(skew)) {
+			throw new IllegalArgumentException("The skew must be positive: "
+					+ skew);
+		}
+	}
+
+	/**
+	 * It builds the alias table of a weighted distribution, as Vose's method
+	 * does.
+	 *
+	 * @param weights
+	 *            The weights
+	 * @param probabilities
+	 *            The array receiving the probability of keeping each column
+	 * @param aliases
+	 *            The array receiving the alias of each column
+	 * @throws IllegalArgumentException
+	 *             If a weight is negative or not finite, or if all the
+	 *             weights are zero
+	 */
+	private static void buildAliasTable(double[] weights,
+			double[] probabilities, int[] aliases) {
+
+		int n = weights.length;
+		double sum = 0;
+		for (double weight : weights) {
+			if (!(weight >= 0) || Double.isInfinite(weight)) {
+				throw new IllegalArgumentException("Invalid weight: " + weight
+						+ " in " + Arrays.toString(weights));
+			}
+			sum += weight;
+		}
+		if (sum == 0) {
+			throw new IllegalArgumentException("All the weights are zero: "
+					+ Arrays.toString(weights));
+		}
+
+		// The columns below and above the average weight, as stacks
+		double[] scaled = new double[n];
+		int[] small = new int[n];
+		int[] large = new int[n];
+		int nbrSmall = 0;
+		int nbrLarge = 0;
+		for (int i = 0; i < n; i++) {
+			scaled[i] = weights[i] * n / sum;
+			if (scaled[i] < 1) {
+				small[nbrSmall++] = i;
+			} else {
+				large[nbrLarge++] = i;
+			}
+		}
+
+		// Each small column is topped up with a large one
+		while (nbrSmall > 0 && nbrLarge > 0) {
+			int less = small[--nbrSmall];
+			int more = large[--nbrLarge];
+			probabilities[less] = scaled[less];
+			aliases[less] = more;
+			scaled[more] = scaled[more] + scaled[less] - 1;
+			if (scaled[more] < 1) {
+				small[nbrSmall++] = more;
+			} else {
+				large[nbrLarge++] = more;
+			}
+		}
+
+		// What is left is full, up to rounding errors
+		while (nbrLarge > 0) {
+			int column = large[--nbrLarge];
+			probabilities[column] = 1;
+			aliases[column] = column;
+		}
+		while (nbrSmall > 0) {
+			int column = small[--nbrSmall];
+			probabilities[column] = 1;
+			aliases[column] = column;
+		}
+	}
+
+	// ------------------->> equals() / hashcode() / toString()
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		if (integral) {
+			return "Sampler ( distribution = " + distribution
+					+ ", minValue = " + minLong + ", maxValue = " + maxLong
+					+ " )";
+		}
+		return "Sampler ( distribution = " + distribution + ", minValue = "
+				+ minValue + ", maxValue = " + maxValue + " )";
+	}
+
+}
@@ -0,0 +1,86 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.api;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * It gives access to virtual threads, where the JVM has them.
+ * <p>
+ * PODAM is built for Java 8, so the method of the JVM creating virtual
+ * threads is looked up by reflection, once. On a JVM without virtual threads
+ * the lookup fails and the methods of this class say so, instead of
+ * throwing.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+final class VirtualThreads {
+
+	// ------------------->> Constants
+
+	/** Application logger */
+	private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger
+			.getLogger(VirtualThreads.class.getName());
+
+	/** Executors.newVirtualThreadPerTaskExecutor(), or null */
+	private static final Method NEW_PER_TASK_EXECUTOR = lookup(
+			Executors.class, "newVirtualThreadPerTaskExecutor");
+
+	// ------------------->> Constructors
+
+	/** Non instantiable constructor */
+	private VirtualThreads() {
+		throw new AssertionError();
+	}
+
+	// ------------------->> Package-private methods
+
+	/**
+	 * It returns an executor starting a new virtual thread for each task.
+	 *
+	 * @return A new executor, or {@code null} if the JVM has no virtual
+	 *         threads
+	 */
+	static ExecutorService newPerTaskExecutor() {
+
+		if (NEW_PER_TASK_EXECUTOR == null) {
+			return null;
+		}
+		try {
+			return (ExecutorService) NEW_PER_TASK_EXECUTOR.invoke(null);
+		} catch (IllegalAccessException e) {
+			LOG.debug("Virtual threads cannot be used: " + e);
+			return null;
+		} catch (InvocationTargetException e) {
+			LOG.debug("Virtual threads cannot be used: " + e.getCause());
+			return null;
+		}
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It looks up a public method without parameters.
+	 *
+	 * @param clazz
+	 *            The class declaring the method
+	 * @param name
+	 *            The name of the method
+	 * @return The method, or {@code null} if the JVM has no such method
+	 */
+	private static Method lookup(Class<?> clazz, String name) {
+
+		try {
+			return clazz.getMethod(name);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+}
@@ -4,18 +4,27 @@
 package uk.co.jemos.podam.dto;
 
 import java.io.Serializable;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import net.jcip.annotations.Immutable;
+import uk.co.jemos.podam.utils.PodamUtils;
 
 /**
  * This class wraps fields and setters information about a given class <p> The purpose of this class
  * is to work as a sort of cache which stores the list of declared fields and setter methods of a
  * given class. These information will then be analysed to compose the list of setters which can be
- * invoked to create the state of a given POJO. </p>
+ * invoked to create the state of a given POJO. </p> <p> Instances are shared between all PODAM
+ * factories and threads, therefore the collections passed to the constructor are copied and
+ * exposed as read-only views. </p>
  *
  * @author mtedone
  *
@@ -42,10 +51,21 @@ public class ClassInfo implements Serializable {
      * A Mapping from a subset of fields that are relevant, to the Field
      * objects (ala reflection) for those fields.
      */
-    private Map<String, Field> fieldToType;
+    private final Map<String, Field> fieldToType;
+    /**
+     * An index from each attribute name to the field which declares it,
+     * searched from the class up to its super classes. Unlike fieldToType it
+     * covers every field, whatever its modifiers.
+     */
+    private final Map<String, Field> attributeFields;
+    /**
+     * An index from each attribute name to the annotations of the field which
+     * declares it
+     */
+    private final Map<String, List<Annotation>> attributeAnnotations;
 
     /**
-     * Full constructor
+     * Constructor which resolves the attribute fields from the class
      *
      * @param className The class name
      * @param classFields The set of fields belonging to this class
@@ -54,11 +74,39 @@ public class ClassInfo implements Serializable {
      */
     public ClassInfo(Class<?> className, Set<String> classFields,
             Set<Method> classSetters, Map<String, Field> fieldToType) {
+        this(className, classFields, classSetters, fieldToType,
+                PodamUtils.getAttributeFields(className));
+    }
+
+    /**
+     * Full constructor
+     *
+     * @param className The class name
+     * @param classFields The set of fields belonging to this class
+     * @param classSetters The set of setters belonging to this class
+     * @param fieldToType mapping from field names to Type of the field
+     * @param attributeFields mapping from every attribute name to the field
+     * declaring it
+     */
+    public ClassInfo(Class<?> className, Set<String> classFields,
+            Set<Method> classSetters, Map<String, Field> fieldToType,
+            Map<String, Field> attributeFields) {
         super();
         this.className = className;
-        this.classFields = classFields;
-        this.classSetters = classSetters;
-        this.fieldToType = fieldToType;
+        this.classFields = Collections.unmodifiableSet(new HashSet<String>(classFields));
+        this.classSetters = Collections.unmodifiableSet(new HashSet<Method>(classSetters));
+        this.fieldToType = Collections.unmodifiableMap(new HashMap<String, Field>(fieldToType));
+        this.attributeFields = Collections.unmodifiableMap(new HashMap<String, Field>(attributeFields));
+
+        Map<String, List<Annotation>> annotationIndex = new HashMap<String, List<Annotation>>();
+        for (Map.Entry<String, Field> entry : attributeFields.entrySet()) {
+            Annotation[] annotations = entry.getValue().getAnnotations();
+            if (annotations.length != 0) {
+                annotationIndex.put(entry.getKey(),
+                        Collections.unmodifiableList(Arrays.asList(annotations)));
+            }
+        }
+        this.attributeAnnotations = Collections.unmodifiableMap(annotationIndex);
     }
 
     /**
@@ -67,7 +115,7 @@ public class ClassInfo implements Serializable {
      * instantiation.  The set is usually obtained by calling the 
      * PodamUtils.getPojoSetters() method.
      * 
-     * @return the classSetters
+     * @return the classSetters, as a read-only set
      * @see PodamUtils.getPojoSetters()
      */
     public Set<Method> getClassSetters() {
@@ -77,12 +125,40 @@ public class ClassInfo implements Serializable {
     /**
      * The set of fields obtained (by reflection) from the class.
      * 
-     * @return 
+     * @return the class fields, as a read-only set
      */
     public Set<String> getClassFields() {
         return classFields;
     }
 
+    /**
+     * The class whose information is stored in this object.
+     *
+     * @return the class
+     */
+    public Class<?> getClassName() {
+        return className;
+    }
+
+    /**
+     * The names of the relevant fields, as returned by {@link #getField}.
+     *
+     * @return the relevant field names, as a read-only set
+     */
+    public Set<String> getRelevantFieldNames() {
+        return fieldToType.keySet();
+    }
+
+    /**
+     * The names of all the attributes, as returned by
+     * {@link #getAttributeField}.
+     *
+     * @return the attribute names, as a read-only set
+     */
+    public Set<String> getAttributeNames() {
+        return attributeFields.keySet();
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -158,4 +234,31 @@ public class ClassInfo implements Serializable {
     public Field getField(String name) {
         return fieldToType.get(name);
     }
+
+    /**
+     * Get the Field object declaring the given attribute, looking in the
+     * class first and then in its super classes. Unlike {@link #getField},
+     * private, static and excluded fields are also considered.
+     *
+     * @param name the attribute name
+     * @return the Field declaring the attribute, or null if none was found
+     */
+    public Field getAttributeField(String name) {
+        return attributeFields.get(name);
+    }
+
+    /**
+     * Get the annotations of the field declaring the given attribute.
+     *
+     * @param name the attribute name
+     * @return a read-only list with the annotations of the field, empty if
+     * the field has no annotations or could not be found
+     */
+    public List<Annotation> getAttributeAnnotations(String name) {
+        List<Annotation> annotations = attributeAnnotations.get(name);
+        if (annotations == null) {
+            return Collections.emptyList();
+        }
+        return annotations;
+    }
 }
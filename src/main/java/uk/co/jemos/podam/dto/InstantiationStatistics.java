@@ -0,0 +1,108 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.dto;
+
+import java.io.Serializable;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * A snapshot of how a PODAM factory has been creating instances.
+ * <p>
+ * Once PODAM finds a constructor or factory method which successfully creates
+ * an instance of a class, it records it and it goes straight to it the next
+ * time. These statistics tell how often the recorded routes were used and how
+ * often PODAM had to fall back to searching among all candidates.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+@Immutable
+public class InstantiationStatistics implements Serializable {
+
+	// ------------------->> Constants
+
+	private static final long serialVersionUID = 1L;
+
+	// ------------------->> Instance / Static variables
+
+	/** How many instances were created through a recorded route */
+	private final long routeHits;
+
+	/** How many times a recorded route failed and had to be searched again */
+	private final long routeFailures;
+
+	/** How many times PODAM searched among all candidates */
+	private final long fallbackSearches;
+
+	/** How many routes are currently recorded */
+	private final long recordedRoutes;
+
+	// ------------------->> Constructors
+
+	/**
+	 * Full constructor.
+	 *
+	 * @param routeHits
+	 *            How many instances were created through a recorded route
+	 * @param routeFailures
+	 *            How many times a recorded route failed
+	 * @param fallbackSearches
+	 *            How many times PODAM searched among all candidates
+	 * @param recordedRoutes
+	 *            How many routes are currently recorded
+	 */
+	public InstantiationStatistics(long routeHits, long routeFailures,
+			long fallbackSearches, long recordedRoutes) {
+		super();
+		this.routeHits = routeHits;
+		this.routeFailures = routeFailures;
+		this.fallbackSearches = fallbackSearches;
+		this.recordedRoutes = recordedRoutes;
+	}
+
+	// ------------------->> Getters / Setters
+
+	public long getRouteHits() {
+		return routeHits;
+	}
+
+	public long getRouteFailures() {
+		return routeFailures;
+	}
+
+	public long getFallbackSearches() {
+		return fallbackSearches;
+	}
+
+	public long getRecordedRoutes() {
+		return recordedRoutes;
+	}
+
+	// ------------------->> equals() / hashcode() / toString()
+
+	/**
+	 * Constructs a <code>String</code> with all attributes in name = value
+	 * format.
+	 *
+	 * @return a <code>String</code> representation of this object.
+	 */
+	@Override
+	public String toString() {
+		final String TAB = "    ";
+
+		StringBuilder retValue = new StringBuilder();
+
+		retValue.append("InstantiationStatistics ( ").append(TAB)
+				.append("routeHits = ").append(routeHits).append(TAB)
+				.append("routeFailures = ").append(routeFailures).append(TAB)
+				.append("fallbackSearches = ").append(fallbackSearches)
+				.append(TAB).append("recordedRoutes = ")
+				.append(recordedRoutes).append(TAB).append(" )");
+
+		return retValue.toString();
+	}
+
+}
@@ -0,0 +1,175 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import net.jcip.annotations.ThreadSafe;
+import uk.co.jemos.podam.exceptions.PodamMockeryException;
+
+/**
+ * A thread-safe cache of metadata computed once per {@link Class}.
+ * <p>
+ * Values are attached to the class itself through a {@link ClassValue}, so
+ * they are released together with the class and its class loader: a
+ * redeployed application does not leak through this cache.
+ * </p>
+ * <p>
+ * Construction is single-flight: if several threads ask for the metadata of
+ * the same class at the same time, only one of them computes it while the
+ * others wait for its result. If the computation fails, nothing is cached and
+ * the next request tries again.
+ * </p>
+ *
+ * @param <V>
+ *            The type of metadata held for each class
+ *
+ * @since 3.0.2
+ *
+ */
+@ThreadSafe
+public abstract class ClassMetadataCache<V> {
+
+	// ------------------->> Instance / Static variables
+
+	/** One pending or completed computation per class */
+	private final ClassValue<Slot<V>> values = new ClassValue<Slot<V>>() {
+
+		@Override
+		protected Slot<V> computeValue(final Class<?> type) {
+			return new Slot<V>(new Callable<V>() {
+
+				public V call() throws Exception {
+					return compute(type);
+				}
+			});
+		}
+	};
+
+	// ------------------->> Public methods
+
+	/**
+	 * It returns the metadata for the given class, computing it if this is
+	 * the first request for that class.
+	 *
+	 * @param clazz
+	 *            The class whose metadata is required
+	 * @return The metadata for the given class, which may be {@code null}
+	 * @throws PodamMockeryException
+	 *             If the metadata could not be computed
+	 */
+	public V get(Class<?> clazz) {
+
+		FutureTask<V> task = values.get(clazz);
+
+		// A no-op for every thread but the first one
+		task.run();
+
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PodamMockeryException(
+					"Interrupted while waiting for the metadata of " + clazz, e);
+		} catch (ExecutionException e) {
+			values.remove(clazz);
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new PodamMockeryException(
+					"An exception occurred while computing the metadata of "
+							+ clazz, cause);
+		}
+	}
+
+	/**
+	 * It discards the metadata held for the given class, if any.
+	 *
+	 * @param clazz
+	 *            The class whose metadata must be discarded
+	 */
+	public void remove(Class<?> clazz) {
+		values.remove(clazz);
+	}
+
+	/**
+	 * It provides the metadata for the given class, e.g. as loaded from a
+	 * previous run, so that it does not need to be computed.
+	 * <p>
+	 * Metadata which has already been computed, or is being computed, is kept.
+	 * </p>
+	 *
+	 * @param clazz
+	 *            The class whose metadata is provided
+	 * @param value
+	 *            The metadata for the given class
+	 * @return {@code true} if the given metadata was stored, {@code false} if
+	 *         the class already had its metadata
+	 */
+	public boolean preload(Class<?> clazz, V value) {
+		return values.get(clazz).preload(value);
+	}
+
+	// ------------------->> Protected methods
+
+	/**
+	 * It computes the metadata for the given class.
+	 * <p>
+	 * This method is invoked at most once per class, unless a previous
+	 * invocation failed or the class was removed from the cache.
+	 * </p>
+	 *
+	 * @param clazz
+	 *            The class to analyse
+	 * @return The metadata for the given class. {@code null} is a valid
+	 *         result, e.g. for classes the metadata does not apply to, and is
+	 *         cached as any other
+	 * @throws Exception
+	 *             If the metadata could not be computed
+	 */
+	protected abstract V compute(Class<?> clazz) throws Exception;
+
+	// ------------------->> Inner classes
+
+	/**
+	 * The computation of the metadata of one class, which may also be
+	 * completed with metadata provided from outside.
+	 *
+	 * @param <V>
+	 *            The type of metadata
+	 */
+	private static final class Slot<V> extends FutureTask<V> {
+
+		/** Whether the computation has been claimed by a thread */
+		private final AtomicBoolean claimed = new AtomicBoolean();
+
+		Slot(Callable<V> callable) {
+			super(callable);
+		}
+
+		@Override
+		public void run() {
+			if (claimed.compareAndSet(false, true)) {
+				super.run();
+			}
+		}
+
+		boolean preload(V value) {
+			if (!claimed.compareAndSet(false, true)) {
+				return false;
+			}
+			set(value);
+			return true;
+		}
+
+	}
+
+}
@@ -42,6 +42,18 @@ public class PodamConstants {
 	/** The name of the {@link AttributeStrategy} interface */
 	public static final String PODAM_ATTRIBUTE_STRATEGY_METHOD_NAME = "getValue";
 
+	/**
+	 * The default number of instances of a class a factory fills through
+	 * reflection before it switches to the compiled plan of that class
+	 */
+	public static final int COMPILATION_THRESHOLD = 1000;
+
+	/**
+	 * The number of POJOs generated in bulk between two notifications of a
+	 * {@link uk.co.jemos.podam.api.ProgressListener}
+	 */
+	public static final int PROGRESS_INTERVAL = 1000;
+
 	/** Non-instantiable constructor */
 	private PodamConstants() {
 		throw new AssertionError();
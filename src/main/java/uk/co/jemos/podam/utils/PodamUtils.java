@@ -3,15 +3,19 @@
  */
 package uk.co.jemos.podam.utils;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import uk.co.jemos.podam.annotations.PodamConstructor;
 import uk.co.jemos.podam.annotations.PodamExclude;
 import uk.co.jemos.podam.dto.ClassInfo;
 
@@ -32,6 +36,38 @@ public class PodamUtils {
 	public static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger
 			.getLogger(PodamUtils.class);
 
+	/** The {@link ClassInfo} of each class PODAM has analysed so far */
+	private static final ClassMetadataCache<ClassInfo> CLASS_INFO_CACHE = new ClassMetadataCache<ClassInfo>() {
+
+		@Override
+		protected ClassInfo compute(Class<?> clazz) {
+			return introspectClassInfo(clazz);
+		}
+	};
+
+	/**
+	 * It orders constructors by the preference PODAM gives them when creating
+	 * an instance
+	 */
+	private static final Comparator<Constructor<?>> CONSTRUCTOR_PRIORITY = new Comparator<Constructor<?>>() {
+
+		public int compare(Constructor<?> c1, Constructor<?> c2) {
+			return getConstructorPriority(c1) - getConstructorPriority(c2);
+		}
+	};
+
+	/**
+	 * The order of the constructors of classes without setters: annotated
+	 * ones first, then those with arguments, which can fill the instance.
+	 */
+	private static final Comparator<Constructor<?>> IMMUTABLE_CONSTRUCTOR_PRIORITY = new Comparator<Constructor<?>>() {
+
+		public int compare(Constructor<?> c1, Constructor<?> c2) {
+			return getImmutableConstructorPriority(c1)
+					- getImmutableConstructorPriority(c2);
+		}
+	};
+
 	/** Non instantiable constructor */
 	private PodamUtils() {
 		throw new AssertionError();
@@ -39,12 +75,44 @@ public class PodamUtils {
 
 	/**
 	 * It returns a {@link ClassInfo} object for the given class
+	 * <p>
+	 * The class is analysed only the first time it is requested; subsequent
+	 * calls return the same, immutable, {@link ClassInfo} instance.
+	 * </p>
 	 * 
 	 * @param clazz
 	 *            The class to retrieve info from
 	 * @return a {@link ClassInfo} object for the given class
 	 */
 	public static ClassInfo getClassInfo(Class<?> clazz) {
+		return CLASS_INFO_CACHE.get(clazz);
+	}
+
+	/**
+	 * It provides the {@link ClassInfo} of a class, so that the class does not
+	 * need to be analysed.
+	 * <p>
+	 * This is meant for information loaded from a previous run. If the class
+	 * has already been analysed, the given information is ignored.
+	 * </p>
+	 * 
+	 * @param classInfo
+	 *            The information about a class
+	 * @return {@code true} if the given information was stored
+	 */
+	public static boolean preloadClassInfo(ClassInfo classInfo) {
+		return CLASS_INFO_CACHE.preload(classInfo.getClassName(), classInfo);
+	}
+
+	/**
+	 * It analyses the given class and returns a new {@link ClassInfo} object
+	 * for it
+	 * 
+	 * @param clazz
+	 *            The class to retrieve info from
+	 * @return a {@link ClassInfo} object for the given class
+	 */
+	private static ClassInfo introspectClassInfo(Class<?> clazz) {
         
 		Set<String> classFields = getDeclaredInstanceFields(clazz);
         
@@ -52,7 +120,38 @@ public class PodamUtils {
 
 		Set<Method> classSetters = getPojoSetters(clazz, classFields);
 
-		return new ClassInfo(clazz, classFields, classSetters, fieldToType);
+		Map<String, Field> attributeFields = getAttributeFields(clazz);
+
+		return new ClassInfo(clazz, classFields, classSetters, fieldToType,
+				attributeFields);
+	}
+
+	/**
+	 * Given a class, it returns a Map of all its field names, each mapped to
+	 * the field which declares it.
+	 * <p>
+	 * The class is searched first and then its super classes, so a field
+	 * hides any field with the same name declared higher up in the hierarchy.
+	 * Fields are considered whatever their modifiers.
+	 * </p>
+	 * 
+	 * @param clazz
+	 *            The class to analyse to retrieve declared fields
+	 * @return mapping from field names to the declaring field
+	 */
+	public static Map<String, Field> getAttributeFields(Class<?> clazz) {
+		Map<String, Field> attributeFields = new HashMap<String, Field>();
+
+		while (clazz != null) {
+			for (Field field : clazz.getDeclaredFields()) {
+				if (!attributeFields.containsKey(field.getName())) {
+					attributeFields.put(field.getName(), field);
+				}
+			}
+			clazz = clazz.getSuperclass();
+		}
+
+		return attributeFields;
 	}
 
 	/**
@@ -175,6 +274,112 @@ public class PodamUtils {
 		return classSetters;
 	}
 
+	/**
+	 * It returns a copy of the given constructors, sorted by the preference
+	 * PODAM gives them when creating an instance.
+	 * <p>
+	 * The order is:
+	 * </p>
+	 * <ol>
+	 * <li>public no-arg constructors annotated with {@link PodamConstructor}</li>
+	 * <li>public with-arg constructors annotated with {@link PodamConstructor}</li>
+	 * <li>non-public no-arg constructors annotated with
+	 * {@link PodamConstructor}</li>
+	 * <li>non-public with-arg constructors annotated with
+	 * {@link PodamConstructor}</li>
+	 * <li>public no-arg constructors</li>
+	 * <li>public with-arg constructors</li>
+	 * <li>non-public no-arg constructors</li>
+	 * <li>non-public with-arg constructors</li>
+	 * </ol>
+	 * <p>
+	 * Constructors with the same preference keep their original order.
+	 * </p>
+	 * 
+	 * @param constructors
+	 *            The constructors to sort
+	 * @return A sorted copy of the given constructors
+	 */
+	public static Constructor<?>[] sortConstructorsByPriority(
+			Constructor<?>[] constructors) {
+
+		Constructor<?>[] retValue = constructors.clone();
+		// A stable sort: equal constructors keep their original order
+		Arrays.sort(retValue, CONSTRUCTOR_PRIORITY);
+		return retValue;
+	}
+
+	/**
+	 * It returns a copy of the given constructors, sorted by the preference
+	 * PODAM gives them when creating an instance of a class without setters.
+	 * <p>
+	 * Such an instance can only be filled through the arguments of its
+	 * constructor, so a no-arg constructor is the last resort. The order is:
+	 * </p>
+	 * <ol>
+	 * <li>constructors annotated with {@link PodamConstructor}</li>
+	 * <li>with-arg constructors</li>
+	 * <li>no-arg constructors</li>
+	 * </ol>
+	 * <p>
+	 * Constructors with the same preference keep their original order.
+	 * </p>
+	 * 
+	 * @param constructors
+	 *            The constructors to sort
+	 * @return A sorted copy of the given constructors
+	 */
+	public static Constructor<?>[] sortConstructorsForImmutables(
+			Constructor<?>[] constructors) {
+
+		Constructor<?>[] retValue = constructors.clone();
+		// A stable sort: equal constructors keep their original order
+		Arrays.sort(retValue, IMMUTABLE_CONSTRUCTOR_PRIORITY);
+		return retValue;
+	}
+
+	/**
+	 * It returns the rank of a constructor in the order described in
+	 * {@link #sortConstructorsForImmutables(Constructor[])}. Lower ranks come
+	 * first.
+	 * 
+	 * @param constructor
+	 *            The constructor to rank
+	 * @return The rank of the constructor
+	 */
+	private static int getImmutableConstructorPriority(
+			Constructor<?> constructor) {
+
+		if (constructor.getAnnotation(PodamConstructor.class) != null) {
+			return 0;
+		}
+		return constructor.getParameterTypes().length != 0 ? 1 : 2;
+	}
+
+	/**
+	 * It returns the rank of a constructor in the order described in
+	 * {@link #sortConstructorsByPriority(Constructor[])}. Lower ranks come
+	 * first.
+	 * 
+	 * @param constructor
+	 *            The constructor to rank
+	 * @return The rank of the constructor
+	 */
+	private static int getConstructorPriority(Constructor<?> constructor) {
+
+		int retValue = 0;
+		if (constructor.getAnnotation(PodamConstructor.class) == null) {
+			retValue += 4;
+		}
+		if (!Modifier.isPublic(constructor.getModifiers())) {
+			retValue += 2;
+		}
+		if (constructor.getParameterTypes().length != 0) {
+			retValue += 1;
+		}
+		return retValue;
+	}
+
 	/**
 	 * Given a setter {@link Method}, it extracts the field name, according to
 	 * JavaBean standards
@@ -213,7 +418,10 @@ public class PodamUtils {
 	 * @param type
 	 *            The type from which the class name must be extracted
 	 * @return The class part of the Type format
+	 * @deprecated Parsing the {@code toString()} of a type breaks on nested
+	 *             generics. Use {@link TypeResolver#getRawClass(Type)} instead.
 	 */
+	@Deprecated
 	public static String extractClassNameFromParameterisedTypeInField(Type type) {
 		String typeStr = type.toString();
 		if (typeStr.startsWith("class")) {
@@ -0,0 +1,517 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.utils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * It resolves generic types, such as the element type of a collection
+ * attribute, by walking the {@link Type} tree rather than parsing its
+ * {@code toString()}.
+ * <p>
+ * Type variables are resolved against the class being filled, so that a field
+ * {@code List<T>} declared in {@code Base<T>} is seen as {@code List<Order>}
+ * when filling a {@code Child extends Base<Order>}. Wildcards are resolved to
+ * their bound and type variables which are not bound anywhere are resolved to
+ * their erasure, e.g. {@link Object}. Nested generics, e.g.
+ * {@code Map<String, List<Order>>}, are resolved all the way down.
+ * </p>
+ * <p>
+ * The type arguments of fields and of constructor or method parameters are
+ * resolved only once and then remembered.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+@ThreadSafe
+public final class TypeResolver {
+
+	// ------------------->> Constants
+
+	/** The type variables bound by the superclasses of each class */
+	private static final ClassMetadataCache<Map<TypeVariable<?>, Type>> BINDINGS = new ClassMetadataCache<Map<TypeVariable<?>, Type>>() {
+
+		@Override
+		protected Map<TypeVariable<?>, Type> compute(Class<?> clazz) {
+			return collectBindings(clazz);
+		}
+	};
+
+	/** The type arguments resolved so far, per class being filled */
+	private static final ClassMetadataCache<ConcurrentMap<MemberKey, Type[]>> TYPE_ARGUMENTS = new ClassMetadataCache<ConcurrentMap<MemberKey, Type[]>>() {
+
+		@Override
+		protected ConcurrentMap<MemberKey, Type[]> compute(Class<?> clazz) {
+			return new ConcurrentHashMap<MemberKey, Type[]>();
+		}
+	};
+
+	// ------------------->> Constructors
+
+	/** Non-instantiable. */
+	private TypeResolver() {
+		throw new AssertionError();
+	}
+
+	// ------------------->> Public methods
+
+	/**
+	 * It returns the type arguments which the type of the given field gives
+	 * to the given generic class.
+	 * <p>
+	 * For instance, for a field of type {@code ArrayList<String>} and
+	 * {@link java.util.Collection} it returns {@code [String]}; for a field of
+	 * type {@code Map<String, List<Order>>} and {@link Map} it returns
+	 * {@code [String, List<Order>]}.
+	 * </p>
+	 *
+	 * @param context
+	 *            The class being filled, which declares or inherits the field
+	 * @param field
+	 *            The field
+	 * @param genericClass
+	 *            The generic class whose type arguments are required, e.g.
+	 *            {@link java.util.Collection} or {@link Map}
+	 * @return The type arguments, fully resolved
+	 * @throws IllegalArgumentException
+	 *             If the field type is not a subtype of the generic class
+	 */
+	public static Type[] getFieldTypeArguments(Class<?> context, Field field,
+			Class<?> genericClass) {
+
+		MemberKey key = new MemberKey(field, -1, genericClass);
+		ConcurrentMap<MemberKey, Type[]> cache = TYPE_ARGUMENTS.get(context);
+
+		Type[] retValue = cache.get(key);
+		if (retValue == null) {
+			retValue = getTypeArguments(
+					resolveType(field.getGenericType(), context), genericClass);
+			cache.putIfAbsent(key, retValue);
+		}
+
+		return retValue.clone();
+	}
+
+	/**
+	 * It returns the type arguments which the type of a constructor or method
+	 * parameter gives to the given generic class.
+	 *
+	 * @param constructorOrMethod
+	 *            A {@link Constructor} or a {@link Method}
+	 * @param index
+	 *            The index of the parameter
+	 * @param genericClass
+	 *            The generic class whose type arguments are required, e.g.
+	 *            {@link java.util.Collection} or {@link Map}
+	 * @return The type arguments, fully resolved
+	 * @throws IllegalArgumentException
+	 *             If the parameter type is not a subtype of the generic class
+	 */
+	public static Type[] getParameterTypeArguments(Member constructorOrMethod,
+			int index, Class<?> genericClass) {
+
+		Class<?> context = constructorOrMethod.getDeclaringClass();
+		MemberKey key = new MemberKey(constructorOrMethod, index, genericClass);
+		ConcurrentMap<MemberKey, Type[]> cache = TYPE_ARGUMENTS.get(context);
+
+		Type[] retValue = cache.get(key);
+		if (retValue == null) {
+
+			Type[] parameterTypes;
+			if (constructorOrMethod instanceof Constructor) {
+				parameterTypes = ((Constructor<?>) constructorOrMethod)
+						.getGenericParameterTypes();
+			} else {
+				parameterTypes = ((Method) constructorOrMethod)
+						.getGenericParameterTypes();
+			}
+
+			retValue = getTypeArguments(
+					resolveType(parameterTypes[index], context), genericClass);
+			cache.putIfAbsent(key, retValue);
+		}
+
+		return retValue.clone();
+	}
+
+	/**
+	 * It returns the type arguments which an already resolved type gives to
+	 * the given generic class.
+	 * <p>
+	 * This is typically used for nested generics, e.g. for the
+	 * {@code List<Order>} values of a {@code Map<String, List<Order>>}. A raw
+	 * type, e.g. {@code List}, gives {@link Object} to its type arguments.
+	 * </p>
+	 *
+	 * @param type
+	 *            A type returned by this class
+	 * @param genericClass
+	 *            The generic class whose type arguments are required
+	 * @return The type arguments, fully resolved
+	 * @throws IllegalArgumentException
+	 *             If the type is not a subtype of the generic class
+	 */
+	public static Type[] getTypeArguments(Type type, Class<?> genericClass) {
+
+		Map<TypeVariable<?>, Type> noBindings = Collections.emptyMap();
+		Type[] retValue = findTypeArguments(type, genericClass, noBindings);
+
+		if (retValue == null) {
+			throw new IllegalArgumentException(type + " is not a "
+					+ genericClass.getName());
+		}
+
+		return retValue;
+	}
+
+	/**
+	 * It resolves the type variables and wildcards in the given type, as seen
+	 * from the given class.
+	 *
+	 * @param type
+	 *            The type to resolve, e.g. the generic type of a field
+	 * @param context
+	 *            The class being filled
+	 * @return The resolved type: either a {@link Class} or a
+	 *         {@link ParameterizedType} whose arguments are resolved too
+	 */
+	public static Type resolveType(Type type, Class<?> context) {
+		return resolve(type, BINDINGS.get(context));
+	}
+
+	/**
+	 * It returns the class of the given type, i.e. its erasure.
+	 *
+	 * @param type
+	 *            The type
+	 * @return The class of the given type
+	 */
+	public static Class<?> getRawClass(Type type) {
+
+		if (type instanceof Class) {
+			return (Class<?>) type;
+		} else if (type instanceof ParameterizedType) {
+			return (Class<?>) ((ParameterizedType) type).getRawType();
+		} else if (type instanceof GenericArrayType) {
+			Class<?> componentClass = getRawClass(((GenericArrayType) type)
+					.getGenericComponentType());
+			return Array.newInstance(componentClass, 0).getClass();
+		} else if (type instanceof TypeVariable) {
+			return getRawClass(((TypeVariable<?>) type).getBounds()[0]);
+		} else if (type instanceof WildcardType) {
+			return getRawClass(((WildcardType) type).getUpperBounds()[0]);
+		} else {
+			throw new IllegalArgumentException("Type is not recognised: "
+					+ type);
+		}
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It collects the type variables bound by the superclasses of the given
+	 * class.
+	 *
+	 * @param clazz
+	 *            The class
+	 * @return The type variables of the superclasses, mapped to their resolved
+	 *         values
+	 */
+	private static Map<TypeVariable<?>, Type> collectBindings(Class<?> clazz) {
+
+		Map<TypeVariable<?>, Type> bindings = new HashMap<TypeVariable<?>, Type>();
+
+		// From the class up, so that the variables of a class are bound before
+		// its own superclass is looked at
+		for (Class<?> current = clazz; current != null; current = current
+				.getSuperclass()) {
+
+			Type superType = current.getGenericSuperclass();
+			if (superType instanceof ParameterizedType) {
+
+				ParameterizedType parameterizedType = (ParameterizedType) superType;
+				TypeVariable<?>[] variables = ((Class<?>) parameterizedType
+						.getRawType()).getTypeParameters();
+				Type[] arguments = parameterizedType.getActualTypeArguments();
+
+				for (int i = 0; i < variables.length; i++) {
+					bindings.put(variables[i], resolve(arguments[i], bindings));
+				}
+			}
+		}
+
+		return Collections.unmodifiableMap(bindings);
+	}
+
+	/**
+	 * It looks for the type arguments which the given type gives to the target
+	 * class, walking up its superclass and interfaces.
+	 *
+	 * @param type
+	 *            The type to start from
+	 * @param target
+	 *            The generic class whose type arguments are required
+	 * @param bindings
+	 *            The values of the type variables which may appear in the type
+	 * @return The type arguments, or {@code null} if the type is not a subtype
+	 *         of the target class
+	 */
+	private static Type[] findTypeArguments(Type type, Class<?> target,
+			Map<TypeVariable<?>, Type> bindings) {
+
+		Type resolved = resolve(type, bindings);
+		Class<?> rawClass = getRawClass(resolved);
+
+		if (!target.isAssignableFrom(rawClass)) {
+			return null;
+		}
+
+		// The variables of the raw class, bound to the arguments given by the
+		// type, if any. A raw type leaves them unbound.
+		TypeVariable<?>[] variables = rawClass.getTypeParameters();
+		Map<TypeVariable<?>, Type> rawBindings = new HashMap<TypeVariable<?>, Type>();
+		if (resolved instanceof ParameterizedType) {
+			Type[] arguments = ((ParameterizedType) resolved)
+					.getActualTypeArguments();
+			for (int i = 0; i < variables.length; i++) {
+				rawBindings.put(variables[i], arguments[i]);
+			}
+		}
+
+		if (rawClass.equals(target)) {
+			Type[] retValue = new Type[variables.length];
+			for (int i = 0; i < variables.length; i++) {
+				retValue[i] = resolve(variables[i], rawBindings);
+			}
+			return retValue;
+		}
+
+		Type superclass = rawClass.getGenericSuperclass();
+		if (superclass != null) {
+			Type[] retValue = findTypeArguments(superclass, target,
+					rawBindings);
+			if (retValue != null) {
+				return retValue;
+			}
+		}
+
+		for (Type superInterface : rawClass.getGenericInterfaces()) {
+			Type[] retValue = findTypeArguments(superInterface, target,
+					rawBindings);
+			if (retValue != null) {
+				return retValue;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * It replaces the type variables and wildcards in the given type.
+	 *
+	 * @param type
+	 *            The type to resolve
+	 * @param bindings
+	 *            The values of the type variables which may appear in the type
+	 * @return The resolved type: either a {@link Class} or a
+	 *         {@link ParameterizedType} whose arguments are resolved too
+	 */
+	private static Type resolve(Type type, Map<TypeVariable<?>, Type> bindings) {
+
+		if (type instanceof Class) {
+
+			return type;
+
+		} else if (type instanceof ParameterizedType) {
+
+			ParameterizedType parameterizedType = (ParameterizedType) type;
+			Type[] arguments = parameterizedType.getActualTypeArguments();
+			Type[] resolvedArguments = new Type[arguments.length];
+
+			boolean changed = false;
+			for (int i = 0; i < arguments.length; i++) {
+				resolvedArguments[i] = resolve(arguments[i], bindings);
+				changed |= resolvedArguments[i] != arguments[i];
+			}
+
+			if (!changed) {
+				return parameterizedType;
+			}
+			return new ResolvedParameterizedType(
+					(Class<?>) parameterizedType.getRawType(),
+					resolvedArguments, parameterizedType.getOwnerType());
+
+		} else if (type instanceof TypeVariable) {
+
+			Type boundValue = bindings.get(type);
+			if (boundValue != null) {
+				return boundValue;
+			}
+			// Not bound anywhere: the best we know is its erasure
+			return getRawClass(type);
+
+		} else if (type instanceof WildcardType) {
+
+			WildcardType wildcardType = (WildcardType) type;
+			if (wildcardType.getLowerBounds().length > 0) {
+				return resolve(wildcardType.getLowerBounds()[0], bindings);
+			}
+			return resolve(wildcardType.getUpperBounds()[0], bindings);
+
+		} else if (type instanceof GenericArrayType) {
+
+			Type componentType = resolve(
+					((GenericArrayType) type).getGenericComponentType(),
+					bindings);
+			return Array.newInstance(getRawClass(componentType), 0)
+					.getClass();
+
+		} else {
+
+			throw new IllegalArgumentException("Type is not recognised: "
+					+ type);
+
+		}
+	}
+
+	// ------------------->> Inner classes
+
+	/**
+	 * A field, or a parameter of a constructor or method, looked at as a
+	 * subtype of a generic class.
+	 */
+	@Immutable
+	private static final class MemberKey {
+
+		/** The field, constructor or method */
+		private final Member member;
+
+		/** The parameter index, or -1 for a field */
+		private final int index;
+
+		/** The generic class whose type arguments are required */
+		private final Class<?> genericClass;
+
+		MemberKey(Member member, int index, Class<?> genericClass) {
+			this.member = member;
+			this.index = index;
+			this.genericClass = genericClass;
+		}
+
+		@Override
+		public int hashCode() {
+			return (member.hashCode() * 31 + index) * 31
+					+ genericClass.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof MemberKey)) {
+				return false;
+			}
+			MemberKey other = (MemberKey) obj;
+			return index == other.index && member.equals(other.member)
+					&& genericClass.equals(other.genericClass);
+		}
+
+	}
+
+	/**
+	 * A parameterized type whose type arguments have been resolved.
+	 */
+	@Immutable
+	private static final class ResolvedParameterizedType implements
+			ParameterizedType {
+
+		/** The raw type */
+		private final Class<?> rawType;
+
+		/** The resolved type arguments */
+		private final Type[] actualTypeArguments;
+
+		/** The owner type, if any */
+		private final Type ownerType;
+
+		ResolvedParameterizedType(Class<?> rawType, Type[] actualTypeArguments,
+				Type ownerType) {
+			this.rawType = rawType;
+			this.actualTypeArguments = actualTypeArguments;
+			this.ownerType = ownerType;
+		}
+
+		@Override
+		public Type[] getActualTypeArguments() {
+			return actualTypeArguments.clone();
+		}
+
+		@Override
+		public Type getRawType() {
+			return rawType;
+		}
+
+		@Override
+		public Type getOwnerType() {
+			return ownerType;
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(actualTypeArguments)
+					^ (ownerType == null ? 0 : ownerType.hashCode())
+					^ rawType.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof ParameterizedType)) {
+				return false;
+			}
+			ParameterizedType other = (ParameterizedType) obj;
+			return rawType.equals(other.getRawType())
+					&& (ownerType == null ? other.getOwnerType() == null
+							: ownerType.equals(other.getOwnerType()))
+					&& Arrays.equals(actualTypeArguments,
+							other.getActualTypeArguments());
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder retValue = new StringBuilder(rawType.getName());
+			retValue.append('<');
+			for (int i = 0; i < actualTypeArguments.length; i++) {
+				if (i > 0) {
+					retValue.append(", ");
+				}
+				Type argument = actualTypeArguments[i];
+				retValue.append(argument instanceof Class ? ((Class<?>) argument)
+						.getName() : argument.toString());
+			}
+			return retValue.append('>').toString();
+		}
+
+	}
+
+}
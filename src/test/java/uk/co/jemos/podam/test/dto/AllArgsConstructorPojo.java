@@ -0,0 +1,71 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.dto;
+
+import java.io.Serializable;
+
+import uk.co.jemos.podam.annotations.PodamIntValue;
+import uk.co.jemos.podam.annotations.PodamStringValue;
+
+/**
+ * An immutable POJO with a single constructor setting all its fields, with
+ * annotations both on a field and on a constructor parameter
+ *
+ */
+public class AllArgsConstructorPojo implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	// ------------------->> Constants
+
+	/** The length of the code */
+	public static final int CODE_LENGTH = 5;
+
+	/** The maximum quantity */
+	public static final int MAX_QUANTITY = 10;
+
+	// ------------------->> Instance / Static variables
+
+	/** A code, customised on the field */
+	@PodamStringValue(length = CODE_LENGTH)
+	private final String code;
+
+	/** A quantity, customised on the constructor parameter */
+	private final int quantity;
+
+	// ------------------->> Constructors
+
+	/**
+	 * Full constructor.
+	 *
+	 * @param code
+	 *            The code
+	 * @param quantity
+	 *            The quantity
+	 */
+	public AllArgsConstructorPojo(String code,
+			@PodamIntValue(minValue = 1, maxValue = MAX_QUANTITY) int quantity) {
+		this.code = code;
+		this.quantity = quantity;
+	}
+
+	// ------------------->> Public methods
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * @return the code
+	 */
+	public String getCode() {
+		return code;
+	}
+
+	/**
+	 * @return the quantity
+	 */
+	public int getQuantity() {
+		return quantity;
+	}
+
+}
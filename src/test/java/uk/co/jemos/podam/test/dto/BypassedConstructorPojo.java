@@ -0,0 +1,84 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.dto;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import uk.co.jemos.podam.annotations.PodamBypassConstructor;
+
+/**
+ * A POJO whose constructor is expensive and which asks PODAM not to run it.
+ * It counts how many times its constructor runs.
+ *
+ */
+@PodamBypassConstructor
+public class BypassedConstructorPojo implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	// ------------------->> Constants
+
+	/** The number of times the constructor ran */
+	public static final AtomicInteger CONSTRUCTOR_CALLS = new AtomicInteger();
+
+	// ------------------->> Instance / Static variables
+
+	/** A String field */
+	private String name;
+
+	/** An int field */
+	private int age;
+
+	// ------------------->> Constructors
+
+	/**
+	 * A constructor which PODAM cannot satisfy.
+	 *
+	 * @param name
+	 *            A name which must be "expensive"
+	 */
+	public BypassedConstructorPojo(String name) {
+		CONSTRUCTOR_CALLS.incrementAndGet();
+		if (!"expensive".equals(name)) {
+			throw new IllegalArgumentException("Unexpected name: " + name);
+		}
+		this.name = name;
+	}
+
+	// ------------------->> Public methods
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @param name
+	 *            the name to set
+	 */
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * @return the age
+	 */
+	public int getAge() {
+		return age;
+	}
+
+	/**
+	 * @param age
+	 *            the age to set
+	 */
+	public void setAge(int age) {
+		this.age = age;
+	}
+
+}
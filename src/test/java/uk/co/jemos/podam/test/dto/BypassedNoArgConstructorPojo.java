@@ -0,0 +1,59 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.dto;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import uk.co.jemos.podam.annotations.PodamBypassConstructor;
+
+/**
+ * A POJO with a public no-arg constructor which asks PODAM not to run it. It
+ * counts how many times its constructor runs.
+ *
+ */
+@PodamBypassConstructor
+public class BypassedNoArgConstructorPojo implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	// ------------------->> Constants
+
+	/** The number of times the constructor ran */
+	public static final AtomicInteger CONSTRUCTOR_CALLS = new AtomicInteger();
+
+	// ------------------->> Instance / Static variables
+
+	/** A String field */
+	private String name;
+
+	// ------------------->> Constructors
+
+	/**
+	 * An expensive constructor.
+	 */
+	public BypassedNoArgConstructorPojo() {
+		CONSTRUCTOR_CALLS.incrementAndGet();
+	}
+
+	// ------------------->> Public methods
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @param name
+	 *            the name to set
+	 */
+	public void setName(String name) {
+		this.name = name;
+	}
+
+}
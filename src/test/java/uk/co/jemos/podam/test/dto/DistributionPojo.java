@@ -0,0 +1,183 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.dto;
+
+import java.io.Serializable;
+
+import uk.co.jemos.podam.annotations.PodamCollection;
+import uk.co.jemos.podam.annotations.PodamDoubleValue;
+import uk.co.jemos.podam.annotations.PodamFloatValue;
+import uk.co.jemos.podam.annotations.PodamIntValue;
+import uk.co.jemos.podam.annotations.PodamLongValue;
+import uk.co.jemos.podam.api.Distribution;
+
+/**
+ * A POJO whose attributes follow the distributions set through their
+ * annotations.
+ *
+ */
+public class DistributionPojo implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	// ------------------->> Constants
+
+	/** The number of elements of the arrays */
+	public static final int NBR_ELEMENTS = 10000;
+
+	// ------------------->> Instance / Static variables
+
+	/** A Zipf int array between 1 and 1000, as the keys of a cache */
+	@PodamCollection(nbrElements = NBR_ELEMENTS)
+	@PodamIntValue(minValue = 1, maxValue = 1000,
+			distribution = Distribution.ZIPF)
+	private int[] zipfInts;
+
+	/** A long array of 0 nine times out of ten, and 1 otherwise */
+	@PodamCollection(nbrElements = NBR_ELEMENTS)
+	@PodamLongValue(distribution = Distribution.WEIGHTED,
+			weights = { 0.9, 0.1 })
+	private long[] weightedLongs;
+
+	/** A normal double array between 0 and 10 */
+	@PodamCollection(nbrElements = NBR_ELEMENTS)
+	@PodamDoubleValue(minValue = 0.0, maxValue = 10.0,
+			distribution = Distribution.NORMAL)
+	private double[] normalDoubles;
+
+	/** An exponential int array between 0 and 99 */
+	@PodamCollection(nbrElements = NBR_ELEMENTS)
+	@PodamIntValue(minValue = 0, maxValue = 99,
+			distribution = Distribution.EXPONENTIAL)
+	private int[] exponentialInts;
+
+	/** An exponential float between 1 and 2 */
+	@PodamFloatValue(minValue = 1.0f, maxValue = 2.0f,
+			distribution = Distribution.EXPONENTIAL, skew = 2.0)
+	private float exponentialFloat;
+
+	/** A long array over all the long values */
+	@PodamCollection(nbrElements = NBR_ELEMENTS)
+	@PodamLongValue(minValue = Long.MIN_VALUE,
+			maxValue = Long.MAX_VALUE)
+	private long[] fullRangeLongs;
+
+	/** An int array over all the int values */
+	@PodamCollection(nbrElements = NBR_ELEMENTS)
+	@PodamIntValue(minValue = Integer.MIN_VALUE,
+			maxValue = Integer.MAX_VALUE)
+	private int[] fullRangeInts;
+
+	// ------------------->> Constructors
+
+	// ------------------->> Public methods
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * @return the zipfInts
+	 */
+	public int[] getZipfInts() {
+		return zipfInts;
+	}
+
+	/**
+	 * @param zipfInts
+	 *            the zipfInts to set
+	 */
+	public void setZipfInts(int[] zipfInts) {
+		this.zipfInts = zipfInts;
+	}
+
+	/**
+	 * @return the weightedLongs
+	 */
+	public long[] getWeightedLongs() {
+		return weightedLongs;
+	}
+
+	/**
+	 * @param weightedLongs
+	 *            the weightedLongs to set
+	 */
+	public void setWeightedLongs(long[] weightedLongs) {
+		this.weightedLongs = weightedLongs;
+	}
+
+	/**
+	 * @return the normalDoubles
+	 */
+	public double[] getNormalDoubles() {
+		return normalDoubles;
+	}
+
+	/**
+	 * @param normalDoubles
+	 *            the normalDoubles to set
+	 */
+	public void setNormalDoubles(double[] normalDoubles) {
+		this.normalDoubles = normalDoubles;
+	}
+
+	/**
+	 * @return the exponentialInts
+	 */
+	public int[] getExponentialInts() {
+		return exponentialInts;
+	}
+
+	/**
+	 * @param exponentialInts
+	 *            the exponentialInts to set
+	 */
+	public void setExponentialInts(int[] exponentialInts) {
+		this.exponentialInts = exponentialInts;
+	}
+
+	/**
+	 * @return the exponentialFloat
+	 */
+	public float getExponentialFloat() {
+		return exponentialFloat;
+	}
+
+	/**
+	 * @param exponentialFloat
+	 *            the exponentialFloat to set
+	 */
+	public void setExponentialFloat(float exponentialFloat) {
+		this.exponentialFloat = exponentialFloat;
+	}
+
+	/**
+	 * @return the fullRangeLongs
+	 */
+	public long[] getFullRangeLongs() {
+		return fullRangeLongs;
+	}
+
+	/**
+	 * @param fullRangeLongs
+	 *            the fullRangeLongs to set
+	 */
+	public void setFullRangeLongs(long[] fullRangeLongs) {
+		this.fullRangeLongs = fullRangeLongs;
+	}
+
+	/**
+	 * @return the fullRangeInts
+	 */
+	public int[] getFullRangeInts() {
+		return fullRangeInts;
+	}
+
+	/**
+	 * @param fullRangeInts
+	 *            the fullRangeInts to set
+	 */
+	public void setFullRangeInts(int[] fullRangeInts) {
+		this.fullRangeInts = fullRangeInts;
+	}
+
+}
@@ -0,0 +1,47 @@
+/**
+ * 
+ */
+package uk.co.jemos.podam.test.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A POJO whose attribute type is given by its subclasses
+ * 
+ * @param <T>
+ *            The type of the items held
+ */
+public class GenericHolderPojo<T> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	// ------------------->> Constants
+
+	// ------------------->> Instance / Static variables
+
+	/** The items held */
+	private List<T> items;
+
+	// ------------------->> Constructors
+
+	// ------------------->> Public methods
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * @return the items
+	 */
+	public List<T> getItems() {
+		return items;
+	}
+
+	/**
+	 * @param items
+	 *            the items to set
+	 */
+	public void setItems(List<T> items) {
+		this.items = items;
+	}
+
+}
@@ -0,0 +1,79 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.dto;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * An immutable POJO with both a no-arg constructor and an all-args one.
+ * <p>
+ * Only the all-args constructor can fill it, so PODAM should prefer it.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+@Immutable
+public class ImmutableWithNoArgConstructorPojo {
+
+	// ------------------->> Constants
+
+	// ------------------->> Instance / Static variables
+
+	/** An int field */
+	private final int x;
+
+	/** A String field */
+	private final String name;
+
+	// ------------------->> Constructors
+
+	/**
+	 * No-arg constructor, leaving the fields to their defaults.
+	 */
+	public ImmutableWithNoArgConstructorPojo() {
+		this(0, null);
+	}
+
+	/**
+	 * Full constructor.
+	 *
+	 * @param x
+	 *            An int field
+	 * @param name
+	 *            A String field
+	 */
+	public ImmutableWithNoArgConstructorPojo(int x, String name) {
+		this.x = x;
+		this.name = name;
+	}
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * @return the x
+	 */
+	public int getX() {
+		return x;
+	}
+
+	/**
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	// ------------------->> equals() / hashcode() / toString()
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "ImmutableWithNoArgConstructorPojo [x=" + x + ", name=" + name
+				+ "]";
+	}
+
+}
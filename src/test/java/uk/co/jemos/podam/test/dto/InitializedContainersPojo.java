@@ -0,0 +1,84 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.dto;
+
+import java.io.Serializable;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A POJO whose collection and map attributes are initialised in the class
+ * definition, and which counts how many times it is instantiated
+ *
+ */
+public class InitializedContainersPojo implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	// ------------------->> Constants
+
+	/** The number of instances created so far */
+	public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+	// ------------------->> Instance / Static variables
+
+	/** A list initialised in the class definition */
+	private List<String> names = new LinkedList<String>();
+
+	/** A map initialised in the class definition */
+	private Map<String, Integer> ages = new TreeMap<String, Integer>();
+
+	// ------------------->> Constructors
+
+	/**
+	 * Default constructor.
+	 */
+	public InitializedContainersPojo() {
+		INSTANCES.incrementAndGet();
+	}
+
+	// ------------------->> Public methods
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * @return the names
+	 */
+	public List<String> getNames() {
+		return names;
+	}
+
+	/**
+	 * @param names
+	 *            the names to set
+	 */
+	public void setNames(List<String> names) {
+		this.names = names;
+	}
+
+	/**
+	 * @return the ages
+	 */
+	public Map<String, Integer> getAges() {
+		return ages;
+	}
+
+	/**
+	 * @param ages
+	 *            the ages to set
+	 */
+	public void setAges(Map<String, Integer> ages) {
+		this.ages = ages;
+	}
+
+	// ------------------->> Private methods
+
+	// ------------------->> equals() / hashcode() / toString()
+
+	// ------------------->> Inner classes
+
+}
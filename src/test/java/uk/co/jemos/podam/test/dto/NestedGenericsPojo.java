@@ -0,0 +1,46 @@
+/**
+ * 
+ */
+package uk.co.jemos.podam.test.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A POJO with nested generic attributes and a type argument bound in its
+ * superclass
+ */
+public class NestedGenericsPojo extends
+		GenericHolderPojo<SimplePojoToTestSetters> {
+
+	private static final long serialVersionUID = 1L;
+
+	// ------------------->> Constants
+
+	// ------------------->> Instance / Static variables
+
+	/** A map whose values are collections themselves */
+	private Map<String, List<SimplePojoToTestSetters>> nestedMap;
+
+	// ------------------->> Constructors
+
+	// ------------------->> Public methods
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * @return the nestedMap
+	 */
+	public Map<String, List<SimplePojoToTestSetters>> getNestedMap() {
+		return nestedMap;
+	}
+
+	/**
+	 * @param nestedMap
+	 *            the nestedMap to set
+	 */
+	public void setNestedMap(Map<String, List<SimplePojoToTestSetters>> nestedMap) {
+		this.nestedMap = nestedMap;
+	}
+
+}
@@ -0,0 +1,66 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.dto;
+
+import java.io.Serializable;
+
+import uk.co.jemos.podam.annotations.PodamStringValue;
+
+/**
+ * An immutable POJO with a single constructor setting all its fields, whose
+ * parameters are not declared in the same order as the fields
+ *
+ */
+public class OutOfOrderAllArgsConstructorPojo implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	// ------------------->> Constants
+
+	/** The length of the code */
+	public static final int CODE_LENGTH = 7;
+
+	// ------------------->> Instance / Static variables
+
+	/** A code, customised on the field */
+	@PodamStringValue(length = CODE_LENGTH)
+	private final String code;
+
+	/** A quantity */
+	private final int quantity;
+
+	// ------------------->> Constructors
+
+	/**
+	 * Full constructor.
+	 *
+	 * @param quantity
+	 *            The quantity
+	 * @param code
+	 *            The code
+	 */
+	public OutOfOrderAllArgsConstructorPojo(int quantity, String code) {
+		this.quantity = quantity;
+		this.code = code;
+	}
+
+	// ------------------->> Public methods
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * @return the code
+	 */
+	public String getCode() {
+		return code;
+	}
+
+	/**
+	 * @return the quantity
+	 */
+	public int getQuantity() {
+		return quantity;
+	}
+
+}
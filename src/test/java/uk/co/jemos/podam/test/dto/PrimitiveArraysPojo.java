@@ -0,0 +1,171 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.dto;
+
+import java.io.Serializable;
+
+import uk.co.jemos.podam.annotations.PodamByteValue;
+import uk.co.jemos.podam.annotations.PodamCollection;
+import uk.co.jemos.podam.annotations.PodamDoubleValue;
+import uk.co.jemos.podam.annotations.PodamIntValue;
+import uk.co.jemos.podam.annotations.PodamLongValue;
+
+/**
+ * A POJO with large primitive arrays, some of them with customised elements.
+ *
+ */
+public class PrimitiveArraysPojo implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	// ------------------->> Constants
+
+	/** The number of elements of the arrays */
+	public static final int NBR_ELEMENTS = 1000;
+
+	// ------------------->> Instance / Static variables
+
+	/** An int array */
+	@PodamCollection(nbrElements = NBR_ELEMENTS)
+	private int[] ints;
+
+	/** An int array whose elements are between 10 and 20 */
+	@PodamCollection(nbrElements = NBR_ELEMENTS)
+	@PodamIntValue(minValue = 10, maxValue = 20)
+	private int[] boundedInts;
+
+	/** A long array */
+	@PodamCollection(nbrElements = NBR_ELEMENTS)
+	private long[] longs;
+
+	/** A long array whose elements are all 42 */
+	@PodamLongValue(numValue = "42")
+	private long[] preciseLongs;
+
+	/** A double array whose elements are between -1 and 1 */
+	@PodamCollection(nbrElements = NBR_ELEMENTS)
+	@PodamDoubleValue(minValue = -1.0, maxValue = 1.0)
+	private double[] boundedDoubles;
+
+	/** A byte array */
+	@PodamCollection(nbrElements = NBR_ELEMENTS)
+	private byte[] bytes;
+
+	/** A byte array whose elements are between -5 and 5 */
+	@PodamCollection(nbrElements = NBR_ELEMENTS)
+	@PodamByteValue(minValue = -5, maxValue = 5)
+	private byte[] boundedBytes;
+
+	// ------------------->> Constructors
+
+	// ------------------->> Public methods
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * @return the ints
+	 */
+	public int[] getInts() {
+		return ints;
+	}
+
+	/**
+	 * @param ints
+	 *            the ints to set
+	 */
+	public void setInts(int[] ints) {
+		this.ints = ints;
+	}
+
+	/**
+	 * @return the boundedInts
+	 */
+	public int[] getBoundedInts() {
+		return boundedInts;
+	}
+
+	/**
+	 * @param boundedInts
+	 *            the boundedInts to set
+	 */
+	public void setBoundedInts(int[] boundedInts) {
+		this.boundedInts = boundedInts;
+	}
+
+	/**
+	 * @return the longs
+	 */
+	public long[] getLongs() {
+		return longs;
+	}
+
+	/**
+	 * @param longs
+	 *            the longs to set
+	 */
+	public void setLongs(long[] longs) {
+		this.longs = longs;
+	}
+
+	/**
+	 * @return the preciseLongs
+	 */
+	public long[] getPreciseLongs() {
+		return preciseLongs;
+	}
+
+	/**
+	 * @param preciseLongs
+	 *            the preciseLongs to set
+	 */
+	public void setPreciseLongs(long[] preciseLongs) {
+		this.preciseLongs = preciseLongs;
+	}
+
+	/**
+	 * @return the boundedDoubles
+	 */
+	public double[] getBoundedDoubles() {
+		return boundedDoubles;
+	}
+
+	/**
+	 * @param boundedDoubles
+	 *            the boundedDoubles to set
+	 */
+	public void setBoundedDoubles(double[] boundedDoubles) {
+		this.boundedDoubles = boundedDoubles;
+	}
+
+	/**
+	 * @return the bytes
+	 */
+	public byte[] getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * @param bytes
+	 *            the bytes to set
+	 */
+	public void setBytes(byte[] bytes) {
+		this.bytes = bytes;
+	}
+
+	/**
+	 * @return the boundedBytes
+	 */
+	public byte[] getBoundedBytes() {
+		return boundedBytes;
+	}
+
+	/**
+	 * @param boundedBytes
+	 *            the boundedBytes to set
+	 */
+	public void setBoundedBytes(byte[] boundedBytes) {
+		this.boundedBytes = boundedBytes;
+	}
+
+}
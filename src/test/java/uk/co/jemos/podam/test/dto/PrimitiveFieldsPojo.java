@@ -0,0 +1,155 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.dto;
+
+import java.io.Serializable;
+
+/**
+ * A POJO with one attribute of each primitive type and nothing else.
+ *
+ */
+public class PrimitiveFieldsPojo implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	// ------------------->> Constants
+
+	// ------------------->> Instance / Static variables
+
+	private boolean active;
+	private byte flags;
+	private char grade;
+	private short floor;
+	private int age;
+	private long id;
+	private float rating;
+	private double salary;
+
+	// ------------------->> Constructors
+
+	// ------------------->> Public methods
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * @return the active
+	 */
+	public boolean isActive() {
+		return active;
+	}
+
+	/**
+	 * @param active
+	 *            the active to set
+	 */
+	public void setActive(boolean active) {
+		this.active = active;
+	}
+
+	/**
+	 * @return the flags
+	 */
+	public byte getFlags() {
+		return flags;
+	}
+
+	/**
+	 * @param flags
+	 *            the flags to set
+	 */
+	public void setFlags(byte flags) {
+		this.flags = flags;
+	}
+
+	/**
+	 * @return the grade
+	 */
+	public char getGrade() {
+		return grade;
+	}
+
+	/**
+	 * @param grade
+	 *            the grade to set
+	 */
+	public void setGrade(char grade) {
+		this.grade = grade;
+	}
+
+	/**
+	 * @return the floor
+	 */
+	public short getFloor() {
+		return floor;
+	}
+
+	/**
+	 * @param floor
+	 *            the floor to set
+	 */
+	public void setFloor(short floor) {
+		this.floor = floor;
+	}
+
+	/**
+	 * @return the age
+	 */
+	public int getAge() {
+		return age;
+	}
+
+	/**
+	 * @param age
+	 *            the age to set
+	 */
+	public void setAge(int age) {
+		this.age = age;
+	}
+
+	/**
+	 * @return the id
+	 */
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * @param id
+	 *            the id to set
+	 */
+	public void setId(long id) {
+		this.id = id;
+	}
+
+	/**
+	 * @return the rating
+	 */
+	public float getRating() {
+		return rating;
+	}
+
+	/**
+	 * @param rating
+	 *            the rating to set
+	 */
+	public void setRating(float rating) {
+		this.rating = rating;
+	}
+
+	/**
+	 * @return the salary
+	 */
+	public double getSalary() {
+		return salary;
+	}
+
+	/**
+	 * @param salary
+	 *            the salary to set
+	 */
+	public void setSalary(double salary) {
+		this.salary = salary;
+	}
+
+}
@@ -0,0 +1,52 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.dto;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * An immutable POJO whose constructor rejects half of the values it may be
+ * given.
+ *
+ * @since 3.0.2
+ *
+ */
+@Immutable
+public class ValidatingConstructorPojo {
+
+	// ------------------->> Constants
+
+	// ------------------->> Instance / Static variables
+
+	/** An even int field */
+	private final int evenValue;
+
+	// ------------------->> Constructors
+
+	/**
+	 * Full constructor.
+	 *
+	 * @param evenValue
+	 *            An even int
+	 * @throws IllegalArgumentException
+	 *             If the value is odd
+	 */
+	public ValidatingConstructorPojo(int evenValue) {
+		if (evenValue % 2 != 0) {
+			throw new IllegalArgumentException("The value must be even: "
+					+ evenValue);
+		}
+		this.evenValue = evenValue;
+	}
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * @return the evenValue
+	 */
+	public int getEvenValue() {
+		return evenValue;
+	}
+
+}
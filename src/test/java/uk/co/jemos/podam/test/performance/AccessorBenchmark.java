@@ -0,0 +1,126 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.performance;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import uk.co.jemos.podam.test.dto.TwentyFieldsPojo;
+
+/**
+ * A simple benchmark comparing the ways PODAM may write the attributes of a
+ * POJO: {@link Method#invoke(Object, Object...)} against the
+ * {@link MethodHandle}s PODAM resolves once per setter, reporting the time
+ * to fill each POJO.
+ *
+ * @since 3.0.2
+ *
+ */
+public class AccessorBenchmark {
+
+	// ------------------->> Constants
+
+	/** The type of the handles writing an attribute */
+	private static final MethodType WRITER_TYPE = MethodType.methodType(
+			void.class, Object.class, Object.class);
+
+	// ------------------->> Public methods
+
+	/**
+	 * It runs the benchmark.
+	 *
+	 * @param args
+	 *            The number of POJOs to fill (default 200000) and the number of
+	 *            rounds (default 5)
+	 * @throws Throwable
+	 *             If a setter could not be invoked
+	 */
+	public static void main(String[] args) throws Throwable {
+
+		List<Method> setters = new ArrayList<Method>();
+		for (Method method : TwentyFieldsPojo.class.getMethods()) {
+			if (method.getName().startsWith("set")
+					&& method.getParameterTypes().length == 1) {
+				setters.add(method);
+			}
+		}
+
+		final Method[] methods = setters.toArray(new Method[setters.size()]);
+		final MethodHandle[] handles = new MethodHandle[methods.length];
+		final Object[] values = new Object[methods.length];
+		for (int i = 0; i < methods.length; i++) {
+			handles[i] = MethodHandles.lookup().unreflect(methods[i])
+					.asType(WRITER_TYPE);
+			values[i] = sampleValue(methods[i].getParameterTypes()[0]);
+		}
+
+		BenchmarkRunner.run(args, 200000, 5, new BenchmarkRunner.Measurement() {
+
+			@Override
+			public void run(int iterations, StringBuilder report)
+					throws Throwable {
+
+				long start = System.nanoTime();
+				for (int i = 0; i < iterations; i++) {
+					TwentyFieldsPojo pojo = new TwentyFieldsPojo();
+					for (int j = 0; j < methods.length; j++) {
+						methods[j].invoke(pojo, values[j]);
+					}
+				}
+				long reflection = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (int i = 0; i < iterations; i++) {
+					Object pojo = new TwentyFieldsPojo();
+					for (int j = 0; j < handles.length; j++) {
+						handles[j].invokeExact(pojo, values[j]);
+					}
+				}
+				long handle = System.nanoTime() - start;
+
+				report.append(' ').append(methods.length)
+						.append(" setters, Method.invoke=")
+						.append(reflection / iterations)
+						.append("ns MethodHandle=")
+						.append(handle / iterations).append("ns");
+			}
+		});
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It returns a value suitable for a setter argument of the given type.
+	 *
+	 * @param type
+	 *            The setter argument type
+	 * @return A boxed value of the given type
+	 */
+	private static Object sampleValue(Class<?> type) {
+
+		if (type.equals(int.class)) {
+			return 1;
+		} else if (type.equals(long.class)) {
+			return 1L;
+		} else if (type.equals(double.class)) {
+			return 1.0;
+		} else if (type.equals(float.class)) {
+			return 1.0f;
+		} else if (type.equals(short.class)) {
+			return (short) 1;
+		} else if (type.equals(byte.class)) {
+			return (byte) 1;
+		} else if (type.equals(char.class)) {
+			return 'a';
+		} else if (type.equals(boolean.class)) {
+			return Boolean.TRUE;
+		}
+		return "value";
+	}
+
+}
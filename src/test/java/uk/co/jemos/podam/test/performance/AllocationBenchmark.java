@@ -0,0 +1,78 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.performance;
+
+import java.lang.management.ManagementFactory;
+
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+import uk.co.jemos.podam.api.RandomDataProviderStrategy;
+import uk.co.jemos.podam.test.dto.PrimitiveFieldsPojo;
+import uk.co.jemos.podam.test.dto.TwentyFieldsPojo;
+
+/**
+ * A simple benchmark measuring the memory PODAM allocates for each POJO it
+ * manufactures, besides the time it takes. It reads the allocation counters
+ * of HotSpot, so it needs a HotSpot JVM.
+ *
+ * @since 3.0.2
+ *
+ */
+public class AllocationBenchmark {
+
+	// ------------------->> Constants
+
+	/** The POJO classes to manufacture */
+	private static final Class<?>[] POJO_CLASSES = { PrimitiveFieldsPojo.class,
+			TwentyFieldsPojo.class };
+
+	// ------------------->> Public methods
+
+	/**
+	 * It runs the benchmark.
+	 *
+	 * @param args
+	 *            The number of POJOs to create per class (default 200000) and
+	 *            the number of rounds (default 5)
+	 * @throws Throwable
+	 *             If a POJO could not be manufactured
+	 */
+	public static void main(String[] args) throws Throwable {
+
+		final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		final long threadId = Thread.currentThread().getId();
+
+		final PodamFactory factory = new PodamFactoryImpl(
+				RandomDataProviderStrategy.getInstance());
+
+		BenchmarkRunner.run(args, 200000, 5, new BenchmarkRunner.Measurement() {
+
+			@Override
+			public void run(int iterations, StringBuilder report) {
+
+				for (Class<?> pojoClass : POJO_CLASSES) {
+
+					long allocated = threads.getThreadAllocatedBytes(threadId);
+					long start = System.nanoTime();
+					for (int i = 0; i < iterations; i++) {
+						if (factory.manufacturePojo(pojoClass) == null) {
+							throw new IllegalStateException(
+									"Could not manufacture " + pojoClass);
+						}
+					}
+					long elapsed = System.nanoTime() - start;
+					allocated = threads.getThreadAllocatedBytes(threadId)
+							- allocated;
+
+					report.append(' ').append(pojoClass.getSimpleName())
+							.append('=').append(elapsed / iterations)
+							.append("ns/").append(allocated / iterations)
+							.append('B');
+				}
+			}
+		});
+	}
+
+}
@@ -0,0 +1,102 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.performance;
+
+/**
+ * The command line harness shared by the benchmarks of this package.
+ * <p>
+ * The benchmarks are not unit tests: each one has a {@code main} method which
+ * hands what it measures to {@link #run(String[], int, int, Measurement)}.
+ * The first command line argument is the number of iterations of each
+ * measurement and the second one the number of rounds; a benchmark may read
+ * more arguments after those with {@link #argument(String[], int, int)}.
+ * Each round is printed on a line of its own. The first rounds warm the JVM
+ * up; only the last one is worth reading.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+final class BenchmarkRunner {
+
+	// ------------------->> Constructors
+
+	/** Non instantiable constructor */
+	private BenchmarkRunner() {
+		throw new AssertionError();
+	}
+
+	// ------------------->> Package-private methods
+
+	/**
+	 * It runs the given measurement for the number of rounds given on the
+	 * command line, and prints the report of each round.
+	 *
+	 * @param args
+	 *            The command line arguments
+	 * @param defaultIterations
+	 *            The number of iterations if the command line does not say
+	 * @param defaultRounds
+	 *            The number of rounds if the command line does not say
+	 * @param measurement
+	 *            What the benchmark measures in each round
+	 * @throws Throwable
+	 *             If the measurement failed
+	 */
+	static void run(String[] args, int defaultIterations, int defaultRounds,
+			Measurement measurement) throws Throwable {
+
+		int iterations = argument(args, 0, defaultIterations);
+		int rounds = argument(args, 1, defaultRounds);
+
+		System.out.println("Available processors: "
+				+ Runtime.getRuntime().availableProcessors());
+
+		for (int round = 1; round <= rounds; round++) {
+
+			StringBuilder report = new StringBuilder();
+			report.append("Round ").append(round).append(':');
+			measurement.run(iterations, report);
+			System.out.println(report);
+		}
+	}
+
+	/**
+	 * It returns a numeric command line argument.
+	 *
+	 * @param args
+	 *            The command line arguments
+	 * @param index
+	 *            The index of the argument
+	 * @param defaultValue
+	 *            The value if the argument is not given
+	 * @return The value of the argument
+	 */
+	static int argument(String[] args, int index, int defaultValue) {
+		return args.length > index ? Integer.parseInt(args[index])
+				: defaultValue;
+	}
+
+	// ------------------->> Inner classes
+
+	/**
+	 * What a benchmark measures in each round.
+	 */
+	interface Measurement {
+
+		/**
+		 * It runs one round of the benchmark.
+		 *
+		 * @param iterations
+		 *            The number of iterations
+		 * @param report
+		 *            The report of the round, to append the results to
+		 * @throws Throwable
+		 *             If the measurement failed
+		 */
+		void run(int iterations, StringBuilder report) throws Throwable;
+
+	}
+
+}
@@ -0,0 +1,106 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+import uk.co.jemos.podam.api.RandomDataProviderStrategy;
+import uk.co.jemos.podam.test.dto.BankAccountTestPojo;
+import uk.co.jemos.podam.test.dto.ClientTestPojo;
+import uk.co.jemos.podam.test.dto.SimplePojoToTestSetters;
+import uk.co.jemos.podam.test.dto.TwentyFieldsPojo;
+
+/**
+ * A simple benchmark comparing {@link PodamFactory#manufacturePojo(Class)}
+ * called in a loop with {@link PodamFactory#manufacturePojos(Class, int)},
+ * each on a new factory, reporting the time per POJO of each class.
+ *
+ * @since 3.0.2
+ *
+ */
+public class BulkManufactureBenchmark {
+
+	// ------------------->> Constants
+
+	/** The POJO classes to manufacture */
+	private static final Class<?>[] POJO_CLASSES = {
+			SimplePojoToTestSetters.class, BankAccountTestPojo.class,
+			ClientTestPojo.class, TwentyFieldsPojo.class };
+
+	// ------------------->> Public methods
+
+	/**
+	 * It runs the benchmark.
+	 *
+	 * @param args
+	 *            The number of POJOs to create per class (default 20000) and
+	 *            the number of rounds (default 5)
+	 * @throws Throwable
+	 *             If a POJO could not be manufactured
+	 */
+	public static void main(String[] args) throws Throwable {
+
+		BenchmarkRunner.run(args, 20000, 5, new BenchmarkRunner.Measurement() {
+
+			@Override
+			public void run(int iterations, StringBuilder report) {
+
+				for (Class<?> pojoClass : POJO_CLASSES) {
+					measure(pojoClass, iterations, report);
+				}
+			}
+		});
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It times both ways of manufacturing the given number of POJOs.
+	 *
+	 * @param pojoClass
+	 *            The class of the POJOs
+	 * @param iterations
+	 *            The number of POJOs
+	 * @param report
+	 *            The report of the round
+	 */
+	private static void measure(Class<?> pojoClass, int iterations,
+			StringBuilder report) {
+
+		// A new factory each time, so that neither loop benefits from what
+		// the other one learnt. Both keep the POJOs, so that they put the
+		// same pressure on the garbage collector.
+		PodamFactory factory = new PodamFactoryImpl(
+				RandomDataProviderStrategy.getInstance());
+		long start = System.nanoTime();
+		List<Object> kept = new ArrayList<Object>(iterations);
+		for (int i = 0; i < iterations; i++) {
+			kept.add(factory.manufacturePojo(pojoClass));
+		}
+		long loop = System.nanoTime() - start;
+		if (kept.get(iterations - 1) == null) {
+			throw new IllegalStateException("Could not manufacture "
+					+ pojoClass);
+		}
+		kept = null;
+
+		factory = new PodamFactoryImpl(
+				RandomDataProviderStrategy.getInstance());
+		start = System.nanoTime();
+		List<?> pojos = factory.manufacturePojos(pojoClass, iterations);
+		long bulk = System.nanoTime() - start;
+		if (pojos.get(iterations - 1) == null) {
+			throw new IllegalStateException("Could not manufacture "
+					+ pojoClass);
+		}
+
+		report.append(' ').append(pojoClass.getSimpleName())
+				.append(" loop=").append(loop / iterations)
+				.append("ns bulk=").append(bulk / iterations).append("ns");
+	}
+
+}
@@ -0,0 +1,74 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.performance;
+
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+import uk.co.jemos.podam.api.RandomDataProviderStrategy;
+import uk.co.jemos.podam.test.dto.BankAccountTestPojo;
+import uk.co.jemos.podam.test.dto.ClientTestPojo;
+import uk.co.jemos.podam.test.dto.SimplePojoToTestSetters;
+import uk.co.jemos.podam.test.dto.TwentyFieldsPojo;
+import uk.co.jemos.podam.test.dto.annotations.IntegerValuePojo;
+import uk.co.jemos.podam.test.dto.annotations.StringValuePojo;
+
+/**
+ * A simple throughput benchmark for
+ * {@link PodamFactory#manufacturePojo(Class)}, reporting the time per POJO of
+ * each class.
+ *
+ * @since 3.0.2
+ *
+ */
+public class ManufacturePojoBenchmark {
+
+	// ------------------->> Constants
+
+	/** The POJO classes to manufacture */
+	private static final Class<?>[] POJO_CLASSES = { SimplePojoToTestSetters.class,
+			BankAccountTestPojo.class, ClientTestPojo.class,
+			IntegerValuePojo.class, StringValuePojo.class,
+			TwentyFieldsPojo.class };
+
+	// ------------------->> Public methods
+
+	/**
+	 * It runs the benchmark.
+	 *
+	 * @param args
+	 *            The number of POJOs to create per class (default 20000) and
+	 *            the number of rounds (default 5)
+	 * @throws Throwable
+	 *             If a POJO could not be manufactured
+	 */
+	public static void main(String[] args) throws Throwable {
+
+		final PodamFactory factory = new PodamFactoryImpl(
+				RandomDataProviderStrategy.getInstance());
+
+		BenchmarkRunner.run(args, 20000, 5, new BenchmarkRunner.Measurement() {
+
+			@Override
+			public void run(int iterations, StringBuilder report) {
+
+				for (Class<?> pojoClass : POJO_CLASSES) {
+
+					long start = System.nanoTime();
+					for (int i = 0; i < iterations; i++) {
+						if (factory.manufacturePojo(pojoClass) == null) {
+							throw new IllegalStateException(
+									"Could not manufacture " + pojoClass);
+						}
+					}
+					long elapsed = System.nanoTime() - start;
+
+					report.append(' ').append(pojoClass.getSimpleName())
+							.append('=').append(elapsed / iterations)
+							.append("ns");
+				}
+			}
+		});
+	}
+
+}
@@ -0,0 +1,101 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.performance;
+
+import java.util.concurrent.ForkJoinPool;
+
+import uk.co.jemos.podam.api.PodamDataset;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+import uk.co.jemos.podam.test.dto.ClientTestPojo;
+import uk.co.jemos.podam.test.utils.PodamTestUtils;
+
+/**
+ * A simple benchmark measuring how
+ * {@link PodamDataset#get(long, Object[], java.util.concurrent.Executor, uk.co.jemos.podam.api.ProgressListener)}
+ * scales with the number of threads, on clients with their addresses and
+ * bank accounts.
+ * <p>
+ * Each round produces the same range of the same dataset on fork/join pools
+ * of growing parallelism, and prints the time per client, the speed-up over
+ * one thread and a checksum of the clients: the checksums must all be equal,
+ * since the output does not depend on the threads. The speed-up can only
+ * grow with the threads up to the number of available processors.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+public class ParallelGenerationBenchmark {
+
+	// ------------------->> Public methods
+
+	/**
+	 * It runs the benchmark.
+	 *
+	 * @param args
+	 *            The number of clients (default 200000), the number of rounds
+	 *            (default 3) and the highest number of threads (default 8)
+	 * @throws Throwable
+	 *             If a client could not be produced
+	 */
+	public static void main(String[] args) throws Throwable {
+
+		final int maxThreads = BenchmarkRunner.argument(args, 2, 8);
+		final PodamDataset<ClientTestPojo> dataset = new PodamFactoryImpl()
+				.manufactureDataset(ClientTestPojo.class, 42L);
+
+		BenchmarkRunner.run(args, 200000, 3, new BenchmarkRunner.Measurement() {
+
+			@Override
+			public void run(int iterations, StringBuilder report) {
+
+				long single = 0;
+				for (int threads = 1; threads <= maxThreads; threads *= 2) {
+
+					ForkJoinPool pool = new ForkJoinPool(threads);
+					try {
+
+						long start = System.nanoTime();
+						ClientTestPojo[] clients = dataset.get(0,
+								new ClientTestPojo[iterations], pool, null);
+						long elapsed = System.nanoTime() - start;
+						if (threads == 1) {
+							single = elapsed;
+						}
+
+						report.append(' ').append(threads).append("t=")
+								.append(elapsed / iterations).append("ns x")
+								.append(String.format("%.2f", (double) single
+										/ elapsed)).append(" #")
+								.append(Integer.toHexString(checksum(clients)));
+
+					} finally {
+						pool.shutdown();
+					}
+				}
+			}
+		});
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It returns a checksum of the given clients, which depends on their
+	 * order.
+	 *
+	 * @param clients
+	 *            The clients
+	 * @return A checksum of the clients
+	 */
+	private static int checksum(ClientTestPojo[] clients) {
+
+		int retValue = 1;
+		for (ClientTestPojo client : clients) {
+			retValue = 31 * retValue
+					+ PodamTestUtils.describe(client).hashCode();
+		}
+		return retValue;
+	}
+
+}
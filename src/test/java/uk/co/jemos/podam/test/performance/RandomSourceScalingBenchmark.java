@@ -0,0 +1,193 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.performance;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import uk.co.jemos.podam.api.DataProviderStrategy;
+import uk.co.jemos.podam.api.RandomDataProviderStrategy;
+import uk.co.jemos.podam.api.RandomSource;
+import uk.co.jemos.podam.api.RandomSources;
+import uk.co.jemos.podam.dto.AttributeMetadata;
+
+/**
+ * A simple benchmark measuring how the throughput of
+ * {@link RandomDataProviderStrategy} scales with the number of threads, for
+ * each {@link RandomSource}.
+ * <p>
+ * Each thread asks the strategy for a mix of the values PODAM asks for most:
+ * ints, ints in a range, doubles and strings. The shared {@link Random}
+ * source reproduces how the strategy worked before random sources existed,
+ * for comparison. Throughput can only grow with the threads up to the number
+ * of available processors. Each round reports the values per millisecond of
+ * each source on a line of its own.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+public class RandomSourceScalingBenchmark {
+
+	// ------------------->> Constants
+
+	/** The metadata passed to the strategy */
+	private static final AttributeMetadata METADATA = new AttributeMetadata(
+			"value", Object.class, Collections.<Annotation> emptyList());
+
+	// ------------------->> Public methods
+
+	/**
+	 * It runs the benchmark.
+	 *
+	 * @param args
+	 *            The number of values each thread asks for (default 1000000),
+	 *            the number of rounds (default 3) and the highest number of
+	 *            threads (default 8)
+	 * @throws Throwable
+	 *             If a thread failed
+	 */
+	public static void main(String[] args) throws Throwable {
+
+		final int maxThreads = BenchmarkRunner.argument(args, 2, 8);
+		final RandomSource[] sources = { new SharedRandomSource(),
+				RandomSources.threadLocal(),
+				RandomSources.splittable(System.nanoTime()) };
+
+		BenchmarkRunner.run(args, 1000000, 3, new BenchmarkRunner.Measurement() {
+
+			@Override
+			public void run(int iterations, StringBuilder report)
+					throws Exception {
+
+				for (RandomSource source : sources) {
+
+					report.append(System.lineSeparator()).append("  ")
+							.append(source).append(':');
+
+					DataProviderStrategy strategy = new RandomDataProviderStrategy(
+							source);
+					for (int threads = 1; threads <= maxThreads; threads *= 2) {
+						long elapsed = measure(strategy, threads, iterations);
+						long valuesPerMs = threads * (long) iterations
+								* 1000000L / elapsed;
+						report.append(' ').append(threads).append("t=")
+								.append(valuesPerMs).append("/ms");
+					}
+				}
+			}
+		});
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It has the given number of threads ask the strategy for values.
+	 *
+	 * @param strategy
+	 *            The strategy
+	 * @param threads
+	 *            The number of threads
+	 * @param iterations
+	 *            The number of values each thread asks for
+	 * @return The elapsed time, in nanoseconds
+	 * @throws Exception
+	 *             If a thread failed
+	 */
+	private static long measure(final DataProviderStrategy strategy,
+			int threads, final int iterations) throws Exception {
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+
+			Callable<Long> task = new Callable<Long>() {
+
+				@Override
+				public Long call() {
+					long sum = 0;
+					for (int i = 0; i < iterations; i++) {
+						switch (i & 3) {
+						case 0:
+							sum += strategy.getInteger(METADATA);
+							break;
+						case 1:
+							sum += strategy.getIntegerInRange(0, 100, METADATA);
+							break;
+						case 2:
+							sum += strategy.getDouble(METADATA).longValue();
+							break;
+						default:
+							sum += strategy.getStringValue(METADATA).length();
+						}
+					}
+					return sum;
+				}
+			};
+
+			long start = System.nanoTime();
+			Future<?>[] futures = new Future<?>[threads];
+			for (int i = 0; i < threads; i++) {
+				futures[i] = executor.submit(task);
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			return System.nanoTime() - start;
+
+		} finally {
+			executor.shutdown();
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+	}
+
+	// ------------------->> Inner classes
+
+	/**
+	 * A source sharing a single {@link Random} between all threads, as the
+	 * strategy did before random sources existed.
+	 */
+	private static final class SharedRandomSource implements RandomSource {
+
+		/** The shared generator */
+		private final Random random = new Random();
+
+		@Override
+		public int nextInt() {
+			return random.nextInt();
+		}
+
+		@Override
+		public int nextInt(int bound) {
+			return random.nextInt(bound);
+		}
+
+		@Override
+		public long nextLong() {
+			return random.nextLong();
+		}
+
+		@Override
+		public double nextDouble() {
+			return random.nextDouble();
+		}
+
+		@Override
+		public float nextFloat() {
+			return random.nextFloat();
+		}
+
+		@Override
+		public String toString() {
+			return "RandomSource ( shared Random )";
+		}
+
+	}
+
+}
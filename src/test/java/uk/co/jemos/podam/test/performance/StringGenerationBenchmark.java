@@ -0,0 +1,84 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.performance;
+
+import uk.co.jemos.podam.api.DataProviderStrategy;
+import uk.co.jemos.podam.api.RandomDataProviderStrategy;
+
+/**
+ * A simple benchmark comparing the ways of building a random String: one
+ * character at a time through
+ * {@link DataProviderStrategy#getCharacter(uk.co.jemos.podam.dto.AttributeMetadata)}
+ * , as PODAM used to, against
+ * {@link RandomDataProviderStrategy#getStringOfLength(int, uk.co.jemos.podam.dto.AttributeMetadata)}
+ * , which takes several characters from each random number.
+ *
+ * @since 3.0.2
+ *
+ */
+public class StringGenerationBenchmark {
+
+	// ------------------->> Constants
+
+	/** The lengths of the Strings to build */
+	private static final int[] LENGTHS = { 10, 100, 2048 };
+
+	// ------------------->> Instance / Static variables
+
+	/** Keeps the JIT from dropping the Strings */
+	private static long checksum;
+
+	// ------------------->> Public methods
+
+	/**
+	 * It runs the benchmark.
+	 *
+	 * @param args
+	 *            The number of Strings to build per length (default 20000) and
+	 *            the number of rounds (default 5)
+	 * @throws Throwable
+	 *             If a String could not be built
+	 */
+	public static void main(String[] args) throws Throwable {
+
+		final DataProviderStrategy strategy = RandomDataProviderStrategy
+				.getInstance();
+
+		BenchmarkRunner.run(args, 20000, 5, new BenchmarkRunner.Measurement() {
+
+			@Override
+			public void run(int iterations, StringBuilder report) {
+
+				for (int length : LENGTHS) {
+
+					long start = System.nanoTime();
+					for (int i = 0; i < iterations; i++) {
+						StringBuilder buff = new StringBuilder(length);
+						while (buff.length() < length) {
+							buff.append(strategy.getCharacter(null));
+						}
+						checksum += buff.toString().hashCode();
+					}
+					long perCharacter = System.nanoTime() - start;
+
+					start = System.nanoTime();
+					for (int i = 0; i < iterations; i++) {
+						checksum += strategy.getStringOfLength(length, null)
+								.hashCode();
+					}
+					long bulk = System.nanoTime() - start;
+
+					report.append(" length=").append(length)
+							.append(" perCharacter=")
+							.append(perCharacter / iterations)
+							.append("ns bulk=").append(bulk / iterations)
+							.append("ns");
+				}
+			}
+		});
+
+		System.out.println("Checksum: " + checksum);
+	}
+
+}
@@ -0,0 +1,187 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.performance;
+
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import uk.co.jemos.podam.api.PodamGenerationService;
+import uk.co.jemos.podam.test.dto.ClientTestPojo;
+
+/**
+ * A load test of {@link PodamGenerationService}: a large number of requests
+ * are submitted at once, each generating a client on a virtual thread of its
+ * own, and the test reports the throughput and how often a virtual thread
+ * was pinned to its carrier thread.
+ * <p>
+ * Pinning is counted from the {@code jdk.VirtualThreadPinned} events of a
+ * Flight Recorder recording, which the test starts through reflection so
+ * that it builds on Java 8. On a JVM without virtual threads the requests
+ * run on a pool and no pinning is reported. Running the JVM with
+ * {@code -Djdk.tracePinnedThreads=full} also prints where each pinning
+ * occurred.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+public class VirtualThreadLoadBenchmark {
+
+	// ------------------->> Constants
+
+	/** The event recorded when a virtual thread blocks while pinned */
+	private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+	// ------------------->> Public methods
+
+	/**
+	 * It runs the load test.
+	 *
+	 * @param args
+	 *            The number of concurrent requests (default 100000) and the
+	 *            number of rounds (default 3)
+	 * @throws Throwable
+	 *             If a request failed or the recording could not be read
+	 */
+	public static void main(String[] args) throws Throwable {
+
+		final PodamGenerationService service = new PodamGenerationService();
+		try {
+
+			System.out.println("Virtual threads: " + service.isVirtual());
+
+			BenchmarkRunner.run(args, 100000, 3,
+					new BenchmarkRunner.Measurement() {
+
+						@Override
+						public void run(int requests, StringBuilder report)
+								throws Exception {
+
+							Object recording = service.isVirtual() ? startRecording()
+									: null;
+
+							long start = System.nanoTime();
+							int failures = submit(service, requests);
+							long elapsed = System.nanoTime() - start;
+
+							long pinned = recording != null ? stopRecording(recording)
+									: 0;
+							report.append(' ').append(requests)
+									.append(" requests in ")
+									.append(elapsed / 1000000).append("ms, ")
+									.append(requests * 1000000000L / elapsed)
+									.append(" POJOs/s, ").append(failures)
+									.append(" failures, ").append(pinned)
+									.append(" pinnings");
+						}
+					});
+
+		} finally {
+			service.close();
+		}
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It submits the given number of requests at once and waits until they
+	 * are all over. The POJOs are dropped as soon as they are generated.
+	 *
+	 * @param service
+	 *            The service
+	 * @param requests
+	 *            The number of requests
+	 * @return The number of requests which failed
+	 * @throws InterruptedException
+	 *             If interrupted while waiting
+	 */
+	private static int submit(PodamGenerationService service, int requests)
+			throws InterruptedException {
+
+		final CountDownLatch over = new CountDownLatch(requests);
+		final AtomicInteger failures = new AtomicInteger();
+		BiConsumer<ClientTestPojo, Throwable> done = new BiConsumer<ClientTestPojo, Throwable>() {
+
+			@Override
+			public void accept(ClientTestPojo client, Throwable failure) {
+				if (failure != null || client == null) {
+					failures.incrementAndGet();
+				}
+				over.countDown();
+			}
+		};
+
+		for (int i = 0; i < requests; i++) {
+			service.submit(ClientTestPojo.class).whenComplete(done);
+		}
+		over.await();
+		return failures.get();
+	}
+
+	/**
+	 * It starts a Flight Recorder recording of the pinned virtual threads.
+	 *
+	 * @return The recording, or {@code null} if the JVM cannot record them
+	 * @throws Exception
+	 *             If the recording could not be started
+	 */
+	private static Object startRecording() throws Exception {
+
+		Class<?> recordingClass;
+		try {
+			recordingClass = Class.forName("jdk.jfr.Recording");
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+
+		Object recording = recordingClass.getDeclaredConstructor()
+				.newInstance();
+		Object settings = recordingClass.getMethod("enable", String.class)
+				.invoke(recording, PINNED_EVENT);
+		Class.forName("jdk.jfr.EventSettings")
+				.getMethod("withThreshold", Duration.class)
+				.invoke(settings, Duration.ZERO);
+		recordingClass.getMethod("start").invoke(recording);
+		return recording;
+	}
+
+	/**
+	 * It stops a recording started by {@link #startRecording()} and counts
+	 * the pinned virtual threads it recorded.
+	 *
+	 * @param recording
+	 *            The recording
+	 * @return The number of times a virtual thread blocked while pinned
+	 * @throws Exception
+	 *             If the recording could not be read
+	 */
+	private static long stopRecording(Object recording) throws Exception {
+
+		Class<?> recordingClass = recording.getClass();
+		Path file = Files.createTempFile("podam-pinning", ".jfr");
+		try {
+
+			recordingClass.getMethod("stop").invoke(recording);
+			recordingClass.getMethod("dump", Path.class).invoke(recording,
+					file);
+			Method readAllEvents = Class.forName(
+					"jdk.jfr.consumer.RecordingFile").getMethod(
+					"readAllEvents", Path.class);
+
+			// Only the pinning events were enabled
+			return ((List<?>) readAllEvents.invoke(null, file)).size();
+
+		} finally {
+			recordingClass.getMethod("close").invoke(recording);
+			Files.delete(file);
+		}
+	}
+
+}
@@ -0,0 +1,124 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.strategies;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import uk.co.jemos.podam.api.RandomDataProviderStrategy;
+import uk.co.jemos.podam.api.RandomSources;
+import uk.co.jemos.podam.dto.AttributeMetadata;
+
+/**
+ * A random strategy counting how many values it returns boxed, i.e. through
+ * the methods returning wrappers rather than through their primitive
+ * counterparts.
+ *
+ * @since 3.0.2
+ *
+ */
+public class BoxingCountingDataProviderStrategy extends
+		RandomDataProviderStrategy {
+
+	// ------------------->> Constants
+
+	// ------------------->> Instance / Static variables
+
+	/** The number of values returned boxed so far */
+	private final AtomicInteger boxedValues = new AtomicInteger();
+
+	// ------------------->> Constructors
+
+	/**
+	 * Default constructor.
+	 */
+	public BoxingCountingDataProviderStrategy() {
+		super(RandomSources.threadLocal());
+	}
+
+	// ------------------->> Public methods
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Boolean getBoolean(AttributeMetadata attributeMetadata) {
+		boxedValues.incrementAndGet();
+		return super.getBoolean(attributeMetadata);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Byte getByte(AttributeMetadata attributeMetadata) {
+		boxedValues.incrementAndGet();
+		return super.getByte(attributeMetadata);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Character getCharacter(AttributeMetadata attributeMetadata) {
+		boxedValues.incrementAndGet();
+		return super.getCharacter(attributeMetadata);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Short getShort(AttributeMetadata attributeMetadata) {
+		boxedValues.incrementAndGet();
+		return super.getShort(attributeMetadata);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Integer getInteger(AttributeMetadata attributeMetadata) {
+		boxedValues.incrementAndGet();
+		return super.getInteger(attributeMetadata);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Long getLong(AttributeMetadata attributeMetadata) {
+		boxedValues.incrementAndGet();
+		return super.getLong(attributeMetadata);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Float getFloat(AttributeMetadata attributeMetadata) {
+		boxedValues.incrementAndGet();
+		return super.getFloat(attributeMetadata);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Double getDouble(AttributeMetadata attributeMetadata) {
+		boxedValues.incrementAndGet();
+		return super.getDouble(attributeMetadata);
+	}
+
+	// ------------------->> Getters / Setters
+
+	/**
+	 * It returns the number of values returned boxed so far.
+	 *
+	 * @return The number of values returned boxed so far
+	 */
+	public int getBoxedValues() {
+		return boxedValues.get();
+	}
+
+}
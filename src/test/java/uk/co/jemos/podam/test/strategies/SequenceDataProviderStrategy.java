@@ -0,0 +1,193 @@
+/**
+ *
+ */
+package uk.co.jemos.podam.test.strategies;
+
+import uk.co.jemos.podam.api.DataProviderStrategy;
+import uk.co.jemos.podam.dto.AttributeMetadata;
+
+/**
+ * A test strategy returning values from a counter, so that two factories fed
+ * with their own instance of this strategy produce the same data as long as
+ * they ask for it in the same order.
+ * <p>
+ * It is not thread-safe.
+ * </p>
+ *
+ * @since 3.0.2
+ *
+ */
+public class SequenceDataProviderStrategy implements DataProviderStrategy {
+
+	// ------------------->> Constants
+
+	// ------------------->> Instance / Static variables
+
+	/** The number of values returned so far */
+	private long counter;
+
+	// ------------------->> Constructors
+
+	// ------------------->> Public methods
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Boolean getBoolean(AttributeMetadata attributeMetadata) {
+		return next() % 2 == 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Byte getByte(AttributeMetadata attributeMetadata) {
+		return (byte) (next() % Byte.MAX_VALUE + 1);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Byte getByteInRange(byte minValue, byte maxValue,
+			AttributeMetadata attributeMetadata) {
+		return (byte) inRange(minValue, maxValue);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Character getCharacter(AttributeMetadata attributeMetadata) {
+		return (char) ('a' + next() % 26);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Character getCharacterInRange(char minValue, char maxValue,
+			AttributeMetadata attributeMetadata) {
+		return (char) inRange(minValue, maxValue);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Double getDouble(AttributeMetadata attributeMetadata) {
+		return next() + 0.5;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Double getDoubleInRange(double minValue, double maxValue,
+			AttributeMetadata attributeMetadata) {
+		return minValue + (maxValue - minValue) / (next() % 10 + 1);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Float getFloat(AttributeMetadata attributeMetadata) {
+		return next() + 0.5f;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Float getFloatInRange(float minValue, float maxValue,
+			AttributeMetadata attributeMetadata) {
+		return minValue + (maxValue - minValue) / (next() % 10 + 1);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Integer getInteger(AttributeMetadata attributeMetadata) {
+		return (int) next() + 1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public int getIntegerInRange(int minValue, int maxValue,
+			AttributeMetadata attributeMetadata) {
+		return (int) inRange(minValue, maxValue);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Long getLong(AttributeMetadata attributeMetadata) {
+		return next() + 1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Long getLongInRange(long minValue, long maxValue,
+			AttributeMetadata attributeMetadata) {
+		return inRange(minValue, maxValue);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Short getShort(AttributeMetadata attributeMetadata) {
+		return (short) (next() % Short.MAX_VALUE + 1);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Short getShortInRange(short minValue, short maxValue,
+			AttributeMetadata attributeMetadata) {
+		return (short) inRange(minValue, maxValue);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String getStringValue(AttributeMetadata attributeMetadata) {
+		return "value" + next();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String getStringOfLength(int length,
+			AttributeMetadata attributeMetadata) {
+
+		StringBuilder buff = new StringBuilder(length);
+		while (buff.length() < length) {
+			buff.append(getCharacter(attributeMetadata));
+		}
+		return buff.toString();
+	}
+
+	// ------------------->> Private methods
+
+	/**
+	 * It returns the next value of the counter.
+	 *
+	 * @return The next value of the counter
+	 */
+	private long next() {
+		return counter++;
+	}
+
+	/**
+	 * It returns the next value of the counter, folded into the given range.
+	 *
+	 * @param minValue
+	 *            The minimum value
+	 * @param maxValue
+	 *            The maximum value
+	 * @return A value between the minimum and the maximum, both included
+	 */
+	private long inRange(long minValue, long maxValue) {
+		long span = maxValue - minValue + 1;
+		if (span <= 0) {
+			return minValue;
+		}
+		return minValue + next() % span;
+	}
+
+}
@@ -3,10 +3,12 @@
  */
 package uk.co.jemos.podam.test.unit;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -14,8 +16,11 @@ import junit.framework.Assert;
 
 import org.junit.Test;
 
+import uk.co.jemos.podam.annotations.PodamIntValue;
 import uk.co.jemos.podam.dto.ClassInfo;
+import uk.co.jemos.podam.test.dto.AbstractOneDimensionalPojo;
 import uk.co.jemos.podam.test.dto.EmptyTestPojo;
+import uk.co.jemos.podam.test.dto.OneDimensionalChildPojo;
 import uk.co.jemos.podam.test.dto.SimplePojoToTestSetters;
 import uk.co.jemos.podam.utils.PodamUtils;
 
@@ -71,6 +76,56 @@ public class ClassInfoUnitTest {
 
 	}
 
+	@Test
+	public void testClassInfoIsCachedAndReadOnly() {
+
+		ClassInfo classInfo = PodamUtils
+				.getClassInfo(SimplePojoToTestSetters.class);
+
+		Assert.assertSame("The ClassInfo should be computed only once",
+				classInfo,
+				PodamUtils.getClassInfo(SimplePojoToTestSetters.class));
+
+		try {
+			classInfo.getClassFields().clear();
+			Assert.fail("The class fields of a cached ClassInfo must be read-only");
+		} catch (UnsupportedOperationException e) {
+			// Expected
+		}
+
+		Assert.assertFalse("The class fields must not have been altered",
+				classInfo.getClassFields().isEmpty());
+
+	}
+
+	@Test
+	public void testAttributeIndexWithInheritedPrivateField() throws Exception {
+
+		ClassInfo classInfo = PodamUtils
+				.getClassInfo(OneDimensionalChildPojo.class);
+
+		Field parentField = AbstractOneDimensionalPojo.class
+				.getDeclaredField("parentIntField");
+		Assert.assertEquals(
+				"The inherited private field should be found in the index",
+				parentField, classInfo.getAttributeField("parentIntField"));
+
+		List<Annotation> annotations = classInfo
+				.getAttributeAnnotations("parentIntField");
+		Assert.assertEquals("The inherited field has one annotation", 1,
+				annotations.size());
+		Assert.assertTrue("The annotation should be PodamIntValue",
+				annotations.get(0) instanceof PodamIntValue);
+
+		Assert.assertTrue("A field without annotations has none",
+				classInfo.getAttributeAnnotations("intField").isEmpty());
+		Assert.assertNull("An unknown attribute has no field",
+				classInfo.getAttributeField("noSuchField"));
+		Assert.assertTrue("An unknown attribute has no annotations",
+				classInfo.getAttributeAnnotations("noSuchField").isEmpty());
+
+	}
+
 	// ------------------------------> Private methods
 
 }
@@ -1,33 +1,75 @@
 package uk.co.jemos.podam.test.unit;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
 
 import junit.framework.Assert;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import uk.co.jemos.podam.api.AttributeStrategy;
+import uk.co.jemos.podam.api.DataProviderStrategy;
+import uk.co.jemos.podam.api.Distribution;
+import uk.co.jemos.podam.api.MetadataIndex;
+import uk.co.jemos.podam.api.PodamDataset;
 import uk.co.jemos.podam.api.PodamFactory;
 import uk.co.jemos.podam.api.PodamFactoryImpl;
+import uk.co.jemos.podam.api.PodamGenerationService;
+import uk.co.jemos.podam.api.ProgressListener;
 import uk.co.jemos.podam.api.RandomDataProviderStrategy;
+import uk.co.jemos.podam.api.RandomSource;
+import uk.co.jemos.podam.api.RandomSources;
+import uk.co.jemos.podam.api.Sampler;
+import uk.co.jemos.podam.dto.InstantiationStatistics;
 import uk.co.jemos.podam.exceptions.PodamMockeryException;
 import uk.co.jemos.podam.test.dto.AbstractTestPojo;
+import uk.co.jemos.podam.test.dto.AddressTestPojo;
+import uk.co.jemos.podam.test.dto.AllArgsConstructorPojo;
+import uk.co.jemos.podam.test.dto.BankAccountTestPojo;
+import uk.co.jemos.podam.test.dto.BypassedConstructorPojo;
+import uk.co.jemos.podam.test.dto.BypassedNoArgConstructorPojo;
+import uk.co.jemos.podam.test.dto.ClientTestPojo;
 import uk.co.jemos.podam.test.dto.CollectionsPojo;
+import uk.co.jemos.podam.test.dto.DistributionPojo;
 import uk.co.jemos.podam.test.dto.ConstructorWithSelfReferencesButNoDefaultConstructorPojo;
 import uk.co.jemos.podam.test.dto.ConstructorWithSelfReferencesPojo;
 import uk.co.jemos.podam.test.dto.EnumsPojo;
@@ -36,16 +78,24 @@ import uk.co.jemos.podam.test.dto.ExcludeAnnotationPojo;
 import uk.co.jemos.podam.test.dto.ImmutableNoHierarchicalAnnotatedPojo;
 import uk.co.jemos.podam.test.dto.ImmutableNonAnnotatedPojo;
 import uk.co.jemos.podam.test.dto.ImmutableWithGenericCollectionsPojo;
+import uk.co.jemos.podam.test.dto.ImmutableWithNoArgConstructorPojo;
 import uk.co.jemos.podam.test.dto.ImmutableWithNonGenericCollectionsPojo;
+import uk.co.jemos.podam.test.dto.InitializedContainersPojo;
 import uk.co.jemos.podam.test.dto.InterfacePojo;
+import uk.co.jemos.podam.test.dto.NestedGenericsPojo;
 import uk.co.jemos.podam.test.dto.NoDefaultConstructorPojo;
 import uk.co.jemos.podam.test.dto.NoSetterWithCollectionInConstructorPojo;
 import uk.co.jemos.podam.test.dto.OneDimensionalChildPojo;
 import uk.co.jemos.podam.test.dto.OneDimensionalTestPojo;
+import uk.co.jemos.podam.test.dto.OutOfOrderAllArgsConstructorPojo;
+import uk.co.jemos.podam.test.dto.PrimitiveArraysPojo;
+import uk.co.jemos.podam.test.dto.PrimitiveFieldsPojo;
 import uk.co.jemos.podam.test.dto.PrivateNoArgConstructorPojo;
 import uk.co.jemos.podam.test.dto.RecursivePojo;
 import uk.co.jemos.podam.test.dto.SimplePojoToTestSetters;
 import uk.co.jemos.podam.test.dto.SingletonWithParametersInStaticFactoryPojo;
+import uk.co.jemos.podam.test.dto.TwentyFieldsPojo;
+import uk.co.jemos.podam.test.dto.ValidatingConstructorPojo;
 import uk.co.jemos.podam.test.dto.annotations.BooleanValuePojo;
 import uk.co.jemos.podam.test.dto.annotations.ByteValuePojo;
 import uk.co.jemos.podam.test.dto.annotations.ByteValueWithErrorPojo;
@@ -68,8 +118,12 @@ import uk.co.jemos.podam.test.dto.pdm33.NoDefaultPublicConstructorPojo;
 import uk.co.jemos.podam.test.dto.pdm33.PrivateOnlyConstructorPojo;
 import uk.co.jemos.podam.test.dto.pdm33.ProtectedNonDefaultConstructorPojo;
 import uk.co.jemos.podam.test.enums.ExternalRatePodamEnum;
+import uk.co.jemos.podam.test.strategies.BoxingCountingDataProviderStrategy;
+import uk.co.jemos.podam.test.strategies.PostCodeStrategy;
+import uk.co.jemos.podam.test.strategies.SequenceDataProviderStrategy;
 import uk.co.jemos.podam.test.utils.PodamTestConstants;
 import uk.co.jemos.podam.test.utils.PodamTestUtils;
+import uk.co.jemos.podam.utils.PodamConstants;
 
 /**
  * Unit test for simple App.
@@ -1309,6 +1363,987 @@ public class PodamMockerUnitTest {
 
 	}
 
+	@Test
+	public void testInstantiationRoutesAreReused() {
+
+		PodamFactoryImpl podamFactory = new PodamFactoryImpl(
+				RandomDataProviderStrategy.getInstance());
+
+		podamFactory.manufacturePojo(SimplePojoToTestSetters.class);
+		InstantiationStatistics first = podamFactory
+				.getInstantiationStatistics();
+		Assert.assertTrue("A route should have been recorded",
+				first.getRecordedRoutes() > 0);
+
+		podamFactory.manufacturePojo(SimplePojoToTestSetters.class);
+		InstantiationStatistics second = podamFactory
+				.getInstantiationStatistics();
+		Assert.assertTrue("The recorded route should have been reused",
+				second.getRouteHits() > first.getRouteHits());
+		Assert.assertEquals("No new search should have been necessary",
+				first.getFallbackSearches(), second.getFallbackSearches());
+
+	}
+
+	@Test
+	public void testUnbuildableTypesAreRemembered() {
+
+		PodamFactoryImpl podamFactory = new PodamFactoryImpl(
+				RandomDataProviderStrategy.getInstance());
+
+		Assert.assertNull("An interface cannot be built",
+				podamFactory.manufacturePojo(InterfacePojo.class));
+		Assert.assertTrue("The interface should be remembered as unbuildable",
+				podamFactory.getUnbuildableTypes().containsKey(
+						InterfacePojo.class));
+		Assert.assertNotNull("A reason should be given", podamFactory
+				.getUnbuildableTypes().get(InterfacePojo.class));
+
+		Assert.assertNull("An interface cannot be built",
+				podamFactory.manufacturePojo(InterfacePojo.class));
+
+		podamFactory.clearUnbuildableTypes();
+		Assert.assertTrue("No unbuildable types should be left", podamFactory
+				.getUnbuildableTypes().isEmpty());
+
+	}
+
+	@Test
+	public void testRejectedArgumentsDoNotMakeTypesUnbuildable() {
+
+		PodamFactoryImpl podamFactory = new PodamFactoryImpl(
+				RandomDataProviderStrategy.getInstance());
+
+		// Each attempt fails with a chance of one in two
+		int built = 0;
+		for (int i = 0; i < 40; i++) {
+			ValidatingConstructorPojo pojo = podamFactory
+					.manufacturePojo(ValidatingConstructorPojo.class);
+			if (pojo != null) {
+				Assert.assertEquals("The value should be even", 0,
+						pojo.getEvenValue() % 2);
+				built++;
+			}
+		}
+
+		Assert.assertTrue("Some attempts should have worked", built > 0);
+		Assert.assertTrue("Some attempts should have failed", built < 40);
+		Assert.assertFalse("A rejected argument is not a structural failure",
+				podamFactory.getUnbuildableTypes().containsKey(
+						ValidatingConstructorPojo.class));
+	}
+
+	@Test
+	public void testNestedAndInheritedGenerics() {
+
+		NestedGenericsPojo pojo = factory
+				.manufacturePojo(NestedGenericsPojo.class);
+		Assert.assertNotNull("The pojo cannot be null!", pojo);
+
+		List<SimplePojoToTestSetters> items = pojo.getItems();
+		Assert.assertNotNull("The inherited list cannot be null!", items);
+		Assert.assertFalse("The inherited list cannot be empty!",
+				items.isEmpty());
+		for (Object item : items) {
+			Assert.assertTrue("The type argument bound in the subclass"
+					+ " should have been used",
+					item instanceof SimplePojoToTestSetters);
+		}
+
+		Map<String, List<SimplePojoToTestSetters>> nestedMap = pojo
+				.getNestedMap();
+		Assert.assertNotNull("The nested map cannot be null!", nestedMap);
+		Assert.assertFalse("The nested map cannot be empty!",
+				nestedMap.isEmpty());
+		for (Object value : nestedMap.values()) {
+			Assert.assertTrue("The map values should be lists",
+					value instanceof List);
+			List<?> nestedList = (List<?>) value;
+			Assert.assertFalse("The nested list cannot be empty!",
+					nestedList.isEmpty());
+			Assert.assertTrue("The nested list elements are of the wrong type",
+					nestedList.get(0) instanceof SimplePojoToTestSetters);
+		}
+
+	}
+
+	@Test
+	public void testRegisteredAttributeStrategiesAreUsed() {
+
+		final String postCode = "W1 1AA";
+
+		PodamFactoryImpl podamFactory = new PodamFactoryImpl(
+				RandomDataProviderStrategy.getInstance());
+		podamFactory.getAttributeStrategyRegistry().register(
+				PostCodeStrategy.class, new AttributeStrategy<String>() {
+
+					public String getValue() throws PodamMockeryException {
+						return postCode;
+					}
+				}, String.class);
+
+		PodamStrategyPojo pojo = podamFactory
+				.manufacturePojo(PodamStrategyPojo.class);
+		Assert.assertNotNull("The pojo cannot be null!", pojo);
+		Assert.assertEquals("The registered strategy should have been used",
+				postCode, pojo.getPostCode());
+		Assert.assertNotNull("The other strategies should still be used",
+				pojo.getMyBirthday());
+
+		podamFactory.getAttributeStrategyRegistry().unregister(
+				PostCodeStrategy.class);
+
+		pojo = podamFactory.manufacturePojo(PodamStrategyPojo.class);
+		Assert.assertEquals("The annotated strategy should be used again",
+				PodamTestConstants.POST_CODE, pojo.getPostCode());
+
+	}
+
+	@Test
+	public void testInitializedContainersDoNotInstantiateThePojoAgain() {
+
+		int instancesBefore = InitializedContainersPojo.INSTANCES.get();
+
+		InitializedContainersPojo pojo = factory
+				.manufacturePojo(InitializedContainersPojo.class);
+		Assert.assertNotNull("The pojo cannot be null!", pojo);
+
+		Assert.assertEquals("The pojo should have been instantiated only once",
+				instancesBefore + 1, InitializedContainersPojo.INSTANCES.get());
+
+		Assert.assertTrue("The initialised list type should have been kept",
+				pojo.getNames() instanceof LinkedList);
+		Assert.assertFalse("The list cannot be empty!", pojo.getNames()
+				.isEmpty());
+		Assert.assertTrue("The initialised map type should have been kept",
+				pojo.getAges() instanceof TreeMap);
+		Assert.assertFalse("The map cannot be empty!", pojo.getAges()
+				.isEmpty());
+
+	}
+
+	@Test
+	public void testMetadataIndexIsExportedAndImported() throws Exception {
+
+		PodamFactoryImpl exporter = new PodamFactoryImpl(
+				RandomDataProviderStrategy.getInstance());
+		exporter.manufacturePojo(ClientTestPojo.class);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exporter.exportMetadataIndex().write(out);
+		MetadataIndex index = MetadataIndex.read(new ByteArrayInputStream(out
+				.toByteArray()));
+		Assert.assertTrue("The index should contain the manufactured class",
+				index.getClassNames().contains(ClientTestPojo.class.getName()));
+
+		PodamFactoryImpl importer = new PodamFactoryImpl(
+				RandomDataProviderStrategy.getInstance());
+		Assert.assertEquals("All the indexed classes should be imported",
+				index.size(), importer.importMetadataIndex(index));
+
+		ClientTestPojo pojo = importer.manufacturePojo(ClientTestPojo.class);
+		Assert.assertNotNull("The pojo cannot be null!", pojo);
+		Assert.assertEquals("No search should have been necessary", 0,
+				importer.getInstantiationStatistics().getFallbackSearches());
+		Assert.assertTrue("The imported routes should have been used",
+				importer.getInstantiationStatistics().getRouteHits() > 0);
+
+	}
+
+	@Test
+	public void testCompiledPlansFillPojosLikeReflection() throws Exception {
+
+		// Calendars are left out: the JDK creates them from the clock
+		Class<?>[] pojoClasses = { SimplePojoToTestSetters.class,
+				TwentyFieldsPojo.class, BankAccountTestPojo.class,
+				AddressTestPojo.class, RecursivePojo.class, EnumsPojo.class,
+				NestedGenericsPojo.class, InitializedContainersPojo.class,
+				IntegerValuePojo.class, StringValuePojo.class,
+				CollectionAnnotationPojo.class };
+
+		PodamFactoryImpl reflective = new PodamFactoryImpl(
+				new SequenceDataProviderStrategy());
+		reflective.setCompilationThreshold(-1);
+		PodamFactoryImpl compiled = new PodamFactoryImpl(
+				new SequenceDataProviderStrategy());
+		compiled.setCompilationThreshold(1);
+
+		for (int round = 0; round < 3; round++) {
+			for (Class<?> pojoClass : pojoClasses) {
+				Assert.assertEquals("Round " + round + " of " + pojoClass,
+						PodamTestUtils.describe(reflective
+								.manufacturePojo(pojoClass)),
+						PodamTestUtils.describe(compiled
+								.manufacturePojo(pojoClass)));
+			}
+		}
+
+	}
+
+	@Test
+	public void testAnnotatedClassIsCreatedWithoutItsConstructor() {
+
+		int callsBefore = BypassedConstructorPojo.CONSTRUCTOR_CALLS.get();
+
+		BypassedConstructorPojo pojo = factory
+				.manufacturePojo(BypassedConstructorPojo.class);
+		Assert.assertNotNull("The pojo cannot be null!", pojo);
+		Assert.assertEquals("The constructor should not have run",
+				callsBefore, BypassedConstructorPojo.CONSTRUCTOR_CALLS.get());
+		Assert.assertNotNull("The name should have been set", pojo.getName());
+		Assert.assertTrue("The age should have been set", pojo.getAge() != 0);
+
+	}
+
+	@Test
+	public void testMinimalFactoryGetsTheBulkMethods() {
+
+		// A delegating factory written against the original contract
+		PodamFactory minimal = new PodamFactory() {
+
+			@Override
+			public <T> T manufacturePojo(Class<T> pojoClass) {
+				return factory.manufacturePojo(pojoClass);
+			}
+
+			@Override
+			public DataProviderStrategy getStrategy() {
+				return factory.getStrategy();
+			}
+		};
+
+		final List<Integer> progress = new ArrayList<Integer>();
+		List<SimplePojoToTestSetters> pojos = minimal.manufacturePojos(
+				SimplePojoToTestSetters.class, 1500, new ProgressListener() {
+					@Override
+					public void progressed(int done, int total) {
+						progress.add(done);
+					}
+				});
+		Assert.assertEquals("Unexpected number of POJOs", 1500, pojos.size());
+		Assert.assertEquals("Unexpected progress",
+				Arrays.asList(1000, 1500), progress);
+		for (SimplePojoToTestSetters pojo : pojos) {
+			Assert.assertNotNull("The pojo cannot be null!", pojo);
+		}
+
+		Assert.assertEquals("Unexpected number of POJOs streamed", 10,
+				minimal.manufacturePojoStream(SimplePojoToTestSetters.class, 10)
+						.count());
+		Assert.assertNotNull("The iterator should produce POJOs", minimal
+				.manufacturePojoIterator(SimplePojoToTestSetters.class).next());
+		Assert.assertEquals("The dataset should be reproducible",
+				PodamTestUtils.describe(minimal.manufactureDataset(
+						ClientTestPojo.class, 7L).get(3)),
+				PodamTestUtils.describe(minimal.manufactureDataset(
+						ClientTestPojo.class, 7L).get(3)));
+
+	}
+
+	@Test
+	public void testBypassIsHonouredOnEveryPath() {
+
+		PodamFactoryImpl bypassingFactory = new PodamFactoryImpl(
+				RandomDataProviderStrategy.getInstance());
+		// Filled through the compiled plan from the first POJO on
+		bypassingFactory.setCompilationThreshold(1);
+		int callsBefore = BypassedNoArgConstructorPojo.CONSTRUCTOR_CALLS.get();
+
+		for (int i = 0; i < 3; i++) {
+			BypassedNoArgConstructorPojo pojo = bypassingFactory
+					.manufacturePojo(BypassedNoArgConstructorPojo.class);
+			Assert.assertNotNull("The name should have been set",
+					pojo.getName());
+		}
+		for (BypassedNoArgConstructorPojo pojo : bypassingFactory
+				.manufacturePojos(BypassedNoArgConstructorPojo.class, 100)) {
+			Assert.assertNotNull("The name should have been set",
+					pojo.getName());
+		}
+
+		Assert.assertEquals("The constructor should never have run",
+				callsBefore,
+				BypassedNoArgConstructorPojo.CONSTRUCTOR_CALLS.get());
+		Assert.assertEquals("No constructor should have been recorded", 0,
+				bypassingFactory.getInstantiationStatistics()
+						.getRecordedRoutes());
+
+	}
+
+	@Test
+	public void testConfiguredClassIsCreatedWithoutSearchingConstructors() {
+
+		PodamFactoryImpl bypassingFactory = new PodamFactoryImpl(
+				RandomDataProviderStrategy.getInstance());
+		bypassingFactory.bypassConstructor(NoDefaultConstructorPojo.class);
+		Assert.assertTrue("The class should be bypassing its constructors",
+				bypassingFactory
+						.isBypassingConstructor(NoDefaultConstructorPojo.class));
+
+		NoDefaultConstructorPojo pojo = bypassingFactory
+				.manufacturePojo(NoDefaultConstructorPojo.class);
+		Assert.assertNotNull("The pojo cannot be null!", pojo);
+		Assert.assertTrue("The int field should have been set",
+				pojo.getIntField() != 0);
+		Assert.assertEquals("No constructor should have been searched", 0,
+				bypassingFactory.getInstantiationStatistics()
+						.getFallbackSearches());
+
+	}
+
+	@Test
+	public void testAllArgsConstructorIsUsedWithoutSearching() {
+
+		PodamFactoryImpl allArgsFactory = new PodamFactoryImpl(
+				RandomDataProviderStrategy.getInstance());
+
+		AllArgsConstructorPojo pojo = allArgsFactory
+				.manufacturePojo(AllArgsConstructorPojo.class);
+		Assert.assertNotNull("The pojo cannot be null!", pojo);
+		Assert.assertNotNull("The code cannot be null!", pojo.getCode());
+		Assert.assertEquals("The field annotation should have been used",
+				AllArgsConstructorPojo.CODE_LENGTH, pojo.getCode().length());
+		Assert.assertTrue("The parameter annotation should have been used",
+				pojo.getQuantity() >= 1
+						&& pojo.getQuantity() <= AllArgsConstructorPojo.MAX_QUANTITY);
+		Assert.assertEquals("No constructor should have been searched", 0,
+				allArgsFactory.getInstantiationStatistics()
+						.getFallbackSearches());
+
+	}
+
+	@Test
+	public void testAllArgsConstructorParametersAreMatchedToFields() {
+
+		PodamFactoryImpl allArgsFactory = new PodamFactoryImpl(
+				RandomDataProviderStrategy.getInstance());
+
+		OutOfOrderAllArgsConstructorPojo pojo = allArgsFactory
+				.manufacturePojo(OutOfOrderAllArgsConstructorPojo.class);
+		Assert.assertNotNull("The pojo cannot be null!", pojo);
+		Assert.assertNotNull("The code cannot be null!", pojo.getCode());
+		Assert.assertEquals("The field annotation should have been used",
+				OutOfOrderAllArgsConstructorPojo.CODE_LENGTH, pojo.getCode()
+						.length());
+		Assert.assertEquals("No constructor should have been searched", 0,
+				allArgsFactory.getInstantiationStatistics()
+						.getFallbackSearches());
+
+	}
+
+	@Test
+	public void testRecordIsCreatedThroughCanonicalConstructor()
+			throws Exception {
+
+		// Records cannot be compiled at the source level of the tests, so
+		// the record is compiled here when the JVM supports them
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		try {
+			Class.class.getMethod("isRecord");
+		} catch (NoSuchMethodException e) {
+			return;
+		}
+		if (compiler == null) {
+			return;
+		}
+
+		File outputDir = File.createTempFile("podam-record", "");
+		outputDir.delete();
+		File sourceDir = new File(outputDir, "test");
+		sourceDir.mkdirs();
+		File source = new File(sourceDir, "PointRecord.java");
+		Writer writer = new FileWriter(source);
+		try {
+			writer.write("package test;\n"
+					+ "import uk.co.jemos.podam.annotations.PodamStringValue;\n"
+					+ "public record PointRecord(\n"
+					+ "  @PodamStringValue(strValue = \"podam\") String label,\n"
+					+ "  int x, int y) {}\n");
+		} finally {
+			writer.close();
+		}
+		Assert.assertEquals("The record should compile", 0, compiler.run(
+				null, null, null, "-classpath",
+				System.getProperty("java.class.path"), "-d",
+				outputDir.getPath(), source.getPath()));
+
+		Class<?> recordClass = new URLClassLoader(new URL[] { outputDir
+				.toURI().toURL() }, getClass().getClassLoader())
+				.loadClass("test.PointRecord");
+
+		PodamFactoryImpl recordFactory = new PodamFactoryImpl(
+				RandomDataProviderStrategy.getInstance());
+		Object pojo = recordFactory.manufacturePojo(recordClass);
+		Assert.assertNotNull("The pojo cannot be null!", pojo);
+		Assert.assertEquals("The component annotation should have been used",
+				"podam", recordClass.getMethod("label").invoke(pojo));
+		Assert.assertEquals("No constructor should have been searched", 0,
+				recordFactory.getInstantiationStatistics()
+						.getFallbackSearches());
+
+	}
+
+	@Test
+	public void testSeededGenerationIsReproducibleAcrossThreads()
+			throws Exception {
+
+		final int nbrPojos = 64;
+
+		PodamFactory sequential = new PodamFactoryImpl(
+				new RandomDataProviderStrategy(RandomSources.seeded(42L)));
+		List<String> expected = new ArrayList<String>();
+		for (int i = 0; i < nbrPojos; i++) {
+			expected.add(PodamTestUtils.describe(sequential
+					.manufacturePojo(TwentyFieldsPojo.class)));
+		}
+
+		final PodamFactory parallel = new PodamFactoryImpl(
+				new RandomDataProviderStrategy(RandomSources.seeded(42L)));
+		final List<String> actual = Collections
+				.synchronizedList(new ArrayList<String>());
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (int i = 0; i < nbrPojos; i++) {
+				futures.add(executor.submit(new Runnable() {
+
+					@Override
+					public void run() {
+						actual.add(PodamTestUtils.describe(parallel
+								.manufacturePojo(TwentyFieldsPojo.class)));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		// The calls were numbered in a different order, but each POJO only
+		// depends on the seed and on the number of its call
+		List<String> sortedExpected = new ArrayList<String>(expected);
+		Collections.sort(sortedExpected);
+		Collections.sort(actual);
+		Assert.assertEquals("The same POJOs should have been generated",
+				sortedExpected, actual);
+
+		PodamFactory otherSeed = new PodamFactoryImpl(
+				new RandomDataProviderStrategy(RandomSources.seeded(43L)));
+		Assert.assertFalse("Another seed should give other values",
+				expected.get(0).equals(
+						PodamTestUtils.describe(otherSeed
+								.manufacturePojo(TwentyFieldsPojo.class))));
+
+	}
+
+	@Test
+	public void testDatasetElementsAreProducedInAnyOrder() {
+
+		PodamFactory sequential = new PodamFactoryImpl(
+				new RandomDataProviderStrategy(RandomSources.seeded(7L)));
+		List<String> expected = new ArrayList<String>();
+		for (int i = 0; i < 10; i++) {
+			expected.add(PodamTestUtils.describe(sequential
+					.manufacturePojo(BankAccountTestPojo.class)));
+		}
+
+		PodamDataset<BankAccountTestPojo> dataset = factory.manufactureDataset(
+				BankAccountTestPojo.class, 7L);
+		for (int i = 9; i >= 0; i--) {
+			Assert.assertEquals("Element " + i + " should not depend on order",
+					expected.get(i), PodamTestUtils.describe(dataset.get(i)));
+		}
+
+		Iterator<BankAccountTestPojo> cursor = dataset.iterator(5);
+		for (int i = 5; i < 10; i++) {
+			Assert.assertEquals("Element " + i + " should be resumable",
+					expected.get(i), PodamTestUtils.describe(cursor.next()));
+		}
+
+		List<BankAccountTestPojo> shard = dataset.get(3, 4);
+		Assert.assertEquals("The shard should have the requested size", 4,
+				shard.size());
+		Assert.assertEquals("The shard should start at its index",
+				expected.get(3), PodamTestUtils.describe(shard.get(0)));
+
+	}
+
+	@Test
+	public void testPrimitiveArraysAreFilledInBulk() {
+
+		PodamFactory[] factories = { factory,
+				new PodamFactoryImpl(new SequenceDataProviderStrategy()) };
+		for (PodamFactory podam : factories) {
+
+			PrimitiveArraysPojo pojo = podam
+					.manufacturePojo(PrimitiveArraysPojo.class);
+			Assert.assertNotNull("The pojo cannot be null!", pojo);
+
+			Assert.assertEquals("The int array has the wrong length",
+					PrimitiveArraysPojo.NBR_ELEMENTS, pojo.getInts().length);
+			for (int value : pojo.getInts()) {
+				Assert.assertTrue("The ints must be different from zero!",
+						value != 0);
+			}
+			for (int value : pojo.getBoundedInts()) {
+				Assert.assertTrue("The int " + value + " is out of range",
+						value >= 10 && value <= 20);
+			}
+
+			Assert.assertEquals("The long array has the wrong length",
+					PrimitiveArraysPojo.NBR_ELEMENTS, pojo.getLongs().length);
+			for (long value : pojo.getLongs()) {
+				Assert.assertTrue("The longs must be different from zero!",
+						value != 0);
+			}
+			Assert.assertEquals("The precise long array has the wrong length",
+					PodamConstants.ANNOTATION_COLLECTION_DEFAULT_NBR_ELEMENTS,
+					pojo.getPreciseLongs().length);
+			Assert.assertEquals("The precise long is wrong", 42L,
+					pojo.getPreciseLongs()[0]);
+
+			for (double value : pojo.getBoundedDoubles()) {
+				Assert.assertTrue("The double " + value + " is out of range",
+						value >= -1.0 && value <= 1.0);
+			}
+
+			Assert.assertEquals("The byte array has the wrong length",
+					PrimitiveArraysPojo.NBR_ELEMENTS, pojo.getBytes().length);
+			for (byte value : pojo.getBytes()) {
+				Assert.assertTrue("The bytes must be different from zero!",
+						value != 0);
+			}
+			Set<Byte> boundedBytes = new HashSet<Byte>();
+			for (byte value : pojo.getBoundedBytes()) {
+				Assert.assertTrue("The byte " + value + " is out of range",
+						value >= -5 && value <= 5);
+				boundedBytes.add(value);
+			}
+			Assert.assertTrue("The bytes should cover the range",
+					boundedBytes.size() > 5);
+		}
+
+	}
+
+	@Test
+	public void testPrimitiveAttributesAreNotBoxed() {
+
+		BoxingCountingDataProviderStrategy strategy = new BoxingCountingDataProviderStrategy();
+		PodamFactoryImpl podam = new PodamFactoryImpl(strategy);
+
+		// Through reflection first, then through the compiled plan
+		for (int threshold : new int[] { -1, 0 }) {
+
+			podam.setCompilationThreshold(threshold);
+			for (int i = 0; i < 3; i++) {
+
+				PrimitiveFieldsPojo pojo = podam
+						.manufacturePojo(PrimitiveFieldsPojo.class);
+				Assert.assertNotNull("The pojo cannot be null!", pojo);
+				Assert.assertTrue("The boolean should be true", pojo.isActive());
+				Assert.assertTrue("The byte cannot be zero", pojo.getFlags() != 0);
+				Assert.assertTrue("The char cannot be zero", pojo.getGrade() != 0);
+				Assert.assertTrue("The short cannot be zero", pojo.getFloor() != 0);
+				Assert.assertTrue("The int cannot be zero", pojo.getAge() != 0);
+				Assert.assertTrue("The long cannot be zero", pojo.getId() != 0);
+				Assert.assertTrue("The float cannot be zero",
+						pojo.getRating() != 0.0f);
+				Assert.assertTrue("The double cannot be zero",
+						pojo.getSalary() != 0.0);
+			}
+		}
+
+		Assert.assertEquals("No primitive value should have been boxed", 0,
+				strategy.getBoxedValues());
+
+	}
+
+	@Test
+	public void testStringsAreMadeOfTheStrategyAlphabet() {
+
+		String defaultAlphabet = new String(
+				RandomDataProviderStrategy.NICE_ASCII_CHARACTERS);
+		String text = RandomDataProviderStrategy.getInstance()
+				.getStringOfLength(2048, null);
+		Assert.assertEquals("The string has the wrong length", 2048,
+				text.length());
+		Set<Character> seen = new HashSet<Character>();
+		for (char c : text.toCharArray()) {
+			Assert.assertTrue("Unexpected character: " + c,
+					defaultAlphabet.indexOf(c) >= 0);
+			seen.add(c);
+		}
+		Assert.assertEquals("All the characters should be used",
+				defaultAlphabet.length(), seen.size());
+
+		String alphabet = "xyz";
+		RandomDataProviderStrategy strategy = new RandomDataProviderStrategy(
+				RandomSources.seeded(5L), alphabet.toCharArray());
+		StringValuePojo pojo = new PodamFactoryImpl(strategy)
+				.manufacturePojo(StringValuePojo.class);
+		Assert.assertNotNull("The pojo cannot be null!", pojo);
+		Assert.assertEquals("The string has the wrong length",
+				PodamTestConstants.STR_ANNOTATION_TWENTY_LENGTH, pojo
+						.getTwentyLengthString().length());
+		for (char c : pojo.getTwentyLengthString().toCharArray()) {
+			Assert.assertTrue("Unexpected character: " + c,
+					alphabet.indexOf(c) >= 0);
+		}
+		Assert.assertTrue("The character is not in the alphabet",
+				alphabet.indexOf(strategy.getCharacter(null)) >= 0);
+		Assert.assertEquals("An empty string was expected", "",
+				strategy.getStringOfLength(0, null));
+
+	}
+
+	@Test
+	public void testAttributesFollowTheirDistribution() {
+
+		PodamFactory podam = new PodamFactoryImpl(
+				new RandomDataProviderStrategy(RandomSources.seeded(21L)));
+		DistributionPojo pojo = podam.manufacturePojo(DistributionPojo.class);
+		Assert.assertNotNull("The pojo cannot be null!", pojo);
+
+		int[] ranks = new int[1001];
+		for (int value : pojo.getZipfInts()) {
+			Assert.assertTrue("The Zipf int " + value + " is out of range",
+					value >= 1 && value <= 1000);
+			ranks[value]++;
+		}
+		Assert.assertTrue("The first rank should be the most frequent",
+				ranks[1] > ranks[2] && ranks[2] > ranks[10]);
+		Assert.assertTrue("The first rank is not hot enough: " + ranks[1],
+				ranks[1] > DistributionPojo.NBR_ELEMENTS / 20);
+
+		int zeros = 0;
+		for (long value : pojo.getWeightedLongs()) {
+			Assert.assertTrue("Unexpected weighted long: " + value,
+					value == 0 || value == 1);
+			if (value == 0) {
+				zeros++;
+			}
+		}
+		Assert.assertTrue("Zero should be drawn nine times out of ten: "
+				+ zeros, zeros > DistributionPojo.NBR_ELEMENTS * 0.85
+				&& zeros < DistributionPojo.NBR_ELEMENTS * 0.95);
+
+		double sum = 0;
+		for (double value : pojo.getNormalDoubles()) {
+			Assert.assertTrue("The normal double " + value
+					+ " is out of range", value >= 0.0 && value <= 10.0);
+			sum += value;
+		}
+		double mean = sum / DistributionPojo.NBR_ELEMENTS;
+		Assert.assertTrue("The normal doubles should gather around 5: "
+				+ mean, mean > 4.8 && mean < 5.2);
+
+		int low = 0;
+		int high = 0;
+		for (int value : pojo.getExponentialInts()) {
+			Assert.assertTrue("The exponential int " + value
+					+ " is out of range", value >= 0 && value <= 99);
+			if (value < 20) {
+				low++;
+			} else if (value >= 80) {
+				high++;
+			}
+		}
+		Assert.assertTrue("The small values should be more frequent",
+				low > 10 * high);
+		Assert.assertTrue("The exponential float is out of range",
+				pojo.getExponentialFloat() >= 1.0f
+						&& pojo.getExponentialFloat() <= 2.0f);
+
+		Set<Long> longs = new HashSet<Long>();
+		boolean negativeLong = false;
+		for (long value : pojo.getFullRangeLongs()) {
+			longs.add(value);
+			negativeLong |= value < 0;
+		}
+		Assert.assertTrue("The longs should cover all the range",
+				negativeLong && longs.size() > DistributionPojo.NBR_ELEMENTS - 2);
+		boolean negativeInt = false;
+		boolean positiveInt = false;
+		for (int value : pojo.getFullRangeInts()) {
+			negativeInt |= value < 0;
+			positiveInt |= value > 0;
+		}
+		Assert.assertTrue("The ints should cover all the range", negativeInt
+				&& positiveInt);
+
+		// Strategies without a random source ignore the distributions
+		pojo = new PodamFactoryImpl(new SequenceDataProviderStrategy())
+				.manufacturePojo(DistributionPojo.class);
+		for (int value : pojo.getZipfInts()) {
+			Assert.assertTrue("The Zipf int " + value + " is out of range",
+					value >= 1 && value <= 1000);
+		}
+
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWeightedDistributionNeedsWeights() {
+
+		Sampler.forIntegers(Distribution.WEIGHTED, 0, 0, 1.0, new double[0]);
+
+	}
+
+	@Test
+	public void testLongSamplersKeepExactBounds() {
+
+		// Not representable as a double
+		long minValue = (1L << 53) + 1;
+		long maxValue = minValue + 2;
+
+		RandomSource random = RandomSources.seeded(42L);
+		for (Distribution distribution : new Distribution[] {
+				Distribution.UNIFORM, Distribution.NORMAL,
+				Distribution.EXPONENTIAL, Distribution.ZIPF }) {
+			Sampler sampler = Sampler.forIntegers(distribution, minValue,
+					maxValue, 1.0, new double[0]);
+			Assert.assertEquals("The minimum value should be exact",
+					minValue, sampler.getMinLong());
+			Assert.assertEquals("The maximum value should be exact",
+					maxValue, sampler.getMaxLong());
+			for (int i = 0; i < 1000; i++) {
+				long value = sampler.nextLong(random);
+				Assert.assertTrue("The " + distribution + " value " + value
+						+ " is out of range", value >= minValue
+						&& value <= maxValue);
+			}
+		}
+
+		Sampler sampler = Sampler.forIntegers(Distribution.EXPONENTIAL,
+				Long.MAX_VALUE - 1, Long.MAX_VALUE, 1.0, new double[0]);
+		for (int i = 0; i < 1000; i++) {
+			Assert.assertTrue("The value should not overflow",
+					sampler.nextLong(random) >= Long.MAX_VALUE - 1);
+		}
+
+	}
+
+	@Test
+	public void testPojosAreManufacturedInBulk() {
+
+		final List<Integer> progress = new ArrayList<Integer>();
+		List<SimplePojoToTestSetters> pojos = factory.manufacturePojos(
+				SimplePojoToTestSetters.class, 2500, new ProgressListener() {
+					@Override
+					public void progressed(int done, int total) {
+						Assert.assertEquals("Unexpected total", 2500, total);
+						progress.add(done);
+					}
+				});
+		Assert.assertEquals("The list has the wrong size", 2500, pojos.size());
+		for (SimplePojoToTestSetters pojo : pojos) {
+			Assert.assertNotNull("The pojo cannot be null!", pojo);
+		}
+		Assert.assertEquals("Unexpected progress",
+				Arrays.asList(1000, 2000, 2500), progress);
+
+		ClientTestPojo[] clients = factory.manufacturePojos(
+				ClientTestPojo.class, new ClientTestPojo[10], null);
+		for (ClientTestPojo client : clients) {
+			Assert.assertNotNull("The client cannot be null!", client);
+		}
+		List<Integer> integers = factory.manufacturePojos(Integer.class, 3);
+		Assert.assertEquals("The list has the wrong size", 3, integers.size());
+		Assert.assertNotNull("The integer cannot be null!", integers.get(0));
+
+		// Large enough to go through the compiled plan
+		PodamDataset<BankAccountTestPojo> dataset = factory.manufactureDataset(
+				BankAccountTestPojo.class, 11L);
+		List<BankAccountTestPojo> bulk = dataset.get(40,
+				PodamConstants.COMPILATION_THRESHOLD + 1);
+		for (int i = 0; i < bulk.size(); i += 100) {
+			Assert.assertEquals("Element " + i + " should match its index",
+					PodamTestUtils.describe(dataset.get(40 + i)),
+					PodamTestUtils.describe(bulk.get(i)));
+		}
+		BankAccountTestPojo[] accounts = dataset.get(40,
+				new BankAccountTestPojo[3], null);
+		Assert.assertEquals("The array should match the list",
+				PodamTestUtils.describe(bulk.get(2)),
+				PodamTestUtils.describe(accounts[2]));
+
+	}
+
+	@Test
+	public void testPojosAreStreamedLazily() {
+
+		List<SimplePojoToTestSetters> firstOnes = factory
+				.manufacturePojoStream(SimplePojoToTestSetters.class).limit(3)
+				.collect(Collectors.<SimplePojoToTestSetters> toList());
+		Assert.assertEquals("The endless stream should be cut", 3,
+				firstOnes.size());
+		Iterator<ClientTestPojo> clients = factory
+				.manufacturePojoIterator(ClientTestPojo.class);
+		Assert.assertTrue("The iterator should never end", clients.hasNext());
+		Assert.assertNotNull("The client cannot be null!", clients.next());
+
+		Spliterator<SimplePojoToTestSetters> endless = factory
+				.manufacturePojoStream(SimplePojoToTestSetters.class)
+				.spliterator();
+		Assert.assertFalse("An endless stream has no size",
+				endless.hasCharacteristics(Spliterator.SIZED));
+		Assert.assertNotNull("An endless stream should split",
+				endless.trySplit());
+
+		Spliterator<SimplePojoToTestSetters> bounded = factory
+				.manufacturePojoStream(SimplePojoToTestSetters.class, 10)
+				.spliterator();
+		Assert.assertTrue("A bounded stream should be sized and ordered",
+				bounded.hasCharacteristics(Spliterator.SIZED
+						| Spliterator.SUBSIZED | Spliterator.ORDERED));
+		Assert.assertEquals("Unexpected size", 10, bounded.getExactSizeIfKnown());
+		Spliterator<SimplePojoToTestSetters> prefix = bounded.trySplit();
+		Assert.assertEquals("The prefix should be half", 5,
+				prefix.getExactSizeIfKnown());
+		Assert.assertEquals("The rest should be half", 5,
+				bounded.getExactSizeIfKnown());
+
+		// Each element depends on its index only, whatever the threads
+		PodamDataset<BankAccountTestPojo> dataset = factory.manufactureDataset(
+				BankAccountTestPojo.class, 13L);
+		List<BankAccountTestPojo> sequential = dataset.stream(100, 2000)
+				.collect(Collectors.<BankAccountTestPojo> toList());
+		List<BankAccountTestPojo> parallel = dataset.stream(100, 2000)
+				.parallel()
+				.collect(Collectors.<BankAccountTestPojo> toList());
+		Assert.assertEquals("The streams have different sizes", 2000,
+				parallel.size());
+		for (int i = 0; i < sequential.size(); i++) {
+			Assert.assertEquals("Element " + i + " should not depend on threads",
+					PodamTestUtils.describe(sequential.get(i)),
+					PodamTestUtils.describe(parallel.get(i)));
+		}
+		Assert.assertEquals("The stream should start at its index",
+				PodamTestUtils.describe(dataset.get(100)),
+				PodamTestUtils.describe(dataset.stream(100).findFirst().get()));
+
+	}
+
+	@Test
+	public void testDatasetIsManufacturedInParallel() throws Exception {
+
+		PodamDataset<ClientTestPojo> dataset = factory.manufactureDataset(
+				ClientTestPojo.class, 29L);
+		int count = 3000;
+		List<ClientTestPojo> sequential = dataset.get(50, count);
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+
+			List<ClientTestPojo> forked = dataset.get(50, count, pool);
+			final AtomicInteger done = new AtomicInteger();
+			ClientTestPojo[] submitted = dataset.get(50,
+					new ClientTestPojo[count], executor,
+					new ProgressListener() {
+						@Override
+						public void progressed(int filled, int total) {
+							if (filled == total) {
+								done.set(filled);
+							}
+						}
+					});
+
+			Assert.assertEquals("All the POJOs should be reported", count,
+					done.get());
+			for (int i = 0; i < count; i++) {
+				String expected = PodamTestUtils.describe(sequential.get(i));
+				Assert.assertEquals("Element " + i
+						+ " should not depend on the fork/join threads",
+						expected, PodamTestUtils.describe(forked.get(i)));
+				Assert.assertEquals("Element " + i
+						+ " should not depend on the executor threads",
+						expected, PodamTestUtils.describe(submitted[i]));
+			}
+
+		} finally {
+			pool.shutdown();
+			executor.shutdown();
+		}
+
+		Assert.assertTrue("No element was asked for",
+				dataset.get(0, 0, ForkJoinPool.commonPool()).isEmpty());
+	}
+
+	@Test
+	public void testDatasetReportsRejectedPartitions() {
+
+		PodamDataset<ClientTestPojo> dataset = factory.manufactureDataset(
+				ClientTestPojo.class, 29L);
+
+		// Only the first partition is accepted
+		Executor executor = new Executor() {
+
+			private final AtomicInteger submitted = new AtomicInteger();
+
+			@Override
+			public void execute(Runnable command) {
+				if (submitted.getAndIncrement() > 0) {
+					throw new RejectedExecutionException("Saturated");
+				}
+				new Thread(command).start();
+			}
+		};
+
+		try {
+			dataset.get(0, new ClientTestPojo[3000], executor, null);
+			Assert.fail("The rejection should have been reported");
+		} catch (RejectedExecutionException e) {
+			Assert.assertEquals("Unexpected rejection", "Saturated",
+					e.getMessage());
+		}
+	}
+
+	@Test
+	public void testImmutablePojoPrefersConstructorWithArguments() {
+
+		// The second time goes through the recorded constructor
+		for (int i = 0; i < 2; i++) {
+			ImmutableWithNoArgConstructorPojo pojo = factory
+					.manufacturePojo(ImmutableWithNoArgConstructorPojo.class);
+			Assert.assertNotNull("The pojo cannot be null!", pojo);
+			Assert.assertNotNull("The all-args constructor should be used",
+					pojo.getName());
+		}
+	}
+
+	@Test
+	public void testGenerationServiceServesConcurrentRequests() {
+
+		PodamGenerationService service = new PodamGenerationService(factory);
+		try {
+
+			List<CompletableFuture<ClientTestPojo>> requests = new ArrayList<CompletableFuture<ClientTestPojo>>();
+			for (int i = 0; i < 500; i++) {
+				requests.add(service.submit(ClientTestPojo.class));
+			}
+			for (CompletableFuture<ClientTestPojo> request : requests) {
+				Assert.assertNotNull("The client cannot be null!",
+						request.join());
+			}
+			Assert.assertNotNull("The client cannot be null!",
+					service.manufacturePojo(ClientTestPojo.class));
+			Assert.assertEquals("Unexpected number of POJOs served", 501,
+					service.getServedCount());
+
+		} finally {
+			service.close();
+		}
+
+		try {
+			service.submit(ClientTestPojo.class);
+			Assert.fail("A closed service should reject requests");
+		} catch (RejectedExecutionException e) {
+			// Expected
+		}
+	}
+
 	// -----------------------------> Private methods
 
 	/**
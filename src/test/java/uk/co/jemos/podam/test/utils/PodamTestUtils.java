@@ -3,7 +3,13 @@
  */
 package uk.co.jemos.podam.test.utils;
 
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.TimeZone;
 
 /**
@@ -44,10 +50,100 @@ public class PodamTestUtils {
 		return myBirthday;
 	}
 
+	/**
+	 * It describes the state of the given POJO, following its attributes,
+	 * collections, maps and arrays down to JDK values.
+	 * <p>
+	 * Two POJOs with the same description hold the same data, even when
+	 * their classes do not override {@code equals()}.
+	 * </p>
+	 *
+	 * @param pojo
+	 *            The POJO to describe
+	 * @return A description of the state of the POJO
+	 */
+	public static String describe(Object pojo) {
+
+		StringBuilder buff = new StringBuilder();
+		describe(pojo, buff, new IdentityHashMap<Object, Integer>());
+		return buff.toString();
+	}
+
 	// ------------------->> Getters / Setters
 
 	// ------------------->> Private methods
 
+	/**
+	 * It appends the description of the given object.
+	 *
+	 * @param value
+	 *            The object to describe
+	 * @param buff
+	 *            The description so far
+	 * @param seen
+	 *            The POJOs described so far, mapped to the order they were
+	 *            found in, to describe cycles
+	 */
+	private static void describe(Object value, StringBuilder buff,
+			Map<Object, Integer> seen) {
+
+		if (value == null) {
+			buff.append("null");
+			return;
+		}
+
+		Class<?> clazz = value.getClass();
+		if (value instanceof Collection) {
+			buff.append('[');
+			for (Object element : (Collection<?>) value) {
+				describe(element, buff, seen);
+				buff.append(',');
+			}
+			buff.append(']');
+		} else if (value instanceof Map) {
+			buff.append('{');
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				describe(entry.getKey(), buff, seen);
+				buff.append('=');
+				describe(entry.getValue(), buff, seen);
+				buff.append(',');
+			}
+			buff.append('}');
+		} else if (clazz.isArray()) {
+			buff.append('[');
+			for (int i = 0; i < Array.getLength(value); i++) {
+				describe(Array.get(value, i), buff, seen);
+				buff.append(',');
+			}
+			buff.append(']');
+		} else if (clazz.getName().startsWith("java.") || clazz.isEnum()) {
+			buff.append(value);
+		} else if (seen.containsKey(value)) {
+			buff.append('#').append(seen.get(value));
+		} else {
+
+			seen.put(value, seen.size());
+			buff.append(clazz.getSimpleName()).append('(');
+			for (Class<?> c = clazz; c != null && !c.equals(Object.class); c = c
+					.getSuperclass()) {
+				for (Field field : c.getDeclaredFields()) {
+					if (Modifier.isStatic(field.getModifiers())) {
+						continue;
+					}
+					field.setAccessible(true);
+					buff.append(field.getName()).append('=');
+					try {
+						describe(field.get(value), buff, seen);
+					} catch (IllegalAccessException e) {
+						throw new IllegalStateException(e);
+					}
+					buff.append(',');
+				}
+			}
+			buff.append(')');
+		}
+	}
+
 	// ------------------->> equals() / hashcode() / toString()
 
 	// ------------------->> Inner classes